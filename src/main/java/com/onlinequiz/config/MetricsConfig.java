@@ -0,0 +1,37 @@
+package com.onlinequiz.config;
+
+import com.onlinequiz.metrics.ServiceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps every service bean in {@link ServiceMetrics} as it is created.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static, and resolving the registry only on first use, so the registry itself is still fully post-processed.
+    @Bean
+    public static BeanPostProcessor serviceMetricsPostProcessor(ObjectProvider<MeterRegistry> registry,
+            @Value("${onlinequiz.metrics.sample-every:16}") int sampleEvery,
+            @Value("${onlinequiz.metrics.percentile-histograms:true}") boolean percentileHistograms) {
+        return new BeanPostProcessor() {
+            private ServiceMetrics metrics;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!ServiceMetrics.isService(bean)) {
+                    return bean;
+                }
+                if (metrics == null) {
+                    metrics = new ServiceMetrics(registry.getObject(), sampleEvery, percentileHistograms);
+                }
+                return metrics.instrument(bean);
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.onlinequiz.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.dao.impl.QuestionSegmentStore;
+import com.onlinequiz.dao.impl.WriteAheadLogEngine;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.QuizKey;
+import com.onlinequiz.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Chooses how the DAO layer persists its data. With {@code onlinequiz.persistence.dir} unset the repositories stay
+ * purely in memory; otherwise each one gets its own write-ahead log and snapshot in that directory.
+ * {@code onlinequiz.segments.dir} enables sealing the questions of locked quizzes into memory-mapped segments.
+ */
+@Configuration
+public class PersistenceConfig {
+    private final String directory;
+    private final String segmentDirectory;
+    private final int snapshotEvery;
+    private final int maxBatch;
+    // Kept separate from the web tier's mapper so API settings never change the on-disk format.
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .addMixIn(User.class, StoredUser.class)
+            .addMixIn(Quiz.class, StoredQuiz.class);
+
+    public PersistenceConfig(@Value("${onlinequiz.persistence.dir:}") String directory,
+                             @Value("${onlinequiz.persistence.snapshot-every:100000}") int snapshotEvery,
+                             @Value("${onlinequiz.persistence.max-batch:4096}") int maxBatch,
+                             @Value("${onlinequiz.segments.dir:}") String segmentDirectory) {
+        this.directory = directory;
+        this.segmentDirectory = segmentDirectory;
+        this.snapshotEvery = snapshotEvery;
+        this.maxBatch = maxBatch;
+    }
+
+    @Bean
+    public PersistenceEngine<User> userPersistence() {
+        return create("users", User.class);
+    }
+
+    @Bean
+    public PersistenceEngine<Question> questionPersistence() {
+        return create("questions", Question.class);
+    }
+
+    @Bean
+    public PersistenceEngine<Quiz> quizPersistence() {
+        return create("quizzes", Quiz.class);
+    }
+
+    @Bean
+    public PersistenceEngine<QuizAttempt> attemptPersistence() {
+        // Attempts are only ever appended, so a snapshot would rewrite the whole log without dropping a line.
+        return create("attempts", QuizAttempt.class, 0);
+    }
+
+    @Bean
+    public QuestionSegmentStore questionSegments() {
+        if (segmentDirectory == null || segmentDirectory.trim().isEmpty()) {
+            return QuestionSegmentStore.disabled();
+        }
+        return QuestionSegmentStore.open(Paths.get(segmentDirectory));
+    }
+
+    private <T> PersistenceEngine<T> create(String name, Class<T> type) {
+        return create(name, type, snapshotEvery);
+    }
+
+    private <T> PersistenceEngine<T> create(String name, Class<T> type, int snapshotEvery) {
+        if (directory == null || directory.trim().isEmpty()) {
+            return PersistenceEngine.inMemory();
+        }
+        return new WriteAheadLogEngine<>(Paths.get(directory), name, type, mapper, snapshotEvery, maxBatch);
+    }
+
+    // The API never writes passwords out, but the log has to keep the hash.
+    private abstract static class StoredUser {
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        abstract String getPassword();
+    }
+
+    // Nor the answer key of a locked quiz, which has to outlive a restart.
+    private abstract static class StoredQuiz {
+        @JsonIgnore(false)
+        @JsonProperty
+        abstract QuizKey getKey();
+
+        @JsonIgnore(false)
+        @JsonProperty
+        abstract void setKey(QuizKey key);
+    }
+}
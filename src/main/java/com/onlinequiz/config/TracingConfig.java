@@ -0,0 +1,69 @@
+package com.onlinequiz.config;
+
+import com.onlinequiz.tracing.SlowTraceBuffer;
+import com.onlinequiz.tracing.SlowTraceEndpoint;
+import com.onlinequiz.tracing.Tracer;
+import com.onlinequiz.tracing.TracingFilter;
+import com.onlinequiz.tracing.TracingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Traces a sample of requests through the controllers, services and DAOs, and tags every request's log lines with
+ * its trace ID.
+ */
+@Configuration
+public class TracingConfig implements WebMvcConfigurer {
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingConfig(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Bean
+    public static Tracer tracer(@Value("${onlinequiz.tracing.sample-every:10}") int sampleEvery,
+                                @Value("${onlinequiz.tracing.slow-threshold-ms:100}") long slowThresholdMillis,
+                                @Value("${onlinequiz.tracing.buffer-size:100}") int bufferSize,
+                                @Value("${onlinequiz.tracing.max-spans:256}") int maxSpans) {
+        return new Tracer(sampleEvery, slowThresholdMillis, maxSpans, new SlowTraceBuffer(bufferSize));
+    }
+
+    // Static, and resolving the tracer only on first use, like the metrics post-processor.
+    @Bean
+    public static BeanPostProcessor tracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Tracer) {
+                    return bean;
+                }
+                return tracer.getObject().instrument(bean);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter() {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(tracer.getObject()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public SlowTraceEndpoint slowTraceEndpoint() {
+        return new SlowTraceEndpoint(tracer.getObject());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TracingInterceptor(tracer.getObject()));
+    }
+}
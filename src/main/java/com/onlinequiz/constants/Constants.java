@@ -7,6 +7,34 @@ public class Constants {
     public static final String DIFFICULTY_HARD = "HARD";
     public static final int MIN_PASSWORD_LENGTH = 8;// .next verision update feauture
     public static final int MAX_QUIZ_QUESTIONS = 50;// .next verision update feauture
+    public static final int ACCESS_CODE_LENGTH = 6;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    public static final int MAX_BLUEPRINT_ATTEMPTS = 32;
+    public static final int DEFAULT_ATTEMPT_RESULTS = 50;
+    public static final int MAX_ATTEMPT_RESULTS = 1000;
+    public static final int DEFAULT_LEADERBOARD_SIZE = 10;
+    public static final int MAX_LEADERBOARD_SIZE = 1000;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int IMPORT_BATCH_SIZE = 1000;
+    public static final int MAX_IMPORT_ERRORS = 100;
+    public static final int MAX_BATCH_OPERATIONS = 10000;
+    public static final String BATCH_CREATE = "CREATE";
+    public static final String BATCH_UPDATE = "UPDATE";
+    public static final String BATCH_DELETE = "DELETE";
+    public static final String BATCH_OK = "OK";
+    public static final String BATCH_NOT_FOUND = "NOT_FOUND";
+    public static final String BATCH_FAILED = "FAILED";
+    public static final long DEFAULT_SESSION_DURATION_SECONDS = 30 * 60;
+    public static final long MAX_SESSION_DURATION_SECONDS = 4 * 60 * 60;
+    public static final long SESSION_RETENTION_SECONDS = 10 * 60;
+    public static final String SESSION_ACTIVE = "ACTIVE";
+    public static final String SESSION_SUBMITTED = "SUBMITTED";
+    public static final String SESSION_EXPIRED = "EXPIRED";
+    public static final int ITEM_ANALYSIS_MIN_RESPONSES = 30;
+    public static final double EASY_P_VALUE = 0.7;
+    public static final double HARD_P_VALUE = 0.3;
+    public static final int OVERVIEW_RECENT_ATTEMPTS = 10;
     public static final String INPUT_OPTION="Choose an option: ";
     public static final String INVALID_OPTION="Invalid option. Please try again.";
     public static final String INPUT_USERNAME="Enter username: ";
@@ -24,15 +52,46 @@ public class Constants {
     public static final String  ERROR_EMPTY_QUESTION_ID="Question Id cannot be empty or null.";
     public static final String  ERROR_INVALID_QUESTION_ID="Question Id is not valid.";
     public static final String  ERROR_INVALID_DIFFICULTY_LEVEL="Difficulty is not valid.";
+    public static final String  ERROR_EMPTY_SEARCH_QUERY="Search query cannot be empty.";
     public static final String  ERROR_NULL_QUIZ_ID="Quiz Id cannot be Null";
     public static final String  ERROR_EMPTY_ACCESS_CODE="Access code cannot be Empty";
     public static final String ERROR_INVALID_CREDENTIALS = "Invalid username or password";//
     public static final String ERROR_EMPTY_USER_ID = "User ID cannot be empty";
     public static final String ERROR_USER_EXISTS = "Username already exists";
+    public static final String ERROR_USER_NOT_FOUND = "User not found";
     public static final String ERROR_INVALID_ROLE = "Invalid role. Must be either ADMIN or USER";
     public static final String ERROR_QUIZ_NOT_FOUND = "Quiz not found";//
     public static final String ERROR_QUESTION_NOT_FOUND = "Question not found";
+    public static final String ERROR_QUESTION_LOCKED = "Question is used by a locked quiz and cannot be changed";
     public static final String ERROR_INVALID_ACCESS_CODE = "Quiz not found Check the access code";
+    public static final String ERROR_ACCESS_CODES_EXHAUSTED = "No quiz access codes left to allocate";
+    public static final String ERROR_ACCESS_CODE_TAKEN = "Access code is already used by another quiz";
+    public static final String ERROR_PERSISTENCE_WRITE = "Failed to persist change to the write-ahead log";
+    public static final String ERROR_PERSISTENCE_RECOVERY = "Failed to recover data from the write-ahead log";
+    public static final String ERROR_PERSISTENCE_CLOSED = "Persistence engine is closed";
+    public static final String ERROR_EMPTY_ATTEMPT_ID = "Attempt Id cannot be empty.";
+    public static final String ERROR_EMPTY_SESSION_ID = "Session Id cannot be empty.";
+    public static final String ERROR_SESSION_NOT_FOUND = "Quiz session not found";
+    public static final String ERROR_SESSION_CLOSED = "Quiz session is no longer open for answers";
+    public static final String ERROR_INVALID_SESSION_DURATION = "Session duration must be between 1 second and " + MAX_SESSION_DURATION_SECONDS + " seconds";
+    public static final String ERROR_INVALID_ANSWER = "Answer does not match any question or option";
+    public static final String ERROR_EMPTY_ANSWERS = "Submission must contain an answers array";
+    public static final String ERROR_EMPTY_BATCH = "Batch must contain at least one operation";
+    public static final String ERROR_BATCH_TOO_LARGE = "Batch may contain at most " + MAX_BATCH_OPERATIONS + " operations";
+    public static final String ERROR_INVALID_BATCH_OPERATION = "Operation must be CREATE, UPDATE or DELETE";
+    public static final String ERROR_MISSING_BATCH_VALUE = "Operation needs a value";
+    public static final String ERROR_DUPLICATE_BATCH_ID = "Record is already changed by an earlier operation in this batch";
+    public static final String ERROR_EMPTY_QUIZ_TITLE = "Quiz title cannot be empty";
+    public static final String ERROR_TOO_MANY_QUIZ_QUESTIONS = "A quiz can have at most " + MAX_QUIZ_QUESTIONS + " questions";
+    public static final String ERROR_EMPTY_BLUEPRINT = "Quiz blueprint must have a title and at least one section";
+    public static final String ERROR_INVALID_BLUEPRINT_SECTION = "Every blueprint section must ask for at least one question";
+    public static final String ERROR_BLUEPRINT_TOO_MANY_QUESTIONS = "Quiz blueprint asks for more than " + MAX_QUIZ_QUESTIONS + " questions";
+    public static final String ERROR_BLUEPRINT_NOT_ENOUGH_QUESTIONS = "Not enough questions in the bank match the blueprint";
+    public static final String ERROR_BLUEPRINT_MARKS_UNREACHABLE = "Could not reach the blueprint's total marks with the matching questions";
+    public static final String ERROR_SEGMENT_WRITE = "Failed to access the sealed question segments";
+    public static final String ERROR_LOGIN_THROTTLED = "Too many logins in progress, please try again shortly";
+    public static final String ERROR_PASSWORD_THROTTLED = "Too many password changes in progress, please try again shortly";
+    public static final String ERROR_OVERVIEW_TIMEOUT = "Quiz overview could not be assembled in time";
 
 private Constants() {
 
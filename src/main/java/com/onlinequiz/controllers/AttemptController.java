@@ -0,0 +1,45 @@
+package com.onlinequiz.controllers;
+
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.services.AttemptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/attempts")
+public class AttemptController {
+
+    private final AttemptService attemptService;
+
+    @Autowired
+    public AttemptController(AttemptService attemptService) {
+        this.attemptService = attemptService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<QuizAttempt> getAttemptById(@PathVariable String id) {
+        Optional<QuizAttempt> attempt = attemptService.getAttemptById(id);
+        return attempt.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<QuizAttempt>> getAttempts(@RequestParam(required = false) String userId,
+                                                         @RequestParam(required = false) String quizId,
+                                                         @RequestParam(required = false) Long from,
+                                                         @RequestParam(required = false) Long to,
+                                                         @RequestParam(required = false) Integer limit) {
+        if ((userId == null) == (quizId == null)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<QuizAttempt> attempts = userId != null
+                ? attemptService.getUserAttempts(userId, from, to, limit)
+                : attemptService.getQuizAttempts(quizId, from, to, limit);
+        return new ResponseEntity<>(attempts, HttpStatus.OK);
+    }
+}
@@ -1,12 +1,21 @@
 package com.onlinequiz.controllers;
 
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.ImportSummary;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuestionStatistics;
 import com.onlinequiz.services.QuestionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +23,8 @@ import java.util.Optional;
 @RequestMapping("/api/questions")
 public class QuestionController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final QuestionService questionService;
 
     @Autowired
@@ -34,6 +45,30 @@ public class QuestionController {
         return new ResponseEntity<>(createdQuestion, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOutcome>> applyBatch(@RequestBody List<BatchOperation<Question>> operations) {
+        return new ResponseEntity<>(questionService.applyBatch(operations), HttpStatus.OK);
+    }
+
+    // Written record by record, so exporting a bank of any size needs no more memory than one question.
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportQuestions(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        questionService.exportQuestions(response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<ImportSummary> importQuestions(HttpServletRequest request) throws IOException {
+        return new ResponseEntity<>(questionService.importQuestions(request.getInputStream()), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Question>> searchQuestions(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "20") int limit) {
+        return new ResponseEntity<>(questionService.searchQuestions(q, limit), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Question> getQuestionById(@PathVariable String id) {
         Optional<Question> question = questionService.getQuestionById(id);
@@ -41,14 +76,29 @@ public class QuestionController {
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
+    @GetMapping("/{id}/statistics")
+    public ResponseEntity<QuestionStatistics> getQuestionStatistics(@PathVariable String id) {
+        Optional<QuestionStatistics> statistics = questionService.getQuestionStatistics(id);
+        return statistics.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     @GetMapping
-    public ResponseEntity<List<Question>> getAllQuestions() {
-        List<Question> questions = questionService.getAllQuestions();
-        return new ResponseEntity<>(questions, HttpStatus.OK);
+    public ResponseEntity<Page<Question>> getQuestions(@RequestParam(required = false) List<String> topic,
+                                                      @RequestParam(required = false) List<String> anyTopic,
+                                                      @RequestParam(required = false) List<String> excludeTopic,
+                                                      @RequestParam(required = false) List<String> difficulty,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit) {
+        QuestionQuery query = new QuestionQuery(topic, anyTopic, excludeTopic, difficulty);
+        return new ResponseEntity<>(questionService.getQuestionPage(query, cursor, limit), HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<Question> updateQuestion(@PathVariable String id, @RequestBody Question question) {
+        if (!questionService.getQuestionById(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
         question.setId(id);
         Question updatedQuestion = questionService.updateQuestion(question);
         return new ResponseEntity<>(updatedQuestion, HttpStatus.OK);
@@ -0,0 +1,146 @@
+package com.onlinequiz.controllers;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.Page;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizBlueprint;
+import com.onlinequiz.models.QuizDraft;
+import com.onlinequiz.models.QuizOverview;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.LeaderboardService;
+import com.onlinequiz.services.QuizEventService;
+import com.onlinequiz.services.QuizOverviewService;
+import com.onlinequiz.services.QuizService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/quizzes")
+public class QuizController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final QuizService quizService;
+    private final LeaderboardService leaderboardService;
+    private final QuizEventService quizEventService;
+    private final QuizOverviewService quizOverviewService;
+
+    @Autowired
+    public QuizController(QuizService quizService, LeaderboardService leaderboardService,
+                          QuizEventService quizEventService, QuizOverviewService quizOverviewService) {
+        this.quizService = quizService;
+        this.leaderboardService = leaderboardService;
+        this.quizEventService = quizEventService;
+        this.quizOverviewService = quizOverviewService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Quiz> createQuiz(@RequestBody QuizDraft draft) {
+        Quiz createdQuiz = quizService.createQuiz(draft.getTitle(), draft.getQuestionIds());
+        return new ResponseEntity<>(createdQuiz, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<Quiz>> getQuizzes(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(quizService.getQuizPage(cursor, limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Quiz> getQuizById(@PathVariable String id) {
+        Optional<Quiz> quiz = quizService.getQuizById(id);
+        return quiz.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<QuizOverview> getQuizOverview(@PathVariable String id) {
+        return quizOverviewService.getQuizOverview(id)
+                .map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Quiz> updateQuiz(@PathVariable String id, @RequestBody QuizDraft draft) {
+        if (!quizService.getQuizById(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Quiz updatedQuiz = quizService.updateQuiz(id, draft.getTitle(), draft.getQuestionIds());
+        return new ResponseEntity<>(updatedQuiz, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteQuiz(@PathVariable String id) {
+        boolean deleted = quizService.isDeleteQuiz(id);
+        return deleted ? new ResponseEntity<>(HttpStatus.NO_CONTENT) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    @PostMapping("/{id}/lock")
+    public ResponseEntity<Quiz> lockQuiz(@PathVariable String id) {
+        if (!quizService.getQuizById(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        quizService.lockQuiz(id);
+        return new ResponseEntity<>(quizService.getQuizById(id).get(), HttpStatus.OK);
+    }
+
+    @PostMapping("/blueprint")
+    public ResponseEntity<Quiz> createQuizFromBlueprint(@RequestBody QuizBlueprint blueprint) {
+        Quiz createdQuiz = quizService.createQuizFromBlueprint(blueprint);
+        return new ResponseEntity<>(createdQuiz, HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{accessCode}/submissions")
+    public ResponseEntity<SubmissionResult> submitQuiz(@PathVariable String accessCode, @RequestBody Submission submission) {
+        Optional<SubmissionResult> result = quizService.submitQuiz(accessCode, submission);
+        return result.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // Streams straight from the request to the response so a batch of any size is graded in constant memory.
+    @PostMapping(value = "/{accessCode}/submissions/batch", consumes = NDJSON)
+    public void gradeSubmissions(@PathVariable String accessCode, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        if (!quizService.getQuizByAccessCode(accessCode).isPresent()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        quizService.gradeSubmissions(accessCode, request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping("/{accessCode}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> getLeaderboard(@PathVariable String accessCode,
+                                                                 @RequestParam(required = false) Integer limit) {
+        Optional<Quiz> quiz = quizService.getQuizByAccessCode(accessCode);
+        return quiz.map(value -> new ResponseEntity<>(leaderboardService.getTopEntries(value.getId(), limit), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/{accessCode}/leaderboard/{userId}")
+    public ResponseEntity<LeaderboardEntry> getRank(@PathVariable String accessCode, @PathVariable String userId) {
+        Optional<LeaderboardEntry> entry = quizService.getQuizByAccessCode(accessCode)
+                .flatMap(quiz -> leaderboardService.getRank(quiz.getId(), userId));
+        return entry.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping(value = "/{accessCode}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribeToEvents(@PathVariable String accessCode) {
+        Optional<Quiz> quiz = quizService.getQuizByAccessCode(accessCode);
+        return quiz.map(value -> new ResponseEntity<>(quizEventService.subscribe(value.getId()), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,54 @@
+package com.onlinequiz.controllers;
+
+import com.onlinequiz.models.QuizSession;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.SessionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/sessions")
+public class SessionController {
+
+    private final SessionService sessionService;
+
+    @Autowired
+    public SessionController(SessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<QuizSession> startSession(@RequestBody QuizSession session,
+                                                    @RequestParam(required = false) Long durationSeconds) {
+        QuizSession started = sessionService.startSession(session.getUserId(), session.getAccessCode(), durationSeconds);
+        return new ResponseEntity<>(started, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<QuizSession> getSession(@PathVariable String id) {
+        Optional<QuizSession> session = sessionService.getSession(id);
+        return session.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("/{id}/answers/{questionIndex}")
+    public ResponseEntity<QuizSession> saveAnswer(@PathVariable String id, @PathVariable int questionIndex,
+                                                  @RequestParam int option) {
+        if (!sessionService.getSession(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(sessionService.saveAnswer(id, questionIndex, option), HttpStatus.OK);
+    }
+
+    @PostMapping("/{id}/submit")
+    public ResponseEntity<SubmissionResult> submitSession(@PathVariable String id) {
+        if (!sessionService.getSession(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(sessionService.submitSession(id), HttpStatus.OK);
+    }
+}
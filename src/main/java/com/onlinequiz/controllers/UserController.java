@@ -1,8 +1,13 @@
 package com.onlinequiz.controllers;
 
+import com.onlinequiz.exception.LoginThrottledException;
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.User;
 import com.onlinequiz.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -23,10 +28,20 @@ public class UserController {
 
     @PostMapping
     public ResponseEntity<User> createUser(@RequestBody User user) {
-        User createdUser = userService.createUser(user.getUsername(), user.getPassword(), user.getRole());
+        User createdUser;
+        try {
+            createdUser = userService.createUser(user.getUsername(), user.getPassword(), user.getRole());
+        } catch (LoginThrottledException e) {
+            return throttled();
+        }
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOutcome>> applyBatch(@RequestBody List<BatchOperation<User>> operations) {
+        return new ResponseEntity<>(userService.applyBatch(operations), HttpStatus.OK);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<User> getUserById(@PathVariable String id) {
         Optional<User> user = userService.getUserById(id);
@@ -35,15 +50,23 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return new ResponseEntity<>(users, HttpStatus.OK);
+    public ResponseEntity<Page<User>> getUsers(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        return new ResponseEntity<>(userService.getUserPage(cursor, limit), HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(@PathVariable String id, @RequestBody User user) {
+        if (!userService.getUserById(id).isPresent()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
         user.setId(id);
-        User updatedUser = userService.updateUser(user);
+        User updatedUser;
+        try {
+            updatedUser = userService.updateUser(user);
+        } catch (LoginThrottledException e) {
+            return throttled();
+        }
         return new ResponseEntity<>(updatedUser, HttpStatus.OK);
     }
 
@@ -55,13 +78,28 @@ public class UserController {
 
     @PostMapping("/login")
     public ResponseEntity<User> login(@RequestBody User user) {
-        User loggedInUser = userService.login(user.getUsername(), user.getPassword());
+        User loggedInUser;
+        try {
+            loggedInUser = userService.login(user.getUsername(), user.getPassword());
+        } catch (LoginThrottledException e) {
+            return throttled();
+        }
         return loggedInUser != null ? new ResponseEntity<>(loggedInUser, HttpStatus.OK) : new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
     }
 
     @PostMapping("/register")
     public ResponseEntity<User> register(@RequestBody User user) {
-        User registeredUser = userService.register(user.getUsername(), user.getPassword(), user.getRole());
+        User registeredUser;
+        try {
+            registeredUser = userService.register(user.getUsername(), user.getPassword(), user.getRole());
+        } catch (LoginThrottledException e) {
+            return throttled();
+        }
         return new ResponseEntity<>(registeredUser, HttpStatus.CREATED);
     }
+
+    // The password pool is saturated; nothing was checked or stored, so the client can simply retry.
+    private static <T> ResponseEntity<T> throttled() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
 }
\ No newline at end of file
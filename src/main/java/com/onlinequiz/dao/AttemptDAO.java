@@ -0,0 +1,52 @@
+package com.onlinequiz.dao;
+
+import com.onlinequiz.models.QuizAttempt;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttemptDAO {
+    /**
+     * Append a graded attempt. Attempts are never changed once recorded.
+     *
+     * @param attempt The attempt to record.
+     * @return The recorded attempt, or the already stored attempt if one with the same ID exists.
+     */
+    QuizAttempt recordAttempt(QuizAttempt attempt);
+
+    /**
+     * Retrieve an attempt by its unique identifier.
+     *
+     * @param id The ID of the attempt to retrieve.
+     * @return An Optional containing the attempt if found, or empty if not found.
+     */
+    Optional<QuizAttempt> getAttemptById(String id);
+
+    /**
+     * Retrieve a user's attempts submitted within a time range, newest first.
+     *
+     * @param userId The ID of the user.
+     * @param from   The earliest submission time to include, in epoch milliseconds.
+     * @param to     The latest submission time to include, in epoch milliseconds.
+     * @param limit  The maximum number of attempts to return.
+     * @return The matching attempts.
+     */
+    List<QuizAttempt> getAttemptsByUser(String userId, long from, long to, int limit);
+
+    /**
+     * Retrieve a quiz's attempts submitted within a time range, newest first.
+     *
+     * @param quizId The ID of the quiz.
+     * @param from   The earliest submission time to include, in epoch milliseconds.
+     * @param to     The latest submission time to include, in epoch milliseconds.
+     * @param limit  The maximum number of attempts to return.
+     * @return The matching attempts.
+     */
+    List<QuizAttempt> getAttemptsByQuiz(String quizId, long from, long to, int limit);
+
+    /**
+     * Count the stored attempts.
+     *
+     * @return The number of attempts; cheap enough to call on every metrics scrape.
+     */
+    int countAttempts();
+}
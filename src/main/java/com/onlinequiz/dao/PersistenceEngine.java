@@ -0,0 +1,97 @@
+package com.onlinequiz.dao;
+
+import com.onlinequiz.exception.PersistenceException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.onlinequiz.constants.Constants.ERROR_PERSISTENCE_WRITE;
+
+/**
+ * Durability hook for the in-memory DAO implementations.
+ * <p>
+ * A DAO applies each change to its map first and then hands it to the engine while still holding the lock that
+ * serialises writes to that record, so the log order per record matches the map. Waiting for the returned commit
+ * happens after the lock is released, which lets the engine group concurrent writers into a single sync.
+ *
+ * @param <T> The record type stored by the owning DAO.
+ */
+public interface PersistenceEngine<T> extends AutoCloseable {
+    /**
+     * Load persisted records into the given map. The engine keeps the map to take snapshots from later on.
+     *
+     * @param target The DAO's primary map, keyed by record ID.
+     */
+    void recover(Map<String, T> target);
+
+    /**
+     * Record that a record was created or replaced.
+     *
+     * @param id    The ID of the record.
+     * @param value The record as it is now stored.
+     * @return A commit that completes once the change is durable.
+     */
+    CompletableFuture<Void> logPut(String id, T value);
+
+    /**
+     * Record that a record was deleted.
+     *
+     * @param id The ID of the deleted record.
+     * @return A commit that completes once the change is durable.
+     */
+    CompletableFuture<Void> logDelete(String id);
+
+    /**
+     * Release files and background threads held by the engine.
+     */
+    @Override
+    void close();
+
+    /**
+     * Block until a commit returned by this engine is durable.
+     *
+     * @param commit The commit to wait for.
+     * @throws PersistenceException if the change could not be written.
+     */
+    default void await(CompletableFuture<Void> commit) {
+        try {
+            commit.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof PersistenceException) {
+                throw (PersistenceException) cause;
+            }
+            throw new PersistenceException(ERROR_PERSISTENCE_WRITE, cause);
+        }
+    }
+
+    /**
+     * An engine that keeps nothing, for DAOs that live purely in memory.
+     */
+    static <T> PersistenceEngine<T> inMemory() {
+        return new PersistenceEngine<>() {
+            private final CompletableFuture<Void> done = CompletableFuture.completedFuture(null);
+
+            @Override
+            public void recover(Map<String, T> target) {
+                // Nothing was ever written.
+            }
+
+            @Override
+            public CompletableFuture<Void> logPut(String id, T value) {
+                return done;
+            }
+
+            @Override
+            public CompletableFuture<Void> logDelete(String id) {
+                return done;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release.
+            }
+        };
+    }
+}
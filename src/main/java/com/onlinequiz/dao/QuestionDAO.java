@@ -1,15 +1,18 @@
 package com.onlinequiz.dao;
 
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface QuestionDAO {
     /**
      * Create a new question in the data store.
      *
      * @param question The question to be created.
-     * @return The created question, potentially with a generated ID.
+     * @return The created question, or the already stored question if one with the same ID exists.
      */
     Question createQuestion(Question question);
 
@@ -28,11 +31,48 @@ public interface QuestionDAO {
      */
     List<Question> getAllQuestions();
 
+    /**
+     * Retrieve a page of questions in ID order.
+     *
+     * @param afterId The last ID of the previous page, or null for the first page.
+     * @param limit   The maximum number of questions to return.
+     * @return Up to {@code limit} questions whose IDs sort after {@code afterId}.
+     */
+    List<Question> getQuestionsAfter(String afterId, int limit);
+
+    /**
+     * Walk every question in ID order without copying the table. The walk is weakly consistent: it never fails
+     * because of concurrent writes and may or may not see them.
+     *
+     * @return An iterator over all questions.
+     */
+    Iterator<Question> iterateQuestions();
+
+    /**
+     * Create or replace a batch of questions, making the whole batch durable with one wait on the log. Questions
+     * {@link #pinQuestions pinned} by a locked quiz are left as they are.
+     *
+     * @param questions The questions to store, keyed by their IDs.
+     * @return The IDs that were written.
+     */
+    Set<String> putQuestions(List<Question> questions);
+
+    /**
+     * Replace a batch of existing questions, taking each of their locks once and waiting on the log once. Whether a
+     * question exists is decided under its lock, so a question deleted concurrently is never brought back.
+     *
+     * @param questions The questions with updated information.
+     * @return The IDs that existed and were updated. Questions {@link #pinQuestions pinned} by a locked quiz are
+     * skipped.
+     */
+    Set<String> updateQuestions(List<Question> questions);
+
     /**
      * Update an existing question in the data store.
      *
      * @param question The question with updated information.
-     * @return The updated question.
+     * @return The updated question, or null if no question with that ID exists.
+     * @throws com.onlinequiz.exception.QuestionLockedException if the question is pinned by a locked quiz.
      */
     Question updateQuestion(Question question);
 
@@ -41,6 +81,76 @@ public interface QuestionDAO {
      *
      * @param id The ID of the question to delete.
      * @return true if the question was successfully deleted, false otherwise.
+     * @throws com.onlinequiz.exception.QuestionLockedException if the question is pinned by a locked quiz.
      */
     boolean isDeleteQuestion(String id);
-}
\ No newline at end of file
+
+    /**
+     * Delete a batch of questions, making the whole batch durable with one wait on the log.
+     *
+     * @param ids The IDs of the questions to delete.
+     * @return The IDs that existed and were deleted; pinned questions are left in place.
+     */
+    Set<String> deleteQuestions(List<String> ids);
+
+    /**
+     * Freeze questions for a locked quiz: until they are unpinned they can be neither updated nor deleted. Pins are
+     * counted, so a question shared by several locked quizzes stays frozen until the last of them lets go. Pins live
+     * in memory only; their owners take them again after a restart.
+     *
+     * @param ids The IDs of the questions to pin, in quiz order.
+     * @return The pinned questions in the same order, or empty, with nothing pinned, if any of them does not exist.
+     */
+    Optional<List<Question>> pinQuestions(List<String> ids);
+
+    /**
+     * Release one pin on each question taken by {@link #pinQuestions}.
+     *
+     * @param ids The IDs that were pinned.
+     */
+    void unpinQuestions(List<String> ids);
+
+    /**
+     * Move questions that will no longer change into read-only storage. Sealed questions stay readable through
+     * this DAO; a later update keeps a fresh copy in front of the sealed one.
+     *
+     * @param ids The IDs of the questions to seal.
+     * @return The number of questions that were sealed.
+     */
+    int sealQuestions(List<String> ids);
+
+    /**
+     * Retrieve the questions matching a topic and difficulty filter, answered from an inverted index.
+     *
+     * @param query The filter to apply.
+     * @return The matching questions.
+     */
+    List<Question> findQuestions(QuestionQuery query);
+
+    /**
+     * Retrieve a page of the questions matching a filter, in ID order.
+     *
+     * @param query   The filter to apply.
+     * @param afterId The last ID of the previous page, or null for the first page.
+     * @param limit   The maximum number of questions to return.
+     * @return Up to {@code limit} matching questions whose IDs sort after {@code afterId}.
+     */
+    List<Question> findQuestionsAfter(QuestionQuery query, String afterId, int limit);
+
+    /**
+     * Draw distinct questions matching a filter uniformly at random.
+     *
+     * @param query       The filter to apply.
+     * @param excludedIds IDs that must not be drawn, e.g. questions already picked for the same quiz.
+     * @param count       The number of questions to draw.
+     * @return The drawn questions in random order; fewer than {@code count} if not enough questions match.
+     */
+    List<Question> sampleQuestions(QuestionQuery query, Set<String> excludedIds, int count);
+
+    /**
+     * Count the stored questions.
+     *
+     * @return The number of questions; cheap enough to call on every metrics scrape.
+     */
+    int countQuestions();
+}
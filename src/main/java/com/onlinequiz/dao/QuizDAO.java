@@ -12,7 +12,8 @@ public interface QuizDAO {
      * Create a new quiz.
      *
      * @param quiz The quiz to be created.
-     * @return The created quiz with generated ID.
+     * @return The created quiz, or the already stored quiz if one with the same ID exists.
+     * @throws com.onlinequiz.exception.AccessCodeTakenException if another quiz holds the access code.
      */
     Quiz createQuiz(Quiz quiz);
 
@@ -31,14 +32,33 @@ public interface QuizDAO {
      */
     List<Quiz> getAllQuizzes();
 
+    /**
+     * Retrieve a page of quizzes in ID order.
+     *
+     * @param afterId The last ID of the previous page, or null for the first page.
+     * @param limit   The maximum number of quizzes to return.
+     * @return Up to {@code limit} quizzes whose IDs sort after {@code afterId}.
+     */
+    List<Quiz> getQuizzesAfter(String afterId, int limit);
+
     /**
      * Update an existing quiz.
      *
      * @param quiz The quiz with updated information.
-     * @return The updated quiz.
+     * @return The updated quiz, or null if no quiz with that ID exists.
      */
     Quiz updateQuiz(Quiz quiz);
 
+    /**
+     * Replace a quiz only if it has not changed since it was read, so a read-modify-write never overwrites a
+     * concurrent update such as locking the quiz.
+     *
+     * @param expected The stored quiz the update was computed from.
+     * @param updated  The quiz with updated information, with the same ID.
+     * @return true if {@code expected} was still stored and has been replaced.
+     */
+    boolean replaceQuiz(Quiz expected, Quiz updated);
+
     /**
      * Delete a quiz by its ID.
      *
@@ -54,4 +74,11 @@ public interface QuizDAO {
      * @return An Optional containing the quiz if found, or empty if not found.
      */
     Optional<Quiz> getQuizByAccessCode(String accessCode);
-}
\ No newline at end of file
+
+    /**
+     * Count the stored quizzes.
+     *
+     * @return The number of quizzes; cheap enough to call on every metrics scrape.
+     */
+    int countQuizzes();
+}
@@ -3,6 +3,7 @@ package com.onlinequiz.dao;
 import com.onlinequiz.models.User;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data Access Object interface for User-related operations.
@@ -12,10 +13,19 @@ public interface UserDAO {
      * Create a new user.
      *
      * @param user The user to be created.
-     * @return The created user with generated ID.
+     * @return The created user, or the already stored user if one with the same ID or username exists.
      */
     User createUser(User user);
 
+    /**
+     * Create a batch of users taking each of their locks once and waiting on the log once.
+     *
+     * @param users The users to be created.
+     * @return For each user in order, the stored user: the user itself if it was created, or the already stored
+     * user with the same ID or username.
+     */
+    List<User> createUsers(List<User> users);
+
     /**
      * Retrieve a user by their ID.
      *
@@ -39,14 +49,43 @@ public interface UserDAO {
      */
     List<User> getAllUsers();
 
+    /**
+     * Retrieve a page of users in ID order.
+     *
+     * @param afterId The last ID of the previous page, or null for the first page.
+     * @param limit   The maximum number of users to return.
+     * @return Up to {@code limit} users whose IDs sort after {@code afterId}.
+     */
+    List<User> getUsersAfter(String afterId, int limit);
+
     /**
      * Update an existing user.
      *
      * @param user The user with updated information.
-     * @return The updated user.
+     * @return The updated user; the user holding the new username if that is another user, in which case nothing
+     * changes; or null if no user with that ID exists.
      */
     User updateUser(User user);
 
+    /**
+     * Replace a user only if it has not changed since it was read, so a read-modify-write never overwrites a
+     * concurrent update.
+     *
+     * @param expected The stored user the update was computed from.
+     * @param updated  The user with updated information, with the same ID.
+     * @return true if {@code expected} was still stored and has been replaced; false as well if the new username
+     * belongs to another user.
+     */
+    boolean replaceUser(User expected, User updated);
+
+    /**
+     * Replace a batch of existing users taking each of their locks once and waiting on the log once.
+     *
+     * @param users The users with updated information.
+     * @return The IDs that existed and were updated. Users renamed to a username another user holds are skipped.
+     */
+    Set<String> updateUsers(List<User> users);
+
     /**
      * Delete a user by their ID.
      *
@@ -56,11 +95,17 @@ public interface UserDAO {
     boolean isDeleteUser(String id);
 
     /**
-     * Authenticate a user.
+     * Delete a batch of users taking each of their locks once and waiting on the log once.
+     *
+     * @param ids The IDs of the users to delete.
+     * @return The IDs that existed and were deleted.
+     */
+    Set<String> deleteUsers(List<String> ids);
+
+    /**
+     * Count the stored users.
      *
-     * @param username The username of the user.
-     * @param password The password of the user.
-     * @return An Optional containing the authenticated user if successful, or empty if authentication fails.
+     * @return The number of users; cheap enough to call on every metrics scrape.
      */
-    Optional<User> authenticateUser(String username, String password);
-}
\ No newline at end of file
+    int countUsers();
+}
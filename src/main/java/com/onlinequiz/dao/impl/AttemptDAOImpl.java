@@ -0,0 +1,74 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.models.QuizAttempt;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+@Repository
+public class AttemptDAOImpl implements AttemptDAO {
+    private final ConcurrentMap<String, QuizAttempt> attempts = new ConcurrentHashMap<>();
+    // Append-only, so the per-user and per-quiz timelines never need entries removed.
+    private final ConcurrentMap<String, AttemptTimeline> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AttemptTimeline> byQuiz = new ConcurrentHashMap<>();
+    private final PersistenceEngine<QuizAttempt> persistence;
+
+    public AttemptDAOImpl() {
+        this(PersistenceEngine.inMemory());
+    }
+
+    @Autowired
+    public AttemptDAOImpl(PersistenceEngine<QuizAttempt> persistence) {
+        this.persistence = persistence;
+        persistence.recover(attempts);
+        List<QuizAttempt> recovered = new ArrayList<>(attempts.values());
+        // Index in time order so every timeline is built by appends alone.
+        recovered.sort(Comparator.comparingLong(QuizAttempt::getSubmittedAt));
+        recovered.forEach(this::index);
+    }
+
+    @Override
+    public QuizAttempt recordAttempt(QuizAttempt attempt) {
+        QuizAttempt existing = attempts.putIfAbsent(attempt.getId(), attempt);
+        if (existing != null) {
+            return existing;
+        }
+        index(attempt);
+        persistence.await(persistence.logPut(attempt.getId(), attempt));
+        return attempt;
+    }
+
+    @Override
+    public Optional<QuizAttempt> getAttemptById(String id) {
+        return Optional.ofNullable(attempts.get(id));
+    }
+
+    @Override
+    public List<QuizAttempt> getAttemptsByUser(String userId, long from, long to, int limit) {
+        AttemptTimeline timeline = byUser.get(userId);
+        return timeline == null ? new ArrayList<>() : timeline.range(from, to, limit);
+    }
+
+    @Override
+    public List<QuizAttempt> getAttemptsByQuiz(String quizId, long from, long to, int limit) {
+        AttemptTimeline timeline = byQuiz.get(quizId);
+        return timeline == null ? new ArrayList<>() : timeline.range(from, to, limit);
+    }
+
+    private void index(QuizAttempt attempt) {
+        if (attempt.getUserId() != null) {
+            byUser.computeIfAbsent(attempt.getUserId(), id -> new AttemptTimeline()).add(attempt);
+        }
+        if (attempt.getQuizId() != null) {
+            byQuiz.computeIfAbsent(attempt.getQuizId(), id -> new AttemptTimeline()).add(attempt);
+        }
+    }
+
+    @Override
+    public int countAttempts() {
+        return attempts.size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.models.QuizAttempt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One user's or one quiz's attempts ordered by submission time, held in parallel growable arrays.
+ * <p>
+ * Attempts nearly always arrive in time order, so an add is an append; a late arrival is placed by binary search.
+ * A time-range scan binary-searches its upper bound and walks backwards, touching only the attempts it returns.
+ */
+class AttemptTimeline {
+    private long[] times = new long[4];
+    private QuizAttempt[] attempts = new QuizAttempt[4];
+    private int size;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void add(QuizAttempt attempt) {
+        long time = attempt.getSubmittedAt();
+        lock.writeLock().lock();
+        try {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                attempts = Arrays.copyOf(attempts, size * 2);
+            }
+            int position = size == 0 || times[size - 1] <= time ? size : upperBound(time);
+            System.arraycopy(times, position, times, position + 1, size - position);
+            System.arraycopy(attempts, position, attempts, position + 1, size - position);
+            times[position] = time;
+            attempts[position] = attempt;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} attempts submitted in {@code [from, to]}, newest first.
+     */
+    List<QuizAttempt> range(long from, long to, int limit) {
+        lock.readLock().lock();
+        try {
+            List<QuizAttempt> result = new ArrayList<>(Math.min(limit, size));
+            for (int i = upperBound(to) - 1; i >= 0 && times[i] >= from && result.size() < limit; i--) {
+                result.add(attempts[i]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // First index whose time is greater than the given one.
+    private int upperBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,34 @@
+package com.onlinequiz.dao.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over a DAO's sorted ID set: a page starts strictly after the last ID of the previous one, so
+ * it costs O(log n + page) and stays stable while records are added or removed elsewhere in the table.
+ */
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * @param lookup resolves an ID to its record, or null if it vanished since the ID was read.
+     * @return up to {@code limit} records in ID order.
+     */
+    static <T> List<T> page(NavigableSet<String> ids, String afterId, int limit, Function<String, T> lookup) {
+        List<T> page = new ArrayList<>(Math.min(limit, 1024));
+        for (String id : afterId == null ? ids : ids.tailSet(afterId, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            T record = lookup.apply(id);
+            if (record != null) {
+                page.add(record);
+            }
+        }
+        return page;
+    }
+}
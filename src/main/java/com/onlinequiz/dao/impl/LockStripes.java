@@ -0,0 +1,60 @@
+package com.onlinequiz.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys hash onto, so writers to different keys rarely share a lock while the number of
+ * locks stays bounded. Several stripes are always taken in stripe order, so two batches can never deadlock.
+ */
+final class LockStripes {
+    private static final int STRIPES = 64;
+
+    private final Lock[] locks = new Lock[STRIPES];
+
+    LockStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    Lock of(String key) {
+        return locks[index(key)];
+    }
+
+    /**
+     * The distinct stripes covering the given keys, in stripe order; null keys need no lock.
+     */
+    List<Lock> covering(Collection<String> keys) {
+        boolean[] needed = new boolean[STRIPES];
+        for (String key : keys) {
+            if (key != null) {
+                needed[index(key)] = true;
+            }
+        }
+        List<Lock> covering = new ArrayList<>();
+        for (int i = 0; i < STRIPES; i++) {
+            if (needed[i]) {
+                covering.add(locks[i]);
+            }
+        }
+        return covering;
+    }
+
+    static List<Lock> lockAll(List<Lock> locks) {
+        locks.forEach(Lock::lock);
+        return locks;
+    }
+
+    static void unlockAll(List<Lock> locks) {
+        locks.forEach(Lock::unlock);
+    }
+
+    private static int index(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
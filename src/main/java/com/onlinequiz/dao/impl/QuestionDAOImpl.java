@@ -1,37 +1,371 @@
 package com.onlinequiz.dao.impl;
 
+import com.onlinequiz.dao.PersistenceEngine;
 import com.onlinequiz.dao.QuestionDAO;
+import com.onlinequiz.exception.QuestionLockedException;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+
+import static com.onlinequiz.constants.Constants.ERROR_QUESTION_LOCKED;
+
 @Repository
 public class QuestionDAOImpl implements QuestionDAO {
-    private final Map<String, Question> questions = new HashMap<>();
+    // Shared by every request thread; ConcurrentHashMap locks per bin, so writers to different ids never contend.
+    private final ConcurrentMap<String, Question> questions = new ConcurrentHashMap<>();
+    // Orders the map update and the log append of writes to the same id; other ids hash to other stripes.
+    private final LockStripes stripes = new LockStripes();
+    private final PersistenceEngine<Question> persistence;
+    // Questions sealed when their quiz was locked; anything in the map shadows its sealed copy.
+    private final QuestionSegmentStore segments;
+    private final QuestionIndex index = new QuestionIndex();
+    // IDs of every visible question, heap or sealed, in sorted order for keyset pagination.
+    private final NavigableSet<String> orderedIds = new ConcurrentSkipListSet<>();
+    // Pin counts of questions frozen by locked quizzes; only changed under the question's stripe.
+    private final ConcurrentMap<String, Integer> pins = new ConcurrentHashMap<>();
+
+    public QuestionDAOImpl() {
+        this(PersistenceEngine.inMemory(), QuestionSegmentStore.disabled());
+    }
+
+    @Autowired
+    public QuestionDAOImpl(PersistenceEngine<Question> persistence, QuestionSegmentStore segments) {
+        this.persistence = persistence;
+        this.segments = segments;
+        persistence.recover(questions);
+        questions.values().forEach(index::add);
+        orderedIds.addAll(questions.keySet());
+        segments.forEach(question -> {
+            if (!questions.containsKey(question.getId())) {
+                index.add(question);
+                orderedIds.add(question.getId());
+            }
+        });
+    }
 
     @Override
     public Question createQuestion(Question question) {
-        questions.put(question.getId(), question);
+        Lock lock = stripes.of(question.getId());
+        CompletableFuture<Void> commit;
+        lock.lock();
+        try {
+            Optional<Question> sealed = questions.containsKey(question.getId())
+                    ? Optional.empty() : segments.get(question.getId());
+            if (sealed.isPresent()) {
+                return sealed.get();
+            }
+            Question existing = questions.putIfAbsent(question.getId(), question);
+            if (existing != null) {
+                return existing;
+            }
+            index.add(question);
+            orderedIds.add(question.getId());
+            commit = persistence.logPut(question.getId(), question);
+        } finally {
+            lock.unlock();
+        }
+        persistence.await(commit);
         return question;
     }
 
     @Override
     public Optional<Question> getQuestionById(String id) {
-        return Optional.ofNullable(questions.get(id));
+        Question question = questions.get(id);
+        return question != null ? Optional.of(question) : segments.get(id);
     }
 
     @Override
     public List<Question> getAllQuestions() {
-        return new ArrayList<>(questions.values());
+        List<Question> all = new ArrayList<>(questions.values());
+        segments.forEach(question -> {
+            if (!questions.containsKey(question.getId())) {
+                all.add(question);
+            }
+        });
+        return all;
+    }
+
+    @Override
+    public List<Question> getQuestionsAfter(String afterId, int limit) {
+        return Keyset.page(orderedIds, afterId, limit, id -> getQuestionById(id).orElse(null));
+    }
+
+    @Override
+    public Iterator<Question> iterateQuestions() {
+        Iterator<String> ids = orderedIds.iterator();
+        return new Iterator<>() {
+            private Question next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && ids.hasNext()) {
+                    next = getQuestionById(ids.next()).orElse(null);
+                }
+                return next != null;
+            }
+
+            @Override
+            public Question next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Question question = next;
+                next = null;
+                return question;
+            }
+        };
+    }
+
+    @Override
+    public Set<String> putQuestions(List<Question> batch) {
+        List<CompletableFuture<Void>> commits = new ArrayList<>(batch.size());
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Question question : batch) {
+            ids.add(question.getId());
+        }
+        List<Question> written = new ArrayList<>(batch.size());
+        Set<String> writtenIds = new HashSet<>();
+        List<Lock> locks = LockStripes.lockAll(stripes.covering(ids));
+        try {
+            for (Question question : batch) {
+                if (pins.containsKey(question.getId())) {
+                    continue;
+                }
+                questions.put(question.getId(), question);
+                orderedIds.add(question.getId());
+                commits.add(persistence.logPut(question.getId(), question));
+                written.add(question);
+                writtenIds.add(question.getId());
+            }
+            index.addAll(written);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        // Every record is queued before waiting, so the log syncs the batch together instead of once per question.
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return writtenIds;
+    }
+
+    @Override
+    public Set<String> updateQuestions(List<Question> batch) {
+        List<CompletableFuture<Void>> commits = new ArrayList<>(batch.size());
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Question question : batch) {
+            ids.add(question.getId());
+        }
+        List<Question> written = new ArrayList<>(batch.size());
+        Set<String> writtenIds = new HashSet<>();
+        List<Lock> locks = LockStripes.lockAll(stripes.covering(ids));
+        try {
+            for (Question question : batch) {
+                String id = question.getId();
+                if ((!questions.containsKey(id) && !segments.contains(id)) || pins.containsKey(id)) {
+                    continue;
+                }
+                questions.put(id, question);
+                commits.add(persistence.logPut(id, question));
+                written.add(question);
+                writtenIds.add(id);
+            }
+            index.addAll(written);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return writtenIds;
     }
 
     @Override
     public Question updateQuestion(Question question) {
-        questions.put(question.getId(), question);
+        Lock lock = stripes.of(question.getId());
+        CompletableFuture<Void> commit;
+        lock.lock();
+        try {
+            // Sealed questions exist too; the update keeps a fresh copy in front of the sealed one.
+            if (!questions.containsKey(question.getId()) && !segments.contains(question.getId())) {
+                return null;
+            }
+            if (pins.containsKey(question.getId())) {
+                throw new QuestionLockedException(ERROR_QUESTION_LOCKED);
+            }
+            questions.put(question.getId(), question);
+            index.add(question);
+            commit = persistence.logPut(question.getId(), question);
+        } finally {
+            lock.unlock();
+        }
+        persistence.await(commit);
         return question;
     }
 
     @Override
     public boolean isDeleteQuestion(String id) {
-        return questions.remove(id) != null;
+        Lock lock = stripes.of(id);
+        CompletableFuture<Void> commit = null;
+        boolean deleted;
+        lock.lock();
+        try {
+            if (pins.containsKey(id)) {
+                throw new QuestionLockedException(ERROR_QUESTION_LOCKED);
+            }
+            deleted = segments.delete(id);
+            if (questions.remove(id) != null) {
+                commit = persistence.logDelete(id);
+                deleted = true;
+            }
+            if (deleted) {
+                index.remove(id);
+                orderedIds.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (commit != null) {
+            persistence.await(commit);
+        }
+        return deleted;
+    }
+
+    @Override
+    public Set<String> deleteQuestions(List<String> ids) {
+        List<CompletableFuture<Void>> commits = new ArrayList<>(ids.size());
+        Set<String> deleted = new HashSet<>();
+        List<Lock> locks = LockStripes.lockAll(stripes.covering(ids));
+        try {
+            for (String id : ids) {
+                if (pins.containsKey(id)) {
+                    continue;
+                }
+                boolean removed = segments.delete(id);
+                if (questions.remove(id) != null) {
+                    commits.add(persistence.logDelete(id));
+                    removed = true;
+                }
+                if (removed) {
+                    index.remove(id);
+                    orderedIds.remove(id);
+                    deleted.add(id);
+                }
+            }
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return deleted;
+    }
+
+    @Override
+    public Optional<List<Question>> pinQuestions(List<String> ids) {
+        List<Lock> locks = LockStripes.lockAll(stripes.covering(ids));
+        try {
+            // Read under the same locks that writers take, so what is returned is exactly what stays frozen.
+            List<Question> pinned = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                Optional<Question> question = getQuestionById(id);
+                if (!question.isPresent()) {
+                    return Optional.empty();
+                }
+                pinned.add(question.get());
+            }
+            for (String id : ids) {
+                pins.merge(id, 1, Integer::sum);
+            }
+            return Optional.of(pinned);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+    }
+
+    @Override
+    public void unpinQuestions(List<String> ids) {
+        List<Lock> locks = LockStripes.lockAll(stripes.covering(ids));
+        try {
+            for (String id : ids) {
+                pins.computeIfPresent(id, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+    }
+
+    @Override
+    public List<Question> findQuestions(QuestionQuery query) {
+        List<String> ids = index.query(query);
+        List<Question> matches = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            getQuestionById(id).ifPresent(matches::add);
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Question> findQuestionsAfter(QuestionQuery query, String afterId, int limit) {
+        // Only the page's IDs are loaded.
+        List<Question> page = new ArrayList<>();
+        for (String id : index.queryAfter(query, orderedIds, afterId, limit)) {
+            getQuestionById(id).ifPresent(page::add);
+        }
+        return page;
+    }
+
+    @Override
+    public List<Question> sampleQuestions(QuestionQuery query, Set<String> excludedIds, int count) {
+        List<String> ids = index.sample(query, excludedIds, count, ThreadLocalRandom.current());
+        List<Question> sampled = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            getQuestionById(id).ifPresent(sampled::add);
+        }
+        return sampled;
+    }
+
+    @Override
+    public int sealQuestions(List<String> ids) {
+        if (!segments.isEnabled()) {
+            return 0;
+        }
+        List<Question> resident = new ArrayList<>();
+        for (String id : ids) {
+            Question question = questions.get(id);
+            if (question != null) {
+                resident.add(question);
+            }
+        }
+        segments.seal(resident);
+        int sealed = 0;
+        for (Question question : resident) {
+            Lock lock = stripes.of(question.getId());
+            CompletableFuture<Void> commit = null;
+            lock.lock();
+            try {
+                // Evict only if nobody replaced it meanwhile; the log drops it because the segment now holds it.
+                if (questions.remove(question.getId(), question)) {
+                    commit = persistence.logDelete(question.getId());
+                    sealed++;
+                } else if (!questions.containsKey(question.getId())) {
+                    // Deleted while the segment was being written, so the copy just sealed must not resurface.
+                    segments.delete(question.getId());
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (commit != null) {
+                persistence.await(commit);
+            }
+        }
+        return sealed;
+    }
+
+    @Override
+    public int countQuestions() {
+        // The index also covers sealed questions, which are no longer in the resident map.
+        return index.size();
     }
-}
\ No newline at end of file
+}
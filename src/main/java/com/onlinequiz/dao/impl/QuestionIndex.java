@@ -0,0 +1,337 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from topic and difficulty to the questions carrying them.
+ * <p>
+ * Each indexed question gets a dense slot number and every posting list is a {@link BitSet} over slots, so a query
+ * is a handful of word-wise AND/OR/AND-NOT passes regardless of how many questions match. Slots of removed
+ * questions are recycled. Topics are matched case-insensitively and ignoring surrounding whitespace.
+ */
+public class QuestionIndex {
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, BitSet> byTopic = new HashMap<>();
+    private final Map<String, BitSet> byDifficulty = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private String[] idsBySlot = new String[1024];
+    private String[][] topicsBySlot = new String[1024][];
+    private String[] difficultyBySlot = new String[1024];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Question question) {
+        lock.writeLock().lock();
+        try {
+            addLocked(question);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index a batch under a single acquisition of the write lock.
+     */
+    public void addAll(List<Question> questions) {
+        lock.writeLock().lock();
+        try {
+            for (Question question : questions) {
+                addLocked(question);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Question question) {
+        Integer existing = slots.get(question.getId());
+        if (existing != null) {
+            unpost(existing);
+        }
+        int slot = existing != null ? existing : allocate(question.getId());
+        String[] topics = normaliseTopics(question.getTopics());
+        String difficulty = normaliseDifficulty(question.getDifficulty());
+        for (String topic : topics) {
+            byTopic.computeIfAbsent(topic, key -> new BitSet()).set(slot);
+        }
+        if (difficulty != null) {
+            byDifficulty.computeIfAbsent(difficulty, key -> new BitSet()).set(slot);
+        }
+        topicsBySlot[slot] = topics;
+        difficultyBySlot[slot] = difficulty;
+        live.set(slot);
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            unpost(slot);
+            live.clear(slot);
+            idsBySlot[slot] = null;
+            freeSlots.push(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the IDs of all matching questions, in slot order.
+     */
+    public List<String> query(QuestionQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet result = matching(query);
+            List<String> ids = new ArrayList<>(result.cardinality());
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                ids.add(idsBySlot[slot]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pick {@code count} distinct matching questions uniformly at random without listing all matches.
+     * <p>
+     * Robert Floyd's algorithm draws the ranks of the chosen matches in O(count); a single pass over the result's
+     * words, skipping whole words by bit count, then turns ranks into slots.
+     *
+     * @return the sampled IDs in random order, or every match if there are fewer than {@code count}.
+     */
+    public List<String> sample(QuestionQuery query, Set<String> excludedIds, int count, Random random) {
+        lock.readLock().lock();
+        try {
+            BitSet result = matching(query);
+            for (String id : excludedIds) {
+                Integer slot = slots.get(id);
+                if (slot != null) {
+                    result.clear(slot);
+                }
+            }
+            int matches = result.cardinality();
+            int wanted = Math.min(count, matches);
+            int[] ranks = floydSample(matches, wanted, random);
+            Arrays.sort(ranks);
+            List<String> ids = new ArrayList<>(wanted);
+            long[] words = result.toLongArray();
+            int next = 0;
+            int seen = 0;
+            for (int word = 0; word < words.length && next < ranks.length; word++) {
+                long bits = words[word];
+                int inWord = Long.bitCount(bits);
+                if (seen + inWord <= ranks[next]) {
+                    seen += inWord;
+                    continue;
+                }
+                while (bits != 0 && next < ranks.length) {
+                    if (seen == ranks[next]) {
+                        ids.add(idsBySlot[word * Long.SIZE + Long.numberOfTrailingZeros(bits)]);
+                        next++;
+                    }
+                    bits &= bits - 1;
+                    seen++;
+                }
+            }
+            Collections.shuffle(ids, random);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The first {@code limit} matching IDs after {@code afterId}, in ID order.
+     * <p>
+     * Slots are not in ID order, so either the DAO's sorted IDs are walked from the cursor until {@code limit} of
+     * them match, or every match is visited keeping only the smallest IDs; whichever is expected to look at fewer.
+     *
+     * @param orderedIds every indexed ID in sorted order.
+     */
+    public List<String> queryAfter(QuestionQuery query, NavigableSet<String> orderedIds, String afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet result = matching(query);
+            int matches = result.cardinality();
+            List<String> ids = new ArrayList<>(Math.min(limit, matches));
+            if (matches == 0 || limit <= 0) {
+                return ids;
+            }
+            // A walk over the sorted IDs meets a match about every size / matches IDs.
+            if ((long) limit * slots.size() / matches < matches) {
+                for (String id : afterId == null ? orderedIds : orderedIds.tailSet(afterId, false)) {
+                    Integer slot = slots.get(id);
+                    if (slot != null && result.get(slot) && ids.add(id) && ids.size() == limit) {
+                        break;
+                    }
+                }
+                return ids;
+            }
+            NavigableSet<String> smallest = new TreeSet<>();
+            for (int slot = result.nextSetBit(0); slot >= 0; slot = result.nextSetBit(slot + 1)) {
+                String id = idsBySlot[slot];
+                if ((afterId == null || id.compareTo(afterId) > 0) && smallest.add(id) && smallest.size() > limit) {
+                    smallest.pollLast();
+                }
+            }
+            ids.addAll(smallest);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posting lists only ever hold live slots, so the result starts as a copy of the smallest list that every match
+     * must be in, and is narrowed from there; only an unconstrained query copies {@code live}.
+     */
+    private BitSet matching(QuestionQuery query) {
+        List<BitSet> required = new ArrayList<>();
+        for (String topic : query.getAllTopics()) {
+            BitSet postings = byTopic.get(normaliseTopic(topic));
+            if (postings == null) {
+                return new BitSet();
+            }
+            required.add(postings);
+        }
+        if (!query.getAnyTopics().isEmpty()) {
+            required.add(union(byTopic, query.getAnyTopics(), true));
+        }
+        if (!query.getDifficulties().isEmpty()) {
+            required.add(union(byDifficulty, query.getDifficulties(), false));
+        }
+        BitSet result;
+        if (required.isEmpty()) {
+            result = (BitSet) live.clone();
+        } else {
+            required.sort(Comparator.comparingInt(BitSet::cardinality));
+            result = (BitSet) required.get(0).clone();
+            for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                result.and(required.get(i));
+            }
+        }
+        for (String topic : query.getExcludedTopics()) {
+            BitSet postings = byTopic.get(normaliseTopic(topic));
+            if (postings != null) {
+                result.andNot(postings);
+            }
+        }
+        return result;
+    }
+
+    private static int[] floydSample(int population, int count, Random random) {
+        Set<Integer> chosen = new HashSet<>(count * 2);
+        int[] ranks = new int[count];
+        int filled = 0;
+        for (int j = population - count; j < population; j++) {
+            int rank = random.nextInt(j + 1);
+            if (!chosen.add(rank)) {
+                rank = j;
+                chosen.add(j);
+            }
+            ranks[filled++] = rank;
+        }
+        return ranks;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static BitSet union(Map<String, BitSet> postingLists, List<String> keys, boolean topics) {
+        BitSet union = new BitSet();
+        for (String key : keys) {
+            BitSet postings = postingLists.get(topics ? normaliseTopic(key) : normaliseDifficulty(key));
+            if (postings != null) {
+                union.or(postings);
+            }
+        }
+        return union;
+    }
+
+    private int allocate(String id) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = slots.size();
+            if (slot == idsBySlot.length) {
+                int capacity = slot * 2;
+                idsBySlot = Arrays.copyOf(idsBySlot, capacity);
+                topicsBySlot = Arrays.copyOf(topicsBySlot, capacity);
+                difficultyBySlot = Arrays.copyOf(difficultyBySlot, capacity);
+            }
+        } else {
+            slot = freeSlots.pop();
+        }
+        slots.put(id, slot);
+        idsBySlot[slot] = id;
+        return slot;
+    }
+
+    private void unpost(int slot) {
+        for (String topic : topicsBySlot[slot]) {
+            BitSet postings = byTopic.get(topic);
+            postings.clear(slot);
+            if (postings.isEmpty()) {
+                byTopic.remove(topic);
+            }
+        }
+        String difficulty = difficultyBySlot[slot];
+        if (difficulty != null) {
+            BitSet postings = byDifficulty.get(difficulty);
+            postings.clear(slot);
+            if (postings.isEmpty()) {
+                byDifficulty.remove(difficulty);
+            }
+        }
+        topicsBySlot[slot] = null;
+        difficultyBySlot[slot] = null;
+    }
+
+    private static String[] normaliseTopics(List<String> topics) {
+        if (topics == null) {
+            return new String[0];
+        }
+        return topics.stream()
+                .filter(topic -> topic != null && !topic.trim().isEmpty())
+                .map(QuestionIndex::normaliseTopic)
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static String normaliseTopic(String topic) {
+        return topic == null ? "" : topic.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normaliseDifficulty(String difficulty) {
+        return difficulty == null ? null : difficulty.trim().toUpperCase(Locale.ROOT);
+    }
+}
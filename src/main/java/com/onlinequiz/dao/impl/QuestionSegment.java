@@ -0,0 +1,337 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.models.Question;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, memory-mapped file of {@link Question} records.
+ * <p>
+ * Layout, all integers big-endian:
+ * <pre>
+ * header   magic, version, count, indexOffset, recordsOffset, stringsOffset, fileLength, reserved
+ * index    count x (idString, record), sorted by the UTF-8 bytes of the id
+ * records  title, correctOptionIndex, difficulty, marks, optionCount, option..., topicCount, topic...
+ * strings  length, UTF-8 bytes; each distinct string is stored once
+ * </pre>
+ * String references are offsets into the string table and record references are offsets into the record area.
+ * Lookups binary-search the index directly in the mapping; a {@code Question} is only built when one is returned.
+ * A Bloom filter over the IDs, built when the file is mapped, turns away almost every ID the segment does not hold
+ * before the search touches the mapping.
+ */
+public final class QuestionSegment {
+    static final int MAGIC = 0x51534547; // "QSEG"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int INDEX_ENTRY_BYTES = 8;
+    private static final int FILTER_BITS_PER_ID = 10;
+    private static final int FILTER_HASHES = 7;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int count;
+    private final int indexOffset;
+    private final int recordsOffset;
+    private final int stringsOffset;
+    // About 1% false positives at ten bits per ID.
+    private final long[] filter;
+    private final int filterMask;
+
+    private QuestionSegment(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException(file + " is not a question segment");
+        }
+        this.count = buffer.getInt(8);
+        this.indexOffset = buffer.getInt(12);
+        this.recordsOffset = buffer.getInt(16);
+        this.stringsOffset = buffer.getInt(20);
+        if (buffer.getInt(24) != buffer.capacity()) {
+            throw new IllegalArgumentException(file + " is truncated");
+        }
+        int bits = Integer.highestOneBit(Math.max(64, count * FILTER_BITS_PER_ID - 1)) << 1;
+        this.filter = new long[bits >>> 6];
+        this.filterMask = bits - 1;
+        for (int slot = 0; slot < count; slot++) {
+            int position = stringsOffset + buffer.getInt(indexOffset + slot * INDEX_ENTRY_BYTES);
+            long hash = hash(buffer, position + 4, buffer.getInt(position));
+            for (int i = 0; i < FILTER_HASHES; i++) {
+                int bit = probe(hash, i);
+                filter[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    /**
+     * Map an existing segment file read-only.
+     */
+    public static QuestionSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new QuestionSegment(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write the given questions to a new segment file and force it to disk.
+     */
+    public static void write(Path file, Collection<Question> questions) throws IOException {
+        Question[] sorted = questions.toArray(new Question[0]);
+        byte[][] ids = new byte[sorted.length][];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = utf8(sorted[i].getId());
+        }
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(ids[a], ids[b]));
+
+        StringTable strings = new StringTable();
+        ByteBuffer index = ByteBuffer.allocate(sorted.length * INDEX_ENTRY_BYTES);
+        GrowableBuffer records = new GrowableBuffer();
+        for (int position : order) {
+            Question question = sorted[position];
+            index.putInt(strings.add(ids[position]));
+            index.putInt(records.size());
+            records.putInt(strings.add(question.getTitle()));
+            records.putInt(question.getCorrectOptionIndex());
+            records.putInt(strings.add(question.getDifficulty()));
+            records.putInt(question.getMarks());
+            putStrings(records, strings, question.getOptions());
+            putStrings(records, strings, question.getTopics());
+        }
+
+        int indexOffset = HEADER_BYTES;
+        int recordsOffset = indexOffset + index.capacity();
+        int stringsOffset = recordsOffset + records.size();
+        int fileLength = stringsOffset + strings.bytes.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(sorted.length)
+                .putInt(indexOffset).putInt(recordsOffset).putInt(stringsOffset).putInt(fileLength).putInt(0);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            writeFully(channel, header.flip());
+            writeFully(channel, index.flip());
+            writeFully(channel, records.toByteBuffer());
+            writeFully(channel, strings.bytes.toByteBuffer());
+            channel.force(true);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean contains(String id) {
+        return find(utf8(id)) >= 0;
+    }
+
+    public Optional<Question> get(String id) {
+        int slot = find(utf8(id));
+        return slot < 0 ? Optional.empty() : Optional.of(read(slot));
+    }
+
+    private boolean mightContain(byte[] id) {
+        long hash = hash(ByteBuffer.wrap(id), 0, id.length);
+        for (int i = 0; i < FILTER_HASHES; i++) {
+            int bit = probe(hash, i);
+            if ((filter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Double hashing: the probes are the two halves of one 64-bit hash combined, h1 + i * h2.
+    private int probe(long hash, int i) {
+        return ((int) hash + i * (int) (hash >>> 32)) & filterMask;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer so both halves are well spread.
+    private static long hash(ByteBuffer bytes, int position, int length) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (bytes.get(position + i) & 0xFF)) * 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Materialise every question in id order. Intended for rebuilding in-memory indexes, not for request paths.
+     */
+    public void forEach(Consumer<Question> action) {
+        for (int slot = 0; slot < count; slot++) {
+            action.accept(read(slot));
+        }
+    }
+
+    private int find(byte[] id) {
+        if (!mightContain(id)) {
+            return -1;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareString(buffer.getInt(indexOffset + mid * INDEX_ENTRY_BYTES), id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareString(int reference, byte[] other) {
+        int position = stringsOffset + reference;
+        int length = buffer.getInt(position);
+        position += 4;
+        int shared = Math.min(length, other.length);
+        for (int i = 0; i < shared; i++) {
+            int cmp = Integer.compare(buffer.get(position + i) & 0xFF, other[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+
+    private Question read(int slot) {
+        int entry = indexOffset + slot * INDEX_ENTRY_BYTES;
+        String id = string(buffer.getInt(entry));
+        int position = recordsOffset + buffer.getInt(entry + 4);
+        String title = string(buffer.getInt(position));
+        int correctOptionIndex = buffer.getInt(position + 4);
+        String difficulty = string(buffer.getInt(position + 8));
+        int marks = buffer.getInt(position + 12);
+        position += 16;
+        List<String> options = new ArrayList<>(buffer.getInt(position));
+        position = readStrings(position, options);
+        List<String> topics = new ArrayList<>(buffer.getInt(position));
+        readStrings(position, topics);
+        return new Question(id, title, options, correctOptionIndex, difficulty, topics, marks);
+    }
+
+    private int readStrings(int position, List<String> target) {
+        int size = buffer.getInt(position);
+        position += 4;
+        for (int i = 0; i < size; i++) {
+            target.add(string(buffer.getInt(position)));
+            position += 4;
+        }
+        return position;
+    }
+
+    private String string(int reference) {
+        if (reference < 0) {
+            return null;
+        }
+        int position = stringsOffset + reference;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putStrings(GrowableBuffer records, StringTable strings, List<String> values) {
+        if (values == null) {
+            records.putInt(0);
+            return;
+        }
+        records.putInt(values.size());
+        for (String value : values) {
+            records.putInt(strings.add(value));
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class StringTable {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final GrowableBuffer bytes = new GrowableBuffer();
+
+        /**
+         * @return the offset of the string, or -1 for null.
+         */
+        int add(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer existing = offsets.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            int offset = add(utf8(value));
+            offsets.put(value, offset);
+            return offset;
+        }
+
+        int add(byte[] value) {
+            int offset = bytes.size();
+            bytes.putInt(value.length);
+            bytes.put(value);
+            return offset;
+        }
+    }
+
+    private static final class GrowableBuffer {
+        private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        int size() {
+            return buffer.position();
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void put(byte[] value) {
+            ensure(value.length);
+            buffer.put(value);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buffer.array(), 0, buffer.position());
+        }
+
+        private void ensure(int extra) {
+            if (buffer.remaining() < extra) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+                grown.put(buffer.array(), 0, buffer.position());
+                buffer = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.exception.PersistenceException;
+import com.onlinequiz.models.Question;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static com.onlinequiz.constants.Constants.ERROR_SEGMENT_WRITE;
+
+/**
+ * The set of sealed {@link QuestionSegment} files in one directory, plus a tombstone file recording questions that
+ * were deleted after being sealed. A later heap copy in the DAO shadows a sealed one.
+ * <p>
+ * A tombstone names the newest segment at the time of the delete and hides the question only in that segment and
+ * older ones, so a question re-created and sealed again after a delete is visible in its new segment.
+ * <p>
+ * Every seal merges the newest segments while the older of the last two is no larger than the newer, like carries in
+ * a binary counter, so the directory holds at most about log2(sealed questions) segments and each question is
+ * rewritten that many times at most. A merge keeps only the visible copy of each question and takes the sequence of
+ * the newer input, which leaves every tombstone meaning what it meant; tombstones that no longer hide anything are
+ * then dropped from the file.
+ */
+public class QuestionSegmentStore {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionSegmentStore.class);
+    private static final String SEGMENT_PREFIX = "questions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TOMBSTONE_FILE = "deleted.ids";
+
+    private final Path directory;
+    // Oldest first; replaced as a whole so readers always walk one consistent list.
+    private volatile List<Sealed> segments = Collections.emptyList();
+    // Question ID to the sequence of the newest segment it is hidden in. Readers look here before taking the segment
+    // list, and a tombstone is only dropped after a list without the copies it hid has been published.
+    private final ConcurrentMap<String, Long> tombstones = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+    // Serialises seals, merges and deletes, which all rewrite files in the directory.
+    private final Lock writeLock = new ReentrantLock();
+
+    private QuestionSegmentStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * A store that never seals anything, for deployments without a segment directory.
+     */
+    public static QuestionSegmentStore disabled() {
+        return new QuestionSegmentStore(null);
+    }
+
+    /**
+     * Map every segment already present in the directory.
+     */
+    public static QuestionSegmentStore open(Path directory) {
+        QuestionSegmentStore store = new QuestionSegmentStore(directory);
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+            List<Sealed> segments = new ArrayList<>();
+            for (Path file : files) {
+                long sequence = sequenceOf(file);
+                segments.add(new Sealed(sequence, QuestionSegment.open(file)));
+                store.sequence.accumulateAndGet(sequence, Math::max);
+            }
+            store.segments = Collections.unmodifiableList(segments);
+            Path tombstoneFile = directory.resolve(TOMBSTONE_FILE);
+            if (Files.exists(tombstoneFile)) {
+                for (String line : Files.readAllLines(tombstoneFile, StandardCharsets.UTF_8)) {
+                    int tab = line.indexOf('\t');
+                    if (tab <= 0) {
+                        throw new IOException("Corrupt tombstone line in " + tombstoneFile + ": " + line);
+                    }
+                    store.tombstones.merge(line.substring(0, tab), Long.parseLong(line.substring(tab + 1)), Math::max);
+                }
+            }
+            store.compactTombstones();
+        } catch (IOException | NumberFormatException e) {
+            throw new PersistenceException(ERROR_SEGMENT_WRITE, e);
+        }
+        logger.info("Mapped {} question segments from {}", store.segments.size(), directory);
+        return store;
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public Optional<Question> get(String id) {
+        long hiddenUpTo = tombstones.getOrDefault(id, Long.MIN_VALUE);
+        List<Sealed> segments = this.segments;
+        // Newest first: a question sealed again after an update must win over its older copy.
+        for (int i = segments.size() - 1; i >= 0 && segments.get(i).sequence > hiddenUpTo; i--) {
+            Optional<Question> question = segments.get(i).segment.get(id);
+            if (question.isPresent()) {
+                return question;
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean contains(String id) {
+        long hiddenUpTo = tombstones.getOrDefault(id, Long.MIN_VALUE);
+        List<Sealed> segments = this.segments;
+        for (int i = segments.size() - 1; i >= 0 && segments.get(i).sequence > hiddenUpTo; i--) {
+            if (segments.get(i).segment.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write the questions to a new segment and map it, merging segments as described above. Returns only once the
+     * files are durable.
+     */
+    public void seal(Collection<Question> questions) {
+        if (!isEnabled() || questions.isEmpty()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            long next = sequence.incrementAndGet();
+            List<Sealed> sealed = new ArrayList<>(segments);
+            sealed.add(new Sealed(next, write(next, questions)));
+            segments = Collections.unmodifiableList(new ArrayList<>(sealed));
+            boolean merged = false;
+            while (sealed.size() >= 2
+                    && sealed.get(sealed.size() - 2).segment.size() <= sealed.get(sealed.size() - 1).segment.size()) {
+                Sealed newer = sealed.remove(sealed.size() - 1);
+                Sealed older = sealed.remove(sealed.size() - 1);
+                sealed.add(merge(older, newer));
+                segments = Collections.unmodifiableList(new ArrayList<>(sealed));
+                Files.delete(older.segment.getFile());
+                merged = true;
+            }
+            if (merged) {
+                compactTombstones();
+            }
+        } catch (IOException e) {
+            throw new PersistenceException(ERROR_SEGMENT_WRITE, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The visible copies from both segments, the newer one winning, rewritten over the newer segment's file. Until
+     * the older file is deleted it is still shadowed by the merge or hidden by the tombstones a restart reads back.
+     */
+    private Sealed merge(Sealed older, Sealed newer) throws IOException {
+        Map<String, Question> visible = new LinkedHashMap<>();
+        for (Sealed sealed : new Sealed[]{older, newer}) {
+            sealed.segment.forEach(question -> {
+                if (tombstones.getOrDefault(question.getId(), Long.MIN_VALUE) < sealed.sequence) {
+                    visible.put(question.getId(), question);
+                }
+            });
+        }
+        return new Sealed(newer.sequence, write(newer.sequence, visible.values()));
+    }
+
+    private QuestionSegment write(long sequence, Collection<Question> questions) throws IOException {
+        String name = SEGMENT_PREFIX + sequence;
+        Path temporary = directory.resolve(name + ".tmp");
+        Path file = directory.resolve(name + SEGMENT_SUFFIX);
+        // Left behind if a seal or merge was interrupted.
+        Files.deleteIfExists(temporary);
+        QuestionSegment.write(temporary, questions);
+        // Replacing a mapped file is safe: readers of the old mapping keep the old inode until it is unmapped.
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return QuestionSegment.open(file);
+    }
+
+    /**
+     * Rewrite the tombstone file with only the tombstones that still hide a copy in some segment, then forget the
+     * rest. Called with the current segment list already published.
+     */
+    private void compactTombstones() throws IOException {
+        List<Sealed> segments = this.segments;
+        Map<String, Long> live = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> tombstone : tombstones.entrySet()) {
+            for (int i = 0; i < segments.size() && segments.get(i).sequence <= tombstone.getValue(); i++) {
+                if (segments.get(i).segment.contains(tombstone.getKey())) {
+                    live.put(tombstone.getKey(), tombstone.getValue());
+                    break;
+                }
+            }
+        }
+        if (live.size() == tombstones.size()) {
+            return;
+        }
+        Path tombstoneFile = directory.resolve(TOMBSTONE_FILE);
+        Path temporary = directory.resolve(TOMBSTONE_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, Long> tombstone : live.entrySet()) {
+                writer.write(tombstone.getKey() + '\t' + tombstone.getValue());
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(false);
+        }
+        Files.move(temporary, tombstoneFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        tombstones.keySet().retainAll(live.keySet());
+    }
+
+    /**
+     * Hide a sealed question in every segment sealed so far, across restarts.
+     *
+     * @return true if the question was sealed and visible.
+     */
+    public boolean delete(String id) {
+        writeLock.lock();
+        try {
+            if (!contains(id)) {
+                return false;
+            }
+            List<Sealed> segments = this.segments;
+            long hiddenUpTo = segments.get(segments.size() - 1).sequence;
+            Path tombstoneFile = directory.resolve(TOMBSTONE_FILE);
+            try (FileChannel channel = FileChannel.open(tombstoneFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                 BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                writer.write(id + '\t' + hiddenUpTo);
+                writer.newLine();
+                writer.flush();
+                channel.force(false);
+            } catch (IOException e) {
+                throw new PersistenceException(ERROR_SEGMENT_WRITE, e);
+            }
+            tombstones.put(id, hiddenUpTo);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Visit every visible sealed question. Materialises each one, so it is meant for startup and bulk paths.
+     */
+    public void forEach(Consumer<Question> action) {
+        List<Sealed> segments = this.segments;
+        Set<String> seen = new HashSet<>();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            long segmentSequence = segments.get(i).sequence;
+            segments.get(i).segment.forEach(question -> {
+                // Hidden in this segment still means the ID is taken care of: older copies are hidden as well.
+                if (seen.add(question.getId())
+                        && tombstones.getOrDefault(question.getId(), Long.MIN_VALUE) < segmentSequence) {
+                    action.accept(question);
+                }
+            });
+        }
+    }
+
+    private static final class Sealed {
+        private final long sequence;
+        private final QuestionSegment segment;
+
+        private Sealed(long sequence, QuestionSegment segment) {
+            this.sequence = sequence;
+            this.segment = segment;
+        }
+    }
+}
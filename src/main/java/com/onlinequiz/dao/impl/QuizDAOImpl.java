@@ -1,16 +1,67 @@
 package com.onlinequiz.dao.impl;
 
+import com.onlinequiz.dao.PersistenceEngine;
 import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.exception.AccessCodeTakenException;
 import com.onlinequiz.models.Quiz;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+
+import static com.onlinequiz.constants.Constants.ERROR_ACCESS_CODE_TAKEN;
+
 @Repository
 public class QuizDAOImpl implements QuizDAO {
-    private final Map<String, Quiz> quizzes = new HashMap<>();
+    private final ConcurrentMap<String, Quiz> quizzes = new ConcurrentHashMap<>();
+    // Secondary index access code -> id, maintained the same way as the username index in UserDAOImpl.
+    private final ConcurrentMap<String, String> idsByAccessCode = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> indexedAccessCodes = new ConcurrentHashMap<>();
+    // All IDs in sorted order, for keyset pagination.
+    private final NavigableSet<String> orderedIds = new ConcurrentSkipListSet<>();
+    // Writes lock the quiz's id stripe, then the stripes of the access codes they claim or release, so writers to
+    // unrelated quizzes only meet when their keys share a stripe.
+    private final LockStripes idLocks = new LockStripes();
+    private final LockStripes accessCodeLocks = new LockStripes();
+    private final PersistenceEngine<Quiz> persistence;
+
+    public QuizDAOImpl() {
+        this(PersistenceEngine.inMemory());
+    }
+
+    @Autowired
+    public QuizDAOImpl(PersistenceEngine<Quiz> persistence) {
+        this.persistence = persistence;
+        persistence.recover(quizzes);
+        quizzes.values().forEach(this::index);
+        orderedIds.addAll(quizzes.keySet());
+    }
 
     @Override
     public Quiz createQuiz(Quiz quiz) {
-        quizzes.put(quiz.getId(), quiz);
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdAndAccessCodes(quiz.getId(), quiz.getAccessCode());
+        try {
+            Quiz existing = quizzes.get(quiz.getId());
+            if (existing != null) {
+                return existing;
+            }
+            String ownerId = quiz.getAccessCode() == null ? null : idsByAccessCode.get(quiz.getAccessCode());
+            if (ownerId != null) {
+                throw new AccessCodeTakenException(ERROR_ACCESS_CODE_TAKEN);
+            }
+            quizzes.put(quiz.getId(), quiz);
+            index(quiz);
+            orderedIds.add(quiz.getId());
+            commit = persistence.logPut(quiz.getId(), quiz);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
         return quiz;
     }
 
@@ -24,21 +75,110 @@ public class QuizDAOImpl implements QuizDAO {
         return new ArrayList<>(quizzes.values());
     }
 
+    @Override
+    public List<Quiz> getQuizzesAfter(String afterId, int limit) {
+        return Keyset.page(orderedIds, afterId, limit, quizzes::get);
+    }
+
     @Override
     public Quiz updateQuiz(Quiz quiz) {
-        quizzes.put(quiz.getId(), quiz);
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdAndAccessCodes(quiz.getId(), quiz.getAccessCode());
+        try {
+            if (!replaceLocked(quizzes.get(quiz.getId()), quiz)) {
+                return null;
+            }
+            commit = persistence.logPut(quiz.getId(), quiz);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
         return quiz;
     }
 
+    @Override
+    public boolean replaceQuiz(Quiz expected, Quiz updated) {
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdAndAccessCodes(updated.getId(), updated.getAccessCode());
+        try {
+            if (!replaceLocked(expected, updated)) {
+                return false;
+            }
+            commit = persistence.logPut(updated.getId(), updated);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
+        return true;
+    }
+
+    // Compare-and-set on the primary map: only a quiz that is still the one the caller read gets replaced.
+    private boolean replaceLocked(Quiz expected, Quiz updated) {
+        if (expected == null || !quizzes.replace(updated.getId(), expected, updated)) {
+            return false;
+        }
+        unindex(updated.getId());
+        index(updated);
+        return true;
+    }
+
     @Override
     public boolean isDeleteQuiz(String id) {
-        return quizzes.remove(id) != null;
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdAndAccessCodes(id, null);
+        try {
+            unindex(id);
+            if (quizzes.remove(id) == null) {
+                return false;
+            }
+            orderedIds.remove(id);
+            commit = persistence.logDelete(id);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
+        return true;
     }
 
     @Override
     public Optional<Quiz> getQuizByAccessCode(String accessCode) {
-        return quizzes.values().stream()
-                .filter(quiz -> quiz.getAccessCode().equals(accessCode))
-                .findFirst();
+        if (accessCode == null) {
+            return Optional.empty();
+        }
+        String id = idsByAccessCode.get(accessCode);
+        if (id == null) {
+            return Optional.empty();
+        }
+        Quiz quiz = quizzes.get(id);
+        return quiz != null && accessCode.equals(quiz.getAccessCode()) ? Optional.of(quiz) : Optional.empty();
+    }
+
+    /**
+     * Lock a quiz's id, then the access code it is about to hold and the one it is indexed under now. The latter
+     * only changes under the id stripe, so it is read once that is held.
+     */
+    private List<Lock> lockIdAndAccessCodes(String id, String accessCode) {
+        List<Lock> locks = LockStripes.lockAll(idLocks.covering(Collections.singletonList(id)));
+        locks.addAll(LockStripes.lockAll(accessCodeLocks.covering(Arrays.asList(accessCode, indexedAccessCodes.get(id)))));
+        return locks;
+    }
+
+    private void index(Quiz quiz) {
+        if (quiz.getAccessCode() != null) {
+            idsByAccessCode.putIfAbsent(quiz.getAccessCode(), quiz.getId());
+            indexedAccessCodes.put(quiz.getId(), quiz.getAccessCode());
+        }
+    }
+
+    private void unindex(String id) {
+        String previous = indexedAccessCodes.remove(id);
+        if (previous != null) {
+            idsByAccessCode.remove(previous, id);
+        }
+    }
+
+    @Override
+    public int countQuizzes() {
+        return quizzes.size();
     }
-}
\ No newline at end of file
+}
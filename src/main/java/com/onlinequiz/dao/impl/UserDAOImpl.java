@@ -1,16 +1,81 @@
 package com.onlinequiz.dao.impl;
 
+import com.onlinequiz.dao.PersistenceEngine;
 import com.onlinequiz.dao.UserDAO;
 import com.onlinequiz.models.User;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.Lock;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 @Repository
 public class UserDAOImpl implements UserDAO {
-    private final Map<String, User> users = new HashMap<>();
+    private final ConcurrentMap<String, User> users = new ConcurrentHashMap<>();
+    // Secondary index username -> id, plus the name each id was indexed under so renames can drop the old key
+    // even when the caller mutated the stored User in place before calling updateUser.
+    private final ConcurrentMap<String, String> idsByUsername = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> indexedUsernames = new ConcurrentHashMap<>();
+    // All IDs in sorted order, for keyset pagination.
+    private final NavigableSet<String> orderedIds = new ConcurrentSkipListSet<>();
+    // Writes to one id are ordered by that id's stripe, and claims on a username by the name's stripe, so writers
+    // to different users only meet when their keys share a stripe. Name stripes are always taken after id stripes.
+    private final LockStripes idLocks = new LockStripes();
+    private final LockStripes usernameLocks = new LockStripes();
+    private final PersistenceEngine<User> persistence;
+
+    public UserDAOImpl() {
+        this(PersistenceEngine.inMemory());
+    }
+
+    @Autowired
+    public UserDAOImpl(PersistenceEngine<User> persistence) {
+        this.persistence = persistence;
+        persistence.recover(users);
+        users.values().forEach(this::index);
+        orderedIds.addAll(users.keySet());
+    }
 
     @Override
     public User createUser(User user) {
+        List<User> stored = createUsers(Collections.singletonList(user));
+        return stored.get(0);
+    }
+
+    @Override
+    public List<User> createUsers(List<User> batch) {
+        List<User> stored = new ArrayList<>(batch.size());
+        List<CompletableFuture<Void>> commits = new ArrayList<>(batch.size());
+        List<Lock> locks = lockIdsAndUsernames(batch);
+        try {
+            for (User user : batch) {
+                User result = createLocked(user);
+                if (result == user) {
+                    commits.add(persistence.logPut(user.getId(), user));
+                }
+                stored.add(result);
+            }
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return stored;
+    }
+
+    private User createLocked(User user) {
+        User existing = users.get(user.getId());
+        if (existing != null) {
+            return existing;
+        }
+        String ownerId = idsByUsername.get(user.getUsername());
+        if (ownerId != null) {
+            return users.get(ownerId);
+        }
         users.put(user.getId(), user);
+        index(user);
+        orderedIds.add(user.getId());
         return user;
     }
 
@@ -21,9 +86,16 @@ public class UserDAOImpl implements UserDAO {
 
     @Override
     public Optional<User> getUserByUsername(String username) {
-        return users.values().stream()
-                .filter(user -> user.getUsername().equals(username))
-                .findFirst();
+        if (username == null) {
+            return Optional.empty();
+        }
+        String id = idsByUsername.get(username);
+        if (id == null) {
+            return Optional.empty();
+        }
+        User user = users.get(id);
+        // Guards against a stored instance renamed in place but not yet passed through updateUser.
+        return user != null && username.equals(user.getUsername()) ? Optional.of(user) : Optional.empty();
     }
 
     @Override
@@ -31,21 +103,152 @@ public class UserDAOImpl implements UserDAO {
         return new ArrayList<>(users.values());
     }
 
+    @Override
+    public List<User> getUsersAfter(String afterId, int limit) {
+        return Keyset.page(orderedIds, afterId, limit, users::get);
+    }
+
     @Override
     public User updateUser(User user) {
-        users.put(user.getId(), user);
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdsAndUsernames(Collections.singletonList(user));
+        try {
+            User owner = usernameOwner(user);
+            if (owner != null) {
+                return owner;
+            }
+            if (!replaceLocked(users.get(user.getId()), user)) {
+                return null;
+            }
+            commit = persistence.logPut(user.getId(), user);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
         return user;
     }
 
+    @Override
+    public boolean replaceUser(User expected, User updated) {
+        CompletableFuture<Void> commit;
+        List<Lock> locks = lockIdsAndUsernames(Collections.singletonList(updated));
+        try {
+            if (!replaceLocked(expected, updated)) {
+                return false;
+            }
+            commit = persistence.logPut(updated.getId(), updated);
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(commit);
+        return true;
+    }
+
+    @Override
+    public Set<String> updateUsers(List<User> batch) {
+        Set<String> updated = new HashSet<>();
+        List<CompletableFuture<Void>> commits = new ArrayList<>(batch.size());
+        List<Lock> locks = lockIdsAndUsernames(batch);
+        try {
+            for (User user : batch) {
+                if (replaceLocked(users.get(user.getId()), user)) {
+                    commits.add(persistence.logPut(user.getId(), user));
+                    updated.add(user.getId());
+                }
+            }
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return updated;
+    }
+
+    // Compare-and-set on the primary map: only a user that is still the one the caller read gets replaced, and
+    // never under a username another user holds, which would leave the renamed user unreachable by name.
+    private boolean replaceLocked(User expected, User updated) {
+        if (expected == null || usernameOwner(updated) != null
+                || !users.replace(updated.getId(), expected, updated)) {
+            return false;
+        }
+        unindex(updated.getId());
+        index(updated);
+        return true;
+    }
+
     @Override
     public boolean isDeleteUser(String id) {
-        return users.remove(id) != null;
+        return !deleteUsers(Collections.singletonList(id)).isEmpty();
+    }
+
+    @Override
+    public Set<String> deleteUsers(List<String> ids) {
+        Set<String> deleted = new HashSet<>();
+        List<CompletableFuture<Void>> commits = new ArrayList<>(ids.size());
+        List<Lock> locks = LockStripes.lockAll(idLocks.covering(ids));
+        try {
+            Set<String> usernames = new HashSet<>();
+            for (String id : ids) {
+                usernames.add(indexedUsernames.get(id));
+            }
+            locks.addAll(LockStripes.lockAll(usernameLocks.covering(usernames)));
+            for (String id : ids) {
+                unindex(id);
+                if (users.remove(id) != null) {
+                    orderedIds.remove(id);
+                    commits.add(persistence.logDelete(id));
+                    deleted.add(id);
+                }
+            }
+        } finally {
+            LockStripes.unlockAll(locks);
+        }
+        persistence.await(CompletableFuture.allOf(commits.toArray(new CompletableFuture<?>[0])));
+        return deleted;
+    }
+
+    /**
+     * Lock the ids of the given users, then every username they touch: the names they are about to hold and the
+     * names they are indexed under now, which only change under the id stripe and so are read once it is held.
+     */
+    private List<Lock> lockIdsAndUsernames(List<User> batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (User user : batch) {
+            ids.add(user.getId());
+        }
+        List<Lock> locks = LockStripes.lockAll(idLocks.covering(ids));
+        Set<String> usernames = new HashSet<>();
+        for (User user : batch) {
+            usernames.add(user.getUsername());
+            usernames.add(indexedUsernames.get(user.getId()));
+        }
+        locks.addAll(LockStripes.lockAll(usernameLocks.covering(usernames)));
+        return locks;
+    }
+
+    /**
+     * @return the other user already holding this user's username, or null if it is free or this user's own.
+     */
+    private User usernameOwner(User user) {
+        String ownerId = user.getUsername() == null ? null : idsByUsername.get(user.getUsername());
+        return ownerId == null || ownerId.equals(user.getId()) ? null : users.get(ownerId);
+    }
+
+    private void index(User user) {
+        if (user.getUsername() != null) {
+            idsByUsername.putIfAbsent(user.getUsername(), user.getId());
+            indexedUsernames.put(user.getId(), user.getUsername());
+        }
+    }
+
+    private void unindex(String id) {
+        String previous = indexedUsernames.remove(id);
+        if (previous != null) {
+            idsByUsername.remove(previous, id);
+        }
     }
 
     @Override
-    public Optional<User> authenticateUser(String username, String password) {
-        return users.values().stream()
-                .filter(user -> user.getUsername().equals(username) && user.getPassword().equals(password))
-                .findFirst();
+    public int countUsers() {
+        return users.size();
     }
-}
\ No newline at end of file
+}
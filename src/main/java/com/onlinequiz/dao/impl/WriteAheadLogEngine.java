@@ -0,0 +1,434 @@
+package com.onlinequiz.dao.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.exception.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.onlinequiz.constants.Constants.*;
+
+/**
+ * Persistence engine backed by an append-only log plus periodic snapshots.
+ * <p>
+ * Every change is serialised as one JSON line by the calling thread and queued. A single writer thread drains the
+ * queue, appends everything it found with one write and one {@code fsync}, then completes the commits of the whole
+ * batch (group commit). After {@code snapshotEvery} changes the writer switches to a new log generation and a
+ * background thread dumps the DAO's map into a snapshot; the snapshot names the first generation that still has to
+ * be replayed, and older generations are deleted once it is in place.
+ * <p>
+ * With {@code snapshotEvery} of zero or less there are no snapshots: the log is the data, for append-only records
+ * where a snapshot would copy every line again without dropping any.
+ * <p>
+ * Files in {@code directory}: {@code <name>.snapshot} and {@code <name>-<generation>.wal}.
+ */
+public class WriteAheadLogEngine<T> implements PersistenceEngine<T> {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLogEngine.class);
+    private static final String OP_PUT = "P";
+    private static final String OP_DELETE = "D";
+    private static final String OP_HEADER = "H";
+    private static final long POLL_MILLIS = 100;
+
+    private final Path directory;
+    private final String name;
+    private final ObjectMapper mapper;
+    private final JavaType recordType;
+    private final int snapshotEvery;
+    private final int maxBatch;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotter;
+    // A lock rather than synchronized: recovery does file I/O, which would pin a virtual thread to its carrier.
+    private final Lock lifecycleLock = new ReentrantLock();
+    // Whether writes are accepted; cleared by close() and by a writer that dies.
+    private volatile boolean running;
+    private boolean closed;
+    private Thread writer;
+    private Map<String, T> state;
+    private FileChannel log;
+    private long generation;
+    private long writesSinceSnapshot;
+    private byte[] batchBuffer = new byte[64 * 1024];
+
+    public WriteAheadLogEngine(Path directory, String name, Class<T> type, ObjectMapper mapper, int snapshotEvery, int maxBatch) {
+        this.directory = directory;
+        this.name = name;
+        this.mapper = mapper;
+        this.recordType = mapper.getTypeFactory().constructParametricType(LogRecord.class, type);
+        this.snapshotEvery = snapshotEvery;
+        this.maxBatch = maxBatch;
+        this.snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-snapshot-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void recover(Map<String, T> target) {
+        lifecycleLock.lock();
+        try {
+            recoverLocked(target);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    private void recoverLocked(Map<String, T> target) {
+        if (writer != null) {
+            throw new IllegalStateException("Engine " + name + " already recovered");
+        }
+        this.state = target;
+        try {
+            Files.createDirectories(directory);
+            long replayFrom = 0;
+            Path snapshot = snapshotPath();
+            if (Files.exists(snapshot)) {
+                replayFrom = loadSnapshot(snapshot, target);
+            }
+            long nextGeneration = replayFrom;
+            for (long logGeneration : logGenerations()) {
+                if (logGeneration >= replayFrom) {
+                    replay(logPath(logGeneration), target);
+                }
+                nextGeneration = Math.max(nextGeneration, logGeneration + 1);
+            }
+            // Always append to a fresh generation so a torn tail from a crash is never extended.
+            generation = nextGeneration;
+            log = openLog(generation);
+        } catch (IOException e) {
+            throw new PersistenceException(ERROR_PERSISTENCE_RECOVERY, e);
+        }
+        logger.info("Recovered {} {} records from {}", target.size(), name, directory);
+        running = true;
+        writer = new Thread(this::writeLoop, "wal-writer-" + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> logPut(String id, T value) {
+        return enqueue(new LogRecord<>(OP_PUT, id, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> logDelete(String id) {
+        return enqueue(new LogRecord<>(OP_DELETE, id, null));
+    }
+
+    @Override
+    public void close() {
+        lifecycleLock.lock();
+        try {
+            if (writer == null || closed) {
+                return;
+            }
+            closed = true;
+            running = false;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued(new PersistenceException(ERROR_PERSISTENCE_CLOSED));
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+            log.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("Failed to close {} log: {}", name, e.getMessage());
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(LogRecord<T> record) {
+        CompletableFuture<Void> commit = new CompletableFuture<>();
+        if (!running) {
+            commit.completeExceptionally(new PersistenceException(ERROR_PERSISTENCE_CLOSED));
+            return commit;
+        }
+        PendingWrite pending;
+        try {
+            // Serialise on the caller's thread so later in-place edits of the record cannot leak into this entry.
+            pending = new PendingWrite(line(record), commit);
+        } catch (JsonProcessingException e) {
+            commit.completeExceptionally(new PersistenceException(ERROR_PERSISTENCE_WRITE, e));
+            return commit;
+        }
+        queue.add(pending);
+        // The engine may have stopped since the check above, after the writer's last look at the queue. Whoever
+        // takes the write out of the queue completes it: the writer, close(), or this thread.
+        if (!running && queue.remove(pending)) {
+            commit.completeExceptionally(new PersistenceException(ERROR_PERSISTENCE_CLOSED));
+        }
+        return commit;
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        PersistenceException failure = new PersistenceException(ERROR_PERSISTENCE_CLOSED);
+        try {
+            while (running || !queue.isEmpty()) {
+                batch.clear();
+                PendingWrite first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+                writesSinceSnapshot += batch.size();
+                if (snapshotEvery > 0 && writesSinceSnapshot >= snapshotEvery && snapshotRunning.compareAndSet(false, true)) {
+                    startSnapshot();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            logger.error("{} log writer died: {}", name, e.getMessage(), e);
+            failure = new PersistenceException(ERROR_PERSISTENCE_WRITE, e);
+            throw e;
+        } finally {
+            // Nothing drains the queue any more, so nobody may be left waiting on it.
+            running = false;
+            for (PendingWrite pending : batch) {
+                pending.commit.completeExceptionally(failure);
+            }
+            failQueued(failure);
+        }
+    }
+
+    private void failQueued(PersistenceException failure) {
+        PendingWrite straggler;
+        while ((straggler = queue.poll()) != null) {
+            straggler.commit.completeExceptionally(failure);
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        int length = 0;
+        for (PendingWrite pending : batch) {
+            length += pending.line.length;
+        }
+        if (batchBuffer.length < length) {
+            batchBuffer = new byte[Math.max(length, batchBuffer.length * 2)];
+        }
+        int offset = 0;
+        for (PendingWrite pending : batch) {
+            System.arraycopy(pending.line, 0, batchBuffer, offset, pending.line.length);
+            offset += pending.line.length;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batchBuffer, 0, length);
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+            log.force(false);
+            for (PendingWrite pending : batch) {
+                pending.commit.complete(null);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to append {} {} records: {}", batch.size(), name, e.getMessage(), e);
+            PersistenceException failure = new PersistenceException(ERROR_PERSISTENCE_WRITE, e);
+            for (PendingWrite pending : batch) {
+                pending.commit.completeExceptionally(failure);
+            }
+        }
+    }
+
+    private void startSnapshot() {
+        try {
+            // Every change in the generations being closed was applied to the map before it was queued,
+            // so a snapshot started after the switch covers them all.
+            log.close();
+            generation++;
+            log = openLog(generation);
+            writesSinceSnapshot = 0;
+        } catch (IOException e) {
+            snapshotRunning.set(false);
+            logger.error("Failed to roll {} log: {}", name, e.getMessage(), e);
+            return;
+        }
+        long replayFrom = generation;
+        snapshotter.execute(() -> {
+            try {
+                writeSnapshot(replayFrom);
+                deleteLogsBefore(replayFrom);
+            } catch (IOException e) {
+                logger.error("Failed to write {} snapshot: {}", name, e.getMessage(), e);
+            } finally {
+                snapshotRunning.set(false);
+            }
+        });
+    }
+
+    private void writeSnapshot(long replayFrom) throws IOException {
+        Path temporary = directory.resolve(name + ".snapshot.tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             OutputStream out = new BufferedOutputStream(file, 1 << 16)) {
+            out.write(line(new LogRecord<>(OP_HEADER, Long.toString(replayFrom), null)));
+            for (Map.Entry<String, T> entry : state.entrySet()) {
+                out.write(line(new LogRecord<>(OP_PUT, entry.getKey(), entry.getValue())));
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, snapshotPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        logger.info("Wrote {} snapshot, replay now starts at generation {}", name, replayFrom);
+    }
+
+    private long loadSnapshot(Path snapshot, Map<String, T> target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+            String first = reader.readLine();
+            LogRecord<T> header = first == null ? null : mapper.readValue(first, recordType);
+            if (header == null || !OP_HEADER.equals(header.op)) {
+                throw new PersistenceException(ERROR_PERSISTENCE_RECOVERY + ": " + snapshot + " has no header");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LogRecord<T> record = mapper.readValue(line, recordType);
+                target.put(record.k, record.v);
+            }
+            return Long.parseLong(header.k);
+        }
+    }
+
+    /**
+     * Apply one log generation. A crash can tear only the last line of a generation, so that one is skipped;
+     * an unreadable line anywhere else means the log is damaged and recovery fails rather than drop later changes.
+     */
+    private void replay(Path file, Map<String, T> target) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            long lineNumber = 0;
+            while (line != null) {
+                String next = reader.readLine();
+                lineNumber++;
+                LogRecord<T> record;
+                try {
+                    record = mapper.readValue(line, recordType);
+                } catch (JsonProcessingException e) {
+                    if (next != null) {
+                        throw new PersistenceException(ERROR_PERSISTENCE_RECOVERY + ": " + file
+                                + " is corrupt at line " + lineNumber, e);
+                    }
+                    logger.warn("Ignoring torn record at the end of {}", file);
+                    return;
+                }
+                if (OP_DELETE.equals(record.op)) {
+                    target.remove(record.k);
+                } else {
+                    target.put(record.k, record.v);
+                }
+                line = next;
+            }
+        }
+    }
+
+    private void deleteLogsBefore(long replayFrom) throws IOException {
+        for (long logGeneration : logGenerations()) {
+            if (logGeneration < replayFrom) {
+                Files.deleteIfExists(logPath(logGeneration));
+            }
+        }
+    }
+
+    private long[] logGenerations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        String prefix = name + "-";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*.wal")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(fileName.substring(prefix.length(), fileName.length() - ".wal".length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring unexpected file {}", file);
+                }
+            }
+        }
+        long[] sorted = generations.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private FileChannel openLog(long logGeneration) throws IOException {
+        return FileChannel.open(logPath(logGeneration), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private Path logPath(long logGeneration) {
+        return directory.resolve(name + "-" + logGeneration + ".wal");
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(name + ".snapshot");
+    }
+
+    private byte[] line(LogRecord<T> record) throws JsonProcessingException {
+        byte[] json = mapper.writeValueAsBytes(record);
+        byte[] line = Arrays.copyOf(json, json.length + 1);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private static final class PendingWrite {
+        private final byte[] line;
+        private final CompletableFuture<Void> commit;
+
+        private PendingWrite(byte[] line, CompletableFuture<Void> commit) {
+            this.line = line;
+            this.commit = commit;
+        }
+    }
+
+    /**
+     * One line of a log or snapshot file: operation, record ID and, for puts, the record itself.
+     */
+    static final class LogRecord<T> {
+        public String op;
+        public String k;
+        public T v;
+
+        LogRecord() {
+        }
+
+        LogRecord(String op, String k, T v) {
+            this.op = op;
+            this.k = k;
+            this.v = v;
+        }
+    }
+}
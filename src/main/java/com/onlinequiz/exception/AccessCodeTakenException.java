@@ -0,0 +1,7 @@
+package com.onlinequiz.exception;
+
+public class AccessCodeTakenException extends RuntimeException {
+    public AccessCodeTakenException(String message) {
+        super(message);
+    }
+}
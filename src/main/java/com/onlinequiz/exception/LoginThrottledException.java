@@ -0,0 +1,15 @@
+package com.onlinequiz.exception;
+
+/**
+ * Thrown when a login cannot be checked, or a new password cannot be hashed, right now because the password pool is
+ * saturated. Nothing was judged or stored, so the client should retry later.
+ */
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+
+    public LoginThrottledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.onlinequiz.exception;
+
+/**
+ * Thrown when a question cannot be changed or deleted because a locked quiz uses it. Locked quizzes are graded
+ * against the questions as they were when the quiz was locked, so those questions stay frozen until the quiz is gone.
+ */
+public class QuestionLockedException extends QuestionException {
+    public QuestionLockedException(String message) {
+        super(message);
+    }
+}
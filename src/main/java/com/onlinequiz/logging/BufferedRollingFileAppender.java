@@ -0,0 +1,62 @@
+package com.onlinequiz.logging;
+
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.util.Duration;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling file appender that writes through its buffer and flushes it on a timer rather than after every event, so a
+ * burst of lines costs one write per buffer instead of one per line. A line reaches the file at most
+ * {@code flushInterval} after it was appended, and everything buffered is written when the appender stops.
+ */
+public class BufferedRollingFileAppender<E> extends RollingFileAppender<E> {
+    private Duration flushInterval = Duration.buildBySeconds(1);
+    private ScheduledFuture<?> flusher;
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    @Override
+    public void start() {
+        if (flushInterval == null || flushInterval.getMilliseconds() <= 0) {
+            addError("flushInterval must be positive for appender [" + name + "]");
+            return;
+        }
+        setImmediateFlush(false);
+        super.start();
+        if (isStarted()) {
+            long period = flushInterval.getMilliseconds();
+            flusher = getContext().getScheduledExecutorService()
+                    .scheduleAtFixedRate(this::flush, period, period, TimeUnit.MILLISECONDS);
+            getContext().addScheduledFuture(flusher);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (flusher != null) {
+            flusher.cancel(false);
+            flusher = null;
+        }
+        super.stop();
+    }
+
+    void flush() {
+        streamWriteLock.lock();
+        try {
+            OutputStream out = getOutputStream();
+            if (out != null) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            addError("Failed to flush " + getFile(), e);
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+}
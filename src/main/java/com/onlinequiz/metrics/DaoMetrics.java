@@ -0,0 +1,50 @@
+package com.onlinequiz.metrics;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.dao.QuestionDAO;
+import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.dao.UserDAO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges for the number of records each repository holds, read only when the registry is scraped.
+ */
+@Component
+public class DaoMetrics implements MeterBinder {
+    static final String DAO_SIZE = "onlinequiz.dao.size";
+
+    private final UserDAO userDAO;
+    private final QuestionDAO questionDAO;
+    private final QuizDAO quizDAO;
+    private final AttemptDAO attemptDAO;
+
+    @Autowired
+    public DaoMetrics(UserDAO userDAO, QuestionDAO questionDAO, QuizDAO quizDAO, AttemptDAO attemptDAO) {
+        this.userDAO = userDAO;
+        this.questionDAO = questionDAO;
+        this.quizDAO = quizDAO;
+        this.attemptDAO = attemptDAO;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "users", userDAO, UserDAO::countUsers);
+        gauge(registry, "questions", questionDAO, QuestionDAO::countQuestions);
+        gauge(registry, "quizzes", quizDAO, QuizDAO::countQuizzes);
+        gauge(registry, "attempts", attemptDAO, AttemptDAO::countAttempts);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String dao, T target, ToDoubleFunction<T> size) {
+        Gauge.builder(DAO_SIZE, target, size)
+                .description("Records held by a repository")
+                .tag("dao", dao)
+                .strongReference(true)
+                .register(registry);
+    }
+}
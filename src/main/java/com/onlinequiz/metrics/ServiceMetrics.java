@@ -0,0 +1,173 @@
+package com.onlinequiz.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times calls to the service interfaces in {@code com.onlinequiz.services}, and counts the exceptions
+ * they throw.
+ * <p>
+ * Every call is counted exactly in {@code onlinequiz.service.calls}, tagged with service, method and the exception
+ * thrown ({@code none} on success). Latency goes to the {@code onlinequiz.service} timer and its percentile histogram
+ * for one call in {@code sampleEvery}, chosen at random so the distribution stays unbiased: two clock reads and a
+ * histogram update cost more than the rest of the instrumentation together. Exceptions are also counted in
+ * {@code onlinequiz.exceptions} by type, once, as they leave the outermost service call on their thread.
+ * <p>
+ * Services are wrapped in plain JDK proxies; a Spring AOP interceptor chain costs several times as much per call.
+ */
+public class ServiceMetrics {
+    static final String SERVICE_TIMER = "onlinequiz.service";
+    static final String SERVICE_CALLS = "onlinequiz.service.calls";
+    static final String EXCEPTION_COUNTER = "onlinequiz.exceptions";
+    private static final String SERVICES_PACKAGE = "com.onlinequiz.services";
+    private static final String NONE = "none";
+    private static final String CALLS_DESCRIPTION = "Service method calls, by the exception they threw";
+
+    private final MeterRegistry registry;
+    private final int sampleEvery;
+    private final boolean percentileHistograms;
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+    // Service calls in progress on each thread, so an exception rethrown by enclosing calls is counted once.
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public ServiceMetrics(MeterRegistry registry, int sampleEvery, boolean percentileHistograms) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be positive");
+        }
+        this.registry = registry;
+        this.sampleEvery = sampleEvery;
+        this.percentileHistograms = percentileHistograms;
+    }
+
+    /**
+     * @return a proxy implementing the service interfaces of {@code service} that records every call, or
+     * {@code service} itself if it implements none.
+     */
+    public Object instrument(Object service) {
+        List<Class<?>> services = serviceInterfaces(service);
+        if (services.isEmpty()) {
+            return service;
+        }
+        return Proxy.newProxyInstance(service.getClass().getClassLoader(), services.toArray(new Class<?>[0]),
+                new Recorder(service));
+    }
+
+    /**
+     * @return true if {@code bean} implements a service interface, even when it is already wrapped in another proxy.
+     */
+    public static boolean isService(Object bean) {
+        return !serviceInterfaces(bean).isEmpty();
+    }
+
+    private static List<Class<?>> serviceInterfaces(Object bean) {
+        List<Class<?>> services = new ArrayList<>();
+        for (Class<?> type = bean.getClass(); type != null; type = type.getSuperclass()) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getPackageName().equals(SERVICES_PACKAGE) && !services.contains(candidate)) {
+                    services.add(candidate);
+                }
+            }
+        }
+        return services;
+    }
+
+    private final class Recorder implements InvocationHandler {
+        private final Object target;
+
+        Recorder(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeTarget(method, args);
+            }
+            MethodMeters methodMeters = meters.get(method);
+            if (methodMeters == null) {
+                methodMeters = meters.computeIfAbsent(method, MethodMeters::new);
+            }
+            int[] calls = depth.get();
+            calls[0]++;
+            boolean sampled = sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+            long start = sampled ? System.nanoTime() : 0;
+            try {
+                Object result = invokeTarget(method, args);
+                methodMeters.succeeded.increment();
+                if (sampled) {
+                    methodMeters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                return result;
+            } catch (Throwable e) {
+                String exception = e.getClass().getSimpleName();
+                methodMeters.failed(exception).increment();
+                if (sampled) {
+                    methodMeters.latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                if (calls[0] == 1) {
+                    Counter.builder(EXCEPTION_COUNTER)
+                            .description("Exceptions thrown out of the service layer, by type")
+                            .tag("exception", exception)
+                            .register(registry)
+                            .increment();
+                }
+                throw e;
+            } finally {
+                calls[0]--;
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private final class MethodMeters {
+        final String service;
+        final String method;
+        final LongAdder succeeded = new LongAdder();
+        final Timer latency;
+
+        MethodMeters(Method target) {
+            this.service = target.getDeclaringClass().getSimpleName();
+            this.method = target.getName();
+            FunctionCounter.builder(SERVICE_CALLS, succeeded, LongAdder::sum)
+                    .description(CALLS_DESCRIPTION)
+                    .tags("service", service, "method", method, "exception", NONE)
+                    .register(registry);
+            this.latency = Timer.builder(SERVICE_TIMER)
+                    .description("Latency of a random sample of service method calls")
+                    .tags("service", service, "method", method)
+                    .publishPercentileHistogram(percentileHistograms)
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+
+        Counter failed(String exception) {
+            return Counter.builder(SERVICE_CALLS)
+                    .description(CALLS_DESCRIPTION)
+                    .tags("service", service, "method", method, "exception", exception)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.onlinequiz.models;
+
+/**
+ * Aggregate figures for one batch of graded submissions; {@code failed} counts lines that could not be graded.
+ */
+public class BatchGradingStats {
+    private long graded;
+    private long failed;
+    private double meanScore;
+    private double stdDevScore;
+    private int minScore;
+    private int maxScore;
+    private int totalMarks;
+
+    public BatchGradingStats() {
+    }
+
+    public BatchGradingStats(long graded, long failed, double meanScore, double stdDevScore, int minScore, int maxScore, int totalMarks) {
+        this.graded = graded;
+        this.failed = failed;
+        this.meanScore = meanScore;
+        this.stdDevScore = stdDevScore;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.totalMarks = totalMarks;
+    }
+
+    public long getGraded() {
+        return graded;
+    }
+
+    public void setGraded(long graded) {
+        this.graded = graded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public double getMeanScore() {
+        return meanScore;
+    }
+
+    public void setMeanScore(double meanScore) {
+        this.meanScore = meanScore;
+    }
+
+    public double getStdDevScore() {
+        return stdDevScore;
+    }
+
+    public void setStdDevScore(double stdDevScore) {
+        this.stdDevScore = stdDevScore;
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(int minScore) {
+        this.minScore = minScore;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(int maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+
+    public void setTotalMarks(int totalMarks) {
+        this.totalMarks = totalMarks;
+    }
+}
@@ -0,0 +1,44 @@
+package com.onlinequiz.models;
+
+/**
+ * One step of a batch request: {@code CREATE} with a {@code value}, {@code UPDATE} with a {@code value} and an
+ * {@code id} (or the value's own ID), or {@code DELETE} with an {@code id}.
+ */
+public class BatchOperation<T> {
+    private String op;
+    private String id;
+    private T value;
+
+    public BatchOperation() {
+    }
+
+    public BatchOperation(String op, String id, T value) {
+        this.op = op;
+        this.id = id;
+        this.value = value;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T value) {
+        this.value = value;
+    }
+}
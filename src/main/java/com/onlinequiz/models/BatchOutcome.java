@@ -0,0 +1,64 @@
+package com.onlinequiz.models;
+
+/**
+ * What happened to one operation of a batch, by its position in the request. {@code status} is {@code OK},
+ * {@code NOT_FOUND} or {@code FAILED}, in which case {@code error} says why.
+ */
+public class BatchOutcome {
+    private int index;
+    private String op;
+    private String id;
+    private String status;
+    private String error;
+
+    public BatchOutcome() {
+    }
+
+    public BatchOutcome(int index, String op, String id, String status, String error) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,46 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} describes the first few rejected lines as {@code "line N: reason"}.
+ */
+public class ImportSummary {
+    private long imported;
+    private long failed;
+    private List<String> errors = new ArrayList<>();
+
+    public ImportSummary() {
+    }
+
+    public ImportSummary(long imported, long failed, List<String> errors) {
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,53 @@
+package com.onlinequiz.models;
+
+/**
+ * A user's best result on one quiz and its 1-based position on the leaderboard.
+ */
+public class LeaderboardEntry {
+    private int rank;
+    private String userId;
+    private int score;
+    private long finishedAt;
+
+    public LeaderboardEntry() {
+    }
+
+    public LeaderboardEntry(int rank, String userId, int score, long finishedAt) {
+        this.rank = rank;
+        this.userId = userId;
+        this.score = score;
+        this.finishedAt = finishedAt;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
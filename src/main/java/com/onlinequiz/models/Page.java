@@ -0,0 +1,61 @@
+package com.onlinequiz.models;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static com.onlinequiz.constants.Constants.DEFAULT_PAGE_SIZE;
+import static com.onlinequiz.constants.Constants.MAX_PAGE_SIZE;
+
+/**
+ * One page of a listing ordered by ID. Pass {@code nextCursor} back as {@code cursor} to get the following page;
+ * it is null on the last page.
+ */
+public class Page<T> {
+    private List<T> items;
+    private String nextCursor;
+
+    public Page() {
+    }
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the requested page size, defaulted and capped.
+     */
+    public static int size(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Build a page from up to {@code size + 1} fetched items; the extra one only tells that another page exists.
+     */
+    public static <T> Page<T> of(List<T> fetched, int size, Function<T, String> idOf) {
+        if (fetched.size() <= size) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new Page<>(items, idOf.apply(items.get(size - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter over the question bank by topic and difficulty.
+ * A question matches when it has every topic in {@code allTopics}, at least one topic in {@code anyTopics},
+ * none of the topics in {@code excludedTopics} and one of the {@code difficulties}. Empty lists do not filter.
+ */
+public class QuestionQuery {
+    private List<String> allTopics = new ArrayList<>();
+    private List<String> anyTopics = new ArrayList<>();
+    private List<String> excludedTopics = new ArrayList<>();
+    private List<String> difficulties = new ArrayList<>();
+
+    public QuestionQuery() {
+    }
+
+    public QuestionQuery(List<String> allTopics, List<String> anyTopics, List<String> excludedTopics, List<String> difficulties) {
+        setAllTopics(allTopics);
+        setAnyTopics(anyTopics);
+        setExcludedTopics(excludedTopics);
+        setDifficulties(difficulties);
+    }
+
+    public List<String> getAllTopics() {
+        return allTopics;
+    }
+
+    public void setAllTopics(List<String> allTopics) {
+        this.allTopics = allTopics == null ? new ArrayList<>() : allTopics;
+    }
+
+    public List<String> getAnyTopics() {
+        return anyTopics;
+    }
+
+    public void setAnyTopics(List<String> anyTopics) {
+        this.anyTopics = anyTopics == null ? new ArrayList<>() : anyTopics;
+    }
+
+    public List<String> getExcludedTopics() {
+        return excludedTopics;
+    }
+
+    public void setExcludedTopics(List<String> excludedTopics) {
+        this.excludedTopics = excludedTopics == null ? new ArrayList<>() : excludedTopics;
+    }
+
+    public List<String> getDifficulties() {
+        return difficulties;
+    }
+
+    public void setDifficulties(List<String> difficulties) {
+        this.difficulties = difficulties == null ? new ArrayList<>() : difficulties;
+    }
+
+    public boolean isEmpty() {
+        return allTopics.isEmpty() && anyTopics.isEmpty() && excludedTopics.isEmpty() && difficulties.isEmpty();
+    }
+}
@@ -0,0 +1,95 @@
+package com.onlinequiz.models;
+
+/**
+ * Item analysis of one question: how often it is answered correctly ({@code pValue}), how often each option is
+ * chosen, and how well answering it correctly tracks the rest of the quiz score ({@code pointBiserial}, null until
+ * both vary). {@code suggestedDifficulty} is null until enough responses have been seen.
+ */
+public class QuestionStatistics {
+    private String questionId;
+    private long responses;
+    private double pValue;
+    private long[] optionCounts;
+    private long skipped;
+    private Double pointBiserial;
+    private String currentDifficulty;
+    private String suggestedDifficulty;
+
+    public QuestionStatistics() {
+    }
+
+    public QuestionStatistics(String questionId, long responses, double pValue, long[] optionCounts, long skipped, Double pointBiserial, String currentDifficulty, String suggestedDifficulty) {
+        this.questionId = questionId;
+        this.responses = responses;
+        this.pValue = pValue;
+        this.optionCounts = optionCounts;
+        this.skipped = skipped;
+        this.pointBiserial = pointBiserial;
+        this.currentDifficulty = currentDifficulty;
+        this.suggestedDifficulty = suggestedDifficulty;
+    }
+
+    public String getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(String questionId) {
+        this.questionId = questionId;
+    }
+
+    public long getResponses() {
+        return responses;
+    }
+
+    public void setResponses(long responses) {
+        this.responses = responses;
+    }
+
+    public double getPValue() {
+        return pValue;
+    }
+
+    public void setPValue(double pValue) {
+        this.pValue = pValue;
+    }
+
+    public long[] getOptionCounts() {
+        return optionCounts;
+    }
+
+    public void setOptionCounts(long[] optionCounts) {
+        this.optionCounts = optionCounts;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public Double getPointBiserial() {
+        return pointBiserial;
+    }
+
+    public void setPointBiserial(Double pointBiserial) {
+        this.pointBiserial = pointBiserial;
+    }
+
+    public String getCurrentDifficulty() {
+        return currentDifficulty;
+    }
+
+    public void setCurrentDifficulty(String currentDifficulty) {
+        this.currentDifficulty = currentDifficulty;
+    }
+
+    public String getSuggestedDifficulty() {
+        return suggestedDifficulty;
+    }
+
+    public void setSuggestedDifficulty(String suggestedDifficulty) {
+        this.suggestedDifficulty = suggestedDifficulty;
+    }
+}
@@ -1,17 +1,26 @@
 package com.onlinequiz.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * Represents a quiz in the application.
+ * <p>
+ * A locked quiz is stored with only {@link #getQuestionIds() question IDs}, so that its questions can leave the heap
+ * once sealed; the service resolves them again before handing the quiz out. Its {@link #getKey() key} is frozen from
+ * the questions at the same moment and is stored, but never shown through the API.
  */
 public class Quiz {
     private String id;
     private String title;
     private List<Question> questions;
+    private List<String> questionIds;
     private int totalMarks;
     private String accessCode;
     private boolean modifiable;
+    private QuizKey key;
 
     // Constructor
     public Quiz(){
@@ -51,6 +60,15 @@ public class Quiz {
         this.questions = questions;
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public List<String> getQuestionIds() {
+        return questionIds;
+    }
+
+    public void setQuestionIds(List<String> questionIds) {
+        this.questionIds = questionIds;
+    }
+
     public int getTotalMarks() {
         return totalMarks;
     }
@@ -74,4 +92,14 @@ public class Quiz {
     public void setModifiable(boolean modifiable) {
         this.modifiable = modifiable;
     }
-}
\ No newline at end of file
+
+    @JsonIgnore
+    public QuizKey getKey() {
+        return key;
+    }
+
+    @JsonIgnore
+    public void setKey(QuizKey key) {
+        this.key = key;
+    }
+}
@@ -0,0 +1,94 @@
+package com.onlinequiz.models;
+
+/**
+ * One graded attempt at a quiz. Times are epoch milliseconds; {@code answers} holds zero-based option indexes in
+ * question order, -1 for a skipped question.
+ */
+public class QuizAttempt {
+    private String id;
+    private String userId;
+    private String quizId;
+    private int[] answers;
+    private int score;
+    private int totalMarks;
+    private long startedAt;
+    private long submittedAt;
+
+    public QuizAttempt() {
+    }
+
+    public QuizAttempt(String id, String userId, String quizId, int[] answers, int score, int totalMarks, long startedAt, long submittedAt) {
+        this.id = id;
+        this.userId = userId;
+        this.quizId = quizId;
+        this.answers = answers;
+        this.score = score;
+        this.totalMarks = totalMarks;
+        this.startedAt = startedAt;
+        this.submittedAt = submittedAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(String quizId) {
+        this.quizId = quizId;
+    }
+
+    public int[] getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(int[] answers) {
+        this.answers = answers;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+
+    public void setTotalMarks(int totalMarks) {
+        this.totalMarks = totalMarks;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+}
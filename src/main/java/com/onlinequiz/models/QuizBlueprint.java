@@ -0,0 +1,100 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes a quiz to be generated from the question bank, e.g. "10 EASY + 5 HARD on topics {java, sql}, 50 marks".
+ * Each section draws {@code count} distinct questions of its difficulty that carry at least one of its topics; a
+ * section without topics falls back to the blueprint's topics. {@code totalMarks} is optional.
+ */
+public class QuizBlueprint {
+    private String title;
+    private List<String> topics = new ArrayList<>();
+    private List<Section> sections = new ArrayList<>();
+    private Integer totalMarks;
+
+    public QuizBlueprint() {
+    }
+
+    public QuizBlueprint(String title, List<String> topics, List<Section> sections, Integer totalMarks) {
+        this.title = title;
+        setTopics(topics);
+        setSections(sections);
+        this.totalMarks = totalMarks;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public List<String> getTopics() {
+        return topics;
+    }
+
+    public void setTopics(List<String> topics) {
+        this.topics = topics == null ? new ArrayList<>() : topics;
+    }
+
+    public List<Section> getSections() {
+        return sections;
+    }
+
+    public void setSections(List<Section> sections) {
+        this.sections = sections == null ? new ArrayList<>() : sections;
+    }
+
+    public Integer getTotalMarks() {
+        return totalMarks;
+    }
+
+    public void setTotalMarks(Integer totalMarks) {
+        this.totalMarks = totalMarks;
+    }
+
+    /**
+     * One block of questions within a blueprint.
+     */
+    public static class Section {
+        private int count;
+        private String difficulty;
+        private List<String> topics = new ArrayList<>();
+
+        public Section() {
+        }
+
+        public Section(int count, String difficulty, List<String> topics) {
+            this.count = count;
+            this.difficulty = difficulty;
+            setTopics(topics);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        public void setDifficulty(String difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        public List<String> getTopics() {
+            return topics;
+        }
+
+        public void setTopics(List<String> topics) {
+            this.topics = topics == null ? new ArrayList<>() : topics;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request to create or replace a quiz from existing questions, given by ID in the order they should be asked.
+ */
+public class QuizDraft {
+    private String title;
+    private List<String> questionIds = new ArrayList<>();
+
+    public QuizDraft() {
+    }
+
+    public QuizDraft(String title, List<String> questionIds) {
+        this.title = title;
+        setQuestionIds(questionIds);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public List<String> getQuestionIds() {
+        return questionIds;
+    }
+
+    public void setQuestionIds(List<String> questionIds) {
+        this.questionIds = questionIds == null ? new ArrayList<>() : questionIds;
+    }
+}
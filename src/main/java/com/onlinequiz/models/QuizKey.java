@@ -0,0 +1,60 @@
+package com.onlinequiz.models;
+
+import java.util.List;
+
+/**
+ * What grading and answering a locked quiz needs from its questions, frozen when the quiz is locked and stored with
+ * it: each question's correct option, marks and number of options, in quiz order. Grading and sessions keep using it
+ * however the bank is rebuilt after a restart.
+ */
+public class QuizKey {
+    private int[] correctOptions;
+    private int[] marks;
+    private int[] optionCounts;
+
+    public QuizKey() {
+    }
+
+    public QuizKey(int[] correctOptions, int[] marks, int[] optionCounts) {
+        this.correctOptions = correctOptions;
+        this.marks = marks;
+        this.optionCounts = optionCounts;
+    }
+
+    public static QuizKey of(List<Question> questions) {
+        int[] correctOptions = new int[questions.size()];
+        int[] marks = new int[questions.size()];
+        int[] optionCounts = new int[questions.size()];
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            correctOptions[i] = question.getCorrectOptionIndex();
+            marks[i] = question.getMarks();
+            optionCounts[i] = question.getOptions() == null ? 0 : question.getOptions().size();
+        }
+        return new QuizKey(correctOptions, marks, optionCounts);
+    }
+
+    public int[] getCorrectOptions() {
+        return correctOptions;
+    }
+
+    public void setCorrectOptions(int[] correctOptions) {
+        this.correctOptions = correctOptions;
+    }
+
+    public int[] getMarks() {
+        return marks;
+    }
+
+    public void setMarks(int[] marks) {
+        this.marks = marks;
+    }
+
+    public int[] getOptionCounts() {
+        return optionCounts;
+    }
+
+    public void setOptionCounts(int[] optionCounts) {
+        this.optionCounts = optionCounts;
+    }
+}
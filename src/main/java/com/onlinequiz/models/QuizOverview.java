@@ -0,0 +1,58 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything a quiz dashboard shows in one response: the quiz, its leaderboard, its latest attempts and the item
+ * statistics of each of its questions still in the bank.
+ */
+public class QuizOverview {
+    private Quiz quiz;
+    private List<LeaderboardEntry> leaderboard = new ArrayList<>();
+    private List<QuizAttempt> recentAttempts = new ArrayList<>();
+    private List<QuestionStatistics> questionStatistics = new ArrayList<>();
+
+    public QuizOverview() {
+    }
+
+    public QuizOverview(Quiz quiz, List<LeaderboardEntry> leaderboard, List<QuizAttempt> recentAttempts,
+                        List<QuestionStatistics> questionStatistics) {
+        this.quiz = quiz;
+        this.leaderboard = leaderboard;
+        this.recentAttempts = recentAttempts;
+        this.questionStatistics = questionStatistics;
+    }
+
+    public Quiz getQuiz() {
+        return quiz;
+    }
+
+    public void setQuiz(Quiz quiz) {
+        this.quiz = quiz;
+    }
+
+    public List<LeaderboardEntry> getLeaderboard() {
+        return leaderboard;
+    }
+
+    public void setLeaderboard(List<LeaderboardEntry> leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    public List<QuizAttempt> getRecentAttempts() {
+        return recentAttempts;
+    }
+
+    public void setRecentAttempts(List<QuizAttempt> recentAttempts) {
+        this.recentAttempts = recentAttempts;
+    }
+
+    public List<QuestionStatistics> getQuestionStatistics() {
+        return questionStatistics;
+    }
+
+    public void setQuestionStatistics(List<QuestionStatistics> questionStatistics) {
+        this.questionStatistics = questionStatistics;
+    }
+}
@@ -0,0 +1,111 @@
+package com.onlinequiz.models;
+
+/**
+ * A user's timed run through a quiz. Answers are saved one at a time until the user submits or the deadline passes,
+ * at which point the session is submitted automatically. Times are epoch milliseconds; {@code result} is set once
+ * the session has been graded.
+ */
+public class QuizSession {
+    private String id;
+    private String userId;
+    private String quizId;
+    private String accessCode;
+    private int[] answers;
+    private long startedAt;
+    private long expiresAt;
+    private String status;
+    private SubmissionResult result;
+
+    public QuizSession() {
+    }
+
+    public QuizSession(String id, String userId, String quizId, String accessCode, int[] answers, long startedAt, long expiresAt, String status) {
+        this.id = id;
+        this.userId = userId;
+        this.quizId = quizId;
+        this.accessCode = accessCode;
+        this.answers = answers;
+        this.startedAt = startedAt;
+        this.expiresAt = expiresAt;
+        this.status = status;
+    }
+
+    public QuizSession copy() {
+        QuizSession copy = new QuizSession(id, userId, quizId, accessCode, answers == null ? null : answers.clone(),
+                startedAt, expiresAt, status);
+        copy.setResult(result);
+        return copy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(String quizId) {
+        this.quizId = quizId;
+    }
+
+    public String getAccessCode() {
+        return accessCode;
+    }
+
+    public void setAccessCode(String accessCode) {
+        this.accessCode = accessCode;
+    }
+
+    public int[] getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(int[] answers) {
+        this.answers = answers;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public SubmissionResult getResult() {
+        return result;
+    }
+
+    public void setResult(SubmissionResult result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,68 @@
+package com.onlinequiz.models;
+
+/**
+ * A graded submission as pushed to live result subscribers.
+ */
+public class ScoreEvent {
+    private String attemptId;
+    private String userId;
+    private int score;
+    private int totalMarks;
+    private long submittedAt;
+
+    public ScoreEvent() {
+    }
+
+    public ScoreEvent(String attemptId, String userId, int score, int totalMarks, long submittedAt) {
+        this.attemptId = attemptId;
+        this.userId = userId;
+        this.score = score;
+        this.totalMarks = totalMarks;
+        this.submittedAt = submittedAt;
+    }
+
+    public static ScoreEvent of(QuizAttempt attempt) {
+        return new ScoreEvent(attempt.getId(), attempt.getUserId(), attempt.getScore(), attempt.getTotalMarks(),
+                attempt.getSubmittedAt());
+    }
+
+    public String getAttemptId() {
+        return attemptId;
+    }
+
+    public void setAttemptId(String attemptId) {
+        this.attemptId = attemptId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+
+    public void setTotalMarks(int totalMarks) {
+        this.totalMarks = totalMarks;
+    }
+
+    public long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(long submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+}
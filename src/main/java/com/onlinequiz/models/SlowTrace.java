@@ -0,0 +1,88 @@
+package com.onlinequiz.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sampled request that took longer than the slow-trace threshold, with the spans of its controller, service and
+ * DAO calls in the order they started. {@code droppedSpans} counts calls beyond the per-trace span limit.
+ */
+public class SlowTrace {
+    private String traceId;
+    private String name;
+    private int status;
+    private long startedAt;
+    private long durationMicros;
+    private List<TraceSpan> spans = new ArrayList<>();
+    private int droppedSpans;
+
+    public SlowTrace() {
+    }
+
+    public SlowTrace(String traceId, String name, int status, long startedAt, long durationMicros,
+                     List<TraceSpan> spans, int droppedSpans) {
+        this.traceId = traceId;
+        this.name = name;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.durationMicros = durationMicros;
+        this.spans = spans;
+        this.droppedSpans = droppedSpans;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public void setDurationMicros(long durationMicros) {
+        this.durationMicros = durationMicros;
+    }
+
+    public List<TraceSpan> getSpans() {
+        return spans;
+    }
+
+    public void setSpans(List<TraceSpan> spans) {
+        this.spans = spans;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    public void setDroppedSpans(int droppedSpans) {
+        this.droppedSpans = droppedSpans;
+    }
+}
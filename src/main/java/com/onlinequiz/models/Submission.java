@@ -0,0 +1,49 @@
+package com.onlinequiz.models;
+
+/**
+ * A user's answers to a quiz: zero-based option indexes in question order, -1 for a skipped question.
+ * {@code startedAt} is when the user began, in epoch milliseconds, if known.
+ */
+public class Submission {
+    private String userId;
+    private int[] answers;
+    private Long startedAt;
+
+    public Submission() {
+    }
+
+    public Submission(String userId, int[] answers) {
+        this.userId = userId;
+        this.answers = answers;
+    }
+
+    public Submission(String userId, int[] answers, Long startedAt) {
+        this.userId = userId;
+        this.answers = answers;
+        this.startedAt = startedAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public int[] getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(int[] answers) {
+        this.answers = answers;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Long startedAt) {
+        this.startedAt = startedAt;
+    }
+}
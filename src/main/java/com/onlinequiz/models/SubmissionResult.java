@@ -0,0 +1,53 @@
+package com.onlinequiz.models;
+
+/**
+ * The outcome of grading one submission.
+ */
+public class SubmissionResult {
+    private String attemptId;
+    private String quizId;
+    private int score;
+    private int totalMarks;
+
+    public SubmissionResult() {
+    }
+
+    public SubmissionResult(String attemptId, String quizId, int score, int totalMarks) {
+        this.attemptId = attemptId;
+        this.quizId = quizId;
+        this.score = score;
+        this.totalMarks = totalMarks;
+    }
+
+    public String getAttemptId() {
+        return attemptId;
+    }
+
+    public void setAttemptId(String attemptId) {
+        this.attemptId = attemptId;
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(String quizId) {
+        this.quizId = quizId;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+
+    public void setTotalMarks(int totalMarks) {
+        this.totalMarks = totalMarks;
+    }
+}
@@ -0,0 +1,73 @@
+package com.onlinequiz.models;
+
+/**
+ * One timed call within a traced request. {@code layer} is {@code controller}, {@code service} or {@code dao};
+ * {@code depth} is the nesting level below the request, and {@code startMicros} is measured from the start of the
+ * request. {@code error} names the exception the call threw, if any.
+ */
+public class TraceSpan {
+    private String layer;
+    private String name;
+    private int depth;
+    private long startMicros;
+    private long durationMicros;
+    private String error;
+
+    public TraceSpan() {
+    }
+
+    public TraceSpan(String layer, String name, int depth, long startMicros) {
+        this.layer = layer;
+        this.name = name;
+        this.depth = depth;
+        this.startMicros = startMicros;
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public void setLayer(String layer) {
+        this.layer = layer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    public void setStartMicros(long startMicros) {
+        this.startMicros = startMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public void setDurationMicros(long durationMicros) {
+        this.durationMicros = durationMicros;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -1,5 +1,7 @@
 package com.onlinequiz.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * Represents a user in the quiz application.
  */
@@ -35,6 +37,8 @@ public class User {
         this.username = username;
     }
 
+    // Accepted in requests but never written back, so the stored hash does not leave the server.
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     public String getPassword() {
         return password;
     }
@@ -0,0 +1,12 @@
+package com.onlinequiz.services;
+
+import com.onlinequiz.models.QuizAttempt;
+import java.util.List;
+import java.util.Optional;
+
+public interface AttemptService {
+    QuizAttempt recordAttempt(String userId, String quizId, int[] answers, int score, int totalMarks, long startedAt);
+    Optional<QuizAttempt> getAttemptById(String id);
+    List<QuizAttempt> getUserAttempts(String userId, Long from, Long to, Integer limit);
+    List<QuizAttempt> getQuizAttempts(String quizId, Long from, Long to, Integer limit);
+}
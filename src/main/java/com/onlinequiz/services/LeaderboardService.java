@@ -0,0 +1,12 @@
+package com.onlinequiz.services;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaderboardService {
+    boolean recordScore(String quizId, String userId, int score, long finishedAt);
+    List<LeaderboardEntry> getTopEntries(String quizId, Integer limit);
+    Optional<LeaderboardEntry> getRank(String quizId, String userId);
+    void removeLeaderboard(String quizId);
+}
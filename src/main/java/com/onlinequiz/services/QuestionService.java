@@ -1,13 +1,35 @@
 package com.onlinequiz.services;
 
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.ImportSummary;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuestionStatistics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface QuestionService {
     Question createQuestion(String title, List<String> options, int correctOptionIndex, String difficulty, List<String> topics, int marks);
     Optional<Question> getQuestionById(String id);
     List<Question> getAllQuestions();
+    Page<Question> getQuestionPage(QuestionQuery query, String cursor, Integer limit);
     Question updateQuestion(Question question);
     boolean isDeleteQuestion(String id);
+    List<BatchOutcome> applyBatch(List<BatchOperation<Question>> operations);
+    int sealQuestions(List<String> ids);
+    Optional<List<Question>> pinQuestions(List<String> ids);
+    void unpinQuestions(List<String> ids);
+    List<Question> findQuestions(QuestionQuery query);
+    List<Question> searchQuestions(String query, int limit);
+    List<Question> sampleQuestions(QuestionQuery query, Set<String> excludedIds, int count);
+    void recordResponses(List<Question> questions, int[] answers, int score);
+    Optional<QuestionStatistics> getQuestionStatistics(String id);
+    long exportQuestions(OutputStream output) throws IOException;
+    ImportSummary importQuestions(InputStream input) throws IOException;
 }
\ No newline at end of file
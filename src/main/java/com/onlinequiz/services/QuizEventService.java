@@ -0,0 +1,10 @@
+package com.onlinequiz.services;
+
+import com.onlinequiz.models.QuizAttempt;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface QuizEventService {
+    SseEmitter subscribe(String quizId);
+    void publishAttempt(String quizId, QuizAttempt attempt, boolean leaderboardChanged);
+    int getSubscriberCount();
+}
@@ -0,0 +1,8 @@
+package com.onlinequiz.services;
+
+import com.onlinequiz.models.QuizOverview;
+import java.util.Optional;
+
+public interface QuizOverviewService {
+    Optional<QuizOverview> getQuizOverview(String quizId);
+}
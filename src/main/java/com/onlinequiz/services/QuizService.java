@@ -1,15 +1,31 @@
 package com.onlinequiz.services;
+import com.onlinequiz.models.BatchGradingStats;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizBlueprint;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 public interface QuizService {
     Quiz createQuiz(String title, Scanner scanner);
+    Quiz createQuiz(String title, List<String> questionIds);
+    Quiz createQuizFromBlueprint(QuizBlueprint blueprint);
     Optional<Quiz> getQuizById(String id);
     List<Quiz> getAllQuizzes();
+    Page<Quiz> getQuizPage(String cursor, Integer limit);
     Quiz updateQuiz(Quiz quiz);
+    Quiz updateQuiz(String id, String title, List<String> questionIds);
     boolean isDeleteQuiz(String id);
     Optional<Quiz> getQuizByAccessCode(String accessCode);
     void lockQuiz(String id);
     int takeQuiz(String accessCode, Scanner scanner);
+    int takeQuiz(String userId, String accessCode, Scanner scanner);
+    Optional<SubmissionResult> submitQuiz(String accessCode, Submission submission);
+    SubmissionResult submitQuiz(Quiz quiz, Submission submission);
+    BatchGradingStats gradeSubmissions(String accessCode, InputStream submissions, OutputStream results) throws IOException;
 }
\ No newline at end of file
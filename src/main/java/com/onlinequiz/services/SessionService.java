@@ -0,0 +1,13 @@
+package com.onlinequiz.services;
+
+import com.onlinequiz.models.QuizSession;
+import com.onlinequiz.models.SubmissionResult;
+import java.util.Optional;
+
+public interface SessionService {
+    QuizSession startSession(String userId, String accessCode, Long durationSeconds);
+    Optional<QuizSession> getSession(String id);
+    QuizSession saveAnswer(String id, int questionIndex, int optionIndex);
+    SubmissionResult submitSession(String id);
+    int getOpenSessionCount();
+}
@@ -1,5 +1,8 @@
 package com.onlinequiz.services;
 
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.User;
 import java.util.List;
 import java.util.Optional;
@@ -9,8 +12,10 @@ public interface UserService {
     Optional<User> getUserById(String id);
     Optional<User> getUserByUsername(String username);
     List<User> getAllUsers();
+    Page<User> getUserPage(String cursor, Integer limit);
     User updateUser(User user);
     boolean isDeleteUser(String id);
+    List<BatchOutcome> applyBatch(List<BatchOperation<User>> operations);
     User login(String username, String password);
     User register(String username, String password, String role);
 }
\ No newline at end of file
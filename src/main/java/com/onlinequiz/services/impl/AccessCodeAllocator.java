@@ -0,0 +1,139 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.exception.QuizException;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.onlinequiz.constants.Constants.ACCESS_CODE_LENGTH;
+import static com.onlinequiz.constants.Constants.ERROR_ACCESS_CODES_EXHAUSTED;
+
+/**
+ * Hands out quiz access codes from the 24-bit space of six hex digits.
+ * <p>
+ * Codes come from a sequence passed through a fixed bijection of the code space, so every code is issued at most
+ * once and consecutive quizzes do not get guessable neighbouring codes. Codes released by deleted quizzes are
+ * reused first, in the order they were freed.
+ * <p>
+ * The sequence itself is not persisted. After a restart, {@link #resumingAfter} inverts the bijection over the
+ * codes of the recovered quizzes to continue past the highest one issued, and treats the unused codes below it as
+ * released.
+ */
+public class AccessCodeAllocator {
+    private static final int CODE_SPACE = 1 << (4 * ACCESS_CODE_LENGTH);
+    private static final int CODE_MASK = CODE_SPACE - 1;
+    // Any odd multiplier is invertible modulo a power of two.
+    private static final int MULTIPLIER = 0x9E3779;
+    private static final int INVERSE = inverse(MULTIPLIER);
+    private static final int OFFSET = 0x5A17C3;
+
+    private final AtomicInteger sequence;
+    private final Queue<Integer> released = new ConcurrentLinkedQueue<>();
+    // Sequence numbers below the resumed sequence whose codes no recovered quiz holds; handed out after released codes.
+    private final BitSet unused;
+    private int unusedCursor;
+    private volatile boolean hasUnused;
+
+    public AccessCodeAllocator() {
+        this(0, new BitSet());
+    }
+
+    private AccessCodeAllocator(int sequence, BitSet unused) {
+        this.sequence = new AtomicInteger(sequence);
+        this.unused = unused;
+        this.hasUnused = !unused.isEmpty();
+    }
+
+    /**
+     * @param issuedCodes the access codes of every existing quiz; codes outside the managed space are ignored.
+     * @return an allocator that never hands out any of those codes.
+     */
+    public static AccessCodeAllocator resumingAfter(Collection<String> issuedCodes) {
+        BitSet issued = new BitSet();
+        for (String code : issuedCodes) {
+            int value = parse(code);
+            if (value >= 0) {
+                issued.set(unscramble(value));
+            }
+        }
+        int next = issued.length();
+        BitSet unused = new BitSet(next);
+        unused.set(0, next);
+        unused.andNot(issued);
+        return new AccessCodeAllocator(next, unused);
+    }
+
+    public String allocate() {
+        Integer reused = released.poll();
+        if (reused != null) {
+            return format(reused);
+        }
+        int hole = hasUnused ? nextUnused() : -1;
+        if (hole >= 0) {
+            return format(scramble(hole));
+        }
+        int next = sequence.getAndIncrement();
+        if (next < 0 || next >= CODE_SPACE) {
+            sequence.set(CODE_SPACE);
+            throw new QuizException(ERROR_ACCESS_CODES_EXHAUSTED);
+        }
+        return format(scramble(next));
+    }
+
+    public void release(String accessCode) {
+        int value = parse(accessCode);
+        if (value >= 0) {
+            released.add(value);
+        }
+    }
+
+    private synchronized int nextUnused() {
+        int next = unusedCursor < 0 ? -1 : unused.nextSetBit(unusedCursor);
+        if (next < 0) {
+            hasUnused = false;
+            unusedCursor = -1;
+            return -1;
+        }
+        unusedCursor = next + 1;
+        return next;
+    }
+
+    // Codes minted before the allocator existed are not part of the managed space.
+    private static int parse(String accessCode) {
+        if (accessCode == null || accessCode.length() != ACCESS_CODE_LENGTH) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(accessCode, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int scramble(int value) {
+        int x = (value * MULTIPLIER + OFFSET) & CODE_MASK;
+        return x ^ (x >>> (2 * ACCESS_CODE_LENGTH));
+    }
+
+    static int unscramble(int code) {
+        // The xor-shift by half the width is its own inverse; the affine step is undone with the modular inverse.
+        int x = code ^ (code >>> (2 * ACCESS_CODE_LENGTH));
+        return ((x - OFFSET) * INVERSE) & CODE_MASK;
+    }
+
+    // Newton's iteration for the inverse modulo 2^32; each step doubles the number of correct low bits.
+    private static int inverse(int odd) {
+        int inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    private static String format(int code) {
+        return String.format("%0" + ACCESS_CODE_LENGTH + "X", code);
+    }
+}
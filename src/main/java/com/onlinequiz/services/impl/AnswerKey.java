@@ -0,0 +1,72 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizKey;
+
+import java.util.List;
+
+/**
+ * A quiz's correct options and marks flattened into parallel primitive arrays, so grading a submission is a single
+ * tight loop with no per-question allocation or pointer chasing through {@link Question} objects.
+ * <p>
+ * Answers are zero-based option indexes in question order; anything out of range, e.g. -1 for "not answered",
+ * simply earns nothing. Keys are immutable and safe to share between threads.
+ */
+public final class AnswerKey {
+    private final int[] correct;
+    private final int[] marks;
+    private final int totalMarks;
+
+    private AnswerKey(int[] correct, int[] marks) {
+        this.correct = correct;
+        this.marks = marks;
+        int total = 0;
+        for (int mark : marks) {
+            total += mark;
+        }
+        this.totalMarks = total;
+    }
+
+    /**
+     * A locked quiz is graded by the key frozen when it was locked; any other quiz by its questions as they are now.
+     */
+    public static AnswerKey compile(Quiz quiz) {
+        QuizKey frozen = quiz.getKey();
+        if (!quiz.isModifiable() && frozen != null) {
+            return new AnswerKey(frozen.getCorrectOptions().clone(), frozen.getMarks().clone());
+        }
+        List<Question> questions = quiz.getQuestions();
+        int size = questions == null ? 0 : questions.size();
+        int[] correct = new int[size];
+        int[] marks = new int[size];
+        for (int i = 0; i < size; i++) {
+            Question question = questions.get(i);
+            correct[i] = question.getCorrectOptionIndex();
+            marks[i] = question.getMarks();
+        }
+        return new AnswerKey(correct, marks);
+    }
+
+    /**
+     * @return the marks earned; answers beyond the last question are ignored and missing ones count as wrong.
+     */
+    public int grade(int[] answers) {
+        int score = 0;
+        int length = Math.min(answers.length, correct.length);
+        for (int i = 0; i < length; i++) {
+            if (answers[i] == correct[i]) {
+                score += marks[i];
+            }
+        }
+        return score;
+    }
+
+    public int getQuestionCount() {
+        return correct.length;
+    }
+
+    public int getTotalMarks() {
+        return totalMarks;
+    }
+}
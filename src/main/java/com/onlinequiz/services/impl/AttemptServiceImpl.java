@@ -0,0 +1,73 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.exception.UserException;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.services.AttemptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.onlinequiz.constants.Constants.*;
+
+@Service
+public class AttemptServiceImpl implements AttemptService {
+    private final AttemptDAO attemptDAO;
+
+    @Autowired
+    public AttemptServiceImpl(AttemptDAO attemptDAO) {
+        this.attemptDAO = attemptDAO;
+    }
+
+    @Override
+    public QuizAttempt recordAttempt(String userId, String quizId, int[] answers, int score, int totalMarks, long startedAt) {
+        if (quizId == null || quizId.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_QUIZ_ID);
+        }
+        QuizAttempt attempt = new QuizAttempt(Ids.randomId(), userId, quizId, answers, score,
+                totalMarks, startedAt, System.currentTimeMillis());
+        return attemptDAO.recordAttempt(attempt);
+    }
+
+    @Override
+    public Optional<QuizAttempt> getAttemptById(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_ATTEMPT_ID);
+        }
+        return attemptDAO.getAttemptById(id);
+    }
+
+    @Override
+    public List<QuizAttempt> getUserAttempts(String userId, Long from, Long to, Integer limit) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_USER_ID);
+        }
+        return attemptDAO.getAttemptsByUser(userId, lowerBound(from), upperBound(to), clampLimit(limit));
+    }
+
+    @Override
+    public List<QuizAttempt> getQuizAttempts(String quizId, Long from, Long to, Integer limit) {
+        if (quizId == null || quizId.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_QUIZ_ID);
+        }
+        return attemptDAO.getAttemptsByQuiz(quizId, lowerBound(from), upperBound(to), clampLimit(limit));
+    }
+
+    private static long lowerBound(Long from) {
+        return from == null ? Long.MIN_VALUE : from;
+    }
+
+    private static long upperBound(Long to) {
+        return to == null ? Long.MAX_VALUE : to;
+    }
+
+    private static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_ATTEMPT_RESULTS;
+        }
+        return Math.min(limit, MAX_ATTEMPT_RESULTS);
+    }
+}
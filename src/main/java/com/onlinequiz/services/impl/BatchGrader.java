@@ -0,0 +1,234 @@
+package com.onlinequiz.services.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.onlinequiz.models.BatchGradingStats;
+import com.onlinequiz.models.Submission;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+import static com.onlinequiz.constants.Constants.ERROR_EMPTY_ANSWERS;
+
+/**
+ * Grades a stream of NDJSON submissions against one answer key and streams the results back in input order.
+ * <p>
+ * Lines are read in chunks of {@value #CHUNK_SIZE}; parsing and grading of each chunk runs on a fixed worker pool,
+ * while the calling thread reads ahead and writes finished chunks out in order. At most a few chunks per worker are
+ * in flight, so memory stays constant however long the input is. Each output line is either
+ * {@code {"line":n,"userId":...,"score":...}} or {@code {"line":n,"error":...}}; the last line carries the
+ * aggregate {@link BatchGradingStats}.
+ */
+public class BatchGrader {
+    static final int CHUNK_SIZE = 1024;
+    private static final int CHUNKS_PER_WORKER = 2;
+
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final ObjectReader submissionReader = mapper.readerFor(Submission.class);
+
+    public BatchGrader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchGrader(int parallelism) {
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-grader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlight = parallelism * CHUNKS_PER_WORKER;
+    }
+
+    public BatchGradingStats grade(AnswerKey answerKey, InputStream submissions, OutputStream results) throws IOException {
+        return grade(answerKey, submissions, results, (submission, score) -> {
+        });
+    }
+
+    /**
+     * @param onGraded called on a worker thread for every successfully graded submission, e.g. to record it. If it
+     *                 throws, that line is reported as an error and the rest of the stream carries on.
+     */
+    public BatchGradingStats grade(AnswerKey answerKey, InputStream submissions, OutputStream results,
+                                   ObjIntConsumer<Submission> onGraded) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(submissions, StandardCharsets.UTF_8));
+        JsonGenerator generator = mapper.getFactory().createGenerator(results, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        Deque<Future<GradedChunk>> inFlight = new ArrayDeque<>();
+        Aggregate aggregate = new Aggregate();
+        try {
+            long lineNumber = 0;
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == CHUNK_SIZE) {
+                    submit(answerKey, onGraded, lineNumber + 1, lines, inFlight, generator, aggregate);
+                    lineNumber += CHUNK_SIZE;
+                    lines = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(answerKey, onGraded, lineNumber + 1, lines, inFlight, generator, aggregate);
+            }
+            while (!inFlight.isEmpty()) {
+                write(await(inFlight.poll()), generator, aggregate);
+            }
+        } finally {
+            for (Future<GradedChunk> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+        BatchGradingStats stats = aggregate.toStats(answerKey.getTotalMarks());
+        generator.writeStartObject();
+        generator.writeObjectField("stats", stats);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+        return stats;
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void submit(AnswerKey answerKey, ObjIntConsumer<Submission> onGraded, long firstLine, List<String> lines, Deque<Future<GradedChunk>> inFlight,
+                        JsonGenerator generator, Aggregate aggregate) throws IOException {
+        if (inFlight.size() == maxInFlight) {
+            write(await(inFlight.poll()), generator, aggregate);
+        }
+        inFlight.add(workers.submit(() -> gradeChunk(answerKey, onGraded, firstLine, lines)));
+    }
+
+    private GradedChunk gradeChunk(AnswerKey answerKey, ObjIntConsumer<Submission> onGraded, long firstLine,
+                                   List<String> lines) {
+        GradedChunk chunk = new GradedChunk(firstLine, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                Submission submission = submissionReader.readValue(line);
+                if (submission.getAnswers() == null) {
+                    chunk.errors[i] = ERROR_EMPTY_ANSWERS;
+                    continue;
+                }
+                int score = answerKey.grade(submission.getAnswers());
+                onGraded.accept(submission, score);
+                chunk.userIds[i] = submission.getUserId();
+                chunk.scores[i] = score;
+            } catch (JsonProcessingException e) {
+                chunk.errors[i] = "Malformed submission: " + e.getOriginalMessage();
+            } catch (RuntimeException e) {
+                chunk.errors[i] = "Failed to record submission: " + e.getMessage();
+            }
+        }
+        return chunk;
+    }
+
+    private static GradedChunk await(Future<GradedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while grading submissions");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to grade submissions", e.getCause());
+        }
+    }
+
+    private static void write(GradedChunk chunk, JsonGenerator generator, Aggregate aggregate) throws IOException {
+        for (int i = 0; i < chunk.scores.length; i++) {
+            boolean failed = chunk.errors[i] != null;
+            if (!failed && chunk.scores[i] == GradedChunk.BLANK) {
+                continue;
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("line", chunk.firstLine + i);
+            if (failed) {
+                generator.writeStringField("error", chunk.errors[i]);
+                aggregate.fail();
+            } else {
+                generator.writeStringField("userId", chunk.userIds[i]);
+                generator.writeNumberField("score", chunk.scores[i]);
+                aggregate.add(chunk.scores[i]);
+            }
+            generator.writeEndObject();
+        }
+        generator.flush();
+    }
+
+    private static final class GradedChunk {
+        static final int BLANK = Integer.MIN_VALUE;
+
+        final long firstLine;
+        final String[] userIds;
+        final int[] scores;
+        final String[] errors;
+
+        GradedChunk(long firstLine, int size) {
+            this.firstLine = firstLine;
+            this.userIds = new String[size];
+            this.scores = new int[size];
+            this.errors = new String[size];
+            Arrays.fill(scores, BLANK);
+        }
+    }
+
+    /**
+     * Running count, mean and variance (Welford), so the stats need no second pass over the scores.
+     */
+    private static final class Aggregate {
+        long graded;
+        long failed;
+        double mean;
+        double m2;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        void add(int score) {
+            graded++;
+            double delta = score - mean;
+            mean += delta / graded;
+            m2 += delta * (score - mean);
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+
+        void fail() {
+            failed++;
+        }
+
+        BatchGradingStats toStats(int totalMarks) {
+            if (graded == 0) {
+                return new BatchGradingStats(0, failed, 0, 0, 0, 0, totalMarks);
+            }
+            return new BatchGradingStats(graded, failed, mean, Math.sqrt(m2 / graded), min, max, totalMarks);
+        }
+    }
+}
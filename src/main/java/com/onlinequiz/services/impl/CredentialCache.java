@@ -0,0 +1,102 @@
+package com.onlinequiz.services.impl;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers recently verified logins for a short while so that repeated logins skip the deliberately slow password
+ * hash.
+ * <p>
+ * An entry holds an HMAC of the password under a key that exists only in this process, never the password itself,
+ * together with the stored hash it was verified against. Changing the password changes the stored hash and so
+ * invalidates the entry without any explicit eviction.
+ */
+public class CredentialCache {
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    public CredentialCache(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    CredentialCache(long ttlMillis, int maxEntries, LongSupplier clock) {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if this password was verified against this stored hash within the time to live.
+     */
+    public boolean matches(String username, String storedHash, String password) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(username, entry);
+            return false;
+        }
+        return entry.storedHash.equals(storedHash) && MessageDigest.isEqual(entry.mac, mac(password));
+    }
+
+    public void put(String username, String storedHash, String password) {
+        if (ttlMillis <= 0 || maxEntries <= 0) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (entries.size() >= maxEntries && !entries.containsKey(username)) {
+            entries.values().removeIf(entry -> entry.expiresAt <= now);
+            // Still full of live entries: skip caching rather than grow without bound during a storm.
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(username, new Entry(storedHash, mac(password), now + ttlMillis));
+    }
+
+    public void invalidate(String username) {
+        entries.remove(username);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private byte[] mac(String password) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        final String storedHash;
+        final byte[] mac;
+        final long expiresAt;
+
+        Entry(String storedHash, byte[] mac, long expiresAt) {
+            this.storedHash = storedHash;
+            this.mac = mac;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
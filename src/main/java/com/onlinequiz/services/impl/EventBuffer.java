@@ -0,0 +1,88 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.ScoreEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Events waiting to be pushed to one subscriber.
+ * <p>
+ * Score events queue up to a fixed capacity; once full, the oldest is dropped and counted so a slow consumer costs
+ * bounded memory and learns how much it missed. Leaderboard snapshots coalesce: only the newest one is kept.
+ */
+class EventBuffer {
+    private final int capacity;
+    private final ArrayDeque<ScoreEvent> scores;
+    private List<LeaderboardEntry> leaderboard;
+    private long dropped;
+    private final Lock lock = new ReentrantLock();
+
+    EventBuffer(int capacity) {
+        this.capacity = capacity;
+        this.scores = new ArrayDeque<>(Math.min(capacity, 64));
+    }
+
+    void offer(ScoreEvent event) {
+        lock.lock();
+        try {
+            if (scores.size() == capacity) {
+                scores.poll();
+                dropped++;
+            }
+            scores.add(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void replaceLeaderboard(List<LeaderboardEntry> entries) {
+        lock.lock();
+        try {
+            leaderboard = entries;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return scores.isEmpty() && leaderboard == null && dropped == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take everything pending, leaving the buffer empty.
+     */
+    Batch drain() {
+        lock.lock();
+        try {
+            Batch batch = new Batch(new ArrayList<>(scores), leaderboard, dropped);
+            scores.clear();
+            leaderboard = null;
+            dropped = 0;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static final class Batch {
+        final List<ScoreEvent> scores;
+        final List<LeaderboardEntry> leaderboard;
+        final long dropped;
+
+        Batch(List<ScoreEvent> scores, List<LeaderboardEntry> leaderboard, long dropped) {
+            this.scores = scores;
+            this.leaderboard = leaderboard;
+            this.dropped = dropped;
+        }
+    }
+}
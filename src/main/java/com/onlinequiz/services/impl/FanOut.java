@@ -0,0 +1,112 @@
+package com.onlinequiz.services.impl;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs a handful of subtasks of one request concurrently and joins them as a unit, in the manner of
+ * {@code StructuredTaskScope.ShutdownOnFailure}: the first failure cancels the remaining subtasks and is rethrown
+ * from {@link #join}, and closing the scope cancels whatever has not finished, so no subtask outlives its request.
+ * <p>
+ * Subtasks run on the given executor; with virtual threads enabled that is one cheap virtual thread per subtask.
+ */
+class FanOut implements AutoCloseable {
+    private final Executor executor;
+    // Failing subtasks cancel their siblings from their own threads, possibly while the owner is still forking.
+    private final List<FutureTask<?>> tasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean joined;
+
+    FanOut(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Start a subtask. Its result may be read once {@link #join} has returned.
+     */
+    <T> Supplier<T> fork(Callable<T> subtask) {
+        FutureTask<T> task = new FutureTask<>(subtask) {
+            @Override
+            protected void setException(Throwable cause) {
+                if (failure.compareAndSet(null, cause)) {
+                    cancelAll();
+                }
+                super.setException(cause);
+            }
+        };
+        tasks.add(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+            failure.compareAndSet(null, e);
+        }
+        return () -> result(task);
+    }
+
+    /**
+     * Wait for every subtask, or until one fails or the timeout passes.
+     *
+     * @throws RuntimeException the first subtask failure, rethrown as is if unchecked and wrapped in a
+     *                          {@link CompletionException} otherwise.
+     * @throws TimeoutException if the subtasks did not finish in time; they are cancelled.
+     */
+    void join(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (FutureTask<?> task : tasks) {
+            try {
+                task.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException e) {
+                // A failing subtask records itself and cancels its siblings; nothing left to wait for.
+                break;
+            } catch (TimeoutException | InterruptedException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause != null) {
+            throw new CompletionException(cause);
+        }
+        joined = true;
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (FutureTask<?> task : tasks) {
+            task.cancel(true);
+        }
+    }
+
+    private <T> T result(FutureTask<T> task) {
+        if (!joined) {
+            throw new IllegalStateException("Subtask results are only available after a successful join");
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
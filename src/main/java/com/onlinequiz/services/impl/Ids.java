@@ -0,0 +1,22 @@
+package com.onlinequiz.services.impl;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Record IDs in the usual version 4 UUID format, drawn from {@link ThreadLocalRandom} rather than the shared
+ * {@code SecureRandom} behind {@link UUID#randomUUID()}, which serialises callers and dominates bulk inserts.
+ * These IDs are unique but guessable, so never use them where knowing an ID grants access.
+ */
+public final class Ids {
+
+    private Ids() {
+    }
+
+    public static String randomId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.onlinequiz.constants.Constants.*;
+
+/**
+ * Running item statistics for every question that has been answered in a graded attempt.
+ * <p>
+ * Each question keeps Welford-style accumulators over (correct, rest score) pairs, where the rest score is the
+ * attempt's score without this question's marks. That gives the p-value, both variances and their co-moment in O(1)
+ * per response, and from them the corrected point-biserial correlation, without ever revisiting old attempts.
+ */
+public class ItemAnalysis {
+    private final ConcurrentMap<String, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+    /**
+     * Fold one graded attempt into the statistics of every question in it.
+     *
+     * @param answers option indexes in question order; anything out of range counts as skipped.
+     */
+    public void record(List<Question> questions, int[] answers, int score) {
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            int answer = i < answers.length ? answers[i] : -1;
+            boolean correct = answer == question.getCorrectOptionIndex();
+            int optionCount = question.getOptions() == null ? 0 : question.getOptions().size();
+            accumulators.computeIfAbsent(question.getId(), id -> new Accumulator())
+                    .add(answer >= 0 && answer < optionCount ? answer : -1, optionCount, correct,
+                            correct ? score - question.getMarks() : score);
+        }
+    }
+
+    public Snapshot get(String questionId) {
+        Accumulator accumulator = accumulators.get(questionId);
+        return accumulator == null ? Snapshot.EMPTY : accumulator.snapshot();
+    }
+
+    /**
+     * Forget a question's statistics, e.g. because its options or answer changed.
+     */
+    public void reset(String questionId) {
+        accumulators.remove(questionId);
+    }
+
+    /**
+     * @return EASY, MEDIUM or HARD from the p-value, or null with too few responses to judge.
+     */
+    public static String suggestDifficulty(Snapshot snapshot) {
+        if (snapshot.responses < ITEM_ANALYSIS_MIN_RESPONSES) {
+            return null;
+        }
+        if (snapshot.pValue >= EASY_P_VALUE) {
+            return DIFFICULTY_EASY;
+        }
+        return snapshot.pValue <= HARD_P_VALUE ? DIFFICULTY_HARD : DIFFICULTY_MEDIUM;
+    }
+
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, new long[0], 0, null);
+
+        public final long responses;
+        public final double pValue;
+        public final long[] optionCounts;
+        public final long skipped;
+        public final Double pointBiserial;
+
+        Snapshot(long responses, double pValue, long[] optionCounts, long skipped, Double pointBiserial) {
+            this.responses = responses;
+            this.pValue = pValue;
+            this.optionCounts = optionCounts;
+            this.skipped = skipped;
+            this.pointBiserial = pointBiserial;
+        }
+    }
+
+    private static final class Accumulator {
+        private final Lock lock = new ReentrantLock();
+        private long count;
+        private double meanCorrect;
+        private double meanRest;
+        private double m2Correct;
+        private double m2Rest;
+        private double coMoment;
+        private long[] optionCounts = new long[0];
+        private long skipped;
+
+        void add(int option, int optionCount, boolean correct, int restScore) {
+            double x = correct ? 1 : 0;
+            lock.lock();
+            try {
+                count++;
+                double dx = x - meanCorrect;
+                meanCorrect += dx / count;
+                double dy = restScore - meanRest;
+                meanRest += dy / count;
+                m2Correct += dx * (x - meanCorrect);
+                m2Rest += dy * (restScore - meanRest);
+                coMoment += dx * (restScore - meanRest);
+                if (optionCounts.length < optionCount) {
+                    optionCounts = Arrays.copyOf(optionCounts, optionCount);
+                }
+                if (option < 0) {
+                    skipped++;
+                } else {
+                    optionCounts[option]++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Snapshot snapshot() {
+            lock.lock();
+            try {
+                double variances = m2Correct * m2Rest;
+                Double pointBiserial = variances > 0 ? coMoment / Math.sqrt(variances) : null;
+                return new Snapshot(count, meanCorrect, optionCounts.clone(), skipped, pointBiserial);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
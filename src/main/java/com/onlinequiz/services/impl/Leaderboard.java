@@ -0,0 +1,204 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.LeaderboardEntry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One quiz's standings: each user's best result, ordered by score (highest first), then finish time (earliest
+ * first), then user ID.
+ * <p>
+ * Results live in a treap whose nodes also count their subtree sizes, making it an order-statistic tree: replacing
+ * a user's result and asking for a user's rank are both O(log n) expected, and the top N is an in-order walk that
+ * stops after N nodes.
+ */
+public class Leaderboard {
+    private Node root;
+    private final Map<String, Node> bestByUser = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Offer a result; it replaces the user's current entry only if it ranks higher.
+     *
+     * @return true if the standings changed.
+     */
+    public boolean submit(String userId, int score, long finishedAt) {
+        Node candidate = new Node(userId, score, finishedAt, ThreadLocalRandom.current().nextInt());
+        lock.writeLock().lock();
+        try {
+            Node current = bestByUser.get(userId);
+            if (current != null && compare(candidate, current) >= 0) {
+                return false;
+            }
+            if (current != null) {
+                root = delete(root, current);
+            }
+            root = insert(root, candidate);
+            bestByUser.put(userId, candidate);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, size(root)));
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            while ((node != null || !path.isEmpty()) && entries.size() < limit) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+                node = path.pop();
+                entries.add(new LeaderboardEntry(entries.size() + 1, node.userId, node.score, node.finishedAt));
+                node = node.right;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> rankOf(String userId) {
+        lock.readLock().lock();
+        try {
+            Node target = bestByUser.get(userId);
+            if (target == null) {
+                return Optional.empty();
+            }
+            int before = 0;
+            Node node = root;
+            while (node != target) {
+                if (compare(target, node) < 0) {
+                    node = node.left;
+                } else {
+                    before += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return Optional.of(new LeaderboardEntry(before + size(node.left) + 1, userId, target.score, target.finishedAt));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return update(inserted);
+        }
+        if (compare(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, Node deleted) {
+        if (node == deleted) {
+            return merge(node.left, node.right);
+        }
+        if (compare(deleted, node) < 0) {
+            node.left = delete(node.left, deleted);
+        } else {
+            node.right = delete(node.right, deleted);
+        }
+        return update(node);
+    }
+
+    // Splits into the nodes ranking before the key and those ranking after it.
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static Node update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // Negative when a ranks above b.
+    private static int compare(Node a, Node b) {
+        if (a.score != b.score) {
+            return Integer.compare(b.score, a.score);
+        }
+        if (a.finishedAt != b.finishedAt) {
+            return Long.compare(a.finishedAt, b.finishedAt);
+        }
+        return a.userId.compareTo(b.userId);
+    }
+
+    private static final class Node {
+        final String userId;
+        final int score;
+        final long finishedAt;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(String userId, int score, long finishedAt, int priority) {
+            this.userId = userId;
+            this.score = score;
+            this.finishedAt = finishedAt;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.services.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.onlinequiz.constants.Constants.*;
+
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+    private final AttemptDAO attemptDAO;
+    // Built from the recorded attempts the first time a quiz is touched, then kept current by recordScore.
+    private final ConcurrentMap<String, Leaderboard> leaderboards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeaderboardServiceImpl(AttemptDAO attemptDAO) {
+        this.attemptDAO = attemptDAO;
+    }
+
+    @Override
+    public boolean recordScore(String quizId, String userId, int score, long finishedAt) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        return leaderboardFor(quizId).submit(userId, score, finishedAt);
+    }
+
+    @Override
+    public List<LeaderboardEntry> getTopEntries(String quizId, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LEADERBOARD_SIZE : Math.min(limit, MAX_LEADERBOARD_SIZE);
+        return leaderboardFor(quizId).top(size);
+    }
+
+    @Override
+    public Optional<LeaderboardEntry> getRank(String quizId, String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return leaderboardFor(quizId).rankOf(userId);
+    }
+
+    @Override
+    public void removeLeaderboard(String quizId) {
+        leaderboards.remove(quizId);
+    }
+
+    private Leaderboard leaderboardFor(String quizId) {
+        if (quizId == null || quizId.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_QUIZ_ID);
+        }
+        return leaderboards.computeIfAbsent(quizId, this::rebuild);
+    }
+
+    // Replaying an attempt that is also being fed live is harmless: a user's entry only ever moves up.
+    private Leaderboard rebuild(String quizId) {
+        Leaderboard leaderboard = new Leaderboard();
+        for (QuizAttempt attempt : attemptDAO.getAttemptsByQuiz(quizId, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MAX_VALUE)) {
+            if (attempt.getUserId() != null) {
+                leaderboard.submit(attempt.getUserId(), attempt.getScore(), attempt.getSubmittedAt());
+            }
+        }
+        return leaderboard;
+    }
+}
@@ -0,0 +1,442 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over question titles and options, ranked with BM25.
+ * <p>
+ * Text is lower-cased and split on anything that is not a letter or digit; common English function words are not
+ * indexed. Terms live in a sorted dictionary so a query term ending in {@code *} expands to the first
+ * {@value #MAX_PREFIX_EXPANSION} indexed terms with that prefix; every expansion is one more list to walk. Each term
+ * has a postings list of document numbers and term frequencies. Document numbers only grow, so every list stays
+ * sorted and is appended to; a removed document leaves a hole that searches skip and that lists drop once they are
+ * half holes. Per document only its length and the IDs of its distinct terms are kept.
+ * <p>
+ * Searches walk the query's postings lists together in document order and keep the best {@code limit} scores
+ * (MaxScore): lists whose score upper bounds add up to no more than the current k-th best score cannot bring a new
+ * document into the results, so they are only probed for documents another list produced, and skipped entirely once
+ * the document's score can no longer get high enough. Rare, high-idf terms thereby drive the walk and common terms
+ * cost a binary search per candidate instead of a scan of their whole list.
+ */
+public class QuestionSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSION = 16;
+    private static final int INITIAL_DOCUMENTS = 64;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "can", "do", "does", "for", "from", "how", "if", "in",
+            "is", "it", "its", "of", "on", "or", "that", "the", "these", "this", "those", "to", "was", "what", "when",
+            "where", "which", "who", "why", "will", "with");
+
+    // Term to term ID, sorted for prefix expansion; postings are looked up by term ID.
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+    private final Map<String, Integer> documentsById = new HashMap<>();
+    // By document number; null for a removed document.
+    private String[] ids = new String[INITIAL_DOCUMENTS];
+    private int[] lengths = new int[INITIAL_DOCUMENTS];
+    private int[][] documentTerms = new int[INITIAL_DOCUMENTS][];
+    private int nextDocument;
+    private long totalLength;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(Question question) {
+        List<String> terms = tokenise(question);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(question.getId());
+            int document = allocateDocument();
+            int[] distinctTerms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termId(entry.getKey());
+                postings.get(termId).append(document, entry.getValue());
+                distinctTerms[i++] = termId;
+            }
+            ids[document] = question.getId();
+            lengths[document] = terms.size();
+            documentTerms[document] = distinctTerms;
+            documentsById.put(question.getId(), document);
+            totalLength += terms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the IDs of the best matching questions, best first.
+     */
+    public List<String> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>();
+        for (String raw : query.toLowerCase(Locale.ROOT).split("\\s+")) {
+            boolean prefix = raw.endsWith("*");
+            List<String> tokens = tokenise(prefix ? raw.substring(0, raw.length() - 1) : raw);
+            for (int i = 0; i < tokens.size(); i++) {
+                // Only the last token of a starred word is a prefix, e.g. "multi-thr*".
+                queryTerms.add(prefix && i == tokens.size() - 1 ? tokens.get(i) + "*" : tokens.get(i));
+            }
+        }
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            int documents = documentsById.size();
+            if (documents == 0 || queryTerms.isEmpty()) {
+                return Collections.emptyList();
+            }
+            double averageLength = (double) totalLength / documents;
+            List<Cursor> cursors = new ArrayList<>();
+            for (String term : queryTerms) {
+                if (term.endsWith("*")) {
+                    String prefix = term.substring(0, term.length() - 1);
+                    int expanded = 0;
+                    for (Map.Entry<String, Integer> entry : termIds.tailMap(prefix, true).entrySet()) {
+                        if (!entry.getKey().startsWith(prefix) || expanded++ == MAX_PREFIX_EXPANSION) {
+                            break;
+                        }
+                        cursors.add(new Cursor(postings.get(entry.getValue()), documents));
+                    }
+                } else {
+                    Integer termId = termIds.get(term);
+                    if (termId != null) {
+                        cursors.add(new Cursor(postings.get(termId), documents));
+                    }
+                }
+            }
+            return top(cursors, limit, averageLength);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<String> top(List<Cursor> cursors, int limit, double averageLength) {
+        if (cursors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Lowest upper bound first; cursors below firstEssential are the non-essential ones.
+        cursors.sort(Comparator.comparingDouble(cursor -> cursor.upperBound));
+        double[] boundBelow = new double[cursors.size() + 1];
+        for (int i = 0; i < cursors.size(); i++) {
+            cursors.get(i).rank = i;
+            boundBelow[i + 1] = boundBelow[i] + cursors.get(i).upperBound;
+        }
+        // Worst kept hit at the head; among equal scores the later document goes first.
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, documentsById.size() + 1),
+                (a, b) -> a.score != b.score
+                        ? Double.compare(a.score, b.score) : Integer.compare(b.document, a.document));
+        // Essential cursors by their current document, so a prefix query's many lists cost a log per step, not a scan.
+        // A document's scores are always added highest rank first, so pruning cannot reorder ties by rounding.
+        PriorityQueue<Cursor> essential = new PriorityQueue<>(cursors.size(),
+                (a, b) -> a.document() != b.document()
+                        ? Integer.compare(a.document(), b.document()) : Integer.compare(b.rank, a.rank));
+        for (Cursor cursor : cursors) {
+            if (cursor.document() != Integer.MAX_VALUE) {
+                essential.add(cursor);
+            }
+        }
+        double threshold = Double.NEGATIVE_INFINITY;
+        int firstEssential = 0;
+        while (!essential.isEmpty()) {
+            int document = essential.peek().document();
+            boolean removed = ids[document] == null;
+            double score = 0;
+            while (!essential.isEmpty() && essential.peek().document() == document) {
+                Cursor cursor = essential.poll();
+                if (!removed) {
+                    score += cursor.score(lengths[document], averageLength);
+                }
+                cursor.next();
+                if (cursor.document() != Integer.MAX_VALUE) {
+                    essential.add(cursor);
+                }
+            }
+            if (removed) {
+                continue;
+            }
+            for (int i = firstEssential - 1; i >= 0 && score + boundBelow[i + 1] > threshold; i--) {
+                Cursor cursor = cursors.get(i);
+                if (cursor.advanceTo(document) == document) {
+                    score += cursor.score(lengths[document], averageLength);
+                }
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(document, score));
+            } else if (score > threshold) {
+                best.poll();
+                best.add(new Hit(document, score));
+            } else {
+                continue;
+            }
+            if (best.size() == limit) {
+                threshold = best.peek().score;
+                while (firstEssential < cursors.size() && boundBelow[firstEssential + 1] <= threshold) {
+                    essential.remove(cursors.get(firstEssential++));
+                }
+            }
+        }
+        List<String> hits = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            hits.add(ids[best.poll().document]);
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private int allocateDocument() {
+        if (nextDocument == ids.length) {
+            if (documentsById.size() <= ids.length / 2) {
+                renumber();
+            } else {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+                documentTerms = Arrays.copyOf(documentTerms, documentTerms.length * 2);
+            }
+        }
+        return nextDocument++;
+    }
+
+    /**
+     * Close the holes left by removed documents, keeping document order so every postings list stays sorted.
+     */
+    private void renumber() {
+        int[] numbers = new int[nextDocument];
+        int live = 0;
+        for (int document = 0; document < nextDocument; document++) {
+            if (ids[document] == null) {
+                numbers[document] = -1;
+                continue;
+            }
+            numbers[document] = live;
+            ids[live] = ids[document];
+            lengths[live] = lengths[document];
+            documentTerms[live] = documentTerms[document];
+            documentsById.put(ids[live], live);
+            live++;
+        }
+        Arrays.fill(ids, live, nextDocument, null);
+        Arrays.fill(documentTerms, live, nextDocument, null);
+        nextDocument = live;
+        for (Postings list : postings) {
+            if (list != null) {
+                list.renumber(numbers);
+            }
+        }
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        int termId;
+        if (freeTermIds.isEmpty()) {
+            termId = postings.size();
+            postings.add(new Postings(term));
+        } else {
+            termId = freeTermIds.pop();
+            postings.set(termId, new Postings(term));
+        }
+        termIds.put(term, termId);
+        return termId;
+    }
+
+    private void removeLocked(String id) {
+        Integer document = documentsById.remove(id);
+        if (document == null) {
+            return;
+        }
+        ids[document] = null;
+        totalLength -= lengths[document];
+        for (int termId : documentTerms[document]) {
+            Postings list = postings.get(termId);
+            if (--list.live == 0) {
+                termIds.remove(list.term);
+                postings.set(termId, null);
+                freeTermIds.push(termId);
+            } else if (list.live <= list.size / 2) {
+                list.dropRemoved(ids);
+            }
+        }
+        documentTerms[document] = null;
+    }
+
+    private static List<String> tokenise(Question question) {
+        List<String> terms = tokenise(question.getTitle());
+        if (question.getOptions() != null) {
+            for (String option : question.getOptions()) {
+                terms.addAll(tokenise(option));
+            }
+        }
+        return terms;
+    }
+
+    static List<String> tokenise(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String term = lower.substring(start, i);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Document numbers in increasing order with their term frequencies. {@code size} counts removed documents still
+     * listed, {@code live} only the indexed ones, which is the term's document frequency.
+     */
+    private static final class Postings {
+        final String term;
+        int[] documents = new int[2];
+        int[] frequencies = new int[2];
+        int size;
+        int live;
+        // Never lowered on removal, so it stays an upper bound.
+        int maxFrequency;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void append(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+            live++;
+            maxFrequency = Math.max(maxFrequency, frequency);
+        }
+
+        void dropRemoved(String[] ids) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ids[documents[i]] != null) {
+                    documents[kept] = documents[i];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        void renumber(int[] numbers) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int number = numbers[documents[i]];
+                if (number >= 0) {
+                    documents[kept] = number;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    private static final class Cursor {
+        final Postings postings;
+        final double idf;
+        // BM25 grows with the frequency and shrinks with the length, so the best case is the highest frequency in
+        // a document of length zero.
+        final double upperBound;
+        // Position in the query's cursors by ascending upper bound.
+        int rank;
+        int position;
+
+        Cursor(Postings postings, int documents) {
+            this.postings = postings;
+            this.idf = Math.log(1 + (documents - postings.live + 0.5) / (postings.live + 0.5));
+            this.upperBound = idf * postings.maxFrequency * (K1 + 1) / (postings.maxFrequency + K1 * (1 - B));
+        }
+
+        int document() {
+            return position < postings.size ? postings.documents[position] : Integer.MAX_VALUE;
+        }
+
+        void next() {
+            position++;
+        }
+
+        /**
+         * Move to the first document at or after {@code target}.
+         */
+        int advanceTo(int target) {
+            if (document() < target) {
+                int found = Arrays.binarySearch(postings.documents, position, postings.size, target);
+                position = found >= 0 ? found : -found - 1;
+            }
+            return document();
+        }
+
+        double score(int length, double averageLength) {
+            int frequency = postings.frequencies[position];
+            return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+        }
+    }
+
+    private static final class Hit {
+        final int document;
+        final double score;
+
+        Hit(int document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
@@ -2,30 +2,65 @@ package com.onlinequiz.services.impl;
 
 import com.onlinequiz.dao.QuestionDAO;
 import com.onlinequiz.exception.QuestionException;
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.ImportSummary;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuestionStatistics;
 import com.onlinequiz.services.QuestionService;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static com.onlinequiz.constants.Constants.*;
 
 @Service
 public class QuestionServiceImpl implements QuestionService {
 
+    private static final int SEARCH_INDEX_STRIPES = 64;
+
     private final QuestionDAO questionDAO;
+    // Built from the DAO on the first search; until then the write hooks below have nothing to maintain.
+    private final QuestionSearchIndex searchIndex = new QuestionSearchIndex();
+    // Set when the bulk load starts, so writes made during the load are indexed too.
+    private volatile boolean searchIndexTracking;
+    // Set only once the bulk load has finished; searches never see a partly loaded index.
+    private volatile boolean searchIndexLoaded;
+    private final Lock searchIndexLoadLock = new ReentrantLock();
+    // Serialise index refreshes per question ID, see refreshSearchIndex.
+    private final Lock[] searchIndexStripes = new Lock[SEARCH_INDEX_STRIPES];
+    private final ItemAnalysis itemAnalysis = new ItemAnalysis();
+    private final QuestionTransfer transfer = new QuestionTransfer();
 
     public QuestionServiceImpl(QuestionDAO questionDAO) {
         this.questionDAO = questionDAO;
+        for (int i = 0; i < SEARCH_INDEX_STRIPES; i++) {
+            searchIndexStripes[i] = new ReentrantLock();
+        }
     }
 
     @Override
     public Question createQuestion(String title, List<String> options, int correctOptionIndex, String difficulty, List<String> topics, int marks) {
         validateQuestionInput(title, options, correctOptionIndex, difficulty, topics, marks);
-        Question question = new Question(UUID.randomUUID().toString(), title, options, correctOptionIndex, difficulty, topics, marks);
-        return questionDAO.createQuestion(question);
+        Question question = new Question(Ids.randomId(), title, options, correctOptionIndex, difficulty, topics, marks);
+        Question created = questionDAO.createQuestion(question);
+        refreshSearchIndex(created.getId());
+        return created;
     }
 
 
@@ -42,13 +77,34 @@ public class QuestionServiceImpl implements QuestionService {
         return questionDAO.getAllQuestions();
     }
 
+    @Override
+    public Page<Question> getQuestionPage(QuestionQuery query, String cursor, Integer limit) {
+        int size = Page.size(limit);
+        if (query == null || query.isEmpty()) {
+            return Page.of(questionDAO.getQuestionsAfter(cursor, size + 1), size, Question::getId);
+        }
+        for (String difficulty : query.getDifficulties()) {
+            if (!isValidDifficulty(difficulty)) {
+                throw new QuestionException(ERROR_INVALID_DIFFICULTY_LEVEL);
+            }
+        }
+        return Page.of(questionDAO.findQuestionsAfter(query, cursor, size + 1), size, Question::getId);
+    }
+
     @Override
     public Question updateQuestion(Question question) {
         if (question == null || question.getId() == null || question.getId().trim().isEmpty()) {
             throw new QuestionException(ERROR_INVALID_QUESTION_ID);
         }
         validateQuestion(question);
-        return questionDAO.updateQuestion(question);
+        Optional<Question> previous = questionDAO.getQuestionById(question.getId());
+        Question updated = questionDAO.updateQuestion(question);
+        if (updated == null) {
+            throw new QuestionException(ERROR_QUESTION_NOT_FOUND);
+        }
+        previous.ifPresent(value -> resetStatisticsIfAnswersChanged(value, updated));
+        refreshSearchIndex(updated.getId());
+        return updated;
     }
 
     @Override
@@ -56,7 +112,287 @@ public class QuestionServiceImpl implements QuestionService {
         if (id == null || id.trim().isEmpty()) {
             throw new QuestionException(ERROR_EMPTY_QUESTION_ID);
         }
-        return questionDAO.isDeleteQuestion(id);
+        boolean deleted = questionDAO.isDeleteQuestion(id);
+        if (deleted) {
+            itemAnalysis.reset(id);
+            refreshSearchIndex(id);
+        }
+        return deleted;
+    }
+
+    /**
+     * Validate every operation up front, then apply all writes in one DAO call and all deletes in another. An
+     * operation that fails validation is reported and skipped without affecting the rest.
+     */
+    @Override
+    public List<BatchOutcome> applyBatch(List<BatchOperation<Question>> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new QuestionException(ERROR_EMPTY_BATCH);
+        }
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new QuestionException(ERROR_BATCH_TOO_LARGE);
+        }
+        BatchOutcome[] outcomes = new BatchOutcome[operations.size()];
+        List<Question> creates = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<Question> updates = new ArrayList<>();
+        List<Integer> updateIndexes = new ArrayList<>();
+        List<Question> previousVersions = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        Set<String> touched = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation<Question> operation = operations.get(i);
+            String op = operation == null || operation.getOp() == null ? null : operation.getOp().toUpperCase(Locale.ROOT);
+            String id = operation == null ? null : operation.getId();
+            try {
+                if (BATCH_CREATE.equals(op)) {
+                    Question question = requireValue(operation);
+                    validateQuestion(question);
+                    id = Ids.randomId();
+                    question.setId(id);
+                    creates.add(question);
+                    createIndexes.add(i);
+                } else if (BATCH_UPDATE.equals(op)) {
+                    Question question = requireValue(operation);
+                    id = id != null ? id : question.getId();
+                    requireUntouched(id, touched);
+                    question.setId(id);
+                    validateQuestion(question);
+                    Optional<Question> previous = questionDAO.getQuestionById(id);
+                    if (!previous.isPresent()) {
+                        outcomes[i] = new BatchOutcome(i, op, id, BATCH_NOT_FOUND, null);
+                        continue;
+                    }
+                    updates.add(question);
+                    updateIndexes.add(i);
+                    previousVersions.add(previous.get());
+                } else if (BATCH_DELETE.equals(op)) {
+                    requireUntouched(id, touched);
+                    deletes.add(id);
+                } else {
+                    throw new QuestionException(ERROR_INVALID_BATCH_OPERATION);
+                }
+                outcomes[i] = new BatchOutcome(i, op, id, BATCH_OK, null);
+            } catch (RuntimeException e) {
+                outcomes[i] = new BatchOutcome(i, op, id, BATCH_FAILED, e.getMessage());
+            }
+        }
+        if (!creates.isEmpty()) {
+            Set<String> created = questionDAO.putQuestions(creates);
+            for (int i = 0; i < creates.size(); i++) {
+                if (created.contains(creates.get(i).getId())) {
+                    refreshSearchIndex(creates.get(i).getId());
+                } else {
+                    BatchOutcome outcome = outcomes[createIndexes.get(i)];
+                    outcome.setStatus(BATCH_FAILED);
+                    outcome.setError(ERROR_QUESTION_LOCKED);
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            // The DAO checks again under its locks, so a question deleted since it was read is not brought back.
+            Set<String> updated = questionDAO.updateQuestions(updates);
+            for (int i = 0; i < updates.size(); i++) {
+                Question question = updates.get(i);
+                if (updated.contains(question.getId())) {
+                    resetStatisticsIfAnswersChanged(previousVersions.get(i), question);
+                    refreshSearchIndex(question.getId());
+                    continue;
+                }
+                BatchOutcome outcome = outcomes[updateIndexes.get(i)];
+                if (questionDAO.getQuestionById(question.getId()).isPresent()) {
+                    // Still there, so a locked quiz pinned it.
+                    outcome.setStatus(BATCH_FAILED);
+                    outcome.setError(ERROR_QUESTION_LOCKED);
+                } else {
+                    outcome.setStatus(BATCH_NOT_FOUND);
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            Set<String> deleted = questionDAO.deleteQuestions(deletes);
+            for (BatchOutcome outcome : outcomes) {
+                if (BATCH_DELETE.equals(outcome.getOp()) && BATCH_OK.equals(outcome.getStatus())) {
+                    if (deleted.contains(outcome.getId())) {
+                        itemAnalysis.reset(outcome.getId());
+                        refreshSearchIndex(outcome.getId());
+                    } else if (questionDAO.getQuestionById(outcome.getId()).isPresent()) {
+                        // Still there, so a locked quiz pinned it.
+                        outcome.setStatus(BATCH_FAILED);
+                        outcome.setError(ERROR_QUESTION_LOCKED);
+                    } else {
+                        outcome.setStatus(BATCH_NOT_FOUND);
+                    }
+                }
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private static Question requireValue(BatchOperation<Question> operation) {
+        if (operation.getValue() == null) {
+            throw new QuestionException(ERROR_MISSING_BATCH_VALUE);
+        }
+        return operation.getValue();
+    }
+
+    private static void requireUntouched(String id, Set<String> touched) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new QuestionException(ERROR_INVALID_QUESTION_ID);
+        }
+        if (!touched.add(id)) {
+            throw new QuestionException(ERROR_DUPLICATE_BATCH_ID);
+        }
+    }
+
+    // Statistics gathered against other options or another answer no longer describe the question.
+    private void resetStatisticsIfAnswersChanged(Question previous, Question updated) {
+        if (!previous.getOptions().equals(updated.getOptions())
+                || previous.getCorrectOptionIndex() != updated.getCorrectOptionIndex()) {
+            itemAnalysis.reset(updated.getId());
+        }
+    }
+
+    @Override
+    public int sealQuestions(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return questionDAO.sealQuestions(ids);
+    }
+
+    @Override
+    public Optional<List<Question>> pinQuestions(List<String> ids) {
+        return questionDAO.pinQuestions(ids);
+    }
+
+    @Override
+    public void unpinQuestions(List<String> ids) {
+        questionDAO.unpinQuestions(ids);
+    }
+
+    @Override
+    public List<Question> findQuestions(QuestionQuery query) {
+        if (query == null || query.isEmpty()) {
+            return questionDAO.getAllQuestions();
+        }
+        for (String difficulty : query.getDifficulties()) {
+            if (!isValidDifficulty(difficulty)) {
+                throw new QuestionException(ERROR_INVALID_DIFFICULTY_LEVEL);
+            }
+        }
+        return questionDAO.findQuestions(query);
+    }
+
+    @Override
+    public List<Question> sampleQuestions(QuestionQuery query, Set<String> excludedIds, int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        QuestionQuery filter = query == null ? new QuestionQuery() : query;
+        for (String difficulty : filter.getDifficulties()) {
+            if (!isValidDifficulty(difficulty)) {
+                throw new QuestionException(ERROR_INVALID_DIFFICULTY_LEVEL);
+            }
+        }
+        return questionDAO.sampleQuestions(filter, excludedIds == null ? Collections.emptySet() : excludedIds, count);
+    }
+
+    @Override
+    public List<Question> searchQuestions(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new QuestionException(ERROR_EMPTY_SEARCH_QUERY);
+        }
+        loadSearchIndex();
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<Question> results = new ArrayList<>(cappedLimit);
+        // Hits are resolved through the DAO so a question deleted while the index was loading never surfaces.
+        for (String id : searchIndex.search(query, cappedLimit)) {
+            questionDAO.getQuestionById(id).ifPresent(results::add);
+        }
+        return results;
+    }
+
+    @Override
+    public void recordResponses(List<Question> questions, int[] answers, int score) {
+        if (questions == null || answers == null) {
+            return;
+        }
+        itemAnalysis.record(questions, answers, score);
+    }
+
+    @Override
+    public Optional<QuestionStatistics> getQuestionStatistics(String id) {
+        return getQuestionById(id).map(question -> {
+            ItemAnalysis.Snapshot snapshot = itemAnalysis.get(id);
+            long[] optionCounts = snapshot.optionCounts.length == question.getOptions().size()
+                    ? snapshot.optionCounts : Arrays.copyOf(snapshot.optionCounts, question.getOptions().size());
+            return new QuestionStatistics(id, snapshot.responses, snapshot.pValue, optionCounts, snapshot.skipped,
+                    snapshot.pointBiserial, question.getDifficulty(), ItemAnalysis.suggestDifficulty(snapshot));
+        });
+    }
+
+    @Override
+    public long exportQuestions(OutputStream output) throws IOException {
+        return transfer.export(questionDAO.iterateQuestions(), output);
+    }
+
+    @Override
+    public ImportSummary importQuestions(InputStream input) throws IOException {
+        return transfer.importFrom(input, this::validateQuestion, batch -> {
+            Set<String> written = questionDAO.putQuestions(batch);
+            for (String id : written) {
+                itemAnalysis.reset(id);
+                refreshSearchIndex(id);
+            }
+            return written;
+        });
+    }
+
+    private void loadSearchIndex() {
+        if (searchIndexLoaded) {
+            return;
+        }
+        // Not synchronized: the load can read sealed segments from disk and must not pin a virtual thread.
+        searchIndexLoadLock.lock();
+        try {
+            if (searchIndexLoaded) {
+                return;
+            }
+            // Turn the write hooks on first so nothing written during the bulk load is missed.
+            searchIndexTracking = true;
+            // Streamed, so the load never holds a copy of the whole bank.
+            Iterator<Question> questions = questionDAO.iterateQuestions();
+            while (questions.hasNext()) {
+                refreshSearchIndex(questions.next().getId());
+            }
+            searchIndexLoaded = true;
+        } finally {
+            searchIndexLoadLock.unlock();
+        }
+    }
+
+    /**
+     * Make the search index hold whatever the DAO holds for this ID right now, or nothing if it is gone. Every write
+     * calls this after its DAO write and calls for one ID are serialised, so the last call always indexes the final
+     * version however concurrent writers interleave; a writer never indexes the version it wrote itself.
+     */
+    private void refreshSearchIndex(String id) {
+        if (!searchIndexTracking) {
+            return;
+        }
+        Lock lock = searchIndexStripes[Math.floorMod(id.hashCode(), SEARCH_INDEX_STRIPES)];
+        lock.lock();
+        try {
+            Optional<Question> current = questionDAO.getQuestionById(id);
+            if (current.isPresent()) {
+                searchIndex.add(current.get());
+            } else {
+                searchIndex.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void validateQuestion(Question question) {
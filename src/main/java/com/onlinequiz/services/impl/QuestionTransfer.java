@@ -0,0 +1,210 @@
+package com.onlinequiz.services.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.onlinequiz.models.ImportSummary;
+import com.onlinequiz.models.Question;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.onlinequiz.constants.Constants.ERROR_QUESTION_LOCKED;
+import static com.onlinequiz.constants.Constants.IMPORT_BATCH_SIZE;
+import static com.onlinequiz.constants.Constants.MAX_IMPORT_ERRORS;
+
+/**
+ * Moves the question bank in and out as NDJSON, one question per line, without holding the whole bank.
+ * <p>
+ * Export serialises records straight from an iterator into the output stream. Import reads lines in chunks of
+ * {@code IMPORT_BATCH_SIZE}; parsing and validation of each chunk run on a fixed worker pool while the calling thread
+ * reads ahead and hands the valid questions of finished chunks to the store in input order, one batch per chunk. As
+ * in {@link BatchGrader}, only a few chunks per worker are in flight. IDs in the input are kept so a bank can move
+ * between environments; lines without an ID get a fresh one.
+ */
+public class QuestionTransfer {
+    private static final int CHUNKS_PER_WORKER = 2;
+
+    private final ExecutorService workers;
+    private final int maxInFlight;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final ObjectReader questionReader = mapper.readerFor(Question.class);
+    private final ObjectWriter questionWriter = mapper.writerFor(Question.class);
+
+    public QuestionTransfer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public QuestionTransfer(int parallelism) {
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "question-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlight = parallelism * CHUNKS_PER_WORKER;
+    }
+
+    /**
+     * @return the number of questions written.
+     */
+    public long export(Iterator<Question> questions, OutputStream output) throws IOException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        long written = 0;
+        while (questions.hasNext()) {
+            questionWriter.writeValue(generator, questions.next());
+            written++;
+        }
+        if (written > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return written;
+    }
+
+    /**
+     * @param validator called on a worker thread; throws a RuntimeException whose message explains the rejection.
+     * @param sink      called on the calling thread to store one batch of valid questions; returns the IDs it stored,
+     *                  and any question it refused because a locked quiz uses it is counted as failed.
+     */
+    public ImportSummary importFrom(InputStream input, Consumer<Question> validator,
+                                    Function<List<Question>, Set<String>> sink)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        Summary summary = new Summary();
+        try {
+            long lineNumber = 0;
+            List<String> lines = new ArrayList<>(IMPORT_BATCH_SIZE);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == IMPORT_BATCH_SIZE) {
+                    submit(validator, sink, lineNumber + 1, lines, inFlight, summary);
+                    lineNumber += IMPORT_BATCH_SIZE;
+                    lines = new ArrayList<>(IMPORT_BATCH_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(validator, sink, lineNumber + 1, lines, inFlight, summary);
+            }
+            while (!inFlight.isEmpty()) {
+                summary.apply(await(inFlight.poll()), sink);
+            }
+        } finally {
+            for (Future<ParsedChunk> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+        return new ImportSummary(summary.imported, summary.failed, summary.errors);
+    }
+
+    private void submit(Consumer<Question> validator, Function<List<Question>, Set<String>> sink, long firstLine, List<String> lines,
+                        Deque<Future<ParsedChunk>> inFlight, Summary summary) throws IOException {
+        if (inFlight.size() == maxInFlight) {
+            summary.apply(await(inFlight.poll()), sink);
+        }
+        inFlight.add(workers.submit(() -> parseChunk(validator, firstLine, lines)));
+    }
+
+    private ParsedChunk parseChunk(Consumer<Question> validator, long firstLine, List<String> lines) {
+        ParsedChunk chunk = new ParsedChunk(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String error;
+            try {
+                Question question = questionReader.readValue(line);
+                if (question.getId() == null || question.getId().trim().isEmpty()) {
+                    question.setId(Ids.randomId());
+                }
+                validator.accept(question);
+                chunk.questions.add(question);
+                chunk.lines.add(firstLine + i);
+                continue;
+            } catch (JsonProcessingException e) {
+                error = "Malformed question: " + e.getOriginalMessage();
+            } catch (RuntimeException e) {
+                error = e.getMessage();
+            }
+            chunk.errors.add("line " + (firstLine + i) + ": " + error);
+        }
+        return chunk;
+    }
+
+    private static ParsedChunk await(Future<ParsedChunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing questions");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to import questions", e.getCause());
+        }
+    }
+
+    private static final class ParsedChunk {
+        final List<Question> questions;
+        // The input line of each question, for reporting one the sink refused.
+        final List<Long> lines;
+        final List<String> errors = new ArrayList<>();
+
+        ParsedChunk(int size) {
+            this.questions = new ArrayList<>(size);
+            this.lines = new ArrayList<>(size);
+        }
+    }
+
+    private static final class Summary {
+        long imported;
+        long failed;
+        final List<String> errors = new ArrayList<>();
+
+        void apply(ParsedChunk chunk, Function<List<Question>, Set<String>> sink) {
+            if (!chunk.questions.isEmpty()) {
+                Set<String> stored = sink.apply(chunk.questions);
+                imported += stored.size();
+                for (int i = 0; i < chunk.questions.size(); i++) {
+                    if (!stored.contains(chunk.questions.get(i).getId())) {
+                        fail("line " + chunk.lines.get(i) + ": " + ERROR_QUESTION_LOCKED);
+                    }
+                }
+            }
+            chunk.errors.forEach(this::fail);
+        }
+
+        private void fail(String error) {
+            failed++;
+            if (errors.size() < MAX_IMPORT_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.ScoreEvent;
+import com.onlinequiz.services.LeaderboardService;
+import com.onlinequiz.services.QuizEventService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.onlinequiz.constants.Constants.DEFAULT_LEADERBOARD_SIZE;
+
+/**
+ * Pushes graded submissions and leaderboard changes to server-sent event subscribers, per quiz.
+ * <p>
+ * Publishing only appends to each subscriber's {@link EventBuffer}. A single flusher thread wakes every flush
+ * interval, computes each changed leaderboard once for all its subscribers, and hands subscribers with pending
+ * events to a small sender pool, one batch per subscriber per interval. A subscriber whose previous batch is still
+ * being written is skipped, so a slow connection never ties up more than one sender and its buffer absorbs the
+ * backlog. A batch still being written after the write timeout evicts its subscriber and completes the connection
+ * with an error, so stalled clients cannot keep the small pool blocked. Connections hold no thread while idle.
+ */
+@Service
+public class QuizEventServiceImpl implements QuizEventService {
+    private static final Logger logger = LoggerFactory.getLogger(QuizEventServiceImpl.class);
+    private static final long HEARTBEAT_MILLIS = 15_000;
+
+    private final LeaderboardService leaderboardService;
+    private final int bufferSize;
+    private final long writeTimeoutMillis;
+    private final ConcurrentMap<String, Set<Subscriber>> subscribersByQuiz = new ConcurrentHashMap<>();
+    private final Set<String> changedLeaderboards = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService senders;
+
+    @Autowired
+    public QuizEventServiceImpl(LeaderboardService leaderboardService,
+                                @Value("${onlinequiz.events.flush-interval-ms:250}") long flushIntervalMillis,
+                                @Value("${onlinequiz.events.buffer-size:256}") int bufferSize,
+                                @Value("${onlinequiz.events.sender-threads:4}") int senderThreads,
+                                @Value("${onlinequiz.events.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.leaderboardService = leaderboardService;
+        this.bufferSize = bufferSize;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(daemon("quiz-events-flusher"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemon("quiz-events-sender"));
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public SseEmitter subscribe(String quizId) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(quizId, emitter, new EventBuffer(bufferSize));
+        // Add inside compute so a concurrent unsubscribe cannot drop the set this subscriber is joining.
+        subscribersByQuiz.compute(quizId, (id, subscribers) -> {
+            Set<Subscriber> joined = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            joined.add(subscriber);
+            return joined;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        // Current standings first, so a dashboard does not start out blank.
+        subscriber.buffer.replaceLeaderboard(leaderboardService.getTopEntries(quizId, DEFAULT_LEADERBOARD_SIZE));
+        return emitter;
+    }
+
+    // No timeout: dead connections are found by the periodic heartbeat failing or timing out.
+    SseEmitter newEmitter() {
+        return new SseEmitter(0L);
+    }
+
+    @Override
+    public void publishAttempt(String quizId, QuizAttempt attempt, boolean leaderboardChanged) {
+        Set<Subscriber> subscribers = subscribersByQuiz.get(quizId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        ScoreEvent event = ScoreEvent.of(attempt);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.buffer.offer(event);
+        }
+        if (leaderboardChanged) {
+            changedLeaderboards.add(quizId);
+        }
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Set<Subscriber> subscribers : subscribersByQuiz.values()) {
+            count += subscribers.size();
+        }
+        return count;
+    }
+
+    void flush() {
+        try {
+            for (String quizId : changedLeaderboards) {
+                changedLeaderboards.remove(quizId);
+                Set<Subscriber> subscribers = subscribersByQuiz.get(quizId);
+                if (subscribers == null || subscribers.isEmpty()) {
+                    continue;
+                }
+                List<LeaderboardEntry> top = Collections.unmodifiableList(
+                        leaderboardService.getTopEntries(quizId, DEFAULT_LEADERBOARD_SIZE));
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.buffer.replaceLeaderboard(top);
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (Map.Entry<String, Set<Subscriber>> entry : subscribersByQuiz.entrySet()) {
+                for (Subscriber subscriber : entry.getValue()) {
+                    if (subscriber.sending.get() && now - subscriber.sendStartedAt >= writeTimeoutMillis) {
+                        logger.info("Evicting quiz {} subscriber stuck writing for {} ms", subscriber.quizId,
+                                now - subscriber.sendStartedAt);
+                        unsubscribe(subscriber);
+                        subscriber.emitter.completeWithError(new IOException("Event write timed out"));
+                        continue;
+                    }
+                    boolean due = !subscriber.buffer.isEmpty() || now - subscriber.lastSentAt >= HEARTBEAT_MILLIS;
+                    if (due && subscriber.sending.compareAndSet(false, true)) {
+                        subscriber.sendStartedAt = now;
+                        senders.execute(() -> send(subscriber));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let one bad cycle cancel the schedule.
+            logger.warn("Failed to flush quiz events", e);
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            EventBuffer.Batch batch = subscriber.buffer.drain();
+            if (batch.dropped > 0) {
+                subscriber.emitter.send(SseEmitter.event().name("dropped").data(Collections.singletonMap("count", batch.dropped)));
+            }
+            if (!batch.scores.isEmpty()) {
+                subscriber.emitter.send(SseEmitter.event().name("scores").data(batch.scores));
+            }
+            if (batch.leaderboard != null) {
+                subscriber.emitter.send(SseEmitter.event().name("leaderboard").data(batch.leaderboard));
+            }
+            if (batch.dropped == 0 && batch.scores.isEmpty() && batch.leaderboard == null) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            subscriber.lastSentAt = System.currentTimeMillis();
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribersByQuiz.computeIfPresent(subscriber.quizId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        for (Set<Subscriber> subscribers : subscribersByQuiz.values()) {
+            subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+        subscribersByQuiz.clear();
+    }
+
+    private static final class Subscriber {
+        final String quizId;
+        final SseEmitter emitter;
+        final EventBuffer buffer;
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile long lastSentAt = System.currentTimeMillis();
+        // When the batch in progress was handed to a sender, queueing included.
+        volatile long sendStartedAt;
+
+        Subscriber(String quizId, SseEmitter emitter, EventBuffer buffer) {
+            this.quizId = quizId;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
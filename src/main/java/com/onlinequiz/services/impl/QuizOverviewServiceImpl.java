@@ -0,0 +1,86 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionStatistics;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.QuizOverview;
+import com.onlinequiz.services.AttemptService;
+import com.onlinequiz.services.LeaderboardService;
+import com.onlinequiz.services.QuestionService;
+import com.onlinequiz.services.QuizOverviewService;
+import com.onlinequiz.services.QuizService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static com.onlinequiz.constants.Constants.*;
+
+/**
+ * Assembles a quiz overview from independent reads run side by side. The leaderboard read can rebuild a board
+ * from every recorded attempt on first use, so the slowest part rather than the sum of the parts sets the latency.
+ */
+@Service
+public class QuizOverviewServiceImpl implements QuizOverviewService {
+    private final QuizService quizService;
+    private final QuestionService questionService;
+    private final AttemptService attemptService;
+    private final LeaderboardService leaderboardService;
+    private final Executor executor;
+    private final long timeoutMillis;
+
+    @Autowired
+    public QuizOverviewServiceImpl(QuizService quizService, QuestionService questionService,
+                                   AttemptService attemptService, LeaderboardService leaderboardService,
+                                   @Qualifier("applicationTaskExecutor") Executor executor,
+                                   @Value("${onlinequiz.overview.timeout-ms:2000}") long timeoutMillis) {
+        this.quizService = quizService;
+        this.questionService = questionService;
+        this.attemptService = attemptService;
+        this.leaderboardService = leaderboardService;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Optional<QuizOverview> getQuizOverview(String quizId) {
+        Optional<Quiz> found = quizService.getQuizById(quizId);
+        if (!found.isPresent()) {
+            return Optional.empty();
+        }
+        Quiz quiz = found.get();
+        try (FanOut fanOut = new FanOut(executor)) {
+            Supplier<List<LeaderboardEntry>> leaderboard =
+                    fanOut.fork(() -> leaderboardService.getTopEntries(quiz.getId(), DEFAULT_LEADERBOARD_SIZE));
+            Supplier<List<QuizAttempt>> recentAttempts =
+                    fanOut.fork(() -> attemptService.getQuizAttempts(quiz.getId(), null, null, OVERVIEW_RECENT_ATTEMPTS));
+            Supplier<List<QuestionStatistics>> statistics = fanOut.fork(() -> statisticsOf(quiz));
+            fanOut.join(timeoutMillis, TimeUnit.MILLISECONDS);
+            return Optional.of(new QuizOverview(quiz, leaderboard.get(), recentAttempts.get(), statistics.get()));
+        } catch (TimeoutException e) {
+            throw new QuizException(ERROR_OVERVIEW_TIMEOUT, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QuizException(ERROR_OVERVIEW_TIMEOUT, e);
+        }
+    }
+
+    private List<QuestionStatistics> statisticsOf(Quiz quiz) {
+        List<QuestionStatistics> statistics = new ArrayList<>();
+        for (Question question : quiz.getQuestions()) {
+            questionService.getQuestionStatistics(question.getId()).ifPresent(statistics::add);
+        }
+        return statistics;
+    }
+}
@@ -1,14 +1,33 @@
 package com.onlinequiz.services.impl;
 
 import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.models.BatchGradingStats;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Quiz;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.QuizBlueprint;
+import com.onlinequiz.models.QuizKey;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.AttemptService;
+import com.onlinequiz.services.LeaderboardService;
 import com.onlinequiz.services.QuestionService;
+import com.onlinequiz.services.QuizEventService;
 import com.onlinequiz.services.QuizService;
+import com.onlinequiz.exception.AccessCodeTakenException;
 import com.onlinequiz.exception.QuizException;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -17,12 +36,35 @@ import static com.onlinequiz.constants.Constants.*;
 
 @Service
 public class QuizServiceImpl implements QuizService {
+    private static final Logger logger = LoggerFactory.getLogger(QuizServiceImpl.class);
     private final QuizDAO quizDAO;
     private final QuestionService questionService;
+    private final AttemptService attemptService;
+    private final LeaderboardService leaderboardService;
+    private final QuizEventService quizEventService;
+    private final AccessCodeAllocator accessCodeAllocator;
+    // Answer keys of locked quizzes by quiz ID; a locked quiz never changes, so its key is compiled once.
+    private final ConcurrentMap<String, AnswerKey> answerKeys = new ConcurrentHashMap<>();
+    private final BatchGrader batchGrader = new BatchGrader();
     @Autowired
-    public QuizServiceImpl(QuizDAO quizDAO, QuestionService questionService) {
+    public QuizServiceImpl(QuizDAO quizDAO, QuestionService questionService, AttemptService attemptService,
+                           LeaderboardService leaderboardService, QuizEventService quizEventService) {
         this.quizDAO = quizDAO;
         this.questionService = questionService;
+        this.attemptService = attemptService;
+        this.leaderboardService = leaderboardService;
+        this.quizEventService = quizEventService;
+        // Resume past every code the recovered quizzes hold, so creates never have to step over issued codes.
+        List<String> issuedCodes = new ArrayList<>();
+        for (Quiz quiz : quizDAO.getAllQuizzes()) {
+            issuedCodes.add(quiz.getAccessCode());
+            // Pins are not persisted, so the questions of recovered locked quizzes are frozen again here.
+            if (!quiz.isModifiable() && quiz.getQuestionIds() != null
+                    && !questionService.pinQuestions(quiz.getQuestionIds()).isPresent()) {
+                logger.error("Locked quiz {} references questions missing from the bank", quiz.getId());
+            }
+        }
+        this.accessCodeAllocator = AccessCodeAllocator.resumingAfter(issuedCodes);
     }
 
     @Override
@@ -44,23 +86,125 @@ public class QuizServiceImpl implements QuizService {
         }
 
         int totalMarks = questions.stream().mapToInt(Question::getMarks).sum();
-        String accessCode = generateAccessCode();
-        Quiz quiz = new Quiz(UUID.randomUUID().toString(), title, questions, totalMarks, accessCode, true);
-        return quizDAO.createQuiz(quiz);
+        return createWithAccessCode(accessCode -> new Quiz(Ids.randomId(), title, questions, totalMarks, accessCode, true));
     }
 
+    @Override
+    public Quiz createQuiz(String title, List<String> questionIds) {
+        List<Question> questions = resolveQuestions(title, questionIds);
+        int totalMarks = questions.stream().mapToInt(Question::getMarks).sum();
+        return createWithAccessCode(accessCode -> new Quiz(Ids.randomId(), title, questions, totalMarks, accessCode, true));
+    }
+
+    @Override
+    public Quiz createQuizFromBlueprint(QuizBlueprint blueprint) {
+        if (blueprint == null || blueprint.getTitle() == null || blueprint.getTitle().trim().isEmpty()
+                || blueprint.getSections().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_BLUEPRINT);
+        }
+        int questionCount = 0;
+        for (QuizBlueprint.Section section : blueprint.getSections()) {
+            if (section.getCount() <= 0) {
+                throw new QuizException(ERROR_INVALID_BLUEPRINT_SECTION);
+            }
+            questionCount += section.getCount();
+        }
+        if (questionCount > MAX_QUIZ_QUESTIONS) {
+            throw new QuizException(ERROR_BLUEPRINT_TOO_MANY_QUESTIONS);
+        }
+        // Sections are sampled independently, so a marks target is met by redrawing rather than by searching.
+        for (int attempt = 0; attempt < MAX_BLUEPRINT_ATTEMPTS; attempt++) {
+            List<Question> questions = sampleBlueprint(blueprint, questionCount);
+            int totalMarks = questions.stream().mapToInt(Question::getMarks).sum();
+            if (blueprint.getTotalMarks() == null || blueprint.getTotalMarks() == totalMarks) {
+                return createWithAccessCode(accessCode -> new Quiz(Ids.randomId(), blueprint.getTitle(), questions,
+                        totalMarks, accessCode, true));
+            }
+        }
+        throw new QuizException(ERROR_BLUEPRINT_MARKS_UNREACHABLE);
+    }
+
+    private List<Question> sampleBlueprint(QuizBlueprint blueprint, int questionCount) {
+        List<Question> questions = new ArrayList<>(questionCount);
+        Set<String> picked = new HashSet<>();
+        for (QuizBlueprint.Section section : blueprint.getSections()) {
+            List<String> topics = section.getTopics().isEmpty() ? blueprint.getTopics() : section.getTopics();
+            List<String> difficulties = section.getDifficulty() == null
+                    ? null : Collections.singletonList(section.getDifficulty());
+            QuestionQuery query = new QuestionQuery(null, topics, null, difficulties);
+            List<Question> sampled = questionService.sampleQuestions(query, picked, section.getCount());
+            if (sampled.size() < section.getCount()) {
+                throw new QuizException(ERROR_BLUEPRINT_NOT_ENOUGH_QUESTIONS);
+            }
+            for (Question question : sampled) {
+                picked.add(question.getId());
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
 
     @Override
     public Optional<Quiz> getQuizById(String id) {
         if (id == null || id.trim().isEmpty()) {
             throw new QuizException(ERROR_EMPTY_QUIZ_ID);
         }
-        return quizDAO.getQuizById(id);
+        return quizDAO.getQuizById(id).map(this::withQuestions);
     }
 
     @Override
     public List<Quiz> getAllQuizzes() {
-        return quizDAO.getAllQuizzes();
+        return withQuestions(quizDAO.getAllQuizzes());
+    }
+
+    @Override
+    public Page<Quiz> getQuizPage(String cursor, Integer limit) {
+        int size = Page.size(limit);
+        return Page.of(withQuestions(quizDAO.getQuizzesAfter(cursor, size + 1)), size, Quiz::getId);
+    }
+
+    private List<Quiz> withQuestions(List<Quiz> quizzes) {
+        List<Quiz> resolved = new ArrayList<>(quizzes.size());
+        for (Quiz quiz : quizzes) {
+            resolved.add(withQuestions(quiz));
+        }
+        return resolved;
+    }
+
+    /**
+     * A locked quiz as stored holds only question IDs; look the questions up, sealed or not, in quiz order. They are
+     * pinned while the quiz exists, so the bank still holds exactly what the quiz was locked with.
+     */
+    private Quiz withQuestions(Quiz quiz) {
+        if (quiz.getQuestionIds() == null) {
+            return quiz;
+        }
+        List<Question> questions = new ArrayList<>(quiz.getQuestionIds().size());
+        for (String questionId : quiz.getQuestionIds()) {
+            questions.add(questionService.getQuestionById(questionId)
+                    .orElseThrow(() -> new QuizException(ERROR_QUESTION_NOT_FOUND)));
+        }
+        Quiz resolved = new Quiz(quiz.getId(), quiz.getTitle(), questions, quiz.getTotalMarks(), quiz.getAccessCode(),
+                quiz.isModifiable());
+        resolved.setKey(quiz.getKey());
+        return resolved;
+    }
+
+    @Override
+    public Quiz updateQuiz(String id, String title, List<String> questionIds) {
+        List<Question> questions = resolveQuestions(title, questionIds);
+        int totalMarks = questions.stream().mapToInt(Question::getMarks).sum();
+        // Compare-and-set, so an update racing lockQuiz can never unlock the quiz again.
+        while (true) {
+            Quiz existing = getQuizById(id).orElseThrow(() -> new QuizException(ERROR_QUIZ_NOT_FOUND));
+            if (!existing.isModifiable()) {
+                throw new QuizException(ERROR_EMPTY_QUIZ_MODIFY);
+            }
+            Quiz updated = new Quiz(id, title, questions, totalMarks, existing.getAccessCode(), true);
+            if (quizDAO.replaceQuiz(existing, updated)) {
+                return updated;
+            }
+        }
     }
 
     @Override
@@ -71,7 +215,16 @@ public class QuizServiceImpl implements QuizService {
         if (!quiz.isModifiable()) {
             throw new QuizException(ERROR_EMPTY_QUIZ_MODIFY);
         }
-        return quizDAO.updateQuiz(quiz);
+        // Compare-and-set against the stored quiz, so a locked quiz and its frozen key are never overwritten.
+        while (true) {
+            Quiz existing = quizDAO.getQuizById(quiz.getId()).orElseThrow(() -> new QuizException(ERROR_QUIZ_NOT_FOUND));
+            if (!existing.isModifiable()) {
+                throw new QuizException(ERROR_EMPTY_QUIZ_MODIFY);
+            }
+            if (quizDAO.replaceQuiz(existing, quiz)) {
+                return quiz;
+            }
+        }
     }
 
     @Override
@@ -79,7 +232,19 @@ public class QuizServiceImpl implements QuizService {
         if (id == null || id.trim().isEmpty()) {
             throw new QuizException(ERROR_EMPTY_QUIZ_ID);
         }
-        return quizDAO.isDeleteQuiz(id);
+        Optional<Quiz> quizOpt = quizDAO.getQuizById(id);
+        boolean deleted = quizDAO.isDeleteQuiz(id);
+        if (deleted) {
+            answerKeys.remove(id);
+            leaderboardService.removeLeaderboard(id);
+        }
+        if (deleted && quizOpt.isPresent()) {
+            accessCodeAllocator.release(quizOpt.get().getAccessCode());
+            if (!quizOpt.get().isModifiable() && quizOpt.get().getQuestionIds() != null) {
+                questionService.unpinQuestions(quizOpt.get().getQuestionIds());
+            }
+        }
+        return deleted;
     }
 
     @Override
@@ -87,7 +252,7 @@ public class QuizServiceImpl implements QuizService {
         if (accessCode == null || accessCode.trim().isEmpty()) {
             throw new QuizException(ERROR_EMPTY_ACCESS_CODE);
         }
-        return quizDAO.getQuizByAccessCode(accessCode);
+        return quizDAO.getQuizByAccessCode(accessCode).map(this::withQuestions);
     }
 
     @Override
@@ -95,24 +260,54 @@ public class QuizServiceImpl implements QuizService {
         if (id == null || id.trim().isEmpty()) {
             throw new QuizException(ERROR_EMPTY_QUIZ_ID);
         }
-        Optional<Quiz> quizOpt = quizDAO.getQuizById(id);
-        if (quizOpt.isPresent()) {
-            Quiz quiz = quizOpt.get();
-            quiz.setModifiable(false);
-            quizDAO.updateQuiz(quiz);
-        } else {
-            throw new QuizException(ERROR_QUIZ_NOT_FOUND);
+        List<String> questionIds;
+        while (true) {
+            Optional<Quiz> quizOpt = quizDAO.getQuizById(id);
+            if (!quizOpt.isPresent()) {
+                throw new QuizException(ERROR_QUIZ_NOT_FOUND);
+            }
+            Quiz current = quizOpt.get();
+            if (!current.isModifiable()) {
+                return;
+            }
+            questionIds = new ArrayList<>();
+            for (Question question : current.getQuestions()) {
+                questionIds.add(question.getId());
+            }
+            // Pinned before the quiz is locked, so the bank can no longer change what the key is frozen from.
+            List<Question> frozen = questionService.pinQuestions(questionIds)
+                    .orElseThrow(() -> new QuizException(ERROR_QUESTION_NOT_FOUND));
+            // Only IDs are kept, so once the bank seals the questions the quiz no longer holds them on the heap.
+            Quiz locked = new Quiz(current.getId(), current.getTitle(), null,
+                    frozen.stream().mapToInt(Question::getMarks).sum(), current.getAccessCode(), false);
+            locked.setQuestionIds(questionIds);
+            locked.setKey(QuizKey.of(frozen));
+            if (quizDAO.replaceQuiz(current, locked)) {
+                answerKeys.put(id, AnswerKey.compile(locked));
+                break;
+            }
+            questionService.unpinQuestions(questionIds);
         }
+        // Locked content no longer changes, so the bank can move it out of the heap.
+        questionService.sealQuestions(questionIds);
     }
 
     @Override
     public int takeQuiz(String accessCode, Scanner scanner) {
+        return takeQuiz(null, accessCode, scanner);
+    }
+
+    @Override
+    public int takeQuiz(String userId, String accessCode, Scanner scanner) {
         Optional<Quiz> quizOpt = getQuizByAccessCode(accessCode);
         if (quizOpt.isPresent()) {
             Quiz quiz = quizOpt.get();
-            int score = 0;
+            long startedAt = System.currentTimeMillis();
+            List<Question> questions = quiz.getQuestions();
+            int[] answers = new int[questions.size()];
 
-            for (Question question : quiz.getQuestions()) {
+            for (int q = 0; q < questions.size(); q++) {
+                Question question = questions.get(q);
                 System.out.println(question.getTitle());
                 List<String> options = question.getOptions();
                 for (int i = 0; i < options.size(); i++) {
@@ -120,20 +315,96 @@ public class QuizServiceImpl implements QuizService {
                 }
 
                 System.out.print("Enter your answer (1-" + options.size() + "): ");
-                int userAnswer = Integer.parseInt(scanner.nextLine()) - 1;
-
-                if (userAnswer == question.getCorrectOptionIndex()) {
-                    score += question.getMarks();
-                }
+                answers[q] = Integer.parseInt(scanner.nextLine()) - 1;
             }
 
+            AnswerKey answerKey = answerKeyFor(quiz);
+            int score = answerKey.grade(answers);
+            recordAttempt(userId, quiz, answers, score, answerKey, startedAt);
             return score;
         } else {
             throw new QuizException(ERROR_INVALID_ACCESS_CODE);
         }
     }
 
-    private String generateAccessCode() {
-        return UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+    @Override
+    public Optional<SubmissionResult> submitQuiz(String accessCode, Submission submission) {
+        if (submission == null || submission.getAnswers() == null) {
+            throw new QuizException(ERROR_EMPTY_ANSWERS);
+        }
+        return getQuizByAccessCode(accessCode).map(quiz -> submitQuiz(quiz, submission));
+    }
+
+    @Override
+    public SubmissionResult submitQuiz(Quiz quiz, Submission submission) {
+        if (submission == null || submission.getAnswers() == null) {
+            throw new QuizException(ERROR_EMPTY_ANSWERS);
+        }
+        AnswerKey answerKey = answerKeyFor(quiz);
+        int score = answerKey.grade(submission.getAnswers());
+        long startedAt = submission.getStartedAt() != null ? submission.getStartedAt() : System.currentTimeMillis();
+        QuizAttempt attempt = recordAttempt(submission.getUserId(), quiz, submission.getAnswers(), score, answerKey, startedAt);
+        return new SubmissionResult(attempt.getId(), quiz.getId(), score, answerKey.getTotalMarks());
+    }
+
+    @Override
+    public BatchGradingStats gradeSubmissions(String accessCode, InputStream submissions, OutputStream results) throws IOException {
+        Optional<Quiz> quizOpt = getQuizByAccessCode(accessCode);
+        if (!quizOpt.isPresent()) {
+            throw new QuizException(ERROR_INVALID_ACCESS_CODE);
+        }
+        Quiz quiz = quizOpt.get();
+        AnswerKey answerKey = answerKeyFor(quiz);
+        long receivedAt = System.currentTimeMillis();
+        return batchGrader.grade(answerKey, submissions, results, (submission, score) ->
+                recordAttempt(submission.getUserId(), quiz, submission.getAnswers(), score, answerKey, receivedAt));
+    }
+
+    private QuizAttempt recordAttempt(String userId, Quiz quiz, int[] answers, int score, AnswerKey answerKey, long startedAt) {
+        QuizAttempt attempt = attemptService.recordAttempt(userId, quiz.getId(), answers, score, answerKey.getTotalMarks(), startedAt);
+        questionService.recordResponses(quiz.getQuestions(), answers, score);
+        boolean leaderboardChanged = leaderboardService.recordScore(quiz.getId(), userId, score, attempt.getSubmittedAt());
+        quizEventService.publishAttempt(quiz.getId(), attempt, leaderboardChanged);
+        return attempt;
+    }
+
+    private AnswerKey answerKeyFor(Quiz quiz) {
+        if (quiz.isModifiable()) {
+            return AnswerKey.compile(quiz);
+        }
+        return answerKeys.computeIfAbsent(quiz.getId(), id -> AnswerKey.compile(quiz));
+    }
+
+    private List<Question> resolveQuestions(String title, List<String> questionIds) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_QUIZ_TITLE);
+        }
+        List<String> ids = questionIds == null ? Collections.emptyList() : questionIds;
+        if (ids.size() > MAX_QUIZ_QUESTIONS) {
+            throw new QuizException(ERROR_TOO_MANY_QUIZ_QUESTIONS);
+        }
+        List<Question> questions = new ArrayList<>(ids.size());
+        for (String questionId : ids) {
+            questions.add(questionService.getQuestionById(questionId)
+                    .orElseThrow(() -> new QuizException(ERROR_QUESTION_NOT_FOUND)));
+        }
+        return questions;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchGrader.shutdown();
+    }
+
+    // The allocator never reissues a held code; the DAO's check only matters for a code a concurrent writer
+    // stored without it, and the next code is then taken.
+    private Quiz createWithAccessCode(Function<String, Quiz> newQuiz) {
+        while (true) {
+            try {
+                return quizDAO.createQuiz(newQuiz.apply(accessCodeAllocator.allocate()));
+            } catch (AccessCodeTakenException e) {
+                logger.warn("Access code taken by another quiz, allocating another");
+            }
+        }
     }
 }
@@ -0,0 +1,230 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizSession;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.QuizService;
+import com.onlinequiz.services.SessionService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.onlinequiz.constants.Constants.*;
+
+/**
+ * Keeps open quiz sessions in memory and submits each one automatically when its deadline passes.
+ * <p>
+ * Every session gets a single {@link HashedWheelTimer} timeout, so opening or submitting a session costs O(1) timer
+ * work however many are open. Expired sessions are graded through {@link QuizService#submitQuiz(Quiz, Submission)}
+ * like any other submission. Finished sessions stay readable for {@code SESSION_RETENTION_SECONDS} so a client can
+ * collect the result of an automatic submission.
+ */
+@Service
+public class SessionServiceImpl implements SessionService {
+    private static final Logger logger = LoggerFactory.getLogger(SessionServiceImpl.class);
+
+    private final QuizService quizService;
+    private final ConcurrentMap<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final ExecutorService expiryExecutor;
+    private final HashedWheelTimer timer;
+
+    @Autowired
+    public SessionServiceImpl(QuizService quizService,
+                              @Value("${onlinequiz.sessions.tick-ms:100}") long tickMillis,
+                              @Value("${onlinequiz.sessions.wheel-size:1024}") int wheelSize,
+                              @Value("${onlinequiz.sessions.expiry-threads:2}") int expiryThreads) {
+        this.quizService = quizService;
+        AtomicInteger threads = new AtomicInteger();
+        this.expiryExecutor = Executors.newFixedThreadPool(expiryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timer = new HashedWheelTimer(tickMillis, wheelSize, expiryExecutor, "session-timer");
+    }
+
+    @Override
+    public QuizSession startSession(String userId, String accessCode, Long durationSeconds) {
+        long duration = durationSeconds == null ? DEFAULT_SESSION_DURATION_SECONDS : durationSeconds;
+        if (duration <= 0 || duration > MAX_SESSION_DURATION_SECONDS) {
+            throw new QuizException(ERROR_INVALID_SESSION_DURATION);
+        }
+        Quiz quiz = quizService.getQuizByAccessCode(accessCode)
+                .orElseThrow(() -> new QuizException(ERROR_INVALID_ACCESS_CODE));
+        int[] optionCounts = optionCounts(quiz);
+        int[] answers = new int[optionCounts.length];
+        Arrays.fill(answers, -1);
+        long now = System.currentTimeMillis();
+        // The session ID is all it takes to answer and submit, so it comes from SecureRandom, not the fast Ids.
+        QuizSession session = new QuizSession(UUID.randomUUID().toString(), userId, quiz.getId(), accessCode, answers,
+                now, now + TimeUnit.SECONDS.toMillis(duration), SESSION_ACTIVE);
+        SessionState state = new SessionState(session, optionCounts);
+        sessions.put(session.getId(), state);
+        openSessions.incrementAndGet();
+        state.timeout = timer.schedule(() -> expire(state), duration, TimeUnit.SECONDS);
+        return state.snapshot();
+    }
+
+    @Override
+    public Optional<QuizSession> getSession(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_SESSION_ID);
+        }
+        SessionState state = sessions.get(id);
+        return state == null ? Optional.empty() : Optional.of(state.snapshot());
+    }
+
+    @Override
+    public QuizSession saveAnswer(String id, int questionIndex, int optionIndex) {
+        SessionState state = require(id);
+        if (questionIndex < 0 || questionIndex >= state.optionCounts.length
+                || optionIndex < -1 || optionIndex >= state.optionCounts[questionIndex]) {
+            throw new QuizException(ERROR_INVALID_ANSWER);
+        }
+        state.lock.lock();
+        try {
+            // The timer may fire up to a tick late; the deadline itself is authoritative.
+            if (!SESSION_ACTIVE.equals(state.session.getStatus()) || System.currentTimeMillis() > state.session.getExpiresAt()) {
+                throw new QuizException(ERROR_SESSION_CLOSED);
+            }
+            state.session.getAnswers()[questionIndex] = optionIndex;
+            return state.session.copy();
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    @Override
+    public SubmissionResult submitSession(String id) {
+        SessionState state = require(id);
+        boolean late = System.currentTimeMillis() > state.session.getExpiresAt();
+        SubmissionResult result = finish(state, late ? SESSION_EXPIRED : SESSION_SUBMITTED);
+        if (result != null) {
+            return result;
+        }
+        // Already finished: hand back the earlier result if grading has completed.
+        QuizSession session = state.snapshot();
+        if (session.getResult() == null) {
+            throw new QuizException(ERROR_SESSION_CLOSED);
+        }
+        return session.getResult();
+    }
+
+    @Override
+    public int getOpenSessionCount() {
+        return openSessions.get();
+    }
+
+    private void expire(SessionState state) {
+        try {
+            finish(state, SESSION_EXPIRED);
+        } catch (RuntimeException e) {
+            logger.error("Failed to auto-submit expired session {}", state.session.getId(), e);
+        }
+    }
+
+    /**
+     * Close the session and grade it, unless it was already closed.
+     *
+     * @return the result, or null if another caller closed the session first.
+     */
+    private SubmissionResult finish(SessionState state, String status) {
+        Submission submission;
+        state.lock.lock();
+        try {
+            if (!SESSION_ACTIVE.equals(state.session.getStatus())) {
+                return null;
+            }
+            state.session.setStatus(status);
+            submission = new Submission(state.session.getUserId(), state.session.getAnswers().clone(),
+                    state.session.getStartedAt());
+        } finally {
+            state.lock.unlock();
+        }
+        state.timeout.cancel();
+        openSessions.decrementAndGet();
+        timer.schedule(() -> sessions.remove(state.session.getId(), state), SESSION_RETENTION_SECONDS, TimeUnit.SECONDS);
+        // Resolved only now, so an open session holds no quiz; a locked quiz grades the same as when it started.
+        Quiz quiz = quizService.getQuizById(state.session.getQuizId())
+                .orElseThrow(() -> new QuizException(ERROR_QUIZ_NOT_FOUND));
+        SubmissionResult result = quizService.submitQuiz(quiz, submission);
+        state.lock.lock();
+        try {
+            state.session.setResult(result);
+        } finally {
+            state.lock.unlock();
+        }
+        return result;
+    }
+
+    private static int[] optionCounts(Quiz quiz) {
+        if (!quiz.isModifiable() && quiz.getKey() != null) {
+            return quiz.getKey().getOptionCounts();
+        }
+        List<Question> questions = quiz.getQuestions();
+        int[] optionCounts = new int[questions.size()];
+        for (int i = 0; i < optionCounts.length; i++) {
+            optionCounts[i] = questions.get(i).getOptions() == null ? 0 : questions.get(i).getOptions().size();
+        }
+        return optionCounts;
+    }
+
+    private SessionState require(String id) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new QuizException(ERROR_EMPTY_SESSION_ID);
+        }
+        SessionState state = sessions.get(id);
+        if (state == null) {
+            throw new QuizException(ERROR_SESSION_NOT_FOUND);
+        }
+        return state;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.stop();
+        expiryExecutor.shutdownNow();
+    }
+
+    private static final class SessionState {
+        final QuizSession session;
+        // Options per question when the session started, to validate answers without keeping the quiz.
+        final int[] optionCounts;
+        final Lock lock = new ReentrantLock();
+        volatile HashedWheelTimer.Timeout timeout;
+
+        SessionState(QuizSession session, int[] optionCounts) {
+            this.session = session;
+            this.optionCounts = optionCounts;
+        }
+
+        QuizSession snapshot() {
+            lock.lock();
+            try {
+                return session.copy();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,47 +1,100 @@
 package com.onlinequiz.services.impl;
 import com.onlinequiz.dao.UserDAO;
 import com.onlinequiz.exception.InvalidRoleException;
+import com.onlinequiz.exception.LoginThrottledException;
 import com.onlinequiz.exception.UserAlreadyExistsException;
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.User;
 import com.onlinequiz.services.UserService;
 import com.onlinequiz.exception.UserException;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import static com.onlinequiz.constants.Constants.*;
 
+/**
+ * Users and their credentials. Passwords are stored as {@link PasswordHasher} hashes; plaintext passwords left
+ * from before hashing still log in and are replaced by a hash on their first successful login.
+ * <p>
+ * Checking a password is deliberately expensive, so logins hand it to a small fixed pool with a bounded queue
+ * instead of burning request threads. Hashing a new password costs the same and goes through the same pool. When
+ * the queue is full a login, registration or password change fails fast with {@link LoginThrottledException}
+ * rather than waiting, and logins verified recently are answered from a {@link CredentialCache} without hashing at
+ * all.
+ */
 @Service
 public class UserServiceImpl implements UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
     private final UserDAO userDAO;
+    private final PasswordHasher passwordHasher;
+    private final CredentialCache credentialCache;
+    private final ThreadPoolExecutor verifier;
+    private final long verifyTimeoutMillis;
+    // Verified against when the username is unknown, so a miss costs as much as a wrong password.
+    private final String unknownUserHash;
+
     @Autowired
-    public UserServiceImpl(UserDAO userDAO) {
+    public UserServiceImpl(UserDAO userDAO,
+                           @Value("${onlinequiz.passwords.iterations:600000}") int iterations,
+                           @Value("${onlinequiz.passwords.verify-threads:0}") int verifyThreads,
+                           @Value("${onlinequiz.passwords.verify-queue:256}") int verifyQueue,
+                           @Value("${onlinequiz.passwords.verify-timeout-ms:5000}") long verifyTimeoutMillis,
+                           @Value("${onlinequiz.passwords.cache-ttl-seconds:300}") long cacheTtlSeconds,
+                           @Value("${onlinequiz.passwords.cache-size:100000}") int cacheSize) {
         logger.info("UserServiceImpl initialized");
         this.userDAO = userDAO;
+        this.passwordHasher = new PasswordHasher(iterations);
+        this.credentialCache = new CredentialCache(TimeUnit.SECONDS.toMillis(cacheTtlSeconds), cacheSize);
+        this.verifyTimeoutMillis = verifyTimeoutMillis;
+        int threads = verifyThreads > 0 ? verifyThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger created = new AtomicInteger();
+        this.verifier = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(verifyQueue), runnable -> {
+            Thread thread = new Thread(runnable, "password-verifier-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.unknownUserHash = passwordHasher.hash(Ids.randomId());
     }
 
     @Override
     public User createUser(String username, String password, String role) {
         logger.info("Creating user: {}", username);
-        if (username == null || username.trim().isEmpty()) {
-            throw new UserException(ERROR_EMPTY_USERNAME);
-        }
-        if (password == null || password.trim().isEmpty()) {
-            throw new UserException(ERROR_EMPTY_PASSWORD);
-        }
-        if (role == null || (!role.equals("ADMIN") && !role.equals("USER"))) {
-            throw new InvalidRoleException(ERROR_INVALID_ROLE);
-        }
+        validateUserInput(username, password, role);
 
         if (userDAO.getUserByUsername(username).isPresent()) {
             throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
         }
-        User user = new User(UUID.randomUUID().toString(), username, password, role);
-        return userDAO.createUser(user);
+        User user = new User(Ids.randomId(), username, hash(password), role);
+        User created = userDAO.createUser(user);
+        // The DAO keeps the first owner of a username, so a concurrent registration that slipped past the check above loses here.
+        if (created != user) {
+            throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
+        }
+        return created;
     }
 
     @Override
@@ -65,12 +118,36 @@ public class UserServiceImpl implements UserService {
         return userDAO.getAllUsers();
     }
 
+    @Override
+    public Page<User> getUserPage(String cursor, Integer limit) {
+        int size = Page.size(limit);
+        return Page.of(userDAO.getUsersAfter(cursor, size + 1), size, User::getId);
+    }
+
+    /**
+     * Replace the user's name, role and, if one is given, password. Without a password the stored hash is kept.
+     */
     @Override
     public User updateUser(User user) {
         if (user == null) {
             throw new UserException(ERROR_EMPTY_USER);
         }
-        return userDAO.updateUser(user);
+        if (user.getId() == null || user.getId().trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_USER_ID);
+        }
+        String hash = hasPassword(user) ? hash(user.getPassword()) : null;
+        while (true) {
+            User existing = userDAO.getUserById(user.getId()).orElseThrow(() -> new UserException(ERROR_USER_NOT_FOUND));
+            Optional<User> owner = userDAO.getUserByUsername(user.getUsername());
+            if (owner.isPresent() && !owner.get().getId().equals(user.getId())) {
+                throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
+            }
+            User updated = new User(user.getId(), user.getUsername(), hash != null ? hash : existing.getPassword(), user.getRole());
+            // Fails if the user changed since it was read, or a concurrent rename took the username; both are re-checked above.
+            if (userDAO.replaceUser(existing, updated)) {
+                return updated;
+            }
+        }
     }
 
     @Override
@@ -80,10 +157,275 @@ public class UserServiceImpl implements UserService {
         }
         return userDAO.isDeleteUser(id);
     }
+    /**
+     * Validate every operation up front, then apply creates, updates and deletes with one DAO call each. An
+     * operation that fails validation, or whose username is taken, is reported without affecting the rest.
+     */
+    @Override
+    public List<BatchOutcome> applyBatch(List<BatchOperation<User>> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new UserException(ERROR_EMPTY_BATCH);
+        }
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new UserException(ERROR_BATCH_TOO_LARGE);
+        }
+        logger.info("Applying batch of {} user operations", operations.size());
+        BatchOutcome[] outcomes = new BatchOutcome[operations.size()];
+        List<User> creates = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<User> updates = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        List<User> unhashed = new ArrayList<>();
+        Set<String> touched = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation<User> operation = operations.get(i);
+            String op = operation == null || operation.getOp() == null ? null : operation.getOp().toUpperCase(Locale.ROOT);
+            String id = operation == null ? null : operation.getId();
+            try {
+                if (BATCH_CREATE.equals(op)) {
+                    User user = requireValue(operation);
+                    validateUserInput(user.getUsername(), user.getPassword(), user.getRole());
+                    requireFreeUsername(user, usernames);
+                    id = Ids.randomId();
+                    User created = new User(id, user.getUsername(), user.getPassword(), user.getRole());
+                    creates.add(created);
+                    createIndexes.add(i);
+                    unhashed.add(created);
+                } else if (BATCH_UPDATE.equals(op)) {
+                    User user = requireValue(operation);
+                    id = id != null ? id : user.getId();
+                    requireUntouched(id, touched);
+                    validateUsernameAndRole(user.getUsername(), user.getRole());
+                    Optional<User> existing = userDAO.getUserById(id);
+                    if (!existing.isPresent()) {
+                        outcomes[i] = new BatchOutcome(i, op, id, BATCH_NOT_FOUND, null);
+                        continue;
+                    }
+                    String password = hasPassword(user) ? user.getPassword() : existing.get().getPassword();
+                    User updated = new User(id, user.getUsername(), password, user.getRole());
+                    requireFreeUsername(updated, usernames);
+                    updates.add(updated);
+                    if (hasPassword(user)) {
+                        unhashed.add(updated);
+                    }
+                } else if (BATCH_DELETE.equals(op)) {
+                    requireUntouched(id, touched);
+                    deletes.add(id);
+                } else {
+                    throw new UserException(ERROR_INVALID_BATCH_OPERATION);
+                }
+                outcomes[i] = new BatchOutcome(i, op, id, BATCH_OK, null);
+            } catch (RuntimeException e) {
+                outcomes[i] = new BatchOutcome(i, op, id, BATCH_FAILED, e.getMessage());
+            }
+        }
+        hashPasswords(unhashed);
+        if (!creates.isEmpty()) {
+            List<User> stored = userDAO.createUsers(creates);
+            for (int i = 0; i < creates.size(); i++) {
+                // The DAO keeps the first owner of a username, so a concurrent registration can still win here.
+                if (stored.get(i) != creates.get(i)) {
+                    BatchOutcome outcome = outcomes[createIndexes.get(i)];
+                    outcome.setStatus(BATCH_FAILED);
+                    outcome.setError(ERROR_USER_EXISTS);
+                    outcome.setId(null);
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            Set<String> updated = userDAO.updateUsers(updates);
+            for (BatchOutcome outcome : outcomes) {
+                // Deleted, or its new username taken, by someone else since it was checked.
+                if (BATCH_UPDATE.equals(outcome.getOp()) && BATCH_OK.equals(outcome.getStatus())
+                        && !updated.contains(outcome.getId())) {
+                    if (userDAO.getUserById(outcome.getId()).isPresent()) {
+                        outcome.setStatus(BATCH_FAILED);
+                        outcome.setError(ERROR_USER_EXISTS);
+                    } else {
+                        outcome.setStatus(BATCH_NOT_FOUND);
+                    }
+                }
+            }
+        }
+        if (!deletes.isEmpty()) {
+            Set<String> deleted = userDAO.deleteUsers(deletes);
+            for (BatchOutcome outcome : outcomes) {
+                if (BATCH_DELETE.equals(outcome.getOp()) && BATCH_OK.equals(outcome.getStatus())
+                        && !deleted.contains(outcome.getId())) {
+                    outcome.setStatus(BATCH_NOT_FOUND);
+                }
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Hashing dominates a large batch, so it runs on the verifier pool. At most one hash per verifier thread is
+     * queued at a time, leaving the queue to logins; a hash the pool rejects runs on the calling thread instead.
+     */
+    private void hashPasswords(List<User> users) {
+        int window = verifier.getMaximumPoolSize();
+        Deque<Future<?>> pending = new ArrayDeque<>();
+        try {
+            for (User user : users) {
+                if (pending.size() >= window) {
+                    awaitHash(pending.removeFirst());
+                }
+                try {
+                    pending.add(verifier.submit(() -> user.setPassword(passwordHasher.hash(user.getPassword()))));
+                } catch (RejectedExecutionException e) {
+                    user.setPassword(passwordHasher.hash(user.getPassword()));
+                }
+            }
+            while (!pending.isEmpty()) {
+                awaitHash(pending.removeFirst());
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void awaitHash(Future<?> hash) {
+        try {
+            hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static boolean hasPassword(User user) {
+        return user.getPassword() != null && !user.getPassword().trim().isEmpty();
+    }
+
+    private static User requireValue(BatchOperation<User> operation) {
+        if (operation.getValue() == null) {
+            throw new UserException(ERROR_MISSING_BATCH_VALUE);
+        }
+        return operation.getValue();
+    }
+
+    private static void requireUntouched(String id, Set<String> touched) {
+        if (id == null || id.trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_USER_ID);
+        }
+        if (!touched.add(id)) {
+            throw new UserException(ERROR_DUPLICATE_BATCH_ID);
+        }
+    }
+
+    // Usernames must be unique against the store and against earlier operations in the same batch.
+    private void requireFreeUsername(User user, Set<String> usernames) {
+        Optional<User> owner = userDAO.getUserByUsername(user.getUsername());
+        if ((owner.isPresent() && !owner.get().getId().equals(user.getId())) || !usernames.add(user.getUsername())) {
+            throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
+        }
+    }
+
+    private void validateUserInput(String username, String password, String role) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_USERNAME);
+        }
+        if (password == null || password.trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_PASSWORD);
+        }
+        if (role == null || (!role.equals("ADMIN") && !role.equals("USER"))) {
+            throw new InvalidRoleException(ERROR_INVALID_ROLE);
+        }
+    }
+
+    // Updates may leave the password out to keep the current one.
+    private void validateUsernameAndRole(String username, String role) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new UserException(ERROR_EMPTY_USERNAME);
+        }
+        if (role == null || (!role.equals("ADMIN") && !role.equals("USER"))) {
+            throw new InvalidRoleException(ERROR_INVALID_ROLE);
+        }
+    }
+
+    /**
+     * @return the user, or null if the username or password is wrong.
+     * @throws LoginThrottledException if the password could not be checked in time.
+     */
     @Override
     public User login(String username, String password) {
-        Optional<User> userOpt = userDAO.authenticateUser(username, password);
-        return userOpt.orElse(null);
+        if (username == null || password == null) {
+            return null;
+        }
+        Optional<User> found = userDAO.getUserByUsername(username);
+        if (found.isPresent() && credentialCache.matches(username, found.get().getPassword(), password)) {
+            return found.get();
+        }
+        String stored = found.map(User::getPassword).orElse(unknownUserHash);
+        String verified = verify(password, stored);
+        if (!found.isPresent() || verified == null) {
+            return null;
+        }
+        User user = found.get();
+        if (!verified.equals(stored)) {
+            User upgraded = new User(user.getId(), user.getUsername(), verified, user.getRole());
+            // Skipped if the user changed meanwhile, e.g. a new password; the next login upgrades whatever is stored.
+            if (userDAO.replaceUser(user, upgraded)) {
+                user = upgraded;
+                logger.info("Upgraded stored password of user {}", username);
+            }
+        }
+        credentialCache.put(username, verified, password);
+        return user;
+    }
+
+    /**
+     * Check the password on the verifier pool.
+     *
+     * @return null if the password is wrong, otherwise the value to store: {@code stored} itself, or a fresh hash
+     * if {@code stored} is plaintext or weaker than the current settings.
+     */
+    private String verify(String password, String stored) {
+        return onVerifier(() -> {
+            if (!passwordHasher.verify(password, stored)) {
+                return null;
+            }
+            return passwordHasher.needsRehash(stored) ? passwordHasher.hash(password) : stored;
+        }, ERROR_LOGIN_THROTTLED);
+    }
+
+    /**
+     * Hash a new password on the verifier pool.
+     *
+     * @throws LoginThrottledException if the password could not be hashed in time.
+     */
+    private String hash(String password) {
+        return onVerifier(() -> passwordHasher.hash(password), ERROR_PASSWORD_THROTTLED);
+    }
+
+    private <T> T onVerifier(Callable<T> task, String throttledMessage) {
+        Future<T> result;
+        try {
+            result = verifier.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException(throttledMessage, e);
+        }
+        try {
+            return result.get(verifyTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new LoginThrottledException(throttledMessage, e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new LoginThrottledException(throttledMessage, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifier.shutdownNow();
     }
     @Override
     public User register(String username, String password, String role) {
@@ -100,8 +442,13 @@ public class UserServiceImpl implements UserService {
         if (userDAO.getUserByUsername(username).isPresent()) {
             throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
         }
-        User user = new User(UUID.randomUUID().toString(), username, password, role);
-        return userDAO.createUser(user);
+        User user = new User(Ids.randomId(), username, hash(password), role);
+        User created = userDAO.createUser(user);
+        // The DAO keeps the first owner of a username, so a concurrent registration that slipped past the check above loses here.
+        if (created != user) {
+            throw new UserAlreadyExistsException(ERROR_USER_EXISTS);
+        }
+        return created;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.models.SlowTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size ring of the most recent slow traces. Adding never blocks or allocates beyond the trace itself; once
+ * full, each new trace overwrites the oldest.
+ */
+public class SlowTraceBuffer {
+    private final AtomicReferenceArray<SlowTrace> slots;
+    private final AtomicLong added = new AtomicLong();
+
+    public SlowTraceBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowTrace trace) {
+        slots.set((int) (added.getAndIncrement() % slots.length()), trace);
+    }
+
+    /**
+     * @return up to {@code limit} traces, newest first.
+     */
+    public List<SlowTrace> recent(int limit) {
+        long newest = added.get() - 1;
+        int count = (int) Math.min(Math.min(limit, slots.length()), newest + 1);
+        List<SlowTrace> traces = new ArrayList<>(Math.max(count, 0));
+        for (long i = newest; i > newest - count; i--) {
+            SlowTrace trace = slots.get((int) (i % slots.length()));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+}
@@ -0,0 +1,28 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.models.SlowTrace;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Lists the most recent slow traced requests, newest first: {@code GET /actuator/traces?limit=20} on the
+ * management port.
+ */
+@Endpoint(id = "traces")
+public class SlowTraceEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final Tracer tracer;
+
+    public SlowTraceEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public List<SlowTrace> traces(@Nullable Integer limit) {
+        return tracer.recentSlowTraces(limit == null ? DEFAULT_LIMIT : Math.max(limit, 0));
+    }
+}
@@ -0,0 +1,219 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.models.SlowTrace;
+import com.onlinequiz.models.TraceSpan;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process request tracing. Every request gets a trace ID; one in {@code sampleEvery} is also traced, recording a
+ * span for each controller, service and DAO call it makes on the request thread. Traced requests slower than the
+ * threshold are kept in a {@link SlowTraceBuffer}.
+ * <p>
+ * Calls outside a traced request cost the proxies one thread-local read, so untraced requests, background work and
+ * the console UI pay next to nothing.
+ */
+public class Tracer {
+    public static final String TRACE_ID = "traceId";
+    private static final String SERVICES_PACKAGE = "com.onlinequiz.services";
+    private static final String DAO_PACKAGE = "com.onlinequiz.dao";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int sampleEvery;
+    private final long slowThresholdNanos;
+    private final int maxSpans;
+    private final SlowTraceBuffer slowTraces;
+    private final ThreadLocal<Trace> current = new ThreadLocal<>();
+    private final ConcurrentMap<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    public Tracer(int sampleEvery, long slowThresholdMillis, int maxSpans, SlowTraceBuffer slowTraces) {
+        if (sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be positive");
+        }
+        this.sampleEvery = sampleEvery;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxSpans = maxSpans;
+        this.slowTraces = slowTraces;
+    }
+
+    /**
+     * @return a new random 64-bit trace ID as 16 hex digits.
+     */
+    public static String newTraceId() {
+        long bits = ThreadLocalRandom.current().nextLong();
+        char[] id = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            id[i] = HEX[(int) (bits & 0xF)];
+            bits >>>= 4;
+        }
+        return new String(id);
+    }
+
+    /**
+     * Start a request on the current thread, sampling it for tracing or not.
+     *
+     * @return the request's trace, to be passed to {@link #end}; {@code null} if it is not sampled.
+     */
+    public Trace begin(String traceId, String name) {
+        if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return null;
+        }
+        Trace trace = new Trace(traceId, name, maxSpans);
+        current.set(trace);
+        return trace;
+    }
+
+    /**
+     * Finish a request begun with {@link #begin}, keeping it if it was slow.
+     */
+    public void end(Trace trace, int status) {
+        if (trace == null) {
+            return;
+        }
+        current.remove();
+        long duration = System.nanoTime() - trace.startNanos;
+        if (duration >= slowThresholdNanos) {
+            slowTraces.add(new SlowTrace(trace.id, trace.name, status, trace.startedAt,
+                    TimeUnit.NANOSECONDS.toMicros(duration), trace.spans, trace.droppedSpans));
+        }
+    }
+
+    /**
+     * Open a span in the current thread's trace.
+     *
+     * @return the span's handle for {@link #exit}, or -1 if the thread is not tracing a request.
+     */
+    public int enter(String layer, String name) {
+        Trace trace = current.get();
+        return trace == null ? -1 : trace.open(layer, name);
+    }
+
+    public void exit(int span, Throwable error) {
+        Trace trace = current.get();
+        if (trace != null && span >= 0) {
+            trace.close(span, error);
+        }
+    }
+
+    public List<SlowTrace> recentSlowTraces(int limit) {
+        return slowTraces.recent(limit);
+    }
+
+    /**
+     * @return a proxy implementing the service and DAO interfaces of {@code bean} that opens a span around every
+     * call, or {@code bean} itself if it implements none. Persistence engines are left alone; their time shows up
+     * in the DAO call that uses them.
+     */
+    public Object instrument(Object bean) {
+        List<Class<?>> interfaces = new ArrayList<>();
+        String layer = null;
+        for (Class<?> type = bean.getClass(); type != null; type = type.getSuperclass()) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                String packageName = candidate.getPackageName();
+                boolean service = packageName.equals(SERVICES_PACKAGE);
+                boolean dao = packageName.equals(DAO_PACKAGE) && candidate.getSimpleName().endsWith("DAO");
+                if ((service || dao) && !interfaces.contains(candidate)) {
+                    interfaces.add(candidate);
+                    layer = service ? "service" : "dao";
+                }
+            }
+        }
+        if (interfaces.isEmpty()) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(bean.getClass().getClassLoader(), interfaces.toArray(new Class<?>[0]),
+                new Spanning(bean, layer));
+    }
+
+    private final class Spanning implements InvocationHandler {
+        private final Object target;
+        private final String layer;
+
+        Spanning(Object target, String layer) {
+            this.target = target;
+            this.layer = layer;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Trace trace = current.get();
+            if (trace == null || method.getDeclaringClass() == Object.class) {
+                return invokeTarget(method, args);
+            }
+            int span = trace.open(layer, spanNames.computeIfAbsent(method,
+                    key -> key.getDeclaringClass().getSimpleName() + "." + key.getName()));
+            Throwable error = null;
+            try {
+                return invokeTarget(method, args);
+            } catch (Throwable e) {
+                error = e;
+                throw e;
+            } finally {
+                trace.close(span, error);
+            }
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * The spans of one request, only ever touched by the thread serving it.
+     */
+    public static final class Trace {
+        final String id;
+        final String name;
+        final long startedAt = System.currentTimeMillis();
+        final long startNanos = System.nanoTime();
+        final List<TraceSpan> spans = new ArrayList<>();
+        private final int maxSpans;
+        private final List<Long> openedAt = new ArrayList<>();
+        private int depth;
+        private int droppedSpans;
+
+        Trace(String id, String name, int maxSpans) {
+            this.id = id;
+            this.name = name;
+            this.maxSpans = maxSpans;
+        }
+
+        int open(String layer, String spanName) {
+            // Spans past the limit are counted, not kept; every later one is dropped too, so depth stays right.
+            if (spans.size() >= maxSpans) {
+                droppedSpans++;
+                return -1;
+            }
+            depth++;
+            long now = System.nanoTime();
+            spans.add(new TraceSpan(layer, spanName, depth, TimeUnit.NANOSECONDS.toMicros(now - startNanos)));
+            openedAt.add(now);
+            return spans.size() - 1;
+        }
+
+        void close(int span, Throwable error) {
+            if (span < 0) {
+                return;
+            }
+            depth--;
+            TraceSpan closed = spans.get(span);
+            closed.setDurationMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - openedAt.get(span)));
+            if (error != null) {
+                closed.setError(error.getClass().getSimpleName());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.onlinequiz.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Gives every request a trace ID, taken from the {@code X-Trace-Id} request header when the caller sent a sane one,
+ * echoes it in the response and puts it in the logging MDC for the duration of the request. Sampled requests are
+ * traced by the {@link Tracer}.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+    public static final String TRACE_HEADER = "X-Trace-Id";
+    private static final int MAX_TRACE_ID_LENGTH = 64;
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String traceId = request.getHeader(TRACE_HEADER);
+        if (!isValid(traceId)) {
+            traceId = Tracer.newTraceId();
+        }
+        response.setHeader(TRACE_HEADER, traceId);
+        MDC.put(Tracer.TRACE_ID, traceId);
+        Tracer.Trace trace = tracer.begin(traceId, request.getMethod() + " " + request.getRequestURI());
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            tracer.end(trace, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+            MDC.remove(Tracer.TRACE_ID);
+        }
+    }
+
+    // Caller-supplied IDs end up in logs and response headers, so only short, plain tokens are accepted.
+    static boolean isValid(String traceId) {
+        if (traceId == null || traceId.isEmpty() || traceId.length() > MAX_TRACE_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < traceId.length(); i++) {
+            char c = traceId.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
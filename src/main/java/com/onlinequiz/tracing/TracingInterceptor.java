@@ -0,0 +1,52 @@
+package com.onlinequiz.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Opens the controller span of a traced request around its handler method.
+ */
+public class TracingInterceptor implements AsyncHandlerInterceptor {
+    private static final String SPAN_ATTRIBUTE = TracingInterceptor.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    public TracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            int span = tracer.enter("controller",
+                    method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+            if (span >= 0) {
+                request.setAttribute(SPAN_ATTRIBUTE, span);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        close(request, ex);
+    }
+
+    // Streaming responses return the request thread as soon as the handler does; the span ends there too.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        close(request, null);
+    }
+
+    private void close(HttpServletRequest request, Exception ex) {
+        Object span = request.getAttribute(SPAN_ATTRIBUTE);
+        if (span != null) {
+            request.removeAttribute(SPAN_ATTRIBUTE);
+            tracer.exit((Integer) span, ex);
+        }
+    }
+}
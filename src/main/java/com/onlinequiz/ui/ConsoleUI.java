@@ -4,12 +4,15 @@ import com.onlinequiz.exception.QuestionException;
 import com.onlinequiz.exception.QuizException;
 import com.onlinequiz.models.Question;
 import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizAttempt;
 import com.onlinequiz.models.User;
+import com.onlinequiz.services.AttemptService;
 import com.onlinequiz.services.QuizService;
 import com.onlinequiz.services.UserService;
 import com.onlinequiz.services.QuestionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Scanner;
@@ -23,16 +26,19 @@ public class ConsoleUI {
     private final QuizService quizService;
     private final UserService userService;
     private final QuestionService questionService;
+    private final AttemptService attemptService;
     private final Scanner scanner;
     private static final Logger logger = LoggerFactory.getLogger(ConsoleUI.class);
     private User currentUser;
     private boolean isRunning;
 
     @Autowired
-    public ConsoleUI(QuizService quizService, UserService userService, QuestionService questionService) {
+    public ConsoleUI(QuizService quizService, UserService userService, QuestionService questionService,
+                     AttemptService attemptService) {
         this.quizService = quizService;
         this.userService = userService;
         this.questionService = questionService;
+        this.attemptService = attemptService;
         this.scanner = new Scanner(System.in);
         this.isRunning = true;
         logger.info("ConsoleUI initialized");
@@ -201,7 +207,7 @@ public class ConsoleUI {
         printHeader("Take Quiz");
         String accessCode = getStringInput("Enter quiz access code: ");
 
-        int score = quizService.takeQuiz(accessCode, scanner);
+        int score = quizService.takeQuiz(currentUser.getId(), accessCode, scanner);
         logger.info("User completed quiz with access code: {}. Score: {}", accessCode, score);
         printSuccess("Quiz completed! Your score: " + score);
     }
@@ -268,7 +274,16 @@ public class ConsoleUI {
     private void viewQuizResults() {
         logger.debug("Viewing quiz results");
         printHeader("Quiz Results");
-        printInfo("Pending task in this version will be implemented in next version update.");
+        List<QuizAttempt> attempts = attemptService.getUserAttempts(currentUser.getId(), null, null, null);
+        if (attempts.isEmpty()) {
+            printInfo("You have not taken any quizzes yet.");
+            return;
+        }
+        for (QuizAttempt attempt : attempts) {
+            String title = quizService.getQuizById(attempt.getQuizId()).map(Quiz::getTitle).orElse(attempt.getQuizId());
+            printInfo(String.format("Quiz: %s, Score: %d/%d, Submitted: %s", title, attempt.getScore(),
+                    attempt.getTotalMarks(), Instant.ofEpochMilli(attempt.getSubmittedAt())));
+        }
     }
 
     private void logout() {
@@ -0,0 +1,95 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deterministic records for the benchmarks. Record {@code i} always has the same ID, username or access code, so
+ * a benchmark can look up any existing record by index without keeping a list of them.
+ */
+final class Datasets {
+    static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+    static final String[] TOPICS = {"java", "sql", "http", "linux", "git", "spring", "jvm", "collections"};
+    static final int SEARCH_VOCABULARY = 20_000;
+    static final int SEARCH_TITLE_WORDS = 10;
+
+    private Datasets() {
+    }
+
+    static String id(String kind, long i) {
+        return kind + "-" + i;
+    }
+
+    static String username(long i) {
+        return "user" + i;
+    }
+
+    // Built by hand: String.format would cost more than the lookup being measured.
+    static String accessCode(long i) {
+        String hex = Long.toHexString(i & 0xFFFFFF).toUpperCase(Locale.ROOT);
+        return "000000".substring(hex.length()) + hex;
+    }
+
+    static User user(long i) {
+        return new User(id("u", i), username(i), "password" + i, i % 50 == 0 ? "ADMIN" : "USER");
+    }
+
+    static Question question(long i) {
+        List<String> topics = Arrays.asList(TOPICS[(int) (i % TOPICS.length)], TOPICS[(int) ((i / 7) % TOPICS.length)]);
+        return new Question(id("q", i), "Question number " + i + " about " + topics.get(0),
+                Arrays.asList("Option A", "Option B", "Option C", "Option D"), (int) (i % 4),
+                DIFFICULTIES[(int) (i % DIFFICULTIES.length)], topics, 1 + (int) (i % 3));
+    }
+
+    /**
+     * Question {@code i} with a title of {@code SEARCH_TITLE_WORDS} words drawn from a {@code SEARCH_VOCABULARY}-word
+     * vocabulary, skewed so that a few words are in most titles and most words are rare, as in real question text.
+     */
+    static Question searchableQuestion(long i) {
+        StringBuilder title = new StringBuilder();
+        long state = i * 0x9E3779B97F4A7C15L;
+        for (int w = 0; w < SEARCH_TITLE_WORDS; w++) {
+            state = state * 6364136223846793005L + 1442695040888963407L;
+            double uniform = (state >>> 11) * 0x1.0p-53;
+            title.append(searchWord((int) (SEARCH_VOCABULARY * Math.pow(uniform, 3)))).append(' ');
+        }
+        Question question = question(i);
+        question.setTitle(title.toString().trim());
+        return question;
+    }
+
+    static String searchWord(int rank) {
+        return "term" + rank;
+    }
+
+    static Quiz quiz(long i, int questionCount) {
+        List<Question> questions = new ArrayList<>(questionCount);
+        int totalMarks = 0;
+        for (int q = 0; q < questionCount; q++) {
+            Question question = question(i * questionCount + q);
+            questions.add(question);
+            totalMarks += question.getMarks();
+        }
+        return new Quiz(id("z", i), "Quiz " + i, questions, totalMarks, accessCode(i), false);
+    }
+
+    /**
+     * Answers to {@code quiz} where roughly {@code correctPercent} percent of the questions are answered right.
+     */
+    static int[] answers(Quiz quiz, int correctPercent, long seed) {
+        int[] answers = new int[quiz.getQuestions().size()];
+        long state = seed;
+        for (int i = 0; i < answers.length; i++) {
+            state = state * 6364136223846793005L + 1442695040888963407L;
+            int correct = quiz.getQuestions().get(i).getCorrectOptionIndex();
+            answers[i] = Math.floorMod(state >>> 33, 100) < correctPercent ? correct : (correct + 1) % 4;
+        }
+        return answers;
+    }
+}
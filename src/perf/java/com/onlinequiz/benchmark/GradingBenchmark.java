@@ -0,0 +1,122 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.AttemptDAOImpl;
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.QuizDAOImpl;
+import com.onlinequiz.models.BatchGradingStats;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.impl.AnswerKey;
+import com.onlinequiz.services.impl.AttemptServiceImpl;
+import com.onlinequiz.services.impl.BatchGrader;
+import com.onlinequiz.services.impl.LeaderboardServiceImpl;
+import com.onlinequiz.services.impl.QuestionServiceImpl;
+import com.onlinequiz.services.impl.QuizEventServiceImpl;
+import com.onlinequiz.services.impl.QuizServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring a submission: the bare {@link AnswerKey} loop, a full submission through {@link QuizServiceImpl} (grading
+ * plus attempt, item analysis, leaderboard and live event bookkeeping), and streaming NDJSON batch grading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingBenchmark {
+    private static final int BATCH_SUBMISSIONS = 1000;
+    private static final int ANSWER_SETS = 1024;
+
+    @Param({"10", "50"})
+    public int questions;
+
+    @Param({"1000", "100000"})
+    public int users;
+
+    private Quiz quiz;
+    private AnswerKey answerKey;
+    private int[][] answerSets;
+    private byte[] batch;
+    private BatchGrader batchGrader;
+    private QuizEventServiceImpl quizEventService;
+    private QuizServiceImpl quizService;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        quiz = Datasets.quiz(0, questions);
+        answerKey = AnswerKey.compile(quiz);
+        answerSets = new int[ANSWER_SETS][];
+        for (int i = 0; i < ANSWER_SETS; i++) {
+            answerSets[i] = Datasets.answers(quiz, 60, i);
+        }
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < BATCH_SUBMISSIONS; i++) {
+            ndjson.append("{\"userId\":\"").append(Datasets.username(i)).append("\",\"answers\":[");
+            int[] answers = answerSets[i % ANSWER_SETS];
+            for (int a = 0; a < answers.length; a++) {
+                ndjson.append(a == 0 ? "" : ",").append(answers[a]);
+            }
+            ndjson.append("]}\n");
+        }
+        batch = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+        batchGrader = new BatchGrader();
+    }
+
+    // Fresh services every iteration so recorded attempts do not pile up across the run.
+    @Setup(Level.Iteration)
+    public void wireServices() {
+        AttemptDAOImpl attemptDAO = new AttemptDAOImpl();
+        LeaderboardServiceImpl leaderboardService = new LeaderboardServiceImpl(attemptDAO);
+        quizEventService = new QuizEventServiceImpl(leaderboardService, 250, 256, 1, 5000);
+        QuizDAOImpl quizDAO = new QuizDAOImpl();
+        quizDAO.createQuiz(quiz);
+        quizService = new QuizServiceImpl(quizDAO, new QuestionServiceImpl(new QuestionDAOImpl()),
+                new AttemptServiceImpl(attemptDAO), leaderboardService, quizEventService);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopServices() {
+        quizEventService.shutdown();
+    }
+
+    @Benchmark
+    public int answerKey() {
+        return answerKey.grade(answerSets[ThreadLocalRandom.current().nextInt(ANSWER_SETS)]);
+    }
+
+    @Benchmark
+    public SubmissionResult submitQuiz() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return quizService.submitQuiz(quiz, new Submission(Datasets.username(random.nextInt(users)),
+                answerSets[random.nextInt(ANSWER_SETS)]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SUBMISSIONS)
+    public BatchGradingStats batchGrade() throws IOException {
+        return batchGrader.grade(answerKey, new ByteArrayInputStream(batch), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,146 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.config.PersistenceConfig;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.QuestionSegmentStore;
+import com.onlinequiz.dao.impl.UserDAOImpl;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * The DAOs on the write-ahead log in a temporary directory, built the way {@link PersistenceConfig} builds them with
+ * its default snapshot and batch settings. {@code createUser} is the sustained durable write rate with many
+ * concurrent writers sharing each sync; {@code recoverQuestions} is a restart, replaying the snapshot and log tail of
+ * {@code questions} questions into a fresh {@link QuestionDAOImpl}.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+    private static final int SNAPSHOT_EVERY = 100_000;
+    private static final int MAX_BATCH = 4096;
+    private static final int LOAD_BATCH = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class UserLog {
+        @Param({"1000", "100000"})
+        public int records;
+
+        Path directory;
+        PersistenceEngine<User> engine;
+        UserDAOImpl userDAO;
+        final AtomicLong nextId = new AtomicLong();
+
+        // A fresh log every iteration so the store and the files stay the same size between iterations.
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("wal-users");
+            engine = config(directory).userPersistence();
+            userDAO = new UserDAOImpl(engine);
+            List<User> batch = new ArrayList<>(LOAD_BATCH);
+            for (long i = 0; i < records; i++) {
+                batch.add(Datasets.user(i));
+                if (batch.size() == LOAD_BATCH || i == records - 1) {
+                    userDAO.createUsers(batch);
+                    batch.clear();
+                }
+            }
+            nextId.set(records);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            engine.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class QuestionLog {
+        @Param({"100000", "1000000"})
+        public int questions;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void write() throws IOException {
+            directory = Files.createTempDirectory("wal-questions");
+            PersistenceEngine<Question> engine = config(directory).questionPersistence();
+            try {
+                QuestionDAOImpl questionDAO = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+                List<Question> batch = new ArrayList<>(LOAD_BATCH);
+                for (long i = 0; i < questions; i++) {
+                    batch.add(Datasets.question(i));
+                    if (batch.size() == LOAD_BATCH || i == questions - 1) {
+                        questionDAO.putQuestions(batch);
+                        batch.clear();
+                    }
+                }
+            } finally {
+                engine.close();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            PersistenceBenchmark.delete(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(32)
+    public User createUser(UserLog log) {
+        return log.userDAO.createUser(Datasets.user(log.nextId.getAndIncrement()));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int recoverQuestions(QuestionLog log) {
+        PersistenceEngine<Question> engine = config(log.directory).questionPersistence();
+        try {
+            return new QuestionDAOImpl(engine, QuestionSegmentStore.disabled()).countQuestions();
+        } finally {
+            engine.close();
+        }
+    }
+
+    private static PersistenceConfig config(Path directory) {
+        return new PersistenceConfig(directory.toString(), SNAPSHOT_EVERY, MAX_BATCH, "");
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create, get, list and topic/difficulty lookup on {@link QuestionDAOImpl} over {@code records} questions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionDAOBenchmark {
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private QuestionDAOImpl questionDAO;
+    private long nextId;
+    private final QuestionQuery query = new QuestionQuery(Collections.singletonList("java"), Arrays.asList("sql", "jvm"),
+            Collections.emptyList(), Collections.singletonList("HARD"));
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        questionDAO = new QuestionDAOImpl();
+        for (long i = 0; i < records; i++) {
+            questionDAO.createQuestion(Datasets.question(i));
+        }
+        nextId = records;
+    }
+
+    @Benchmark
+    public Question create() {
+        return questionDAO.createQuestion(Datasets.question(nextId++));
+    }
+
+    @Benchmark
+    public Optional<Question> getById() {
+        return questionDAO.getQuestionById(Datasets.id("q", ThreadLocalRandom.current().nextInt(records)));
+    }
+
+    @Benchmark
+    public List<Question> listPage() {
+        return questionDAO.getQuestionsAfter(Datasets.id("q", ThreadLocalRandom.current().nextInt(records)), 50);
+    }
+
+    @Benchmark
+    public List<Question> findPage() {
+        return questionDAO.findQuestionsAfter(query, null, 50);
+    }
+
+    @Benchmark
+    public List<Question> sample() {
+        return questionDAO.sampleQuestions(query, Collections.emptySet(), 20);
+    }
+}
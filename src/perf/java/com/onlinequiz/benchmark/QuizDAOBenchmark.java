@@ -0,0 +1,70 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.QuizDAOImpl;
+import com.onlinequiz.models.Quiz;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create, get, list and access-code lookup on {@link QuizDAOImpl} over {@code records} quizzes of ten questions.
+ * Access codes are six hex digits, so stores above 16M quizzes would repeat codes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizDAOBenchmark {
+    private static final int QUESTIONS_PER_QUIZ = 10;
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private QuizDAOImpl quizDAO;
+    private long nextId;
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        quizDAO = new QuizDAOImpl();
+        for (long i = 0; i < records; i++) {
+            quizDAO.createQuiz(Datasets.quiz(i, QUESTIONS_PER_QUIZ));
+        }
+        nextId = records;
+    }
+
+    @Benchmark
+    public Quiz create() {
+        return quizDAO.createQuiz(Datasets.quiz(nextId++, QUESTIONS_PER_QUIZ));
+    }
+
+    @Benchmark
+    public Optional<Quiz> getById() {
+        return quizDAO.getQuizById(Datasets.id("z", ThreadLocalRandom.current().nextInt(records)));
+    }
+
+    @Benchmark
+    public Optional<Quiz> getByAccessCode() {
+        return quizDAO.getQuizByAccessCode(Datasets.accessCode(ThreadLocalRandom.current().nextInt(records)));
+    }
+
+    @Benchmark
+    public List<Quiz> listPage() {
+        return quizDAO.getQuizzesAfter(Datasets.id("z", ThreadLocalRandom.current().nextInt(records)), 50);
+    }
+}
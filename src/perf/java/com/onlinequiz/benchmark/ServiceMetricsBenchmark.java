@@ -0,0 +1,80 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.AttemptDAOImpl;
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.QuizDAOImpl;
+import com.onlinequiz.metrics.ServiceMetrics;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.services.QuizService;
+import com.onlinequiz.services.impl.AttemptServiceImpl;
+import com.onlinequiz.services.impl.LeaderboardServiceImpl;
+import com.onlinequiz.services.impl.QuestionServiceImpl;
+import com.onlinequiz.services.impl.QuizEventServiceImpl;
+import com.onlinequiz.services.impl.QuizServiceImpl;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link ServiceMetrics} adds to a cheap service call: a quiz lookup made directly, and through the metrics
+ * proxy recording into a Prometheus registry with percentile histograms, timing one call in {@code sampleEvery}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceMetricsBenchmark {
+    @Param({"1", "16"})
+    public int sampleEvery;
+
+    private QuizEventServiceImpl quizEventService;
+    private QuizService direct;
+    private QuizService instrumented;
+    private String quizId;
+
+    @Setup
+    public void wireServices() {
+        AttemptDAOImpl attemptDAO = new AttemptDAOImpl();
+        LeaderboardServiceImpl leaderboardService = new LeaderboardServiceImpl(attemptDAO);
+        quizEventService = new QuizEventServiceImpl(leaderboardService, 250, 256, 1, 5000);
+        QuizDAOImpl quizDAO = new QuizDAOImpl();
+        Quiz quiz = Datasets.quiz(0, 10);
+        quizDAO.createQuiz(quiz);
+        quizId = quiz.getId();
+        direct = new QuizServiceImpl(quizDAO, new QuestionServiceImpl(new QuestionDAOImpl()),
+                new AttemptServiceImpl(attemptDAO), leaderboardService, quizEventService);
+        instrumented = (QuizService) new ServiceMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), sampleEvery,
+                true).instrument(direct);
+    }
+
+    @TearDown
+    public void stopServices() {
+        quizEventService.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Quiz> direct() {
+        return direct.getQuizById(quizId);
+    }
+
+    @Benchmark
+    public Optional<Quiz> instrumented() {
+        return instrumented.getQuizById(quizId);
+    }
+}
@@ -0,0 +1,109 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.UserDAOImpl;
+import com.onlinequiz.exception.InvalidRoleException;
+import com.onlinequiz.exception.QuestionException;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.User;
+import com.onlinequiz.services.impl.PasswordHasher;
+import com.onlinequiz.services.impl.QuestionServiceImpl;
+import com.onlinequiz.services.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service-layer input checks, on the accepted path (validation plus the store) and on the rejected path, where
+ * the cost is mostly building the exception. Login is measured on the credential-cache hit path; a cache miss is
+ * dominated by the configured PBKDF2 cost, which is tuned rather than optimised.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceValidationBenchmark {
+    private static final int CACHED_LOGINS = 1000;
+    private static final int HASH_ITERATIONS = 1000;
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private QuestionServiceImpl questionService;
+    private UserServiceImpl userService;
+
+    @Setup(Level.Iteration)
+    public void populate() {
+        QuestionDAOImpl questionDAO = new QuestionDAOImpl();
+        for (long i = 0; i < records; i++) {
+            questionDAO.createQuestion(Datasets.question(i));
+        }
+        questionService = new QuestionServiceImpl(questionDAO);
+        UserDAOImpl userDAO = new UserDAOImpl();
+        PasswordHasher passwordHasher = new PasswordHasher(HASH_ITERATIONS);
+        for (long i = 0; i < records; i++) {
+            User user = Datasets.user(i);
+            if (i < CACHED_LOGINS) {
+                user.setPassword(passwordHasher.hash(user.getPassword()));
+            }
+            userDAO.createUser(user);
+        }
+        userService = new UserServiceImpl(userDAO, HASH_ITERATIONS, 1, 16, 5000, 3600, CACHED_LOGINS);
+        for (long i = 0; i < Math.min(records, CACHED_LOGINS); i++) {
+            userService.login(Datasets.username(i), "password" + i);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() {
+        userService.shutdown();
+    }
+
+    @Benchmark
+    public Question createQuestion() {
+        return questionService.createQuestion("What does the JIT compile?", Arrays.asList("Hot methods", "Everything"),
+                0, "MEDIUM", Collections.singletonList("jvm"), 2);
+    }
+
+    @Benchmark
+    public Object rejectQuestion() {
+        try {
+            return questionService.createQuestion("Bad difficulty", Arrays.asList("A", "B"), 0, "IMPOSSIBLE",
+                    Collections.singletonList("jvm"), 1);
+        } catch (QuestionException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object rejectUser() {
+        try {
+            return userService.createUser("someone", "password", "OWNER");
+        } catch (InvalidRoleException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public User loginCached() {
+        int i = ThreadLocalRandom.current().nextInt(Math.min(records, CACHED_LOGINS));
+        return userService.login(Datasets.username(i), "password" + i);
+    }
+}
@@ -0,0 +1,94 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.dao.impl.AttemptDAOImpl;
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.QuizDAOImpl;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.services.QuizService;
+import com.onlinequiz.services.impl.AttemptServiceImpl;
+import com.onlinequiz.services.impl.LeaderboardServiceImpl;
+import com.onlinequiz.services.impl.QuestionServiceImpl;
+import com.onlinequiz.services.impl.QuizEventServiceImpl;
+import com.onlinequiz.services.impl.QuizServiceImpl;
+import com.onlinequiz.tracing.SlowTraceBuffer;
+import com.onlinequiz.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link Tracer} adds to a request making one service call and one DAO call: the call made directly, through
+ * the tracing proxies outside any request, and as a whole request of which one in {@code sampleEvery} is traced.
+ * Nothing is slow enough to be kept, so only the cost of tracing itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TracingBenchmark {
+    @Param({"1", "10"})
+    public int sampleEvery;
+
+    private QuizEventServiceImpl quizEventService;
+    private Tracer tracer;
+    private QuizService direct;
+    private QuizService traced;
+    private String quizId;
+
+    @Setup
+    public void wireServices() {
+        tracer = new Tracer(sampleEvery, 60_000, 256, new SlowTraceBuffer(100));
+        AttemptDAOImpl attemptDAO = new AttemptDAOImpl();
+        LeaderboardServiceImpl leaderboardService = new LeaderboardServiceImpl(attemptDAO);
+        quizEventService = new QuizEventServiceImpl(leaderboardService, 250, 256, 1, 5000);
+        QuizDAOImpl quizDAO = new QuizDAOImpl();
+        Quiz quiz = Datasets.quiz(0, 10);
+        quizDAO.createQuiz(quiz);
+        quizId = quiz.getId();
+        direct = new QuizServiceImpl(quizDAO, new QuestionServiceImpl(new QuestionDAOImpl()),
+                new AttemptServiceImpl(attemptDAO), leaderboardService, quizEventService);
+        traced = (QuizService) tracer.instrument(new QuizServiceImpl((QuizDAO) tracer.instrument(quizDAO),
+                new QuestionServiceImpl(new QuestionDAOImpl()), new AttemptServiceImpl(attemptDAO),
+                leaderboardService, quizEventService));
+    }
+
+    @TearDown
+    public void stopServices() {
+        quizEventService.shutdown();
+    }
+
+    @Benchmark
+    public Optional<Quiz> direct() {
+        return direct.getQuizById(quizId);
+    }
+
+    @Benchmark
+    public Optional<Quiz> untraced() {
+        return traced.getQuizById(quizId);
+    }
+
+    @Benchmark
+    public Optional<Quiz> request() {
+        Tracer.Trace trace = tracer.begin("0123456789abcdef", "GET /api/quizzes");
+        try {
+            return traced.getQuizById(quizId);
+        } finally {
+            tracer.end(trace, 200);
+        }
+    }
+}
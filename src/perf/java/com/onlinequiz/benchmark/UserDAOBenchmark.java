@@ -0,0 +1,79 @@
+package com.onlinequiz.benchmark;
+
+import com.onlinequiz.dao.impl.UserDAOImpl;
+import com.onlinequiz.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create, get, list and lookup on {@link UserDAOImpl} over an in-memory store of {@code records} users.
+ * {@code scanByUsername} is the linear search the username index replaced, kept as the baseline for the lookups.
+ * The same DAO on the write-ahead log is measured in {@link PersistenceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDAOBenchmark {
+
+    @Param({"1000", "100000"})
+    public int records;
+
+    private UserDAOImpl userDAO;
+    private long nextId;
+
+    // Rebuilt every iteration so the create benchmark does not grow the store without bound.
+    @Setup(Level.Iteration)
+    public void populate() {
+        userDAO = new UserDAOImpl();
+        for (long i = 0; i < records; i++) {
+            userDAO.createUser(Datasets.user(i));
+        }
+        nextId = records;
+    }
+
+    @Benchmark
+    public User create() {
+        return userDAO.createUser(Datasets.user(nextId++));
+    }
+
+    @Benchmark
+    public Optional<User> getById() {
+        return userDAO.getUserById(Datasets.id("u", ThreadLocalRandom.current().nextInt(records)));
+    }
+
+    @Benchmark
+    public Optional<User> getByUsername() {
+        return userDAO.getUserByUsername(Datasets.username(ThreadLocalRandom.current().nextInt(records)));
+    }
+
+    @Benchmark
+    public List<User> listPage() {
+        return userDAO.getUsersAfter(Datasets.id("u", ThreadLocalRandom.current().nextInt(records)), 50);
+    }
+
+    @Benchmark
+    public Optional<User> scanByUsername() {
+        String username = Datasets.username(ThreadLocalRandom.current().nextInt(records));
+        return userDAO.getAllUsers().stream()
+                .filter(user -> user.getUsername().equals(username))
+                .findFirst();
+    }
+}
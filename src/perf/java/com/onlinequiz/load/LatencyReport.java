@@ -0,0 +1,132 @@
+package com.onlinequiz.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint HDR latency histograms and outcome counts. Latency is measured from when a request was due to be
+ * sent, not from when it was actually sent, so time a request spent waiting behind a stalled client or server is
+ * counted rather than silently omitted. Requests the driver dropped without sending have no latency; they are
+ * counted apart and kept out of the histograms, so a non-zero {@code dropped} means the percentiles understate.
+ */
+class LatencyReport {
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    LatencyReport(List<String> names) {
+        for (String name : names) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+
+    void record(String endpoint, long latencyNanos, String outcome) {
+        Endpoint stats = endpoints.get(endpoint);
+        stats.latency.recordValue(Math.min(Math.max(latencyNanos, 0), MAX_TRACKED_NANOS));
+        stats.outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    void recordDropped(String endpoint) {
+        endpoints.get(endpoint).dropped.incrementAndGet();
+    }
+
+    /**
+     * Summarise the measured interval; call once, after the last response.
+     */
+    List<Summary> summarise(double seconds) {
+        List<Summary> summaries = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram histogram = entry.getValue().latency.getIntervalHistogram();
+            Map<String, Long> outcomes = new LinkedHashMap<>();
+            long succeeded = 0;
+            for (Map.Entry<String, AtomicLong> outcome : entry.getValue().outcomes.entrySet()) {
+                outcomes.put(outcome.getKey(), outcome.getValue().get());
+                if (outcome.getKey().startsWith("2")) {
+                    succeeded += outcome.getValue().get();
+                }
+            }
+            summaries.add(new Summary(entry.getKey(), histogram.getTotalCount(), entry.getValue().dropped.get(), succeeded,
+                    seconds, outcomes, histogram));
+        }
+        return summaries;
+    }
+
+    static void print(List<Summary> summaries, PrintStream out) {
+        out.printf(Locale.ROOT, "%-10s %9s %9s %9s %9s %9s %9s %9s %9s %9s  %s%n", "endpoint", "requests", "dropped",
+                "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms", "outcomes");
+        long dropped = 0;
+        for (Summary summary : summaries) {
+            out.printf(Locale.ROOT, "%-10s %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", summary.endpoint,
+                    summary.requests, summary.dropped, summary.throughput, summary.p50, summary.p90, summary.p99,
+                    summary.p999, summary.max, summary.mean, summary.outcomes);
+            dropped += summary.dropped;
+        }
+        if (dropped > 0) {
+            out.printf(Locale.ROOT, "%d requests were dropped at max-in-flight and are not in the percentiles; "
+                    + "lower the rate or raise max-in-flight%n", dropped);
+        }
+    }
+
+    static void writeJson(List<Summary> summaries, Path file) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summaries);
+    }
+
+    private static final class Endpoint {
+        final Recorder latency = new Recorder(MAX_TRACKED_NANOS, 3);
+        final ConcurrentMap<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+        final AtomicLong dropped = new AtomicLong();
+    }
+
+    /**
+     * One endpoint's results. Outcomes are HTTP status codes, or {@code timeout} / {@code error} when no response
+     * arrived; the throughput counts 2xx responses only. {@code requests} counts sent requests, {@code dropped}
+     * those never sent.
+     */
+    static final class Summary {
+        public final String endpoint;
+        public final long requests;
+        public final long dropped;
+        public final double throughput;
+        public final double p50;
+        public final double p90;
+        public final double p99;
+        public final double p999;
+        public final double max;
+        public final double mean;
+        public final Map<String, Long> outcomes;
+
+        Summary(String endpoint, long requests, long dropped, long succeeded, double seconds, Map<String, Long> outcomes,
+                Histogram histogram) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.dropped = dropped;
+            this.throughput = seconds > 0 ? succeeded / seconds : 0;
+            this.p50 = millis(histogram.getValueAtPercentile(50));
+            this.p90 = millis(histogram.getValueAtPercentile(90));
+            this.p99 = millis(histogram.getValueAtPercentile(99));
+            this.p999 = millis(histogram.getValueAtPercentile(99.9));
+            this.max = millis(histogram.getMaxValue());
+            this.mean = histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1e6;
+            this.outcomes = outcomes;
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.onlinequiz.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load driver for a running node.
+ * <p>
+ * Requests are scheduled at a fixed rate, evenly spaced or with Poisson arrivals, independently of how fast
+ * responses come back, and each latency is measured from the request's scheduled start. A server that stalls
+ * therefore shows up as the queueing delay real users would see, instead of the driver quietly slowing down with it
+ * (coordinated omission). Requests are never dropped to keep up, except beyond {@code --max-in-flight}, where they
+ * are counted as {@code dropped} and left out of the latency percentiles.
+ * <p>
+ * Options, all {@code --name=value}: {@code target} (http://localhost:8080), {@code rate} requests per second (200),
+ * {@code duration} and {@code warmup} in seconds (60, 10), {@code mix} (login=20,question=70,submit=10),
+ * {@code arrival} ({@code uniform} or {@code poisson}), {@code users} (100), {@code questions} (1000),
+ * {@code timeout} in seconds (10), {@code max-in-flight} (10000) and {@code report}, a JSON file for the results.
+ */
+public class LoadDriver {
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI target = URI.create(options.getOrDefault("target", "http://localhost:8080"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "60")));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "10")));
+        boolean poisson = "poisson".equals(options.getOrDefault("arrival", "uniform"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int questions = Integer.parseInt(options.getOrDefault("questions", "1000"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "10")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "10000"));
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        if (rate <= 0 || users < 1 || questions < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, users, questions and max-in-flight must be positive");
+        }
+
+        Workload workload = new Workload(target,
+                Workload.parseMix(options.getOrDefault("mix", "login=20,question=70,submit=10")), timeout);
+        ExecutorService callbacks = Executors.newFixedThreadPool(2);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(callbacks)
+                .build();
+        System.out.printf("Seeding %d users and %d questions on %s%n", users, questions, target);
+        workload.seed(client, users, questions);
+
+        LatencyReport report = new LatencyReport(Workload.ENDPOINTS);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        System.out.printf("Warming up for %ds, then measuring for %ds at %.0f requests/s%n",
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toSeconds(durationNanos), rate);
+        double offset = 0;
+        for (long intended = start; intended < end; intended = start + (long) offset) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            offset += poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos;
+            boolean measured = intended >= measureFrom;
+            String endpoint = workload.nextEndpoint();
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.recordDropped(endpoint);
+                }
+                continue;
+            }
+            HttpRequest request = workload.request(endpoint);
+            long scheduled = intended;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                inFlight.release();
+                if (measured) {
+                    report.record(endpoint, System.nanoTime() - scheduled, outcome(response, failure));
+                }
+            });
+        }
+
+        // Let the last requests finish or time out before reading the histograms.
+        inFlight.acquire(maxInFlight);
+        List<LatencyReport.Summary> summaries = report.summarise(durationNanos / 1e9);
+        LatencyReport.print(summaries, System.out);
+        if (options.containsKey("report")) {
+            LatencyReport.writeJson(summaries, Paths.get(options.get("report")));
+        }
+        callbacks.shutdown();
+    }
+
+    private static String outcome(HttpResponse<?> response, Throwable failure) {
+        if (failure == null) {
+            return Integer.toString(response.statusCode());
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof HttpTimeoutException ? "timeout" : "error";
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Options look like --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,233 @@
+package com.onlinequiz.load;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * What logging adds to request latency at a fixed request rate: request threads log the line
+ * {@code UserServiceImpl.createUser} logs, on an open-loop schedule, and the time from each request's scheduled
+ * start to the end of its log call is recorded. Three runs compare logging switched off (the harness's own noise
+ * floor), the former synchronous console and file appenders, and the asynchronous configuration in
+ * {@code logback.xml}. Console output goes to a file, as it would under a service manager; {@code stall-ms} makes
+ * that file stop accepting writes for a while every {@code stall-every-ms}, like a log shipper or terminal that
+ * falls behind. Asynchronous appenders buy their latency by discarding events when they fall behind, so after each
+ * run the lines that reached the console and log files are counted against the lines logged, and the share lost is
+ * reported beside the percentiles.
+ * <p>
+ * Options, all {@code --name=value}: {@code rate} log calls per second (50000), {@code threads} (2),
+ * {@code duration} and {@code warmup} in seconds (10, 3), {@code modes} (off,sync,async), {@code stall-ms} (0),
+ * {@code stall-every-ms} (1000) and {@code dir} for the log files, one subdirectory per mode (target/logging-latency).
+ */
+public class LoggingLatency {
+    private static final Logger logger = LoggerFactory.getLogger("com.onlinequiz.services.impl.UserServiceImpl");
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String MESSAGE = "Creating user: ";
+    private static final String CONSOLE_FILE = "console.log";
+    private static final String SYNCHRONOUS_CONFIG = "<configuration>"
+            + "<appender name=\"CONSOLE\" class=\"ch.qos.logback.core.ConsoleAppender\">"
+            + "<encoder><pattern>%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n</pattern></encoder>"
+            + "</appender>"
+            + "<appender name=\"FILE\" class=\"ch.qos.logback.core.FileAppender\">"
+            + "<file>${onlinequiz.logging.dir}/application.log</file>"
+            + "<encoder><pattern>%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n</pattern></encoder>"
+            + "</appender>"
+            + "<root level=\"INFO\"><appender-ref ref=\"CONSOLE\"/><appender-ref ref=\"FILE\"/></root>"
+            + "</configuration>";
+
+    private LoggingLatency() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "2"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "10")));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "3")));
+        long stallNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("stall-ms", "0")));
+        long stallEveryNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("stall-every-ms", "1000")));
+        Path dir = Paths.get(options.getOrDefault("dir", "target/logging-latency"));
+
+        PrintStream stdout = System.out;
+        stdout.printf(Locale.ROOT, "%d log calls/s on %d threads, %ds measured after %ds warm-up, console stalls %dms"
+                        + " every %dms, logs in %s%n", (long) rate, threads, TimeUnit.NANOSECONDS.toSeconds(durationNanos),
+                TimeUnit.NANOSECONDS.toSeconds(warmupNanos), TimeUnit.NANOSECONDS.toMillis(stallNanos),
+                TimeUnit.NANOSECONDS.toMillis(stallEveryNanos), dir);
+        stdout.printf(Locale.ROOT, "%-8s %9s %9s %9s %9s %9s %9s %11s %11s%n", "logging", "p50 us", "p90 us", "p99 us",
+                "p99.9 us", "max us", "mean us", "console lost", "file lost");
+        for (String mode : options.getOrDefault("modes", "off,sync,async").split(",")) {
+            Histogram latency;
+            AtomicLong logged = new AtomicLong();
+            Path modeDir = emptyDirectory(dir.resolve(mode));
+            System.setProperty("onlinequiz.logging.dir", modeDir.toString());
+            OutputStream file = new FileOutputStream(modeDir.resolve(CONSOLE_FILE).toFile());
+            try (PrintStream console = new PrintStream(stallNanos > 0 ? new Stalling(file, stallNanos, stallEveryNanos) : file,
+                    false, StandardCharsets.UTF_8)) {
+                System.setOut(console);
+                configure(mode);
+                latency = run(rate, threads, warmupNanos, durationNanos, logged);
+                // Stopping the context drains the async queues before the console file closes.
+                ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+            } finally {
+                System.setOut(stdout);
+            }
+            long consoleLines = 0;
+            long fileLines = 0;
+            try (Stream<Path> files = Files.list(modeDir)) {
+                for (Path written : (Iterable<Path>) files::iterator) {
+                    if (written.getFileName().toString().equals(CONSOLE_FILE)) {
+                        consoleLines += countMessages(written);
+                    } else {
+                        fileLines += countMessages(written);
+                    }
+                }
+            }
+            // With logging off nothing is meant to be written, so there is nothing to lose.
+            boolean off = "off".equals(mode);
+            stdout.printf(Locale.ROOT, "%-8s %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %11s %11s%n", mode,
+                    micros(latency.getValueAtPercentile(50)), micros(latency.getValueAtPercentile(90)),
+                    micros(latency.getValueAtPercentile(99)), micros(latency.getValueAtPercentile(99.9)),
+                    micros(latency.getMaxValue()), latency.getMean() / 1e3,
+                    off ? "-" : lost(consoleLines, logged.get()), off ? "-" : lost(fileLines, logged.get()));
+        }
+    }
+
+    private static Path emptyDirectory(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> stale = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) stale::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+        return directory;
+    }
+
+    // Rolled files are gzipped; other lines in the files, such as logback's own status, are not counted.
+    private static long countMessages(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        if (file.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> line.contains(MESSAGE)).count();
+        }
+    }
+
+    private static String lost(long written, long logged) {
+        return String.format(Locale.ROOT, "%.2f%%", logged == 0 ? 0 : 100.0 * (logged - written) / logged);
+    }
+
+    private static void configure(String mode) throws JoranException, IOException {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        if ("sync".equals(mode)) {
+            configurator.doConfigure(new ByteArrayInputStream(SYNCHRONOUS_CONFIG.getBytes(StandardCharsets.UTF_8)));
+        } else {
+            try (InputStream config = LoggingLatency.class.getResourceAsStream("/logback.xml")) {
+                configurator.doConfigure(config);
+            }
+        }
+        if ("off".equals(mode)) {
+            context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        }
+    }
+
+    private static Histogram run(double rate, int threads, long warmupNanos, long durationNanos, AtomicLong logged)
+            throws InterruptedException {
+        double gapNanos = TimeUnit.SECONDS.toNanos(1) * threads / rate;
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        List<Thread> workers = new ArrayList<>();
+        List<Histogram> histograms = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Histogram histogram = new Histogram(MAX_TRACKED_NANOS, 3);
+            histograms.add(histogram);
+            // Threads start staggered so their requests interleave evenly.
+            double first = start + gapNanos * t / threads;
+            Thread worker = new Thread(() -> {
+                long request = 0;
+                for (long intended = (long) first; intended < end; intended = (long) (first + ++request * gapNanos)) {
+                    long wait = intended - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    logger.info(MESSAGE + "{}", "user-" + request);
+                    if (intended >= measureFrom) {
+                        histogram.recordValue(Math.min(System.nanoTime() - intended, MAX_TRACKED_NANOS));
+                    }
+                }
+                logged.addAndGet(request);
+            }, "request-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        Histogram total = new Histogram(MAX_TRACKED_NANOS, 3);
+        for (int t = 0; t < threads; t++) {
+            workers.get(t).join();
+            total.add(histograms.get(t));
+        }
+        return total;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1e3;
+    }
+
+    /**
+     * Blocks writes during the first {@code stallNanos} of every {@code periodNanos}.
+     */
+    private static final class Stalling extends FilterOutputStream {
+        private final long stallNanos;
+        private final long periodNanos;
+        private final long origin = System.nanoTime();
+
+        Stalling(OutputStream out, long stallNanos, long periodNanos) {
+            super(out);
+            this.stallNanos = stallNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            long phase = (System.nanoTime() - origin) % periodNanos;
+            if (phase < stallNanos) {
+                LockSupport.parkNanos(stallNanos - phase);
+            }
+            out.write(bytes, offset, length);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.onlinequiz.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The requests the load driver replays: logins, question fetches and quiz submissions, weighted by a mix such as
+ * {@code login=20,question=70,submit=10}. {@link #seed} first creates the users, questions and quiz they refer to
+ * through the batch endpoints, so the run works against an empty node.
+ */
+class Workload {
+    static final String LOGIN = "login";
+    static final String QUESTION = "question";
+    static final String SUBMIT = "submit";
+    static final List<String> ENDPOINTS = Arrays.asList(LOGIN, QUESTION, SUBMIT);
+    private static final int QUIZ_QUESTIONS = 50;
+    private static final int SEED_BATCH = 1000;
+
+    private final URI target;
+    private final Duration timeout;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String[] endpointByTicket;
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> questionIds = new ArrayList<>();
+    private String accessCode;
+    private int quizQuestions;
+
+    Workload(URI target, Map<String, Integer> mix, Duration timeout) {
+        this.target = target;
+        this.timeout = timeout;
+        List<String> tickets = new ArrayList<>();
+        for (Map.Entry<String, Integer> weight : mix.entrySet()) {
+            if (!ENDPOINTS.contains(weight.getKey())) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + weight.getKey());
+            }
+            for (int i = 0; i < weight.getValue(); i++) {
+                tickets.add(weight.getKey());
+            }
+        }
+        if (tickets.isEmpty()) {
+            throw new IllegalArgumentException("The workload mix needs at least one positive weight");
+        }
+        this.endpointByTicket = tickets.toArray(new String[0]);
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("[=:]");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like name=weight, got: " + part);
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Create {@code users} users, {@code questions} questions and one quiz over the first fifty of them.
+     */
+    void seed(HttpClient client, int users, int questions) throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int from = 0; from < users; from += SEED_BATCH) {
+            ArrayNode operations = mapper.createArrayNode();
+            for (int i = from; i < Math.min(users, from + SEED_BATCH); i++) {
+                String username = "load-" + run + "-" + i;
+                ObjectNode user = mapper.createObjectNode().put("username", username).put("password", password(username))
+                        .put("role", "USER");
+                operations.addObject().put("op", "CREATE").set("value", user);
+                usernames.add(username);
+            }
+            userIds.addAll(createdIds(send(client, post("/api/users/batch", operations))));
+        }
+        for (int from = 0; from < questions; from += SEED_BATCH) {
+            ArrayNode operations = mapper.createArrayNode();
+            for (int i = from; i < Math.min(questions, from + SEED_BATCH); i++) {
+                ObjectNode question = mapper.createObjectNode().put("title", "Load test question " + i)
+                        .put("correctOptionIndex", i % 4).put("difficulty", "MEDIUM").put("marks", 1);
+                question.putArray("options").add("A").add("B").add("C").add("D");
+                question.putArray("topics").add("load");
+                operations.addObject().put("op", "CREATE").set("value", question);
+            }
+            questionIds.addAll(createdIds(send(client, post("/api/questions/batch", operations))));
+        }
+        ObjectNode draft = mapper.createObjectNode().put("title", "Load test " + run);
+        ArrayNode ids = draft.putArray("questionIds");
+        quizQuestions = Math.min(QUIZ_QUESTIONS, questionIds.size());
+        questionIds.subList(0, quizQuestions).forEach(ids::add);
+        accessCode = send(client, post("/api/quizzes", draft)).get("accessCode").asText();
+    }
+
+    String nextEndpoint() {
+        return endpointByTicket[ThreadLocalRandom.current().nextInt(endpointByTicket.length)];
+    }
+
+    HttpRequest request(String endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (endpoint) {
+            case LOGIN: {
+                String username = usernames.get(random.nextInt(usernames.size()));
+                return post("/api/users/login", mapper.createObjectNode().put("username", username)
+                        .put("password", password(username)));
+            }
+            case QUESTION:
+                return HttpRequest.newBuilder(target.resolve("/api/questions/" + questionIds.get(random.nextInt(questionIds.size()))))
+                        .timeout(timeout).GET().build();
+            default: {
+                ObjectNode submission = mapper.createObjectNode()
+                        .put("userId", userIds.get(random.nextInt(userIds.size())));
+                ArrayNode answers = submission.putArray("answers");
+                for (int i = 0; i < quizQuestions; i++) {
+                    answers.add(random.nextInt(4));
+                }
+                return post("/api/quizzes/" + accessCode + "/submissions", submission);
+            }
+        }
+    }
+
+    private static String password(String username) {
+        return "secret-" + username;
+    }
+
+    private static List<String> createdIds(JsonNode outcomes) throws IOException {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode outcome : outcomes) {
+            if (!"OK".equals(outcome.path("status").asText())) {
+                throw new IOException("Seeding failed: " + outcome.path("error").asText());
+            }
+            ids.add(outcome.get("id").asText());
+        }
+        return ids;
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(target.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private JsonNode send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Seeding failed: " + request.uri() + " answered " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+}
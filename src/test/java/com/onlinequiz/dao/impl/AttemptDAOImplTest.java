@@ -0,0 +1,96 @@
+package com.onlinequiz.dao.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.models.QuizAttempt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttemptDAOImplTest {
+
+    private AttemptDAO attemptDAO;
+
+    @BeforeEach
+    void setUp() {
+        attemptDAO = new AttemptDAOImpl();
+    }
+
+    private static QuizAttempt attempt(String id, String userId, String quizId, long submittedAt) {
+        return new QuizAttempt(id, userId, quizId, new int[]{0, 1}, 1, 2, submittedAt - 10, submittedAt);
+    }
+
+    private static List<String> ids(List<QuizAttempt> attempts) {
+        List<String> ids = new ArrayList<>();
+        attempts.forEach(attempt -> ids.add(attempt.getId()));
+        return ids;
+    }
+
+    @Test
+    void testRecordAndGetAttempt() {
+        QuizAttempt attempt = attempt("a1", "u1", "q1", 100);
+        assertSame(attempt, attemptDAO.recordAttempt(attempt));
+        assertSame(attempt, attemptDAO.getAttemptById("a1").get());
+        assertSame(attempt, attemptDAO.recordAttempt(attempt("a1", "u2", "q2", 200)));
+        assertTrue(attemptDAO.getAttemptsByUser("u2", 0, Long.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    void testUserHistoryIsNewestFirstWithinRange() {
+        attemptDAO.recordAttempt(attempt("a1", "u1", "q1", 100));
+        attemptDAO.recordAttempt(attempt("a2", "u1", "q2", 300));
+        attemptDAO.recordAttempt(attempt("a3", "u2", "q1", 200));
+        // Arrives late: must still be placed by its submission time.
+        attemptDAO.recordAttempt(attempt("a4", "u1", "q1", 200));
+
+        assertEquals(List.of("a2", "a4", "a1"), ids(attemptDAO.getAttemptsByUser("u1", Long.MIN_VALUE, Long.MAX_VALUE, 10)));
+        assertEquals(List.of("a4", "a1"), ids(attemptDAO.getAttemptsByUser("u1", 100, 299, 10)));
+        assertEquals(List.of("a2"), ids(attemptDAO.getAttemptsByUser("u1", 0, 1000, 1)));
+        assertTrue(attemptDAO.getAttemptsByUser("u3", 0, 1000, 10).isEmpty());
+    }
+
+    @Test
+    void testQuizResultsSpanUsers() {
+        attemptDAO.recordAttempt(attempt("a1", "u1", "q1", 100));
+        attemptDAO.recordAttempt(attempt("a2", "u2", "q1", 200));
+        attemptDAO.recordAttempt(attempt("a3", "u2", "q2", 300));
+
+        assertEquals(List.of("a2", "a1"), ids(attemptDAO.getAttemptsByQuiz("q1", 0, 1000, 10)));
+        assertEquals(List.of("a3"), ids(attemptDAO.getAttemptsByQuiz("q2", 300, 300, 10)));
+    }
+
+    @Test
+    void testAttemptsAndIndexesSurviveRestart(@TempDir Path directory) {
+        ObjectMapper mapper = new ObjectMapper();
+        PersistenceEngine<QuizAttempt> engine = new WriteAheadLogEngine<>(directory, "attempts", QuizAttempt.class, mapper, 1000, 128);
+        AttemptDAO before = new AttemptDAOImpl(engine);
+        before.recordAttempt(attempt("a1", "u1", "q1", 300));
+        before.recordAttempt(attempt("a2", "u1", "q1", 100));
+        engine.close();
+
+        PersistenceEngine<QuizAttempt> reopened = new WriteAheadLogEngine<>(directory, "attempts", QuizAttempt.class, mapper, 1000, 128);
+        AttemptDAO after = new AttemptDAOImpl(reopened);
+        assertEquals(List.of("a1", "a2"), ids(after.getAttemptsByUser("u1", 0, 1000, 10)));
+        assertArrayEquals(new int[]{0, 1}, after.getAttemptById("a2").get().getAnswers());
+        reopened.close();
+    }
+
+    @Test
+    void testTimelineGrowsPastInitialCapacity() {
+        for (int i = 0; i < 1000; i++) {
+            attemptDAO.recordAttempt(attempt("a" + i, "u1", "q1", 1000 - i));
+        }
+        List<QuizAttempt> history = attemptDAO.getAttemptsByUser("u1", 0, Long.MAX_VALUE, 1000);
+        assertEquals(1000, history.size());
+        for (int i = 1; i < history.size(); i++) {
+            assertTrue(history.get(i - 1).getSubmittedAt() >= history.get(i).getSubmittedAt());
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.onlinequiz.dao.impl;
 
+import com.onlinequiz.dao.PersistenceEngine;
 import com.onlinequiz.dao.QuestionDAO;
+import com.onlinequiz.exception.PersistenceException;
+import com.onlinequiz.exception.QuestionLockedException;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,6 +59,14 @@ class QuestionDAOImplTest {
         assertEquals(2, questions.size());
     }
 
+    @Test
+    void testCountQuestions() {
+        questionDAO.createQuestion(new Question("1", "Test Question 1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        questionDAO.createQuestion(new Question("2", "Test Question 2", Arrays.asList("A", "B"), 1, "MEDIUM", Arrays.asList("Test"), 2));
+        questionDAO.isDeleteQuestion("2");
+        assertEquals(1, questionDAO.countQuestions());
+    }
+
     @Test
     void testUpdateQuestion() {
         Question question = new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
@@ -56,6 +76,13 @@ class QuestionDAOImplTest {
         assertEquals("Updated Test Question", updatedQuestion.getTitle());
     }
 
+    @Test
+    void testUpdateOfMissingQuestionIsRejected() {
+        Question question = new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
+        assertNull(questionDAO.updateQuestion(question));
+        assertFalse(questionDAO.getQuestionById("1").isPresent());
+    }
+
     @Test
     void testDeleteQuestion() {
         Question question = new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
@@ -65,4 +92,258 @@ class QuestionDAOImplTest {
         Optional<Question> deletedQuestion = questionDAO.getQuestionById("1");
         assertFalse(deletedQuestion.isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindQuestionsByTopicAndDifficulty() {
+        questionDAO.createQuestion(new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("2", "Q2", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("3", "Q3", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("SQL"), 1));
+        questionDAO.updateQuestion(new Question("1", "Q1", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("Java"), 1));
+        questionDAO.isDeleteQuestion("2");
+
+        List<Question> found = questionDAO.findQuestions(new QuestionQuery(Arrays.asList("java"), null, null, Arrays.asList("HARD")));
+        assertEquals(1, found.size());
+        assertEquals("1", found.get(0).getId());
+    }
+
+    @Test
+    void testQuestionPagesFollowIdOrder() {
+        for (String id : Arrays.asList("d", "a", "c", "e", "b")) {
+            questionDAO.createQuestion(new Question(id, id, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList(id.equals("c") ? "SQL" : "Java"), 1));
+        }
+        questionDAO.isDeleteQuestion("b");
+
+        List<Question> first = questionDAO.getQuestionsAfter(null, 2);
+        List<Question> second = questionDAO.getQuestionsAfter("c", 2);
+        List<Question> java = questionDAO.findQuestionsAfter(new QuestionQuery(Arrays.asList("java"), null, null, null), "a", 5);
+
+        assertEquals(Arrays.asList("a", "c"), first.stream().map(Question::getId).toList());
+        assertEquals(Arrays.asList("d", "e"), second.stream().map(Question::getId).toList());
+        assertEquals(Arrays.asList("d", "e"), java.stream().map(Question::getId).toList());
+    }
+
+    @Test
+    void testPutQuestionsThenIterateInIdOrder() {
+        questionDAO.createQuestion(new Question("b", "Old", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+
+        questionDAO.putQuestions(Arrays.asList(
+                new Question("c", "C", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("SQL"), 1),
+                new Question("b", "New", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("Java"), 1),
+                new Question("a", "A", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1)));
+
+        List<Question> all = new ArrayList<>();
+        questionDAO.iterateQuestions().forEachRemaining(all::add);
+        assertEquals(Arrays.asList("a", "b", "c"), all.stream().map(Question::getId).toList());
+        assertEquals("New", all.get(1).getTitle());
+        assertEquals(1, questionDAO.findQuestions(new QuestionQuery(Arrays.asList("sql"), null, null, null)).size());
+    }
+
+    @Test
+    void testDeleteQuestionsReportsWhatExisted() {
+        questionDAO.createQuestion(new Question("a", "A", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("b", "B", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+
+        assertEquals(Set.of("a"), questionDAO.deleteQuestions(Arrays.asList("a", "z")));
+        assertEquals(1, questionDAO.findQuestions(new QuestionQuery(Arrays.asList("java"), null, null, null)).size());
+        assertEquals(1, questionDAO.getQuestionsAfter(null, 10).size());
+    }
+
+    @Test
+    void testUpdateQuestionsWritesOnlyExistingUnpinnedQuestions() {
+        questionDAO.createQuestion(new Question("a", "A", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("b", "B", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("c", "C", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.isDeleteQuestion("b");
+        questionDAO.pinQuestions(Collections.singletonList("c"));
+
+        Set<String> updated = questionDAO.updateQuestions(Arrays.asList(
+                new Question("a", "A2", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("SQL"), 1),
+                new Question("b", "B2", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1),
+                new Question("c", "C2", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1),
+                new Question("z", "Z", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1)));
+
+        assertEquals(Set.of("a"), updated);
+        assertEquals("A2", questionDAO.getQuestionById("a").get().getTitle());
+        assertFalse(questionDAO.getQuestionById("b").isPresent());
+        assertEquals("C", questionDAO.getQuestionById("c").get().getTitle());
+        assertFalse(questionDAO.getQuestionById("z").isPresent());
+        assertEquals(1, questionDAO.findQuestions(new QuestionQuery(Arrays.asList("sql"), null, null, null)).size());
+        assertEquals(2, questionDAO.getQuestionsAfter(null, 10).size());
+    }
+
+    @Test
+    void testPinnedQuestionsCannotChangeUntilLastPinIsReleased() {
+        Question question = new Question("a", "A", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1);
+        questionDAO.createQuestion(question);
+        Question edit = new Question("a", "Edited", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("Java"), 1);
+
+        assertEquals(Optional.of(Collections.singletonList(question)), questionDAO.pinQuestions(Collections.singletonList("a")));
+        questionDAO.pinQuestions(Collections.singletonList("a"));
+
+        assertThrows(QuestionLockedException.class, () -> questionDAO.updateQuestion(edit));
+        assertThrows(QuestionLockedException.class, () -> questionDAO.isDeleteQuestion("a"));
+        assertEquals(Collections.emptySet(), questionDAO.putQuestions(Collections.singletonList(edit)));
+        assertEquals(Collections.emptySet(), questionDAO.deleteQuestions(Collections.singletonList("a")));
+        questionDAO.unpinQuestions(Collections.singletonList("a"));
+        assertThrows(QuestionLockedException.class, () -> questionDAO.updateQuestion(edit));
+        assertEquals("A", questionDAO.getQuestionById("a").get().getTitle());
+
+        questionDAO.unpinQuestions(Collections.singletonList("a"));
+        assertEquals(Set.of("a"), questionDAO.putQuestions(Collections.singletonList(edit)));
+        assertTrue(questionDAO.isDeleteQuestion("a"));
+    }
+
+    @Test
+    void testPinningMissingQuestionPinsNothing() {
+        questionDAO.createQuestion(new Question("a", "A", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+
+        assertFalse(questionDAO.pinQuestions(Arrays.asList("a", "z")).isPresent());
+        assertTrue(questionDAO.isDeleteQuestion("a"));
+    }
+
+    @Test
+    void testSampleQuestionsSkipsExcludedIds() {
+        questionDAO.createQuestion(new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("2", "Q2", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Java"), 1));
+        questionDAO.createQuestion(new Question("3", "Q3", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("Java"), 1));
+
+        List<Question> sampled = questionDAO.sampleQuestions(new QuestionQuery(null, null, null, Arrays.asList("EASY")),
+                Collections.singleton("1"), 2);
+        assertEquals(1, sampled.size());
+        assertEquals("2", sampled.get(0).getId());
+    }
+
+    @Test
+    void testSealedQuestionsStayReadableAcrossRestart(@TempDir Path directory) {
+        QuestionDAO sealing = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        Question question = new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
+        sealing.createQuestion(question);
+        sealing.createQuestion(new Question("2", "Other", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        assertEquals(1, sealing.sealQuestions(Arrays.asList("1", "missing")));
+        assertEquals(question, sealing.getQuestionById("1").get());
+        assertEquals(2, sealing.getAllQuestions().size());
+
+        QuestionDAO restarted = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        assertEquals(question, restarted.getQuestionById("1").get());
+    }
+
+    @Test
+    void testUpdateAndDeleteOfSealedQuestion(@TempDir Path directory) {
+        QuestionDAO dao = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        dao.createQuestion(new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        dao.createQuestion(new Question("2", "Other", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        dao.sealQuestions(Arrays.asList("1", "2"));
+
+        dao.updateQuestion(new Question("1", "Updated", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        assertEquals("Updated", dao.getQuestionById("1").get().getTitle());
+        assertEquals(2, dao.getAllQuestions().size());
+
+        assertTrue(dao.isDeleteQuestion("2"));
+        assertFalse(dao.getQuestionById("2").isPresent());
+        assertEquals(Set.of("1"), dao.updateQuestions(Arrays.asList(
+                new Question("1", "Again", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1),
+                new Question("2", "Back", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1))));
+        assertFalse(dao.getQuestionById("2").isPresent());
+        QuestionDAO restarted = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        assertFalse(restarted.getQuestionById("2").isPresent());
+    }
+
+    @Test
+    void testQuestionRecreatedAfterDeleteSurvivesSealingAgain(@TempDir Path directory) {
+        QuestionDAO dao = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        dao.createQuestion(new Question("1", "Original", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        dao.sealQuestions(Arrays.asList("1"));
+        assertTrue(dao.isDeleteQuestion("1"));
+
+        dao.createQuestion(new Question("1", "Recreated", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        assertEquals(1, dao.sealQuestions(Arrays.asList("1")));
+        assertEquals("Recreated", dao.getQuestionById("1").get().getTitle());
+        assertEquals(1, dao.getAllQuestions().size());
+
+        QuestionDAO restarted = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        assertEquals("Recreated", restarted.getQuestionById("1").get().getTitle());
+        assertTrue(restarted.isDeleteQuestion("1"));
+        assertFalse(restarted.getQuestionById("1").isPresent());
+        QuestionDAO again = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        assertFalse(again.getQuestionById("1").isPresent());
+    }
+
+    @Test
+    void testSegmentsMergeAndDropTombstonesThatHideNothing(@TempDir Path directory) throws IOException {
+        QuestionDAO dao = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        for (int i = 0; i < 16; i++) {
+            dao.createQuestion(new Question("q" + i, "Q" + i, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+            dao.sealQuestions(Collections.singletonList("q" + i));
+            if (i == 7) {
+                assertTrue(dao.isDeleteQuestion("q3"));
+                assertTrue(dao.isDeleteQuestion("q7"));
+            }
+            if (i == 10) {
+                dao.updateQuestion(new Question("q1", "Updated", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+                dao.sealQuestions(Collections.singletonList("q1"));
+            }
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.toString().endsWith(".seg")).count() <= 5);
+        }
+        assertEquals(Collections.emptyList(), Files.readAllLines(directory.resolve("deleted.ids")));
+        QuestionDAO restarted = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        assertEquals(14, restarted.countQuestions());
+        assertFalse(restarted.getQuestionById("q3").isPresent());
+        assertFalse(restarted.getQuestionById("q7").isPresent());
+        assertEquals("Updated", restarted.getQuestionById("q1").get().getTitle());
+        assertEquals("Q15", restarted.getQuestionById("q15").get().getTitle());
+    }
+
+    @Test
+    void testTombstoneLineWithoutSequenceIsCorruption(@TempDir Path directory) throws IOException {
+        QuestionDAO dao = new QuestionDAOImpl(PersistenceEngine.inMemory(), QuestionSegmentStore.open(directory));
+        dao.createQuestion(new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        dao.sealQuestions(Collections.singletonList("1"));
+        Files.write(directory.resolve("deleted.ids"), Collections.singletonList("1"));
+
+        assertThrows(PersistenceException.class, () -> QuestionSegmentStore.open(directory));
+    }
+
+    @Test
+    void testSealWithoutSegmentDirectoryKeepsQuestionsInMemory() {
+        questionDAO.createQuestion(new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        assertEquals(0, questionDAO.sealQuestions(Arrays.asList("1")));
+        assertTrue(questionDAO.getQuestionById("1").isPresent());
+    }
+
+    @Test
+    void testConcurrentCreatesAreNotLost() throws Exception {
+        Concurrently.run((thread, i) -> questionDAO.createQuestion(
+                new Question(thread + "-" + i, "Q", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1)));
+        assertEquals(Concurrently.THREADS * Concurrently.OPERATIONS_PER_THREAD, questionDAO.getAllQuestions().size());
+    }
+
+    @Test
+    void testConcurrentCreateWithSameIdKeepsFirstWriter() throws Exception {
+        Concurrently.run((thread, i) -> questionDAO.createQuestion(
+                new Question("shared-" + i, "Q" + thread, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1)));
+        assertEquals(Concurrently.OPERATIONS_PER_THREAD, questionDAO.getAllQuestions().size());
+        Question stored = questionDAO.getQuestionById("shared-0").orElseThrow();
+        Question duplicate = new Question("shared-0", "Other", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
+        assertSame(stored, questionDAO.createQuestion(duplicate));
+    }
+
+    @Test
+    void testConcurrentBatchUpdatesNeverBringBackDeletedQuestions() throws Exception {
+        for (int i = 0; i < Concurrently.OPERATIONS_PER_THREAD; i++) {
+            questionDAO.createQuestion(new Question("q" + i, "Q", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1));
+        }
+        Concurrently.run((thread, i) -> {
+            if (thread % 2 == 0) {
+                questionDAO.isDeleteQuestion("q" + i);
+            } else {
+                questionDAO.updateQuestions(Collections.singletonList(
+                        new Question("q" + i, "Q" + thread, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1)));
+            }
+        });
+        assertEquals(0, questionDAO.countQuestions());
+        assertTrue(questionDAO.findQuestions(new QuestionQuery(Arrays.asList("test"), null, null, null)).isEmpty());
+    }
+}
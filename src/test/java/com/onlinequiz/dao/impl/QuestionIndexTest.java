@@ -0,0 +1,141 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionIndexTest {
+
+    private QuestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new QuestionIndex();
+        index.add(question("1", "EASY", "Java", "OOP"));
+        index.add(question("2", "HARD", "java", "Concurrency"));
+        index.add(question("3", "HARD", "SQL"));
+        index.add(question("4", "MEDIUM", " sql ", "Java"));
+    }
+
+    private static Question question(String id, String difficulty, String... topics) {
+        return new Question(id, "Q" + id, Arrays.asList("A", "B"), 0, difficulty, Arrays.asList(topics), 1);
+    }
+
+    private static QuestionQuery query(List<String> all, List<String> any, List<String> excluded, List<String> difficulties) {
+        return new QuestionQuery(all, any, excluded, difficulties);
+    }
+
+    private static HashSet<String> ids(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+
+    @Test
+    void testAllTopicsIsIntersection() {
+        assertEquals(ids("4"), new HashSet<>(index.query(query(Arrays.asList("java", "sql"), null, null, null))));
+    }
+
+    @Test
+    void testAnyTopicsIsUnion() {
+        assertEquals(ids("1", "3", "4"), new HashSet<>(index.query(query(null, Arrays.asList("OOP", "SQL"), null, null))));
+    }
+
+    @Test
+    void testDifficultyAndExclusion() {
+        assertEquals(ids("2"), new HashSet<>(index.query(query(null, null, Collections.singletonList("sql"), Collections.singletonList("hard")))));
+    }
+
+    @Test
+    void testUnknownTopicMatchesNothing() {
+        assertTrue(index.query(query(Collections.singletonList("python"), null, null, null)).isEmpty());
+    }
+
+    @Test
+    void testUpdateAndRemoveMaintainPostings() {
+        index.add(question("3", "EASY", "Java"));
+        index.remove("1");
+        assertEquals(ids("2", "3", "4"), new HashSet<>(index.query(query(Collections.singletonList("java"), null, null, null))));
+        assertEquals(ids("3"), new HashSet<>(index.query(query(null, null, null, Collections.singletonList("EASY")))));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testRemovedSlotsAreReused() {
+        index.remove("2");
+        index.add(question("5", "HARD", "Go"));
+        assertEquals(ids("3", "5"), new HashSet<>(index.query(query(null, null, null, Collections.singletonList("HARD")))));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testSampleDrawsDistinctMatchesAndHonoursExclusions() {
+        List<String> sampled = index.sample(query(null, Collections.singletonList("java"), null, null),
+                ids("4"), 2, new Random(7));
+        assertEquals(ids("1", "2"), new HashSet<>(sampled));
+    }
+
+    @Test
+    void testSampleReturnsEveryMatchWhenShort() {
+        assertEquals(ids("2", "3"), new HashSet<>(index.sample(query(null, null, null, Collections.singletonList("HARD")),
+                Collections.emptySet(), 5, new Random(7))));
+    }
+
+    @Test
+    void testSampleIsUniformAcrossWords() {
+        QuestionIndex large = new QuestionIndex();
+        for (int i = 0; i < 300; i++) {
+            large.add(question("q" + i, i % 2 == 0 ? "EASY" : "HARD", "Java"));
+        }
+        Random random = new Random(42);
+        int[] hits = new int[300];
+        for (int draw = 0; draw < 3000; draw++) {
+            List<String> sampled = large.sample(query(null, null, null, Collections.singletonList("EASY")),
+                    Collections.emptySet(), 10, random);
+            assertEquals(10, new HashSet<>(sampled).size());
+            for (String id : sampled) {
+                int i = Integer.parseInt(id.substring(1));
+                assertEquals(0, i % 2);
+                hits[i]++;
+            }
+        }
+        // 150 candidates, 30000 picks: every candidate should be drawn about 200 times.
+        for (int i = 0; i < 300; i += 2) {
+            assertTrue(hits[i] > 100 && hits[i] < 300, "candidate " + i + " drawn " + hits[i] + " times");
+        }
+    }
+
+    @Test
+    void testQueryAfterPagesInIdOrderForCommonAndRareMatches() {
+        QuestionIndex large = new QuestionIndex();
+        NavigableSet<String> orderedIds = new TreeSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = String.format("q%04d", (i * 7919) % 1000);
+            large.add(question(id, i % 100 == 0 ? "HARD" : "EASY", "Java"));
+            orderedIds.add(id);
+        }
+        for (String difficulty : Arrays.asList("EASY", "HARD")) {
+            QuestionQuery query = query(null, null, null, Collections.singletonList(difficulty));
+            List<String> expected = new ArrayList<>(new TreeSet<>(large.query(query)));
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            List<String> page;
+            while (!(page = large.queryAfter(query, orderedIds, cursor, 7)).isEmpty()) {
+                assertTrue(page.size() <= 7);
+                paged.addAll(page);
+                cursor = page.get(page.size() - 1);
+            }
+            assertEquals(expected, paged);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.onlinequiz.dao.impl;
+
+import com.onlinequiz.models.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionSegmentTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndReadBack() throws IOException {
+        Question first = new Question("b-2", "What is 2 + 2?", Arrays.asList("3", "4", "5"), 1, "EASY", Arrays.asList("math"), 2);
+        Question second = new Question("a-1", "Ünïcödé title ✓", Arrays.asList("yes", "no"), 0, "HARD", Arrays.asList("java", "math"), 5);
+        Path file = directory.resolve("test.seg");
+        QuestionSegment.write(file, Arrays.asList(first, second));
+
+        QuestionSegment segment = QuestionSegment.open(file);
+        assertEquals(2, segment.size());
+        assertEquals(first, segment.get("b-2").get());
+        assertEquals(second, segment.get("a-1").get());
+        assertTrue(segment.contains("a-1"));
+    }
+
+    @Test
+    void testMissingIdsAreNotFound() throws IOException {
+        Path file = directory.resolve("test.seg");
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < 1000; i += 2) {
+            questions.add(new Question(Integer.toString(i), "Q" + i, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("t"), 1));
+        }
+        QuestionSegment.write(file, questions);
+
+        QuestionSegment segment = QuestionSegment.open(file);
+        for (int i = 0; i < 1000; i++) {
+            Optional<Question> question = segment.get(Integer.toString(i));
+            assertEquals(i % 2 == 0, question.isPresent(), "id " + i);
+        }
+        assertFalse(segment.contains(""));
+    }
+
+    @Test
+    void testForEachVisitsEveryRecord() throws IOException {
+        Path file = directory.resolve("test.seg");
+        QuestionSegment.write(file, Arrays.asList(
+                new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("t"), 1),
+                new Question("2", "Q2", Arrays.asList("A", "B"), 1, "MEDIUM", Arrays.asList("t"), 1)));
+        List<String> ids = new ArrayList<>();
+        QuestionSegment.open(file).forEach(question -> ids.add(question.getId()));
+        assertEquals(Arrays.asList("1", "2"), ids);
+    }
+
+    @Test
+    void testOpenRejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("bogus.seg");
+        java.nio.file.Files.write(file, new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> QuestionSegment.open(file));
+    }
+}
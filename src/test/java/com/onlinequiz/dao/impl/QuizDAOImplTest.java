@@ -1,14 +1,18 @@
 package com.onlinequiz.dao.impl;
 
 import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.exception.AccessCodeTakenException;
 import com.onlinequiz.models.Quiz;
 import com.onlinequiz.models.Question;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -48,6 +52,16 @@ class QuizDAOImplTest {
         assertEquals(2, quizzes.size());
     }
 
+    @Test
+    void testGetQuizzesAfterPagesInIdOrder() {
+        for (String id : new String[]{"b", "c", "a"}) {
+            quizDAO.createQuiz(new Quiz(id, "Quiz " + id, Arrays.asList(), 0, "CODE" + id, true));
+        }
+
+        assertEquals(List.of("a", "b"), quizDAO.getQuizzesAfter(null, 2).stream().map(Quiz::getId).toList());
+        assertEquals(List.of("c"), quizDAO.getQuizzesAfter("b", 2).stream().map(Quiz::getId).toList());
+    }
+
     @Test
     void testUpdateQuiz() {
         Quiz quiz = new Quiz("1", "Test Quiz", Arrays.asList(new Question("1", "Test Question", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1)), 1, "ABC123", true);
@@ -75,4 +89,83 @@ class QuizDAOImplTest {
         assertTrue(retrievedQuiz.isPresent());
         assertEquals("Test Quiz", retrievedQuiz.get().getTitle());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAccessCodeIndexFollowsUpdatesAndDeletes() {
+        Quiz quiz = new Quiz("1", "Test Quiz", Arrays.asList(), 0, "ABC123", true);
+        quizDAO.createQuiz(quiz);
+        quiz.setAccessCode("XYZ789");
+        quizDAO.updateQuiz(quiz);
+        assertFalse(quizDAO.getQuizByAccessCode("ABC123").isPresent());
+        assertTrue(quizDAO.getQuizByAccessCode("XYZ789").isPresent());
+        quizDAO.isDeleteQuiz("1");
+        assertFalse(quizDAO.getQuizByAccessCode("XYZ789").isPresent());
+    }
+
+    @Test
+    void testCreateQuizWithTakenAccessCodeIsRejected() {
+        Quiz first = new Quiz("1", "First", Arrays.asList(), 0, "ABC123", true);
+        quizDAO.createQuiz(first);
+        assertThrows(AccessCodeTakenException.class,
+                () -> quizDAO.createQuiz(new Quiz("2", "Second", Arrays.asList(), 0, "ABC123", true)));
+        assertFalse(quizDAO.getQuizById("2").isPresent());
+        assertSame(first, quizDAO.getQuizByAccessCode("ABC123").get());
+    }
+
+    @Test
+    void testConcurrentCreatesAndDeletes() throws Exception {
+        Queue<String> failedDeletes = new ConcurrentLinkedQueue<>();
+        Concurrently.run((thread, i) -> {
+            String id = thread + "-" + i;
+            quizDAO.createQuiz(new Quiz(id, "Quiz", Arrays.asList(), 0, id, true));
+            if (i % 2 == 0 && !quizDAO.isDeleteQuiz(id)) {
+                failedDeletes.add(id);
+            }
+        });
+        assertEquals(List.of(), new ArrayList<>(failedDeletes));
+        assertEquals(Concurrently.THREADS * Concurrently.OPERATIONS_PER_THREAD / 2, quizDAO.getAllQuizzes().size());
+    }
+
+    @Test
+    void testConcurrentCreatesClaimEachAccessCodeOnce() throws Exception {
+        Concurrently.run((thread, i) -> {
+            try {
+                quizDAO.createQuiz(new Quiz(thread + "-" + i, "Quiz", Arrays.asList(), 0, "CODE" + i, true));
+            } catch (AccessCodeTakenException e) {
+                // Another thread holds this code.
+            }
+        });
+        assertEquals(Concurrently.OPERATIONS_PER_THREAD, quizDAO.countQuizzes());
+        for (Quiz quiz : quizDAO.getAllQuizzes()) {
+            assertSame(quiz, quizDAO.getQuizByAccessCode(quiz.getAccessCode()).orElse(null));
+        }
+    }
+
+    @Test
+    void testConcurrentReplacesLoseNoUpdates() throws Exception {
+        quizDAO.createQuiz(new Quiz("1", "0", Arrays.asList(), 0, "ABC123", true));
+        Concurrently.run((thread, i) -> {
+            while (true) {
+                Quiz current = quizDAO.getQuizById("1").orElseThrow();
+                String next = String.valueOf(Integer.parseInt(current.getTitle()) + 1);
+                if (quizDAO.replaceQuiz(current, new Quiz("1", next, Arrays.asList(), 0, "ABC123", true))) {
+                    break;
+                }
+            }
+        });
+        assertEquals(String.valueOf(Concurrently.THREADS * Concurrently.OPERATIONS_PER_THREAD),
+                quizDAO.getQuizById("1").get().getTitle());
+    }
+
+    @Test
+    void testReplaceOfStaleOrMissingQuizIsRejected() {
+        Quiz first = new Quiz("1", "First", Arrays.asList(), 0, "ABC123", true);
+        quizDAO.createQuiz(first);
+        Quiz second = new Quiz("1", "Second", Arrays.asList(), 0, "ABC123", true);
+        assertTrue(quizDAO.replaceQuiz(first, second));
+        assertFalse(quizDAO.replaceQuiz(first, new Quiz("1", "Stale", Arrays.asList(), 0, "ABC123", true)));
+        assertEquals("Second", quizDAO.getQuizById("1").get().getTitle());
+        assertNull(quizDAO.updateQuiz(new Quiz("2", "Missing", Arrays.asList(), 0, "XYZ789", true)));
+        assertFalse(quizDAO.getQuizById("2").isPresent());
+    }
+}
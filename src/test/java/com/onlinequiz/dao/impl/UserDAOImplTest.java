@@ -2,11 +2,13 @@ package com.onlinequiz.dao.impl;
 
 import com.onlinequiz.dao.UserDAO;
 import com.onlinequiz.models.User;
+import com.onlinequiz.services.impl.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,6 +38,14 @@ class UserDAOImplTest {
         assertEquals("testuser", retrievedUser.get().getUsername());
     }
 
+    @Test
+    void testCountUsers() {
+        userDAO.createUser(new User("1", "testuser1", "password", "USER"));
+        userDAO.createUser(new User("2", "testuser2", "password", "USER"));
+        userDAO.isDeleteUser("1");
+        assertEquals(1, userDAO.countUsers());
+    }
+
     @Test
     void testGetUserByUsername() {
         User user = new User("1", "testuser", "password", "USER");
@@ -55,6 +65,44 @@ class UserDAOImplTest {
         assertEquals(2, users.size());
     }
 
+    @Test
+    void testGetUsersAfterPagesInIdOrder() {
+        for (String id : new String[]{"3", "1", "4", "2"}) {
+            userDAO.createUser(new User(id, "user" + id, "password", "USER"));
+        }
+        userDAO.isDeleteUser("2");
+
+        assertEquals(List.of("1", "3"), userDAO.getUsersAfter(null, 2).stream().map(User::getId).toList());
+        assertEquals(List.of("4"), userDAO.getUsersAfter("3", 2).stream().map(User::getId).toList());
+        assertTrue(userDAO.getUsersAfter("4", 2).isEmpty());
+    }
+
+    @Test
+    void testBatchCreateKeepsFirstOwnerOfUsername() {
+        userDAO.createUser(new User("1", "taken", "password", "USER"));
+        User fresh = new User("2", "fresh", "password", "USER");
+        User clash = new User("3", "taken", "password", "USER");
+
+        List<User> stored = userDAO.createUsers(List.of(fresh, clash));
+
+        assertSame(fresh, stored.get(0));
+        assertEquals("1", stored.get(1).getId());
+        assertFalse(userDAO.getUserById("3").isPresent());
+    }
+
+    @Test
+    void testBatchUpdateAndDelete() {
+        userDAO.createUser(new User("1", "one", "password", "USER"));
+        userDAO.createUser(new User("2", "two", "password", "USER"));
+
+        userDAO.updateUsers(List.of(new User("1", "uno", "password", "ADMIN")));
+        assertEquals(Set.of("2"), userDAO.deleteUsers(List.of("2", "9")));
+
+        assertEquals("1", userDAO.getUserByUsername("uno").get().getId());
+        assertFalse(userDAO.getUserByUsername("one").isPresent());
+        assertEquals(List.of("1"), userDAO.getUsersAfter(null, 10).stream().map(User::getId).toList());
+    }
+
     @Test
     void testUpdateUser() {
         User user = new User("1", "testuser", "password", "USER");
@@ -75,11 +123,112 @@ class UserDAOImplTest {
     }
 
     @Test
-    void testAuthenticateUser() {
+    void testStoredPasswordHashVerifies() {
+        PasswordHasher hasher = new PasswordHasher(1000);
+        userDAO.createUser(new User("1", "testuser", hasher.hash("password"), "USER"));
+        User stored = userDAO.getUserByUsername("testuser").orElseThrow();
+        assertEquals("1", stored.getId());
+        assertTrue(hasher.verify("password", stored.getPassword()));
+    }
+
+    @Test
+    void testUpdateUserRenameMovesUsernameIndex() {
         User user = new User("1", "testuser", "password", "USER");
         userDAO.createUser(user);
-        Optional<User> authenticatedUser = userDAO.authenticateUser("testuser", "password");
-        assertTrue(authenticatedUser.isPresent());
-        assertEquals("1", authenticatedUser.get().getId());
+        user.setUsername("renamed");
+        userDAO.updateUser(user);
+        assertFalse(userDAO.getUserByUsername("testuser").isPresent());
+        assertEquals("1", userDAO.getUserByUsername("renamed").get().getId());
+    }
+
+    @Test
+    void testDeleteUserRemovesUsernameIndex() {
+        userDAO.createUser(new User("1", "testuser", "password", "USER"));
+        userDAO.isDeleteUser("1");
+        assertFalse(userDAO.getUserByUsername("testuser").isPresent());
+    }
+
+    @Test
+    void testCreateUserWithTakenUsernameReturnsExistingUser() {
+        User first = new User("1", "testuser", "password", "USER");
+        userDAO.createUser(first);
+        User result = userDAO.createUser(new User("2", "testuser", "other", "USER"));
+        assertSame(first, result);
+        assertFalse(userDAO.getUserById("2").isPresent());
+    }
+
+    @Test
+    void testStoredPasswordHashRejectsWrongPassword() {
+        PasswordHasher hasher = new PasswordHasher(1000);
+        userDAO.createUser(new User("1", "testuser", hasher.hash("password"), "USER"));
+        assertFalse(hasher.verify("wrong", userDAO.getUserByUsername("testuser").orElseThrow().getPassword()));
+    }
+
+    @Test
+    void testConcurrentCreatesAreNotLost() throws Exception {
+        Concurrently.run((thread, i) -> userDAO.createUser(new User(thread + "-" + i, "user" + thread + "-" + i, "password", "USER")));
+        assertEquals(Concurrently.THREADS * Concurrently.OPERATIONS_PER_THREAD, userDAO.getAllUsers().size());
+    }
+
+    @Test
+    void testConcurrentCreatesClaimEachUsernameOnce() throws Exception {
+        Concurrently.run((thread, i) -> userDAO.createUser(new User(thread + "-" + i, "user" + i, "password", "USER")));
+        assertEquals(Concurrently.OPERATIONS_PER_THREAD, userDAO.countUsers());
+        for (User user : userDAO.getAllUsers()) {
+            assertSame(user, userDAO.getUserByUsername(user.getUsername()).orElse(null));
+        }
+    }
+
+    @Test
+    void testUpdateOfMissingUserIsRejected() {
+        assertNull(userDAO.updateUser(new User("1", "testuser", "password", "USER")));
+        assertEquals(Set.of(), userDAO.updateUsers(List.of(new User("1", "testuser", "password", "USER"))));
+        assertFalse(userDAO.getUserById("1").isPresent());
+        assertFalse(userDAO.getUserByUsername("testuser").isPresent());
+    }
+
+    @Test
+    void testReplaceUserOnlyReplacesTheUserThatWasRead() {
+        User read = new User("1", "testuser", "password", "USER");
+        userDAO.createUser(read);
+        User changed = new User("1", "testuser", "changed", "USER");
+        userDAO.updateUser(changed);
+
+        assertFalse(userDAO.replaceUser(read, new User("1", "testuser", "rehashed", "USER")));
+        assertEquals("changed", userDAO.getUserById("1").get().getPassword());
+        assertTrue(userDAO.replaceUser(changed, new User("1", "renamed", "changed", "USER")));
+        assertEquals("1", userDAO.getUserByUsername("renamed").get().getId());
+    }
+
+    @Test
+    void testRenameToTakenUsernameIsRejected() {
+        User first = new User("1", "one", "password", "USER");
+        User second = new User("2", "two", "password", "USER");
+        userDAO.createUser(first);
+        userDAO.createUser(second);
+
+        assertSame(first, userDAO.updateUser(new User("2", "one", "password", "USER")));
+        assertFalse(userDAO.replaceUser(second, new User("2", "one", "password", "USER")));
+        assertEquals(Set.of(), userDAO.updateUsers(List.of(new User("2", "one", "password", "USER"))));
+
+        assertSame(second, userDAO.getUserById("2").get());
+        assertEquals("2", userDAO.getUserByUsername("two").get().getId());
+        assertEquals("1", userDAO.getUserByUsername("one").get().getId());
+    }
+
+    @Test
+    void testConcurrentRenamesToOneUsernameLeaveEveryUserReachable() throws Exception {
+        for (int t = 0; t < Concurrently.THREADS; t++) {
+            userDAO.createUser(new User(String.valueOf(t), "user" + t, "password", "USER"));
+        }
+        Concurrently.run((thread, i) -> {
+            User current = userDAO.getUserById(String.valueOf(thread)).orElseThrow();
+            String name = i % 2 == 0 ? "shared" + i : "user" + thread;
+            userDAO.updateUser(new User(current.getId(), name, "password", "USER"));
+        });
+        for (int t = 0; t < Concurrently.THREADS; t++) {
+            User user = userDAO.getUserById(String.valueOf(t)).orElseThrow();
+            assertSame(user, userDAO.getUserByUsername(user.getUsername()).orElse(null));
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,215 @@
+package com.onlinequiz.dao.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.config.PersistenceConfig;
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.dao.QuestionDAO;
+import com.onlinequiz.exception.PersistenceException;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private WriteAheadLogEngine<Question> engine(int snapshotEvery) {
+        return new WriteAheadLogEngine<>(directory, "questions", Question.class, mapper, snapshotEvery, 128);
+    }
+
+    private static Question question(String id, String title) {
+        return new Question(id, title, Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Test"), 1);
+    }
+
+    @Test
+    void testRecoverReplaysPutsUpdatesAndDeletes() {
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            QuestionDAO dao = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+            dao.createQuestion(question("1", "First"));
+            dao.createQuestion(question("2", "Second"));
+            dao.updateQuestion(question("1", "First updated"));
+            dao.isDeleteQuestion("2");
+        }
+
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            QuestionDAO dao = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+            assertEquals(1, dao.getAllQuestions().size());
+            assertEquals("First updated", dao.getQuestionById("1").get().getTitle());
+            assertEquals(Arrays.asList("A", "B"), dao.getQuestionById("1").get().getOptions());
+        }
+    }
+
+    @Test
+    void testLockedQuizKeySurvivesRestart() {
+        PersistenceConfig config = new PersistenceConfig(directory.toString(), 1_000, 128, "");
+        Quiz locked = new Quiz("1", "Locked", null, 3, "ACCESS", false);
+        locked.setQuestionIds(Arrays.asList("a", "b"));
+        locked.setKey(new QuizKey(new int[]{1, 0}, new int[]{1, 2}, new int[]{2, 4}));
+        try (PersistenceEngine<Quiz> engine = config.quizPersistence()) {
+            new QuizDAOImpl(engine).createQuiz(locked);
+        }
+
+        try (PersistenceEngine<Quiz> engine = config.quizPersistence()) {
+            QuizKey key = new QuizDAOImpl(engine).getQuizById("1").get().getKey();
+            assertArrayEquals(new int[]{1, 0}, key.getCorrectOptions());
+            assertArrayEquals(new int[]{1, 2}, key.getMarks());
+            assertArrayEquals(new int[]{2, 4}, key.getOptionCounts());
+        }
+    }
+
+    @Test
+    void testSnapshotCompactsOldLogGenerations() throws Exception {
+        try (PersistenceEngine<Question> engine = engine(10)) {
+            QuestionDAO dao = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+            for (int i = 0; i < 100; i++) {
+                dao.createQuestion(question(Integer.toString(i), "Q" + i));
+            }
+            dao.isDeleteQuestion("0");
+        }
+
+        assertTrue(Files.exists(directory.resolve("questions.snapshot")));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(file -> file.toString().endsWith(".wal")).count() < 10);
+        }
+        Map<String, Question> recovered = new HashMap<>();
+        try (PersistenceEngine<Question> engine = engine(10)) {
+            engine.recover(recovered);
+        }
+        assertEquals(99, recovered.size());
+        assertFalse(recovered.containsKey("0"));
+    }
+
+    @Test
+    void testWithoutSnapshotsTheLogIsNeverRewritten() throws Exception {
+        try (PersistenceEngine<Question> engine = engine(0)) {
+            QuestionDAO dao = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+            for (int i = 0; i < 500; i++) {
+                dao.createQuestion(question(Integer.toString(i), "Q" + i));
+            }
+        }
+
+        assertFalse(Files.exists(directory.resolve("questions.snapshot")));
+        assertEquals(500, Files.readAllLines(directory.resolve("questions-0.wal")).size());
+        Map<String, Question> recovered = new HashMap<>();
+        try (PersistenceEngine<Question> engine = engine(0)) {
+            engine.recover(recovered);
+        }
+        assertEquals(500, recovered.size());
+    }
+
+    @Test
+    void testRecoverIgnoresTornTail() throws IOException {
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            new QuestionDAOImpl(engine, QuestionSegmentStore.disabled()).createQuestion(question("1", "First"));
+        }
+        Path log = directory.resolve("questions-0.wal");
+        Files.write(log, "{\"op\":\"P\",\"k\":\"2\",\"v\":{\"id\":".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        Map<String, Question> recovered = new HashMap<>();
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            engine.recover(recovered);
+        }
+        assertEquals(1, recovered.size());
+        assertTrue(recovered.containsKey("1"));
+    }
+
+    @Test
+    void testRecoverFailsOnCorruptRecordBeforeTheTail() throws IOException {
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            new QuestionDAOImpl(engine, QuestionSegmentStore.disabled()).createQuestion(question("1", "First"));
+        }
+        Path log = directory.resolve("questions-0.wal");
+        Files.write(log, "{\"op\":\"P\",\"k\":\"2\",\"v\":{\"id\":\n{\"op\":\"D\",\"k\":\"1\"}\n"
+                .getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            assertThrows(PersistenceException.class, () -> engine.recover(new HashMap<>()));
+        }
+    }
+
+    @Test
+    void testRecoverFailsOnEmptySnapshot() throws IOException {
+        Files.createFile(directory.resolve("questions.snapshot"));
+
+        try (PersistenceEngine<Question> engine = engine(1_000)) {
+            assertThrows(PersistenceException.class, () -> engine.recover(new HashMap<>()));
+        }
+    }
+
+    @Test
+    void testWritesRacingWithCloseNeverHang() throws Exception {
+        PersistenceEngine<Question> engine = engine(1_000);
+        engine.recover(new ConcurrentHashMap<>());
+        Queue<CompletableFuture<Void>> commits = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    commits.add(engine.logPut(thread + "-" + i, question(thread + "-" + i, "Q")));
+                }
+            });
+        }
+        Thread.sleep(5);
+        engine.close();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (CompletableFuture<Void> commit : commits) {
+            try {
+                commit.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertInstanceOf(PersistenceException.class, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    void testConcurrentWritersAreAllDurable() throws Exception {
+        try (PersistenceEngine<Question> engine = engine(500)) {
+            QuestionDAO dao = new QuestionDAOImpl(engine, QuestionSegmentStore.disabled());
+            ExecutorService executor = Executors.newFixedThreadPool(16);
+            for (int t = 0; t < 16; t++) {
+                int thread = t;
+                executor.execute(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        dao.createQuestion(question(thread + "-" + i, "Q"));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        Map<String, Question> recovered = new ConcurrentHashMap<>();
+        try (PersistenceEngine<Question> engine = engine(500)) {
+            engine.recover(recovered);
+        }
+        assertEquals(16 * 200, recovered.size());
+    }
+}
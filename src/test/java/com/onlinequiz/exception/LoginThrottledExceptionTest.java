@@ -0,0 +1,22 @@
+package com.onlinequiz.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottledExceptionTest {
+
+    @Test
+    void testLoginThrottledExceptionWithMessage() {
+        LoginThrottledException exception = new LoginThrottledException("Busy");
+        assertEquals("Busy", exception.getMessage());
+    }
+
+    @Test
+    void testLoginThrottledExceptionWithMessageAndCause() {
+        Throwable cause = new RuntimeException("Queue full");
+        LoginThrottledException exception = new LoginThrottledException("Busy", cause);
+        assertEquals("Busy", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
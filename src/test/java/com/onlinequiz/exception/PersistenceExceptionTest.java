@@ -0,0 +1,22 @@
+package com.onlinequiz.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistenceExceptionTest {
+
+    @Test
+    void testPersistenceExceptionWithMessage() {
+        PersistenceException exception = new PersistenceException("Write failed");
+        assertEquals("Write failed", exception.getMessage());
+    }
+
+    @Test
+    void testPersistenceExceptionWithMessageAndCause() {
+        Throwable cause = new RuntimeException("Disk full");
+        PersistenceException exception = new PersistenceException("Write failed", cause);
+        assertEquals("Write failed", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
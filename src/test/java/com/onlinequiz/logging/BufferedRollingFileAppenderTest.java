@@ -0,0 +1,107 @@
+package com.onlinequiz.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+import ch.qos.logback.core.util.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferedRollingFileAppenderTest {
+
+    @TempDir
+    Path directory;
+
+    private LoggerContext context;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        file = directory.resolve("application.log");
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testLinesAreBufferedUntilFlushed() throws IOException {
+        BufferedRollingFileAppender<ILoggingEvent> appender = appender(Duration.buildByMinutes(10));
+
+        appender.doAppend(event("first"));
+        assertEquals("", Files.readString(file));
+
+        appender.flush();
+        assertEquals("first\n", Files.readString(file));
+    }
+
+    @Test
+    void testStopWritesEverythingBuffered() throws IOException {
+        BufferedRollingFileAppender<ILoggingEvent> appender = appender(Duration.buildByMinutes(10));
+
+        appender.doAppend(event("first"));
+        appender.doAppend(event("second"));
+        appender.stop();
+
+        assertEquals("first\nsecond\n", Files.readString(file));
+    }
+
+    @Test
+    void testTimerFlushesBufferedLines() throws Exception {
+        BufferedRollingFileAppender<ILoggingEvent> appender = appender(Duration.buildByMilliseconds(20));
+
+        appender.doAppend(event("first"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("first\n", Files.readString(file));
+    }
+
+    @Test
+    void testNonPositiveFlushIntervalIsRejected() {
+        BufferedRollingFileAppender<ILoggingEvent> appender = appender(Duration.buildByMilliseconds(0));
+
+        assertFalse(appender.isStarted());
+    }
+
+    private BufferedRollingFileAppender<ILoggingEvent> appender(Duration flushInterval) {
+        BufferedRollingFileAppender<ILoggingEvent> appender = new BufferedRollingFileAppender<>();
+        appender.setContext(context);
+        appender.setFile(file.toString());
+        appender.setFlushInterval(flushInterval);
+        TimeBasedRollingPolicy<ILoggingEvent> policy = new TimeBasedRollingPolicy<>();
+        policy.setContext(context);
+        policy.setParent(appender);
+        policy.setFileNamePattern(directory.resolve("application.%d.log").toString());
+        policy.start();
+        appender.setRollingPolicy(policy);
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, message, null, null);
+    }
+}
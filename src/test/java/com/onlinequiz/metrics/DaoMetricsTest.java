@@ -0,0 +1,40 @@
+package com.onlinequiz.metrics;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.dao.QuestionDAO;
+import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.dao.UserDAO;
+import com.onlinequiz.dao.impl.AttemptDAOImpl;
+import com.onlinequiz.dao.impl.QuestionDAOImpl;
+import com.onlinequiz.dao.impl.QuizDAOImpl;
+import com.onlinequiz.dao.impl.UserDAOImpl;
+import com.onlinequiz.models.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DaoMetricsTest {
+
+    @Test
+    void testGaugesFollowRepositorySizes() {
+        // Arrange
+        UserDAO userDAO = new UserDAOImpl();
+        QuestionDAO questionDAO = new QuestionDAOImpl();
+        QuizDAO quizDAO = new QuizDAOImpl();
+        AttemptDAO attemptDAO = new AttemptDAOImpl();
+        MeterRegistry registry = new SimpleMeterRegistry();
+        new DaoMetrics(userDAO, questionDAO, quizDAO, attemptDAO).bindTo(registry);
+
+        // Act
+        userDAO.createUser(new User("1", "testuser1", "password", "USER"));
+        userDAO.createUser(new User("2", "testuser2", "password", "USER"));
+
+        // Assert
+        assertEquals(2.0, registry.get(DaoMetrics.DAO_SIZE).tag("dao", "users").gauge().value());
+        assertEquals(0.0, registry.get(DaoMetrics.DAO_SIZE).tag("dao", "questions").gauge().value());
+        assertEquals(0.0, registry.get(DaoMetrics.DAO_SIZE).tag("dao", "quizzes").gauge().value());
+        assertEquals(0.0, registry.get(DaoMetrics.DAO_SIZE).tag("dao", "attempts").gauge().value());
+    }
+}
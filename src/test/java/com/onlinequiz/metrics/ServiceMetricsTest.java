@@ -0,0 +1,111 @@
+package com.onlinequiz.metrics;
+
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.services.QuizOverviewService;
+import com.onlinequiz.services.QuizService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsTest {
+
+    private MeterRegistry registry;
+    private ServiceMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ServiceMetrics(registry, 1, true);
+    }
+
+    @Test
+    void testSuccessfulCallsAreCountedAndTimed() {
+        // Arrange
+        QuizService target = mock(QuizService.class);
+        Quiz quiz = new Quiz();
+        when(target.getQuizById("q1")).thenReturn(Optional.of(quiz));
+        QuizService quizService = (QuizService) metrics.instrument(target);
+
+        // Act
+        Optional<Quiz> result = quizService.getQuizById("q1");
+        quizService.getQuizById("q1");
+
+        // Assert
+        assertSame(quiz, result.get());
+        assertEquals(2.0, registry.get(ServiceMetrics.SERVICE_CALLS)
+                .tags("service", "QuizService", "method", "getQuizById", "exception", "none")
+                .functionCounter().count());
+        assertEquals(2, registry.get(ServiceMetrics.SERVICE_TIMER)
+                .tags("service", "QuizService", "method", "getQuizById").timer().count());
+        assertTrue(registry.find(ServiceMetrics.EXCEPTION_COUNTER).counters().isEmpty());
+    }
+
+    @Test
+    void testExceptionsAreCountedByType() {
+        // Arrange
+        QuizService target = mock(QuizService.class);
+        when(target.getQuizById("q1")).thenThrow(new QuizException("boom"));
+        QuizService quizService = (QuizService) metrics.instrument(target);
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.getQuizById("q1"));
+        assertThrows(QuizException.class, () -> quizService.getQuizById("q1"));
+        assertEquals(2.0, registry.get(ServiceMetrics.SERVICE_CALLS)
+                .tags("method", "getQuizById", "exception", "QuizException").counter().count());
+        assertEquals(2.0, registry.get(ServiceMetrics.EXCEPTION_COUNTER)
+                .tag("exception", "QuizException").counter().count());
+    }
+
+    @Test
+    void testExceptionCrossingNestedServicesIsCountedOnce() {
+        // Arrange
+        QuizService quizTarget = mock(QuizService.class);
+        when(quizTarget.getQuizById("q1")).thenThrow(new QuizException("boom"));
+        QuizService quizService = (QuizService) metrics.instrument(quizTarget);
+        QuizOverviewService overviewTarget = mock(QuizOverviewService.class);
+        when(overviewTarget.getQuizOverview("q1")).thenAnswer(invocation -> {
+            quizService.getQuizById("q1");
+            return Optional.empty();
+        });
+        QuizOverviewService overviewService = (QuizOverviewService) metrics.instrument(overviewTarget);
+
+        // Act
+        assertThrows(QuizException.class, () -> overviewService.getQuizOverview("q1"));
+
+        // Assert
+        assertEquals(1.0, registry.get(ServiceMetrics.SERVICE_CALLS)
+                .tags("service", "QuizOverviewService", "exception", "QuizException").counter().count());
+        assertEquals(1.0, registry.get(ServiceMetrics.EXCEPTION_COUNTER)
+                .tag("exception", "QuizException").counter().count());
+    }
+
+    @Test
+    void testSamplingStillCountsEveryCall() {
+        // Arrange
+        QuizService target = mock(QuizService.class);
+        when(target.getQuizById("q1")).thenReturn(Optional.empty());
+        QuizService quizService = (QuizService) new ServiceMetrics(registry, 1000, true).instrument(target);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            quizService.getQuizById("q1");
+        }
+
+        // Assert
+        assertEquals(100.0, registry.get(ServiceMetrics.SERVICE_CALLS).tag("exception", "none").functionCounter().count());
+        assertTrue(registry.get(ServiceMetrics.SERVICE_TIMER).timer().count() < 100);
+    }
+
+    @Test
+    void testNonServiceObjectsAreNotWrapped() {
+        Object plain = new Object();
+        assertSame(plain, metrics.instrument(plain));
+    }
+}
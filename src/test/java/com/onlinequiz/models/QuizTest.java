@@ -1,5 +1,6 @@
 package com.onlinequiz.models;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import java.util.Arrays;
 import java.util.List;
@@ -58,4 +59,14 @@ class QuizTest {
         assertEquals(accessCode, quiz.getAccessCode());
         assertTrue(quiz.isModifiable());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testKeyIsNeitherWrittenToNorReadFromJson() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Quiz quiz = new Quiz("QZ1", "Locked", null, 1, "ACCESS", false);
+        quiz.setKey(new QuizKey(new int[]{1}, new int[]{1}, new int[]{2}));
+
+        assertFalse(mapper.writeValueAsString(quiz).contains("key"));
+        assertNull(mapper.readValue("{\"id\":\"QZ1\",\"key\":{\"marks\":[5]}}", Quiz.class).getKey());
+    }
+}
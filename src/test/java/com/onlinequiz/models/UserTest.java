@@ -1,5 +1,6 @@
 package com.onlinequiz.models;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,4 +40,14 @@ class UserTest {
         assertEquals(password, user.getPassword());
         assertEquals(role, user.getRole());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPasswordIsReadFromJsonButNeverWritten() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        User user = mapper.readValue("{\"username\":\"jane_smith\",\"password\":\"strongpass456\"}", User.class);
+
+        assertEquals("strongpass456", user.getPassword());
+        assertFalse(mapper.writeValueAsString(user).contains("strongpass456"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.onlinequiz.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessCodeAllocatorTest {
+
+    private AccessCodeAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new AccessCodeAllocator();
+    }
+
+    @Test
+    void allocate_ReturnsSixUppercaseHexDigits() {
+        String code = allocator.allocate();
+        assertTrue(code.matches("[0-9A-F]{6}"), code);
+    }
+
+    @Test
+    void allocate_NeverRepeatsCodes() {
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            assertTrue(codes.add(allocator.allocate()));
+        }
+    }
+
+    @Test
+    void allocate_ReusesReleasedCodesFirst() {
+        String first = allocator.allocate();
+        allocator.allocate();
+        allocator.release(first);
+        assertEquals(first, allocator.allocate());
+    }
+
+    @Test
+    void release_IgnoresCodesOutsideManagedSpace() {
+        allocator.release("ACCESS");
+        allocator.release(null);
+        assertTrue(allocator.allocate().matches("[0-9A-F]{6}"));
+    }
+
+    @Test
+    void unscramble_InvertsTheCodeBijection() {
+        for (int i = 0; i < 100_000; i++) {
+            String code = allocator.allocate();
+            assertEquals(i, AccessCodeAllocator.unscramble(Integer.parseInt(code, 16)));
+        }
+    }
+
+    @Test
+    void resumingAfter_SkipsIssuedCodesAndReusesTheGaps() {
+        List<String> issued = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            issued.add(allocator.allocate());
+        }
+        // Quizzes 10 and 20 were deleted before the restart; one legacy code is outside the managed space.
+        Set<String> gaps = Set.of(issued.remove(20), issued.remove(10));
+        issued.add("ACCESS");
+
+        AccessCodeAllocator resumed = AccessCodeAllocator.resumingAfter(issued);
+
+        assertEquals(gaps, Set.of(resumed.allocate(), resumed.allocate()));
+        Set<String> held = new HashSet<>(issued);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(held.add(resumed.allocate()));
+        }
+    }
+
+    @Test
+    void resumingAfter_NothingIssuedStartsAtTheBeginning() {
+        assertEquals(allocator.allocate(), AccessCodeAllocator.resumingAfter(List.of()).allocate());
+    }
+}
@@ -0,0 +1,53 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerKeyTest {
+
+    private AnswerKey answerKey;
+
+    @BeforeEach
+    void setUp() {
+        Quiz quiz = new Quiz("1", "Test Quiz", Arrays.asList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1),
+                new Question("q2", "Q2", Arrays.asList("A", "B", "C"), 2, "MEDIUM", Arrays.asList("Topic1"), 2),
+                new Question("q3", "Q3", Arrays.asList("A", "B"), 1, "HARD", Arrays.asList("Topic1"), 3)
+        ), 6, "ACCESS", false);
+        answerKey = AnswerKey.compile(quiz);
+    }
+
+    @Test
+    void compile_CapturesQuestionCountAndTotalMarks() {
+        assertEquals(3, answerKey.getQuestionCount());
+        assertEquals(6, answerKey.getTotalMarks());
+    }
+
+    @Test
+    void grade_AddsMarksOfCorrectAnswersOnly() {
+        assertEquals(6, answerKey.grade(new int[]{0, 2, 1}));
+        assertEquals(4, answerKey.grade(new int[]{0, 1, 1}));
+        assertEquals(0, answerKey.grade(new int[]{1, 0, 0}));
+    }
+
+    @Test
+    void grade_SkippedMissingAndExtraAnswersEarnNothing() {
+        assertEquals(1, answerKey.grade(new int[]{0, -1}));
+        assertEquals(6, answerKey.grade(new int[]{0, 2, 1, 0, 0}));
+        assertEquals(0, answerKey.grade(new int[0]));
+    }
+
+    @Test
+    void compile_QuizWithoutQuestionsGradesToZero() {
+        AnswerKey empty = AnswerKey.compile(new Quiz("2", "Empty", Collections.emptyList(), 0, "EMPTY", false));
+        assertEquals(0, empty.grade(new int[]{0, 1}));
+        assertEquals(0, empty.getTotalMarks());
+    }
+}
@@ -0,0 +1,85 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.exception.UserException;
+import com.onlinequiz.models.QuizAttempt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+
+import static com.onlinequiz.constants.Constants.DEFAULT_ATTEMPT_RESULTS;
+import static com.onlinequiz.constants.Constants.MAX_ATTEMPT_RESULTS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AttemptServiceImplTest {
+
+    @Mock
+    private AttemptDAO attemptDAO;
+
+    private AttemptServiceImpl attemptService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        attemptService = new AttemptServiceImpl(attemptDAO);
+    }
+
+    @Test
+    void recordAttempt_StampsIdAndSubmissionTime() {
+        // Arrange
+        when(attemptDAO.recordAttempt(any(QuizAttempt.class))).thenAnswer(i -> i.getArguments()[0]);
+        long before = System.currentTimeMillis();
+
+        // Act
+        QuizAttempt attempt = attemptService.recordAttempt("user1", "quiz1", new int[]{1, 0}, 3, 5, before - 1000);
+
+        // Assert
+        assertNotNull(attempt.getId());
+        assertEquals("user1", attempt.getUserId());
+        assertEquals("quiz1", attempt.getQuizId());
+        assertEquals(3, attempt.getScore());
+        assertEquals(5, attempt.getTotalMarks());
+        assertEquals(before - 1000, attempt.getStartedAt());
+        assertTrue(attempt.getSubmittedAt() >= before);
+    }
+
+    @Test
+    void recordAttempt_EmptyQuizId_ThrowsException() {
+        // Act & Assert
+        assertThrows(QuizException.class, () -> attemptService.recordAttempt("user1", " ", new int[0], 0, 0, 0));
+        verifyNoInteractions(attemptDAO);
+    }
+
+    @Test
+    void getUserAttempts_DefaultsOpenRangeAndLimit() {
+        // Arrange
+        when(attemptDAO.getAttemptsByUser("user1", Long.MIN_VALUE, Long.MAX_VALUE, DEFAULT_ATTEMPT_RESULTS))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        attemptService.getUserAttempts("user1", null, null, null);
+
+        // Assert
+        verify(attemptDAO).getAttemptsByUser("user1", Long.MIN_VALUE, Long.MAX_VALUE, DEFAULT_ATTEMPT_RESULTS);
+    }
+
+    @Test
+    void getQuizAttempts_ClampsLimit() {
+        // Act
+        attemptService.getQuizAttempts("quiz1", 10L, 20L, 1_000_000);
+
+        // Assert
+        verify(attemptDAO).getAttemptsByQuiz("quiz1", 10L, 20L, MAX_ATTEMPT_RESULTS);
+    }
+
+    @Test
+    void getUserAttempts_EmptyUserId_ThrowsException() {
+        // Act & Assert
+        assertThrows(UserException.class, () -> attemptService.getUserAttempts("", null, null, null));
+    }
+}
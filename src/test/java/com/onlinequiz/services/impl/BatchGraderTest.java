@@ -0,0 +1,126 @@
+package com.onlinequiz.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinequiz.models.BatchGradingStats;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchGraderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private AnswerKey answerKey;
+    private BatchGrader batchGrader;
+
+    @BeforeEach
+    void setUp() {
+        answerKey = AnswerKey.compile(new Quiz("1", "Test Quiz", Arrays.asList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1),
+                new Question("q2", "Q2", Arrays.asList("A", "B", "C"), 2, "MEDIUM", Arrays.asList("Topic1"), 2)
+        ), 3, "ACCESS", false));
+        batchGrader = new BatchGrader(4);
+    }
+
+    private String[] grade(String input, BatchGradingStats[] stats) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        stats[0] = batchGrader.grade(answerKey, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void grade_WritesOneResultPerLineAndFinalStats() throws IOException {
+        BatchGradingStats[] stats = new BatchGradingStats[1];
+        String[] lines = grade("{\"userId\":\"a\",\"answers\":[0,2]}\n"
+                + "\n"
+                + "{\"userId\":\"b\",\"answers\":[1,2]}\n"
+                + "not json\n"
+                + "{\"userId\":\"c\"}\n", stats);
+
+        assertEquals(5, lines.length);
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals(1, first.get("line").asLong());
+        assertEquals("a", first.get("userId").asText());
+        assertEquals(3, first.get("score").asInt());
+        assertEquals(3, mapper.readTree(lines[1]).get("line").asLong());
+        assertEquals(2, mapper.readTree(lines[1]).get("score").asInt());
+        assertTrue(mapper.readTree(lines[2]).has("error"));
+        assertTrue(mapper.readTree(lines[3]).has("error"));
+        JsonNode summary = mapper.readTree(lines[4]).get("stats");
+        assertEquals(2, summary.get("graded").asLong());
+        assertEquals(2, summary.get("failed").asLong());
+        assertEquals(2.5, summary.get("meanScore").asDouble(), 1e-9);
+        assertEquals(0.5, stats[0].getStdDevScore(), 1e-9);
+        assertEquals(2, stats[0].getMinScore());
+        assertEquals(3, stats[0].getMaxScore());
+        assertEquals(3, stats[0].getTotalMarks());
+    }
+
+    @Test
+    void grade_KeepsInputOrderAcrossManyChunks() throws IOException {
+        int submissions = BatchGrader.CHUNK_SIZE * 20 + 7;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < submissions; i++) {
+            input.append("{\"userId\":\"u").append(i).append("\",\"answers\":[").append(i % 2).append(",2]}\n");
+        }
+        BatchGradingStats[] stats = new BatchGradingStats[1];
+        String[] lines = grade(input.toString(), stats);
+
+        assertEquals(submissions + 1, lines.length);
+        for (int i = 0; i < submissions; i++) {
+            JsonNode result = mapper.readTree(lines[i]);
+            assertEquals(i + 1, result.get("line").asLong());
+            assertEquals("u" + i, result.get("userId").asText());
+            assertEquals(i % 2 == 0 ? 3 : 2, result.get("score").asInt());
+        }
+        assertEquals(submissions, stats[0].getGraded());
+    }
+
+    @Test
+    void grade_EmptyInputStillReportsStats() throws IOException {
+        BatchGradingStats[] stats = new BatchGradingStats[1];
+        String[] lines = grade("", stats);
+
+        assertEquals(1, lines.length);
+        assertEquals(0, stats[0].getGraded());
+        assertEquals(0, mapper.readTree(lines[0]).get("stats").get("graded").asLong());
+    }
+
+    @Test
+    void grade_CallbackFailureIsReportedForThatLineOnly() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        String input = "{\"userId\":\"a\",\"answers\":[0,2]}\n"
+                + "{\"userId\":\"b\",\"answers\":[1,2]}\n"
+                + "{\"userId\":\"c\",\"answers\":[0,0]}\n";
+        List<String> recorded = new CopyOnWriteArrayList<>();
+
+        BatchGradingStats stats = batchGrader.grade(answerKey, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out,
+                (submission, score) -> {
+                    if (submission.getUserId().equals("b")) {
+                        throw new IllegalStateException("store unavailable");
+                    }
+                    recorded.add(submission.getUserId());
+                });
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("a", mapper.readTree(lines[0]).get("userId").asText());
+        assertTrue(mapper.readTree(lines[1]).get("error").asText().contains("store unavailable"));
+        assertFalse(mapper.readTree(lines[1]).has("score"));
+        assertEquals("c", mapper.readTree(lines[2]).get("userId").asText());
+        assertEquals(2, stats.getGraded());
+        assertEquals(1, stats.getFailed());
+        assertEquals(Arrays.asList("a", "c"), recorded);
+    }
+}
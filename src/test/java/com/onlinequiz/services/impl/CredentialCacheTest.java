@@ -0,0 +1,49 @@
+package com.onlinequiz.services.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CredentialCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    void matches_SamePasswordAndHashWithinTtl() {
+        CredentialCache cache = new CredentialCache(100, 10, now::get);
+        cache.put("alice", "hash1", "secret");
+
+        assertTrue(cache.matches("alice", "hash1", "secret"));
+        assertFalse(cache.matches("alice", "hash1", "Secret"));
+        assertFalse(cache.matches("alice", "hash2", "secret"));
+        assertFalse(cache.matches("bob", "hash1", "secret"));
+    }
+
+    @Test
+    void matches_ExpiredEntry_IsDropped() {
+        CredentialCache cache = new CredentialCache(100, 10, now::get);
+        cache.put("alice", "hash1", "secret");
+
+        now.addAndGet(100);
+
+        assertFalse(cache.matches("alice", "hash1", "secret"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_WhenFull_EvictsExpiredOrSkips() {
+        CredentialCache cache = new CredentialCache(100, 2, now::get);
+        cache.put("alice", "hash", "secret");
+        cache.put("bob", "hash", "secret");
+
+        cache.put("carol", "hash", "secret");
+        assertFalse(cache.matches("carol", "hash", "secret"));
+
+        now.addAndGet(100);
+        cache.put("carol", "hash", "secret");
+        assertTrue(cache.matches("carol", "hash", "secret"));
+        assertEquals(1, cache.size());
+    }
+}
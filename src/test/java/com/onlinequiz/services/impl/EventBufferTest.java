@@ -0,0 +1,58 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.ScoreEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBufferTest {
+
+    private static ScoreEvent event(int score) {
+        return new ScoreEvent("a" + score, "user1", score, 10, score);
+    }
+
+    @Test
+    void drain_ReturnsPendingEventsInOrderAndEmptiesBuffer() {
+        EventBuffer buffer = new EventBuffer(8);
+        buffer.offer(event(1));
+        buffer.offer(event(2));
+
+        EventBuffer.Batch batch = buffer.drain();
+
+        assertEquals(2, batch.scores.size());
+        assertEquals(1, batch.scores.get(0).getScore());
+        assertEquals(0, batch.dropped);
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void offer_WhenFullDropsOldestAndCountsIt() {
+        EventBuffer buffer = new EventBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.offer(event(i));
+        }
+
+        EventBuffer.Batch batch = buffer.drain();
+
+        assertEquals(3, batch.scores.size());
+        assertEquals(3, batch.scores.get(0).getScore());
+        assertEquals(5, batch.scores.get(2).getScore());
+        assertEquals(2, batch.dropped);
+    }
+
+    @Test
+    void replaceLeaderboard_KeepsOnlyNewestSnapshot() {
+        EventBuffer buffer = new EventBuffer(3);
+        buffer.replaceLeaderboard(Collections.singletonList(new LeaderboardEntry(1, "user1", 5, 100)));
+        buffer.replaceLeaderboard(Collections.singletonList(new LeaderboardEntry(1, "user2", 7, 200)));
+
+        EventBuffer.Batch batch = buffer.drain();
+
+        assertEquals("user2", batch.leaderboard.get(0).getUserId());
+        assertTrue(batch.scores.isEmpty());
+        assertNull(buffer.drain().leaderboard);
+    }
+}
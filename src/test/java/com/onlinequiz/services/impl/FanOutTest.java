@@ -0,0 +1,95 @@
+package com.onlinequiz.services.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_ReturnsEverySubtaskResult() throws Exception {
+        try (FanOut fanOut = new FanOut(executor)) {
+            Supplier<Integer> first = fanOut.fork(() -> 1);
+            Supplier<String> second = fanOut.fork(() -> "two");
+
+            fanOut.join(5, TimeUnit.SECONDS);
+
+            assertEquals(1, first.get());
+            assertEquals("two", second.get());
+        }
+    }
+
+    @Test
+    void join_FailureCancelsSiblingsAndIsRethrown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOut fanOut = new FanOut(executor)) {
+            fanOut.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+            // A sibling cancelled before it starts never runs, so there would be nothing to interrupt.
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            fanOut.fork(() -> {
+                throw new IllegalArgumentException("boom");
+            });
+
+            IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                    () -> fanOut.join(5, TimeUnit.SECONDS));
+
+            assertEquals("boom", thrown.getMessage());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void join_TimeoutCancelsUnfinishedSubtasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FanOut fanOut = new FanOut(executor)) {
+            fanOut.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TimeoutException.class, () -> fanOut.join(50, TimeUnit.MILLISECONDS));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void result_BeforeJoin_Throws() {
+        try (FanOut fanOut = new FanOut(executor)) {
+            Supplier<Integer> result = fanOut.fork(() -> 1);
+
+            assertThrows(IllegalStateException.class, result::get);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.onlinequiz.services.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        // A tiny wheel so that short delays already span several revolutions.
+        timer = new HashedWheelTimer(5, 4, Runnable::run, "test-timer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    void schedule_RunsTaskAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void cancel_PreventsTaskFromRunning() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch later = new CountDownLatch(1);
+
+        HashedWheelTimer.Timeout timeout = timer.schedule(runs::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        timer.schedule(later::countDown, 80, TimeUnit.MILLISECONDS);
+
+        assertTrue(later.await(2, TimeUnit.SECONDS));
+        assertEquals(0, runs.get());
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void schedule_FiresManyTimeoutsAcrossRevolutionsInDeadlineOrder() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(3);
+        StringBuffer order = new StringBuffer();
+
+        timer.schedule(() -> { order.append('c'); fired.countDown(); }, 120, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.append('a'); fired.countDown(); }, 10, TimeUnit.MILLISECONDS);
+        timer.schedule(() -> { order.append('b'); fired.countDown(); }, 60, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        assertEquals("abc", order.toString());
+    }
+}
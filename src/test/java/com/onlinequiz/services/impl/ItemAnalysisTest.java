@@ -0,0 +1,88 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemAnalysisTest {
+
+    private final Question q1 = new Question("q1", "Q1", Arrays.asList("A", "B", "C"), 0, "EASY", Arrays.asList("t"), 1);
+    private final Question q2 = new Question("q2", "Q2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("t"), 2);
+    private final List<Question> quiz = Arrays.asList(q1, q2);
+
+    @Test
+    void record_TracksPValueAndOptionDistribution() {
+        ItemAnalysis analysis = new ItemAnalysis();
+
+        analysis.record(quiz, new int[]{0, 1}, 3);
+        analysis.record(quiz, new int[]{2, 1}, 2);
+        analysis.record(quiz, new int[]{-1, 0}, 0);
+        analysis.record(quiz, new int[]{0}, 1);
+
+        ItemAnalysis.Snapshot first = analysis.get("q1");
+        assertEquals(4, first.responses);
+        assertEquals(0.5, first.pValue, 1e-9);
+        assertArrayEquals(new long[]{2, 0, 1}, first.optionCounts);
+        assertEquals(1, first.skipped);
+        ItemAnalysis.Snapshot second = analysis.get("q2");
+        assertEquals(0.5, second.pValue, 1e-9);
+        assertArrayEquals(new long[]{1, 2}, second.optionCounts);
+        assertEquals(1, second.skipped);
+    }
+
+    @Test
+    void record_PointBiserialMatchesBatchCorrelation() {
+        ItemAnalysis analysis = new ItemAnalysis();
+        int[][] answers = {{0, 1}, {0, 0}, {1, 1}, {2, 0}, {0, 1}, {1, 0}, {0, 1}};
+        double[] correct = new double[answers.length];
+        double[] rest = new double[answers.length];
+        for (int i = 0; i < answers.length; i++) {
+            int score = (answers[i][0] == 0 ? 1 : 0) + (answers[i][1] == 1 ? 2 : 0);
+            analysis.record(quiz, answers[i], score);
+            correct[i] = answers[i][0] == 0 ? 1 : 0;
+            rest[i] = answers[i][1] == 1 ? 2 : 0;
+        }
+
+        assertEquals(pearson(correct, rest), analysis.get("q1").pointBiserial, 1e-9);
+    }
+
+    @Test
+    void get_UnansweredOrConstantItemHasNoCorrelation() {
+        ItemAnalysis analysis = new ItemAnalysis();
+        analysis.record(quiz, new int[]{0, 1}, 3);
+        analysis.record(quiz, new int[]{0, 0}, 1);
+
+        assertEquals(0, analysis.get("missing").responses);
+        assertNull(analysis.get("q1").pointBiserial);
+    }
+
+    @Test
+    void suggestDifficulty_NeedsEnoughResponses() {
+        ItemAnalysis analysis = new ItemAnalysis();
+        for (int i = 0; i < 29; i++) {
+            analysis.record(quiz, new int[]{1, 0}, 0);
+        }
+        assertNull(ItemAnalysis.suggestDifficulty(analysis.get("q1")));
+
+        analysis.record(quiz, new int[]{0, 0}, 1);
+        assertEquals("HARD", ItemAnalysis.suggestDifficulty(analysis.get("q1")));
+    }
+
+    private static double pearson(double[] x, double[] y) {
+        double meanX = Arrays.stream(x).average().orElse(0);
+        double meanY = Arrays.stream(y).average().orElse(0);
+        double covariance = 0;
+        double varianceX = 0;
+        double varianceY = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            varianceX += (x[i] - meanX) * (x[i] - meanX);
+            varianceY += (y[i] - meanY) * (y[i] - meanY);
+        }
+        return covariance / Math.sqrt(varianceX * varianceY);
+    }
+}
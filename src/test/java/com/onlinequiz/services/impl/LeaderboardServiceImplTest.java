@@ -0,0 +1,67 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.dao.AttemptDAO;
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.QuizAttempt;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LeaderboardServiceImplTest {
+
+    @Mock
+    private AttemptDAO attemptDAO;
+
+    private LeaderboardServiceImpl leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        leaderboardService = new LeaderboardServiceImpl(attemptDAO);
+    }
+
+    @Test
+    void getTopEntries_RebuildsFromRecordedAttemptsOnce() {
+        // Arrange
+        when(attemptDAO.getAttemptsByQuiz(eq("quiz1"), anyLong(), anyLong(), anyInt())).thenReturn(Arrays.asList(
+                new QuizAttempt("a1", "user1", "quiz1", new int[0], 4, 5, 0, 100),
+                new QuizAttempt("a2", null, "quiz1", new int[0], 5, 5, 0, 150),
+                new QuizAttempt("a3", "user2", "quiz1", new int[0], 5, 5, 0, 200)
+        ));
+
+        // Act
+        List<LeaderboardEntry> top = leaderboardService.getTopEntries("quiz1", null);
+        leaderboardService.recordScore("quiz1", "user1", 5, 150);
+
+        // Assert
+        assertEquals(2, top.size());
+        assertEquals("user2", top.get(0).getUserId());
+        assertEquals(1, leaderboardService.getRank("quiz1", "user1").get().getRank());
+        verify(attemptDAO, times(1)).getAttemptsByQuiz(eq("quiz1"), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void recordScore_AnonymousSubmissionIsNotRanked() {
+        // Arrange
+        when(attemptDAO.getAttemptsByQuiz(eq("quiz1"), anyLong(), anyLong(), anyInt())).thenReturn(Collections.emptyList());
+
+        // Act & Assert
+        assertFalse(leaderboardService.recordScore("quiz1", null, 5, 100));
+        assertTrue(leaderboardService.getTopEntries("quiz1", 10).isEmpty());
+    }
+
+    @Test
+    void getTopEntries_EmptyQuizId_ThrowsException() {
+        // Act & Assert
+        assertThrows(QuizException.class, () -> leaderboardService.getTopEntries(" ", 10));
+    }
+}
@@ -0,0 +1,82 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.LeaderboardEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new Leaderboard();
+    }
+
+    @Test
+    void top_OrdersByScoreThenFinishTime() {
+        leaderboard.submit("alice", 8, 300);
+        leaderboard.submit("bob", 9, 400);
+        leaderboard.submit("carol", 8, 200);
+
+        List<LeaderboardEntry> top = leaderboard.top(10);
+        assertEquals(3, top.size());
+        assertEquals("bob", top.get(0).getUserId());
+        assertEquals("carol", top.get(1).getUserId());
+        assertEquals("alice", top.get(2).getUserId());
+        assertEquals(3, top.get(2).getRank());
+        assertEquals(2, leaderboard.top(2).size());
+    }
+
+    @Test
+    void submit_KeepsOnlyEachUsersBestResult() {
+        assertTrue(leaderboard.submit("alice", 5, 100));
+        assertFalse(leaderboard.submit("alice", 4, 50));
+        assertFalse(leaderboard.submit("alice", 5, 200));
+        assertTrue(leaderboard.submit("alice", 7, 300));
+
+        assertEquals(1, leaderboard.size());
+        assertEquals(7, leaderboard.rankOf("alice").get().getScore());
+    }
+
+    @Test
+    void rankOf_UnknownUserIsEmpty() {
+        assertFalse(leaderboard.rankOf("nobody").isPresent());
+    }
+
+    @Test
+    void rankOf_MatchesSortedStandingsUnderRandomUpdates() {
+        Random random = new Random(11);
+        Map<String, long[]> best = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String user = "u" + random.nextInt(500);
+            int score = random.nextInt(50);
+            long finishedAt = random.nextInt(10_000);
+            leaderboard.submit(user, score, finishedAt);
+            long[] current = best.get(user);
+            if (current == null || score > current[0] || (score == current[0] && finishedAt < current[1])) {
+                best.put(user, new long[]{score, finishedAt});
+            }
+        }
+        List<String> expected = new ArrayList<>(best.keySet());
+        expected.sort(Comparator.<String>comparingLong(user -> -best.get(user)[0])
+                .thenComparingLong(user -> best.get(user)[1])
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<LeaderboardEntry> top = leaderboard.top(expected.size());
+        assertEquals(expected.size(), leaderboard.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), top.get(i).getUserId());
+            assertEquals(i + 1, leaderboard.rankOf(expected.get(i)).get().getRank());
+        }
+    }
+}
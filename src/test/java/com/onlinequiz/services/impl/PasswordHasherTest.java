@@ -0,0 +1,43 @@
+package com.onlinequiz.services.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1000);
+
+    @Test
+    void hash_VerifiesOnlyTheSamePassword() {
+        String hash = hasher.hash("correct horse");
+
+        assertTrue(hash.startsWith("pbkdf2$1000$"));
+        assertTrue(hasher.verify("correct horse", hash));
+        assertFalse(hasher.verify("correct horsE", hash));
+        assertNotEquals(hash, hasher.hash("correct horse"));
+    }
+
+    @Test
+    void verify_PlaintextLegacyPassword() {
+        assertTrue(hasher.verify("password", "password"));
+        assertFalse(hasher.verify("Password", "password"));
+        assertTrue(hasher.needsRehash("password"));
+    }
+
+    @Test
+    void needsRehash_WhenIterationsWereRaised() {
+        String weak = new PasswordHasher(500).hash("password");
+
+        assertTrue(hasher.verify("password", weak));
+        assertTrue(hasher.needsRehash(weak));
+        assertFalse(hasher.needsRehash(hasher.hash("password")));
+    }
+
+    @Test
+    void verify_MalformedHash_ReturnsFalse() {
+        assertFalse(hasher.verify("password", "pbkdf2$1000$not-base64!"));
+        assertFalse(hasher.verify("password", "pbkdf2$abc$AAAA$AAAA"));
+        assertFalse(hasher.verify(null, "password"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionSearchIndexTest {
+
+    private QuestionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new QuestionSearchIndex();
+        index.add(question("1", "What is the capital of France?", "Paris", "London"));
+        index.add(question("2", "Which keyword makes a Java field thread-safe for visibility?", "volatile", "transient"));
+        index.add(question("3", "Java generics: what does type erasure remove?", "Type arguments", "Methods"));
+        index.add(question("4", "Which collection is thread-safe?", "ConcurrentHashMap", "HashMap"));
+    }
+
+    private static Question question(String id, String title, String... options) {
+        return new Question(id, title, Arrays.asList(options), 0, "EASY", Arrays.asList("test"), 1);
+    }
+
+    @Test
+    void testTokenise() {
+        assertEquals(Arrays.asList("thread", "safe", "java", "17"), QuestionSearchIndex.tokenise("Thread-safe (Java 17)!"));
+    }
+
+    @Test
+    void testStopWordsAreNeitherIndexedNorSearched() {
+        assertEquals(Arrays.asList("capital", "france"), QuestionSearchIndex.tokenise("What is the capital of France?"));
+        assertTrue(index.search("what is the", 10).isEmpty());
+        assertEquals(Arrays.asList("1"), index.search("the capital", 10));
+    }
+
+    @Test
+    void testPrunedTopMatchesFullRankingThroughUpdatesAndRemovals() {
+        QuestionSearchIndex large = new QuestionSearchIndex();
+        Random random = new Random(42);
+        String[] words = new String[200];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "w" + i;
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 3000; i++) {
+                StringBuilder title = new StringBuilder();
+                for (int w = 0; w < 8; w++) {
+                    // Skewed towards low word numbers, so common and rare terms both occur.
+                    int word = (int) (words.length * Math.pow(random.nextDouble(), 3));
+                    title.append(words[word]).append(' ');
+                }
+                large.add(question(Integer.toString(random.nextInt(4000)), title.toString(), "yes", "no"));
+            }
+            for (int i = 0; i < 500; i++) {
+                large.remove(Integer.toString(random.nextInt(4000)));
+            }
+        }
+
+        for (String query : Arrays.asList("w0 w150", "w1 w2 w3", "w199", "w17 w5*", "w0 w1 w2 w3 w4 w5 w6 w7")) {
+            List<String> all = large.search(query, Integer.MAX_VALUE);
+            assertEquals(all.subList(0, Math.min(10, all.size())), large.search(query, 10), query);
+        }
+    }
+
+    @Test
+    void testRanksDocumentsMatchingMoreTermsFirst() {
+        List<String> hits = index.search("java thread safe", 10);
+        assertEquals("2", hits.get(0));
+        assertTrue(hits.containsAll(Arrays.asList("3", "4")));
+        assertFalse(hits.contains("1"));
+    }
+
+    @Test
+    void testSearchesOptions() {
+        assertEquals(Arrays.asList("1"), index.search("paris", 10));
+    }
+
+    @Test
+    void testPrefixQuery() {
+        List<String> hits = index.search("concurr*", 10);
+        assertEquals(Arrays.asList("4"), hits);
+        assertEquals(2, index.search("gen* capit*", 10).size());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, index.search("java", 1).size());
+    }
+
+    @Test
+    void testIncrementalUpdateAndRemove() {
+        index.add(question("1", "What is the capital of Italy?", "Rome", "Milan"));
+        assertTrue(index.search("paris", 10).isEmpty());
+        assertEquals(Arrays.asList("1"), index.search("rome", 10));
+        index.remove("1");
+        assertTrue(index.search("rome", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+}
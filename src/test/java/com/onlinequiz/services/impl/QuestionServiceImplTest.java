@@ -1,16 +1,28 @@
 package com.onlinequiz.services.impl;
 
+import com.onlinequiz.constants.Constants;
 import com.onlinequiz.dao.QuestionDAO;
 import com.onlinequiz.exception.QuestionException;
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuestionStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -197,4 +209,253 @@ class QuestionServiceImplTest {
         assertFalse(result.isPresent());
         verify(questionDAO, times(1)).getQuestionById(id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void sealQuestions_DelegatesToDao() {
+        // Arrange
+        List<String> ids = Arrays.asList("1", "2");
+        when(questionDAO.sealQuestions(ids)).thenReturn(2);
+
+        // Act & Assert
+        assertEquals(2, questionService.sealQuestions(ids));
+        verify(questionDAO, times(1)).sealQuestions(ids);
+    }
+
+    @Test
+    void sealQuestions_EmptyIds_DoesNothing() {
+        // Act & Assert
+        assertEquals(0, questionService.sealQuestions(Collections.emptyList()));
+        verify(questionDAO, never()).sealQuestions(anyList());
+    }
+
+    @Test
+    void findQuestions_DelegatesToIndex() {
+        // Arrange
+        QuestionQuery query = new QuestionQuery(Arrays.asList("java"), null, null, Arrays.asList("hard"));
+        List<Question> expected = Arrays.asList(new Question("1", "Q1", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("java"), 1));
+        when(questionDAO.findQuestions(query)).thenReturn(expected);
+
+        // Act & Assert
+        assertEquals(expected, questionService.findQuestions(query));
+    }
+
+    @Test
+    void findQuestions_InvalidDifficulty_ThrowsException() {
+        // Arrange
+        QuestionQuery query = new QuestionQuery(null, null, null, Arrays.asList("IMPOSSIBLE"));
+
+        // Act & Assert
+        assertThrows(QuestionException.class, () -> questionService.findQuestions(query));
+    }
+
+    @Test
+    void findQuestions_EmptyQuery_ReturnsAllQuestions() {
+        // Act
+        questionService.findQuestions(new QuestionQuery());
+
+        // Assert
+        verify(questionDAO, times(1)).getAllQuestions();
+        verify(questionDAO, never()).findQuestions(any(QuestionQuery.class));
+    }
+
+    @Test
+    void searchQuestions_LoadsIndexAndFollowsWrites() {
+        // Arrange
+        Question existing = new Question("1", "What is the capital of France?", Arrays.asList("Paris", "Rome"), 0, "EASY", Arrays.asList("geo"), 1);
+        Map<String, Question> stored = new HashMap<>();
+        stored.put("1", existing);
+        when(questionDAO.iterateQuestions()).thenAnswer(i -> Arrays.asList(existing).iterator());
+        when(questionDAO.getQuestionById(anyString())).thenAnswer(i -> Optional.ofNullable(stored.get(i.getArgument(0, String.class))));
+        when(questionDAO.createQuestion(any(Question.class))).thenAnswer(i -> {
+            Question question = i.getArgument(0);
+            stored.put(question.getId(), question);
+            return question;
+        });
+
+        // Act
+        List<Question> first = questionService.searchQuestions("france", 10);
+        questionService.createQuestion("Largest city in France?", Arrays.asList("Paris", "Lyon"), 0, "EASY", Arrays.asList("geo"), 1);
+        List<Question> second = questionService.searchQuestions("france", 10);
+
+        // Assert
+        assertEquals(Arrays.asList(existing), first);
+        assertEquals(2, second.size());
+        verify(questionDAO, times(1)).iterateQuestions();
+        verify(questionDAO, never()).getAllQuestions();
+    }
+
+    @Test
+    void searchQuestions_ConcurrentSearchWaitsForTheWholeLoad() throws Exception {
+        // Arrange
+        Question first = new Question("1", "What is the capital of France?", Arrays.asList("Paris", "Rome"), 0, "EASY", Arrays.asList("geo"), 1);
+        Question second = new Question("2", "Largest city in France?", Arrays.asList("Paris", "Lyon"), 0, "EASY", Arrays.asList("geo"), 1);
+        when(questionDAO.getQuestionById("1")).thenReturn(Optional.of(first));
+        when(questionDAO.getQuestionById("2")).thenReturn(Optional.of(second));
+        List<List<Question>> concurrentResults = new ArrayList<>();
+        Thread concurrentSearch = new Thread(() -> concurrentResults.add(questionService.searchQuestions("france", 10)));
+        Iterator<Question> bank = Arrays.asList(first, second).iterator();
+        when(questionDAO.iterateQuestions()).thenReturn(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return bank.hasNext();
+            }
+
+            @Override
+            public Question next() {
+                Question next = bank.next();
+                if (next == second) {
+                    // Half the bank is indexed; a search arriving now must not see only that half.
+                    concurrentSearch.start();
+                    try {
+                        concurrentSearch.join(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    assertTrue(concurrentSearch.isAlive());
+                }
+                return next;
+            }
+        });
+
+        // Act
+        List<Question> results = questionService.searchQuestions("france", 10);
+        concurrentSearch.join();
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(2, concurrentResults.get(0).size());
+    }
+
+    @Test
+    void searchQuestions_QuestionDeletedDuringLoadIsNotIndexed() {
+        // Arrange
+        Question kept = new Question("1", "What is the capital of France?", Arrays.asList("Paris", "Rome"), 0, "EASY", Arrays.asList("geo"), 1);
+        Question deleted = new Question("2", "France, France, France?", Arrays.asList("Paris", "Rome"), 0, "EASY", Arrays.asList("geo"), 1);
+        // The bulk read still saw question 2, but it was deleted before the index got to it.
+        when(questionDAO.iterateQuestions()).thenAnswer(i -> Arrays.asList(kept, deleted).iterator());
+        when(questionDAO.getQuestionById("1")).thenReturn(Optional.of(kept));
+        when(questionDAO.getQuestionById("2")).thenReturn(Optional.empty());
+
+        // Act
+        List<Question> results = questionService.searchQuestions("france", 1);
+
+        // Assert
+        assertEquals(Arrays.asList(kept), results);
+    }
+
+    @Test
+    void searchQuestions_EmptyQuery_ThrowsException() {
+        // Act & Assert
+        assertThrows(QuestionException.class, () -> questionService.searchQuestions(" ", 10));
+    }
+
+    @Test
+    void getQuestionStatistics_ReflectsRecordedResponses() {
+        // Arrange
+        Question question = new Question("1", "Q1", Arrays.asList("A", "B", "C"), 0, "HARD", Arrays.asList("java"), 1);
+        when(questionDAO.getQuestionById("1")).thenReturn(Optional.of(question));
+        for (int i = 0; i < 40; i++) {
+            questionService.recordResponses(Arrays.asList(question), new int[]{i % 4 == 3 ? 1 : 0}, i % 4 == 3 ? 0 : 1);
+        }
+
+        // Act
+        QuestionStatistics statistics = questionService.getQuestionStatistics("1").get();
+
+        // Assert
+        assertEquals(40, statistics.getResponses());
+        assertEquals(0.75, statistics.getPValue(), 1e-9);
+        assertArrayEquals(new long[]{30, 10, 0}, statistics.getOptionCounts());
+        assertEquals("HARD", statistics.getCurrentDifficulty());
+        assertEquals("EASY", statistics.getSuggestedDifficulty());
+    }
+
+    @Test
+    void updateQuestion_ChangedAnswerResetsStatistics() {
+        // Arrange
+        Question question = new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        Question changed = new Question("1", "Q1", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("java"), 1);
+        when(questionDAO.getQuestionById("1")).thenReturn(Optional.of(question));
+        when(questionDAO.updateQuestion(changed)).thenReturn(changed);
+        questionService.recordResponses(Arrays.asList(question), new int[]{0}, 1);
+
+        // Act
+        questionService.updateQuestion(changed);
+
+        // Assert
+        assertEquals(0, questionService.getQuestionStatistics("1").get().getResponses());
+    }
+
+    @Test
+    void applyBatch_ValidatesThenWritesOnce() {
+        // Arrange
+        Question existing = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        when(questionDAO.getQuestionById("q1")).thenReturn(Optional.of(existing));
+        when(questionDAO.deleteQuestions(anyList())).thenReturn(Set.of("q2"));
+        when(questionDAO.putQuestions(anyList())).thenAnswer(i -> idsOf(i.getArgument(0)));
+        when(questionDAO.updateQuestions(anyList())).thenAnswer(i -> idsOf(i.getArgument(0)));
+        List<BatchOperation<Question>> operations = Arrays.asList(
+                new BatchOperation<>("CREATE", null, new Question(null, "New", Arrays.asList("A", "B"), 1, "HARD", Arrays.asList("sql"), 2)),
+                new BatchOperation<>("CREATE", null, new Question(null, "", Arrays.asList("A", "B"), 1, "HARD", Arrays.asList("sql"), 2)),
+                new BatchOperation<>("UPDATE", "q1", new Question(null, "Q1 v2", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1)),
+                new BatchOperation<>("DELETE", "q1", null),
+                new BatchOperation<>("UPDATE", "q9", new Question(null, "Q9", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1)),
+                new BatchOperation<>("DELETE", "q2", null),
+                new BatchOperation<>("DELETE", "q3", null));
+
+        // Act
+        List<BatchOutcome> outcomes = questionService.applyBatch(operations);
+
+        // Assert
+        assertEquals(Arrays.asList("OK", "FAILED", "OK", "FAILED", "NOT_FOUND", "OK", "NOT_FOUND"),
+                outcomes.stream().map(BatchOutcome::getStatus).toList());
+        assertNotNull(outcomes.get(0).getId());
+        verify(questionDAO, times(1)).putQuestions(argThat(batch -> batch.size() == 1 && "New".equals(batch.get(0).getTitle())));
+        verify(questionDAO, times(1)).updateQuestions(argThat(batch -> batch.size() == 1 && batch.get(0).getId().equals("q1")));
+        verify(questionDAO, times(1)).deleteQuestions(Arrays.asList("q2", "q3"));
+        verify(questionDAO, never()).createQuestion(any(Question.class));
+    }
+
+    @Test
+    void applyBatch_ReportsQuestionsPinnedByLockedQuiz() {
+        // Arrange
+        Question existing = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        when(questionDAO.getQuestionById("q1")).thenReturn(Optional.of(existing));
+        when(questionDAO.getQuestionById("q2")).thenReturn(Optional.of(existing));
+        when(questionDAO.updateQuestions(anyList())).thenReturn(Collections.emptySet());
+        when(questionDAO.deleteQuestions(anyList())).thenReturn(Collections.emptySet());
+        List<BatchOperation<Question>> operations = Arrays.asList(
+                new BatchOperation<>("UPDATE", "q1", new Question(null, "Q1 v2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("java"), 1)),
+                new BatchOperation<>("DELETE", "q2", null));
+
+        // Act
+        List<BatchOutcome> outcomes = questionService.applyBatch(operations);
+
+        // Assert
+        assertEquals(Arrays.asList("FAILED", "FAILED"), outcomes.stream().map(BatchOutcome::getStatus).toList());
+        assertEquals(Constants.ERROR_QUESTION_LOCKED, outcomes.get(0).getError());
+        assertEquals(Constants.ERROR_QUESTION_LOCKED, outcomes.get(1).getError());
+    }
+
+    @Test
+    void applyBatch_ReportsUpdateOfQuestionDeletedMeanwhileAsNotFound() {
+        // Arrange: the question is there when the batch is validated and gone when the DAO takes its lock.
+        Question existing = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        when(questionDAO.getQuestionById("q1")).thenReturn(Optional.of(existing), Optional.empty());
+        when(questionDAO.updateQuestions(anyList())).thenReturn(Collections.emptySet());
+        List<BatchOperation<Question>> operations = Collections.singletonList(
+                new BatchOperation<>("UPDATE", "q1", new Question(null, "Q1 v2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("java"), 1)));
+
+        // Act
+        List<BatchOutcome> outcomes = questionService.applyBatch(operations);
+
+        // Assert
+        assertEquals("NOT_FOUND", outcomes.get(0).getStatus());
+        verify(questionDAO, never()).putQuestions(anyList());
+    }
+
+    private static Set<String> idsOf(List<Question> questions) {
+        Set<String> ids = new HashSet<>();
+        questions.forEach(question -> ids.add(question.getId()));
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.ImportSummary;
+import com.onlinequiz.models.Question;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionTransferTest {
+
+    private final QuestionTransfer transfer = new QuestionTransfer();
+
+    private static ByteArrayInputStream ndjson(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Function<List<Question>, Set<String>> storeInto(List<Question> store) {
+        return batch -> {
+            store.addAll(batch);
+            Set<String> ids = new HashSet<>();
+            batch.forEach(question -> ids.add(question.getId()));
+            return ids;
+        };
+    }
+
+    @Test
+    void export_ThenImport_RoundTripsQuestionsWithIds() throws IOException {
+        List<Question> bank = Arrays.asList(
+                new Question("a", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1),
+                new Question("b", "Q2", Arrays.asList("A", "B", "C"), 2, "HARD", Arrays.asList("sql"), 3));
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+
+        long written = transfer.export(bank.iterator(), exported);
+        List<Question> imported = new ArrayList<>();
+        ImportSummary summary = transfer.importFrom(new ByteArrayInputStream(exported.toByteArray()),
+                question -> { }, storeInto(imported));
+
+        assertEquals(2, written);
+        assertEquals(2, exported.toString(StandardCharsets.UTF_8).split("\n").length);
+        assertEquals(2, summary.getImported());
+        assertEquals(bank, imported);
+    }
+
+    @Test
+    void importFrom_ReportsBadLinesAndKeepsGoing() throws IOException {
+        String input = "{\"id\":\"a\",\"title\":\"Q1\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"title\":\"\"}\n"
+                + "{\"title\":\"Q2\"}\n";
+        List<Question> imported = new ArrayList<>();
+
+        ImportSummary summary = transfer.importFrom(ndjson(input), question -> {
+            if (question.getTitle().isEmpty()) {
+                throw new IllegalArgumentException("empty title");
+            }
+        }, storeInto(imported));
+
+        assertEquals(2, summary.getImported());
+        assertEquals(2, summary.getFailed());
+        assertTrue(summary.getErrors().get(0).startsWith("line 2: Malformed question"));
+        assertEquals("line 4: empty title", summary.getErrors().get(1));
+        assertEquals("a", imported.get(0).getId());
+        assertNotNull(imported.get(1).getId());
+    }
+
+    @Test
+    void importFrom_HandsOverFullBatches() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            input.append("{\"id\":\"q").append(i).append("\",\"title\":\"Q\"}\n");
+        }
+        List<Integer> batchSizes = new ArrayList<>();
+
+        ImportSummary summary = transfer.importFrom(ndjson(input.toString()), question -> { },
+                batch -> {
+                    batchSizes.add(batch.size());
+                    return storeInto(new ArrayList<>()).apply(batch);
+                });
+
+        assertEquals(2500, summary.getImported());
+        assertEquals(Arrays.asList(1000, 1000, 500), batchSizes);
+    }
+
+    @Test
+    void importFrom_CountsQuestionsTheSinkRefusedAsFailed() throws IOException {
+        String input = "{\"id\":\"a\",\"title\":\"Q1\"}\n"
+                + "{\"id\":\"locked\",\"title\":\"Q2\"}\n"
+                + "{\"id\":\"b\",\"title\":\"Q3\"}\n";
+        List<Question> imported = new ArrayList<>();
+
+        ImportSummary summary = transfer.importFrom(ndjson(input), question -> { }, batch -> {
+            List<Question> writable = new ArrayList<>(batch);
+            writable.removeIf(question -> question.getId().equals("locked"));
+            return storeInto(imported).apply(writable);
+        });
+
+        assertEquals(2, summary.getImported());
+        assertEquals(1, summary.getFailed());
+        assertEquals("line 2: Question is used by a locked quiz and cannot be changed", summary.getErrors().get(0));
+        assertEquals(2, imported.size());
+    }
+}
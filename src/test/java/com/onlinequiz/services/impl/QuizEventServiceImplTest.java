@@ -0,0 +1,120 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.services.LeaderboardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QuizEventServiceImplTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private QuizEventServiceImpl quizEventService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(leaderboardService.getTopEntries(anyString(), anyInt())).thenReturn(Collections.emptyList());
+        // Flushes are driven by hand below.
+        quizEventService = new QuizEventServiceImpl(leaderboardService, 3_600_000, 16, 1, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        quizEventService.shutdown();
+    }
+
+    private static QuizAttempt attempt(String id) {
+        return new QuizAttempt(id, "user1", "quiz1", new int[]{0}, 1, 1, 0, 100);
+    }
+
+    @Test
+    void subscribe_CountsSubscribersAndSendsCurrentStandings() {
+        // Act
+        quizEventService.subscribe("quiz1");
+        quizEventService.subscribe("quiz2");
+
+        // Assert
+        assertEquals(2, quizEventService.getSubscriberCount());
+        verify(leaderboardService).getTopEntries(eq("quiz1"), anyInt());
+    }
+
+    @Test
+    void publishAttempt_WithoutSubscribersDoesNothing() {
+        // Act
+        quizEventService.publishAttempt("quiz1", attempt("a1"), true);
+        quizEventService.flush();
+
+        // Assert
+        verifyNoInteractions(leaderboardService);
+    }
+
+    @Test
+    void flush_ComputesEachChangedLeaderboardOnceForAllSubscribers() {
+        // Arrange
+        quizEventService.subscribe("quiz1");
+        quizEventService.subscribe("quiz1");
+        clearInvocations(leaderboardService);
+
+        // Act
+        quizEventService.publishAttempt("quiz1", attempt("a1"), true);
+        quizEventService.publishAttempt("quiz1", attempt("a2"), true);
+        quizEventService.publishAttempt("quiz1", attempt("a3"), false);
+        quizEventService.flush();
+        quizEventService.flush();
+
+        // Assert
+        verify(leaderboardService, times(1)).getTopEntries(eq("quiz1"), anyInt());
+    }
+
+    @Test
+    void flush_EvictsSubscriberWhoseWriteExceedsTheTimeout() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        QuizEventServiceImpl stalling = new QuizEventServiceImpl(leaderboardService, 3_600_000, 16, 1, 50) {
+            @Override
+            SseEmitter newEmitter() {
+                return new SseEmitter(0L) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        writing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+            }
+        };
+        try {
+            stalling.subscribe("quiz1");
+            stalling.flush();
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // Act
+            Thread.sleep(100);
+            stalling.flush();
+
+            // Assert
+            assertEquals(0, stalling.getSubscriberCount());
+        } finally {
+            release.countDown();
+            stalling.shutdown();
+        }
+    }
+}
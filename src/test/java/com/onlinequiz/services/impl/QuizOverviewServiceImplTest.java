@@ -0,0 +1,117 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.LeaderboardEntry;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionStatistics;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.QuizOverview;
+import com.onlinequiz.services.AttemptService;
+import com.onlinequiz.services.LeaderboardService;
+import com.onlinequiz.services.QuestionService;
+import com.onlinequiz.services.QuizService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.onlinequiz.constants.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QuizOverviewServiceImplTest {
+
+    @Mock
+    private QuizService quizService;
+    @Mock
+    private QuestionService questionService;
+    @Mock
+    private AttemptService attemptService;
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private QuizOverviewServiceImpl overviewService;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Question q1 = new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        Question q2 = new Question("2", "Q2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("java"), 1);
+        quiz = new Quiz("quiz1", "Quiz", Arrays.asList(q1, q2), 2, "CODE1", false);
+        when(quizService.getQuizById("quiz1")).thenReturn(Optional.of(quiz));
+        overviewService = new QuizOverviewServiceImpl(quizService, questionService, attemptService,
+                leaderboardService, executor, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getQuizOverview_CombinesEveryPart() {
+        // Arrange
+        List<LeaderboardEntry> leaderboard = Collections.singletonList(new LeaderboardEntry(1, "user1", 2, 100L));
+        List<QuizAttempt> attempts = Collections.singletonList(new QuizAttempt());
+        QuestionStatistics statistics = new QuestionStatistics();
+        when(leaderboardService.getTopEntries("quiz1", DEFAULT_LEADERBOARD_SIZE)).thenReturn(leaderboard);
+        when(attemptService.getQuizAttempts("quiz1", null, null, OVERVIEW_RECENT_ATTEMPTS)).thenReturn(attempts);
+        when(questionService.getQuestionStatistics("1")).thenReturn(Optional.of(statistics));
+        when(questionService.getQuestionStatistics("2")).thenReturn(Optional.empty());
+
+        // Act
+        Optional<QuizOverview> overview = overviewService.getQuizOverview("quiz1");
+
+        // Assert
+        assertTrue(overview.isPresent());
+        assertSame(quiz, overview.get().getQuiz());
+        assertEquals(leaderboard, overview.get().getLeaderboard());
+        assertEquals(attempts, overview.get().getRecentAttempts());
+        assertEquals(Collections.singletonList(statistics), overview.get().getQuestionStatistics());
+    }
+
+    @Test
+    void getQuizOverview_UnknownQuiz_ReturnsEmpty() {
+        // Arrange
+        when(quizService.getQuizById("missing")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(overviewService.getQuizOverview("missing").isPresent());
+        verifyNoInteractions(leaderboardService, attemptService, questionService);
+    }
+
+    @Test
+    void getQuizOverview_FailingPart_PropagatesItsException() {
+        // Arrange
+        when(attemptService.getQuizAttempts("quiz1", null, null, OVERVIEW_RECENT_ATTEMPTS))
+                .thenThrow(new QuizException(ERROR_EMPTY_QUIZ_ID));
+
+        // Act & Assert
+        QuizException exception = assertThrows(QuizException.class, () -> overviewService.getQuizOverview("quiz1"));
+        assertEquals(ERROR_EMPTY_QUIZ_ID, exception.getMessage());
+    }
+
+    @Test
+    void getQuizOverview_SlowPart_TimesOut() {
+        // Arrange
+        when(leaderboardService.getTopEntries("quiz1", DEFAULT_LEADERBOARD_SIZE)).thenAnswer(invocation -> {
+            Thread.sleep(60_000);
+            return Collections.emptyList();
+        });
+
+        // Act & Assert
+        QuizException exception = assertThrows(QuizException.class, () -> overviewService.getQuizOverview("quiz1"));
+        assertEquals(ERROR_OVERVIEW_TIMEOUT, exception.getMessage());
+    }
+}
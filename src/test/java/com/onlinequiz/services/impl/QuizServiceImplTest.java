@@ -1,18 +1,32 @@
 package com.onlinequiz.services.impl;
 
+import com.onlinequiz.constants.Constants;
 import com.onlinequiz.dao.QuizDAO;
 import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.Page;
 import com.onlinequiz.models.Question;
+import com.onlinequiz.models.QuestionQuery;
+import com.onlinequiz.models.QuizAttempt;
+import com.onlinequiz.models.QuizBlueprint;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.AttemptService;
+import com.onlinequiz.services.LeaderboardService;
 import com.onlinequiz.services.QuestionService;
+import com.onlinequiz.services.QuizEventService;
+import com.onlinequiz.exception.AccessCodeTakenException;
 import com.onlinequiz.exception.QuizException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 class QuizServiceImplTest {
@@ -23,12 +37,25 @@ class QuizServiceImplTest {
     @Mock
     private QuestionService questionService;
 
+    @Mock
+    private AttemptService attemptService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private QuizEventService quizEventService;
+
     private QuizServiceImpl quizService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        quizService = new QuizServiceImpl(quizDAO, questionService);
+        quizService = new QuizServiceImpl(quizDAO, questionService, attemptService, leaderboardService, quizEventService);
+        clearInvocations(quizDAO);
+        when(attemptService.recordAttempt(any(), anyString(), any(int[].class), anyInt(), anyInt(), anyLong()))
+                .thenAnswer(i -> new QuizAttempt("attempt1", i.getArgument(0), i.getArgument(1), i.getArgument(2),
+                        i.getArgument(3), i.getArgument(4), i.getArgument(5), i.getArgument(5)));
     }
 
     @Test
@@ -56,6 +83,101 @@ class QuizServiceImplTest {
         verify(quizDAO, times(1)).createQuiz(any(Quiz.class));
     }
 
+    @Test
+    void createQuizFromBlueprint_SamplesEachSectionWithoutRepeats() {
+        // Arrange
+        QuizBlueprint blueprint = new QuizBlueprint("Exam", Arrays.asList("java", "sql"), Arrays.asList(
+                new QuizBlueprint.Section(2, "EASY", null),
+                new QuizBlueprint.Section(1, "HARD", null)
+        ), 4);
+        Question e1 = new Question("e1", "E1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        Question e2 = new Question("e2", "E2", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("sql"), 1);
+        Question h1 = new Question("h1", "H1", Arrays.asList("A", "B"), 0, "HARD", Arrays.asList("java"), 2);
+        when(questionService.sampleQuestions(any(QuestionQuery.class), anySet(), eq(2))).thenReturn(Arrays.asList(e1, e2));
+        when(questionService.sampleQuestions(any(QuestionQuery.class), anySet(), eq(1))).thenReturn(Collections.singletonList(h1));
+        when(quizDAO.getQuizByAccessCode(anyString())).thenReturn(Optional.empty());
+        when(quizDAO.createQuiz(any(Quiz.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Quiz result = quizService.createQuizFromBlueprint(blueprint);
+
+        // Assert
+        assertEquals("Exam", result.getTitle());
+        assertEquals(Arrays.asList(e1, e2, h1), result.getQuestions());
+        assertEquals(4, result.getTotalMarks());
+        assertTrue(result.isModifiable());
+        verify(questionService).sampleQuestions(argThat(query -> query.getDifficulties().equals(Collections.singletonList("HARD"))
+                && query.getAnyTopics().equals(Arrays.asList("java", "sql"))), anySet(), eq(1));
+    }
+
+    @Test
+    void createQuizFromBlueprint_TooManyQuestions_ThrowsException() {
+        // Arrange
+        QuizBlueprint blueprint = new QuizBlueprint("Exam", null, Collections.singletonList(
+                new QuizBlueprint.Section(51, "EASY", Arrays.asList("java"))), null);
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.createQuizFromBlueprint(blueprint));
+        verifyNoInteractions(questionService);
+    }
+
+    @Test
+    void createQuizFromBlueprint_NotEnoughQuestions_ThrowsException() {
+        // Arrange
+        QuizBlueprint blueprint = new QuizBlueprint("Exam", null, Collections.singletonList(
+                new QuizBlueprint.Section(3, "EASY", Arrays.asList("java"))), null);
+        when(questionService.sampleQuestions(any(QuestionQuery.class), anySet(), eq(3))).thenReturn(Collections.singletonList(
+                new Question("e1", "E1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1)));
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.createQuizFromBlueprint(blueprint));
+        verify(quizDAO, never()).createQuiz(any(Quiz.class));
+    }
+
+    @Test
+    void createQuizFromBlueprint_UnreachableMarks_ThrowsException() {
+        // Arrange
+        QuizBlueprint blueprint = new QuizBlueprint("Exam", null, Collections.singletonList(
+                new QuizBlueprint.Section(1, "EASY", Arrays.asList("java"))), 5);
+        when(questionService.sampleQuestions(any(QuestionQuery.class), anySet(), eq(1))).thenReturn(Collections.singletonList(
+                new Question("e1", "E1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1)));
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.createQuizFromBlueprint(blueprint));
+        verify(quizDAO, never()).createQuiz(any(Quiz.class));
+    }
+
+    @Test
+    void createQuiz_AfterDelete_ReusesReleasedAccessCode() {
+        // Arrange
+        when(quizDAO.createQuiz(any(Quiz.class))).thenAnswer(i -> i.getArguments()[0]);
+        Quiz first = quizService.createQuiz("First", new Scanner("done\n"));
+        when(quizDAO.getQuizById(first.getId())).thenReturn(Optional.of(first));
+        when(quizDAO.isDeleteQuiz(first.getId())).thenReturn(true);
+
+        // Act
+        quizService.isDeleteQuiz(first.getId());
+        Quiz second = quizService.createQuiz("Second", new Scanner("done\n"));
+
+        // Assert
+        assertEquals(first.getAccessCode(), second.getAccessCode());
+    }
+
+    @Test
+    void createQuiz_SkipsAccessCodesAlreadyInUse() {
+        // Arrange
+        when(quizDAO.createQuiz(any(Quiz.class)))
+                .thenThrow(new AccessCodeTakenException(Constants.ERROR_ACCESS_CODE_TAKEN))
+                .thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Quiz quiz = quizService.createQuiz("Quiz", new Scanner("done\n"));
+
+        // Assert
+        assertNotNull(quiz.getAccessCode());
+        verify(quizDAO, times(2)).createQuiz(any(Quiz.class));
+    }
+
     @Test
     void getQuizById_Success() {
         // Arrange
@@ -98,15 +220,102 @@ class QuizServiceImplTest {
     @Test
     void updateQuiz_Success() {
         // Arrange
+        Quiz stored = new Quiz("1", "Quiz", new ArrayList<>(), 15, "ACCESS", true);
         Quiz quiz = new Quiz("1", "Updated Quiz", new ArrayList<>(), 15, "ACCESS", true);
-        when(quizDAO.updateQuiz(quiz)).thenReturn(quiz);
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(stored));
+        when(quizDAO.replaceQuiz(stored, quiz)).thenReturn(true);
 
         // Act
         Quiz result = quizService.updateQuiz(quiz);
 
         // Assert
         assertEquals(quiz, result);
-        verify(quizDAO, times(1)).updateQuiz(quiz);
+        verify(quizDAO, times(1)).replaceQuiz(stored, quiz);
+    }
+
+    @Test
+    void updateQuiz_NeverOverwritesLockedQuiz() {
+        // Arrange
+        Quiz stored = new Quiz("1", "Quiz", null, 15, "ACCESS", false);
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(QuizException.class,
+                () -> quizService.updateQuiz(new Quiz("1", "Updated Quiz", new ArrayList<>(), 15, "ACCESS", true)));
+        verify(quizDAO, never()).replaceQuiz(any(), any());
+        verify(quizDAO, never()).updateQuiz(any());
+    }
+
+    @Test
+    void getQuizPage_FetchesOneExtraToFindNextCursor() {
+        // Arrange
+        List<Quiz> fetched = Arrays.asList(
+                new Quiz("1", "Quiz 1", new ArrayList<>(), 0, "ACCESS1", true),
+                new Quiz("2", "Quiz 2", new ArrayList<>(), 0, "ACCESS2", true),
+                new Quiz("3", "Quiz 3", new ArrayList<>(), 0, "ACCESS3", true)
+        );
+        when(quizDAO.getQuizzesAfter(null, 3)).thenReturn(fetched);
+
+        // Act
+        Page<Quiz> page = quizService.getQuizPage(null, 2);
+
+        // Assert
+        assertEquals(fetched.subList(0, 2), page.getItems());
+        assertEquals("2", page.getNextCursor());
+    }
+
+    @Test
+    void getQuizPage_CapsPageSize() {
+        // Arrange
+        when(quizDAO.getQuizzesAfter("9", 501)).thenReturn(new ArrayList<>());
+
+        // Act
+        Page<Quiz> page = quizService.getQuizPage("9", 100_000);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void createQuiz_FromQuestionIds() {
+        // Arrange
+        Question q1 = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "Easy", Arrays.asList("Topic1"), 2);
+        Question q2 = new Question("q2", "Q2", Arrays.asList("A", "B"), 1, "Easy", Arrays.asList("Topic1"), 3);
+        when(questionService.getQuestionById("q1")).thenReturn(Optional.of(q1));
+        when(questionService.getQuestionById("q2")).thenReturn(Optional.of(q2));
+        when(quizDAO.createQuiz(any(Quiz.class))).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Quiz result = quizService.createQuiz("Quiz", Arrays.asList("q2", "q1"));
+
+        // Assert
+        assertEquals(Arrays.asList(q2, q1), result.getQuestions());
+        assertEquals(5, result.getTotalMarks());
+        assertNotNull(result.getAccessCode());
+        assertTrue(result.isModifiable());
+        assertThrows(QuizException.class, () -> quizService.createQuiz("Quiz", Arrays.asList("missing")));
+        assertThrows(QuizException.class, () -> quizService.createQuiz(" ", Arrays.asList("q1")));
+    }
+
+    @Test
+    void updateQuiz_ByIdKeepsAccessCodeAndRejectsLockedQuiz() {
+        // Arrange
+        Question q1 = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "Easy", Arrays.asList("Topic1"), 2);
+        when(questionService.getQuestionById("q1")).thenReturn(Optional.of(q1));
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(new Quiz("1", "Old", new ArrayList<>(), 0, "ACCESS", true)));
+        when(quizDAO.getQuizById("2")).thenReturn(Optional.of(new Quiz("2", "Locked", new ArrayList<>(), 0, "LOCKED", false)));
+        when(quizDAO.replaceQuiz(any(Quiz.class), any(Quiz.class))).thenReturn(true);
+
+        // Act
+        Quiz result = quizService.updateQuiz("1", "New", Arrays.asList("q1"));
+
+        // Assert
+        assertEquals("New", result.getTitle());
+        assertEquals("ACCESS", result.getAccessCode());
+        assertEquals(2, result.getTotalMarks());
+        assertThrows(QuizException.class, () -> quizService.updateQuiz("2", "New", Arrays.asList("q1")));
+        assertThrows(QuizException.class, () -> quizService.updateQuiz("3", "New", Arrays.asList("q1")));
     }
 
     @Test
@@ -172,13 +381,77 @@ class QuizServiceImplTest {
         String id = "quiz1";
         Quiz quiz = new Quiz(id, "Test Quiz", new ArrayList<>(), 10, "ACCESS", true);
         when(quizDAO.getQuizById(id)).thenReturn(Optional.of(quiz));
+        when(quizDAO.replaceQuiz(eq(quiz), any(Quiz.class))).thenReturn(true);
+        when(questionService.pinQuestions(Collections.emptyList())).thenReturn(Optional.of(Collections.emptyList()));
 
         // Act
         quizService.lockQuiz(id);
 
         // Assert
-        assertFalse(quiz.isModifiable());
-        verify(quizDAO, times(1)).updateQuiz(quiz);
+        verify(quizDAO, times(1)).replaceQuiz(eq(quiz), argThat(locked -> !locked.isModifiable()
+                && locked.getId().equals(id) && locked.getAccessCode().equals("ACCESS")));
+    }
+
+    @Test
+    void lockQuiz_RetriesWhenQuizChangedConcurrently() {
+        // Arrange
+        String id = "quiz1";
+        Quiz stale = new Quiz(id, "Old", new ArrayList<>(), 10, "ACCESS", true);
+        Quiz current = new Quiz(id, "New", new ArrayList<>(), 10, "ACCESS", true);
+        when(quizDAO.getQuizById(id)).thenReturn(Optional.of(stale)).thenReturn(Optional.of(current));
+        when(quizDAO.replaceQuiz(eq(stale), any(Quiz.class))).thenReturn(false);
+        when(quizDAO.replaceQuiz(eq(current), any(Quiz.class))).thenReturn(true);
+        when(questionService.pinQuestions(Collections.emptyList())).thenReturn(Optional.of(Collections.emptyList()));
+
+        // Act
+        quizService.lockQuiz(id);
+
+        // Assert
+        verify(quizDAO).replaceQuiz(eq(current), argThat(locked -> !locked.isModifiable() && locked.getTitle().equals("New")));
+        // The pins taken for the lost attempt are given back.
+        verify(questionService, times(2)).pinQuestions(Collections.emptyList());
+        verify(questionService, times(1)).unpinQuestions(Collections.emptyList());
+    }
+
+    @Test
+    void lockQuiz_SealsQuizQuestions() {
+        // Arrange
+        String id = "quiz1";
+        List<Question> questions = Arrays.asList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1),
+                new Question("q2", "Q2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("Topic1"), 1));
+        Quiz quiz = new Quiz(id, "Test Quiz", questions, 2, "ACCESS", true);
+        when(quizDAO.getQuizById(id)).thenReturn(Optional.of(quiz));
+        when(quizDAO.replaceQuiz(eq(quiz), any(Quiz.class))).thenReturn(true);
+        when(questionService.pinQuestions(Arrays.asList("q1", "q2"))).thenReturn(Optional.of(questions));
+
+        // Act
+        quizService.lockQuiz(id);
+
+        // Assert
+        verify(questionService, times(1)).sealQuestions(Arrays.asList("q1", "q2"));
+        verify(quizDAO).replaceQuiz(eq(quiz), argThat(locked -> locked.getQuestions() == null
+                && locked.getQuestionIds().equals(Arrays.asList("q1", "q2"))));
+    }
+
+    @Test
+    void getQuizByAccessCode_LockedQuizResolvesQuestionIds() {
+        // Arrange
+        Question first = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1);
+        Question second = new Question("q2", "Q2", Arrays.asList("A", "B"), 1, "EASY", Arrays.asList("Topic1"), 1);
+        Quiz locked = new Quiz("1", "Test Quiz", null, 2, "ACCESS", false);
+        locked.setQuestionIds(Arrays.asList("q2", "q1"));
+        when(quizDAO.getQuizByAccessCode("ACCESS")).thenReturn(Optional.of(locked));
+        when(questionService.getQuestionById("q1")).thenReturn(Optional.of(first));
+        when(questionService.getQuestionById("q2")).thenReturn(Optional.of(second));
+
+        // Act
+        Quiz result = quizService.getQuizByAccessCode("ACCESS").get();
+
+        // Assert
+        assertEquals(Arrays.asList(second, first), result.getQuestions());
+        assertFalse(result.isModifiable());
+        assertEquals("ACCESS", result.getAccessCode());
     }
 
     @Test
@@ -191,6 +464,64 @@ class QuizServiceImplTest {
         assertThrows(QuizException.class, () -> quizService.lockQuiz(id));
     }
 
+    @Test
+    void lockQuiz_QuestionDeletedFromBank_ThrowsAndStaysModifiable() {
+        // Arrange
+        String id = "quiz1";
+        Quiz quiz = new Quiz(id, "Test Quiz", Collections.singletonList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1)), 1, "ACCESS", true);
+        when(quizDAO.getQuizById(id)).thenReturn(Optional.of(quiz));
+        when(questionService.pinQuestions(Collections.singletonList("q1"))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.lockQuiz(id));
+        verify(quizDAO, never()).replaceQuiz(any(), any());
+    }
+
+    @Test
+    void lockQuiz_FreezesKeyFromBankAndGradesByItAfterRestart() {
+        // Arrange
+        Question banked = new Question("q1", "Q1", Arrays.asList("A", "B", "C"), 2, "EASY", Arrays.asList("Topic1"), 3);
+        Quiz quiz = new Quiz("1", "Test Quiz", Collections.singletonList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1)), 1, "ACCESS", true);
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(quiz));
+        when(questionService.pinQuestions(Collections.singletonList("q1"))).thenReturn(Optional.of(Collections.singletonList(banked)));
+        when(quizDAO.replaceQuiz(eq(quiz), any(Quiz.class))).thenAnswer(i -> {
+            Quiz locked = i.getArgument(1, Quiz.class);
+            when(quizDAO.getQuizByAccessCode("ACCESS")).thenReturn(Optional.of(locked));
+            when(quizDAO.getAllQuizzes()).thenReturn(Collections.singletonList(locked));
+            return true;
+        });
+        quizService.lockQuiz("1");
+        // A restart recompiles nothing from the bank: the new service grades by the stored key and pins again.
+        when(questionService.getQuestionById("q1")).thenReturn(Optional.of(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("Topic1"), 1)));
+        QuizServiceImpl restarted = new QuizServiceImpl(quizDAO, questionService, attemptService, leaderboardService, quizEventService);
+
+        // Act
+        Optional<SubmissionResult> result = restarted.submitQuiz("ACCESS", new Submission("user1", new int[]{2}));
+
+        // Assert
+        assertEquals(3, result.get().getScore());
+        assertEquals(3, result.get().getTotalMarks());
+        verify(questionService, times(2)).pinQuestions(Collections.singletonList("q1"));
+    }
+
+    @Test
+    void deleteQuiz_LockedQuizUnpinsItsQuestions() {
+        // Arrange
+        Quiz locked = new Quiz("1", "Test Quiz", null, 1, "ACCESS", false);
+        locked.setQuestionIds(Collections.singletonList("q1"));
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(locked));
+        when(quizDAO.isDeleteQuiz("1")).thenReturn(true);
+
+        // Act
+        assertTrue(quizService.isDeleteQuiz("1"));
+
+        // Assert
+        verify(questionService).unpinQuestions(Collections.singletonList("q1"));
+    }
+
     @Test
     void takeQuiz_Success() {
         // Arrange
@@ -203,10 +534,85 @@ class QuizServiceImplTest {
         Scanner scanner = new Scanner("1\n3\n");
 
         // Act
-        int score = quizService.takeQuiz(accessCode, scanner);
+        int score = quizService.takeQuiz("user1", accessCode, scanner);
 
         // Assert
         assertEquals(3, score);
+        verify(attemptService).recordAttempt(eq("user1"), eq("1"), aryEq(new int[]{0, 2}), eq(3), eq(3), anyLong());
+    }
+
+    @Test
+    void submitQuiz_GradesAgainstAnswerKey() {
+        // Arrange
+        String accessCode = "ACCESS";
+        Quiz quiz = new Quiz("1", "Test Quiz", Arrays.asList(
+                new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "Easy", Arrays.asList("Topic1"), 1),
+                new Question("q2", "Q2", Arrays.asList("A", "B", "C"), 2, "Medium", Arrays.asList("Topic2"), 2)
+        ), 3, accessCode, false);
+        when(quizDAO.getQuizByAccessCode(accessCode)).thenReturn(Optional.of(quiz));
+
+        // Act
+        Optional<SubmissionResult> result = quizService.submitQuiz(accessCode, new Submission("user1", new int[]{1, 2}));
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals("attempt1", result.get().getAttemptId());
+        assertEquals("1", result.get().getQuizId());
+        assertEquals(2, result.get().getScore());
+        assertEquals(3, result.get().getTotalMarks());
+        verify(attemptService).recordAttempt(eq("user1"), eq("1"), aryEq(new int[]{1, 2}), eq(2), eq(3), anyLong());
+        verify(questionService).recordResponses(eq(quiz.getQuestions()), aryEq(new int[]{1, 2}), eq(2));
+        verify(leaderboardService).recordScore(eq("1"), eq("user1"), eq(2), anyLong());
+        verify(quizEventService).publishAttempt(eq("1"), any(QuizAttempt.class), eq(false));
+    }
+
+    @Test
+    void submitQuiz_LockedQuizKeyIsCompiledOnLock() {
+        // Arrange
+        Question question = new Question("q1", "Q1", Arrays.asList("A", "B"), 0, "Easy", Arrays.asList("Topic1"), 1);
+        Quiz quiz = new Quiz("1", "Test Quiz", new ArrayList<>(Collections.singletonList(question)), 1, "ACCESS", true);
+        when(quizDAO.getQuizById("1")).thenReturn(Optional.of(quiz));
+        when(questionService.pinQuestions(Collections.singletonList("q1")))
+                .thenReturn(Optional.of(Collections.singletonList(question)));
+        when(quizDAO.replaceQuiz(eq(quiz), any(Quiz.class))).thenAnswer(i -> {
+            when(quizDAO.getQuizByAccessCode("ACCESS")).thenReturn(Optional.of(i.getArgument(1, Quiz.class)));
+            return true;
+        });
+        quizService.lockQuiz("1");
+        when(questionService.getQuestionById("q1")).thenReturn(Optional.of(question));
+        // Changing the stored copy after locking must not change how submissions are graded.
+        question.setCorrectOptionIndex(1);
+
+        // Act
+        Optional<SubmissionResult> result = quizService.submitQuiz("ACCESS", new Submission("user1", new int[]{0}));
+
+        // Assert
+        assertEquals(1, result.get().getScore());
+    }
+
+    @Test
+    void submitQuiz_UnknownAccessCode_ReturnsEmpty() {
+        // Arrange
+        when(quizDAO.getQuizByAccessCode("INVALID")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(quizService.submitQuiz("INVALID", new Submission("user1", new int[]{0})).isPresent());
+    }
+
+    @Test
+    void submitQuiz_MissingAnswers_ThrowsException() {
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.submitQuiz("ACCESS", new Submission("user1", null)));
+    }
+
+    @Test
+    void gradeSubmissions_UnknownAccessCode_ThrowsException() {
+        // Arrange
+        when(quizDAO.getQuizByAccessCode("INVALID")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(QuizException.class, () -> quizService.gradeSubmissions("INVALID",
+                new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream()));
     }
 
     @Test
@@ -0,0 +1,158 @@
+package com.onlinequiz.services.impl;
+
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.Question;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.QuizKey;
+import com.onlinequiz.models.QuizSession;
+import com.onlinequiz.models.Submission;
+import com.onlinequiz.models.SubmissionResult;
+import com.onlinequiz.services.QuizService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.onlinequiz.constants.Constants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SessionServiceImplTest {
+
+    @Mock
+    private QuizService quizService;
+
+    private SessionServiceImpl sessionService;
+    private Quiz quiz;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Question q1 = new Question("1", "Q1", Arrays.asList("A", "B"), 0, "EASY", Arrays.asList("java"), 1);
+        Question q2 = new Question("2", "Q2", Arrays.asList("A", "B", "C"), 2, "EASY", Arrays.asList("java"), 2);
+        quiz = new Quiz("quiz1", "Quiz", Arrays.asList(q1, q2), 3, "CODE1", false);
+        when(quizService.getQuizByAccessCode("CODE1")).thenReturn(Optional.of(quiz));
+        when(quizService.getQuizById("quiz1")).thenReturn(Optional.of(quiz));
+        when(quizService.submitQuiz(eq(quiz), any(Submission.class)))
+                .thenReturn(new SubmissionResult("attempt1", "quiz1", 3, 3));
+        sessionService = new SessionServiceImpl(quizService, 10, 64, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionService.shutdown();
+    }
+
+    @Test
+    void startSession_OpensSessionWithBlankAnswers() {
+        // Act
+        QuizSession session = sessionService.startSession("user1", "CODE1", 60L);
+
+        // Assert
+        assertEquals(SESSION_ACTIVE, session.getStatus());
+        assertArrayEquals(new int[]{-1, -1}, session.getAnswers());
+        assertEquals(60_000, session.getExpiresAt() - session.getStartedAt());
+        assertEquals(1, sessionService.getOpenSessionCount());
+        assertTrue(sessionService.getSession(session.getId()).isPresent());
+    }
+
+    @Test
+    void startSession_RejectsUnknownCodeAndBadDuration() {
+        assertThrows(QuizException.class, () -> sessionService.startSession("user1", "NOPE", null));
+        assertThrows(QuizException.class, () -> sessionService.startSession("user1", "CODE1", 0L));
+        assertThrows(QuizException.class,
+                () -> sessionService.startSession("user1", "CODE1", MAX_SESSION_DURATION_SECONDS + 1L));
+    }
+
+    @Test
+    void saveAnswer_ValidatesIndexes() {
+        // Arrange
+        String id = sessionService.startSession("user1", "CODE1", 60L).getId();
+
+        // Act
+        QuizSession session = sessionService.saveAnswer(id, 1, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{-1, 2}, session.getAnswers());
+        assertThrows(QuizException.class, () -> sessionService.saveAnswer(id, 2, 0));
+        assertThrows(QuizException.class, () -> sessionService.saveAnswer(id, 0, 2));
+        assertThrows(QuizException.class, () -> sessionService.saveAnswer("missing", 0, 0));
+    }
+
+    @Test
+    void submitSession_GradesOnceAndClosesSession() {
+        // Arrange
+        String id = sessionService.startSession("user1", "CODE1", 60L).getId();
+        sessionService.saveAnswer(id, 0, 0);
+        sessionService.saveAnswer(id, 1, 2);
+
+        // Act
+        SubmissionResult result = sessionService.submitSession(id);
+        SubmissionResult again = sessionService.submitSession(id);
+
+        // Assert
+        ArgumentCaptor<Submission> submission = ArgumentCaptor.forClass(Submission.class);
+        verify(quizService, times(1)).submitQuiz(eq(quiz), submission.capture());
+        assertArrayEquals(new int[]{0, 2}, submission.getValue().getAnswers());
+        assertEquals("user1", submission.getValue().getUserId());
+        assertEquals(3, result.getScore());
+        assertSame(result, again);
+        assertEquals(SESSION_SUBMITTED, sessionService.getSession(id).get().getStatus());
+        assertEquals(0, sessionService.getOpenSessionCount());
+        assertThrows(QuizException.class, () -> sessionService.saveAnswer(id, 0, 1));
+    }
+
+    @Test
+    void expiredSession_IsSubmittedAutomatically() throws InterruptedException {
+        // Arrange
+        String id = sessionService.startSession("user1", "CODE1", 1L).getId();
+        sessionService.saveAnswer(id, 0, 1);
+
+        // Act
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sessionService.getSession(id).get().getResult() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Assert
+        QuizSession session = sessionService.getSession(id).get();
+        assertEquals(SESSION_EXPIRED, session.getStatus());
+        assertNotNull(session.getResult());
+        verify(quizService).submitQuiz(eq(quiz), any(Submission.class));
+        assertEquals(0, sessionService.getOpenSessionCount());
+    }
+
+    @Test
+    void submitSession_ClosesSessionWhenQuizWasDeleted() {
+        // Arrange
+        String id = sessionService.startSession("user1", "CODE1", 60L).getId();
+        when(quizService.getQuizById("quiz1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        QuizException ex = assertThrows(QuizException.class, () -> sessionService.submitSession(id));
+        assertEquals(ERROR_QUIZ_NOT_FOUND, ex.getMessage());
+        verify(quizService, never()).submitQuiz(any(Quiz.class), any(Submission.class));
+        assertEquals(SESSION_SUBMITTED, sessionService.getSession(id).get().getStatus());
+        assertEquals(0, sessionService.getOpenSessionCount());
+    }
+
+    @Test
+    void startSession_TakesOptionCountsFromLockedQuizKey() {
+        // Arrange
+        Quiz locked = new Quiz("quiz2", "Locked", quiz.getQuestions(), 3, "CODE2", false);
+        locked.setKey(new QuizKey(new int[]{0, 2}, new int[]{1, 2}, new int[]{2, 4}));
+        when(quizService.getQuizByAccessCode("CODE2")).thenReturn(Optional.of(locked));
+
+        // Act
+        String id = sessionService.startSession("user1", "CODE2", 60L).getId();
+
+        // Assert
+        assertEquals(3, sessionService.saveAnswer(id, 1, 3).getAnswers()[1]);
+        assertThrows(QuizException.class, () -> sessionService.saveAnswer(id, 1, 4));
+    }
+}
@@ -1,18 +1,25 @@
 package com.onlinequiz.services.impl;
 
+import com.onlinequiz.constants.Constants;
 import com.onlinequiz.dao.UserDAO;
 import com.onlinequiz.exception.InvalidRoleException;
+import com.onlinequiz.exception.LoginThrottledException;
 import com.onlinequiz.exception.UserAlreadyExistsException;
 import com.onlinequiz.exception.UserException;
+import com.onlinequiz.models.BatchOperation;
+import com.onlinequiz.models.BatchOutcome;
 import com.onlinequiz.models.User;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,11 +30,17 @@ class UserServiceImplTest {
     private UserDAO userDAO;
 
     private UserServiceImpl userService;
+    private final PasswordHasher passwordHasher = new PasswordHasher(1000);
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        userService = new UserServiceImpl(userDAO);
+        userService = new UserServiceImpl(userDAO, 1000, 2, 8, 5000, 300, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.shutdown();
     }
 
     @Test
@@ -45,7 +58,8 @@ class UserServiceImplTest {
         // Assert
         assertNotNull(result.getId());
         assertEquals(username, result.getUsername());
-        assertEquals(password, result.getPassword());
+        assertNotEquals(password, result.getPassword());
+        assertTrue(passwordHasher.verify(password, result.getPassword()));
         assertEquals(role, result.getRole());
         verify(userDAO, times(1)).createUser(any(User.class));
     }
@@ -142,15 +156,102 @@ class UserServiceImplTest {
     @Test
     void updateUser_Success() {
         // Arrange
+        User existing = new User("1", "olduser", passwordHasher.hash("oldpassword"), "USER");
         User user = new User("1", "updateduser", "newpassword", "ADMIN");
-        when(userDAO.updateUser(user)).thenReturn(user);
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(existing));
+        when(userDAO.getUserByUsername("updateduser")).thenReturn(Optional.empty());
+        when(userDAO.replaceUser(eq(existing), any(User.class))).thenReturn(true);
 
         // Act
         User result = userService.updateUser(user);
 
         // Assert
-        assertEquals(user, result);
-        verify(userDAO, times(1)).updateUser(user);
+        assertEquals("updateduser", result.getUsername());
+        assertEquals("ADMIN", result.getRole());
+        assertTrue(passwordHasher.verify("newpassword", result.getPassword()));
+        verify(userDAO, times(1)).replaceUser(existing, result);
+    }
+
+    @Test
+    void updateUser_WithoutPassword_KeepsStoredHash() {
+        // Arrange
+        String hash = passwordHasher.hash("password");
+        User existing = new User("1", "testuser", hash, "USER");
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(existing));
+        when(userDAO.getUserByUsername("testuser")).thenReturn(Optional.of(existing));
+        when(userDAO.replaceUser(eq(existing), any(User.class))).thenReturn(true);
+
+        // Act
+        User result = userService.updateUser(new User("1", "testuser", null, "ADMIN"));
+
+        // Assert
+        assertSame(hash, result.getPassword());
+        assertEquals("ADMIN", result.getRole());
+    }
+
+    @Test
+    void updateUser_PasswordLookingLikeHash_IsHashedAgain() {
+        // Arrange
+        String weak = new PasswordHasher(1).hash("password");
+        User existing = new User("1", "testuser", passwordHasher.hash("other"), "USER");
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(existing));
+        when(userDAO.getUserByUsername("testuser")).thenReturn(Optional.of(existing));
+        when(userDAO.replaceUser(eq(existing), any(User.class))).thenReturn(true);
+
+        // Act
+        User result = userService.updateUser(new User("1", "testuser", weak, "USER"));
+
+        // Assert
+        assertNotEquals(weak, result.getPassword());
+        assertTrue(passwordHasher.verify(weak, result.getPassword()));
+    }
+
+    @Test
+    void updateUser_MissingUser_ThrowsException() {
+        // Arrange
+        when(userDAO.getUserById("1")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserException.class, () -> userService.updateUser(new User("1", "ghost", "password", "USER")));
+        verify(userDAO, never()).replaceUser(any(User.class), any(User.class));
+    }
+
+    @Test
+    void updateUser_UsernameTakenByAnotherUser_ThrowsException() {
+        // Arrange
+        User user = new User("1", "taken", "password", "USER");
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(new User("1", "mine", "password", "USER")));
+        when(userDAO.getUserByUsername("taken")).thenReturn(Optional.of(new User("2", "taken", "password", "USER")));
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(user));
+        verify(userDAO, never()).replaceUser(any(User.class), any(User.class));
+    }
+
+    @Test
+    void updateUser_ConcurrentRenameWins_ThrowsException() {
+        // Arrange
+        User user = new User("1", "racer", "password", "USER");
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(new User("1", "mine", "password", "USER")));
+        when(userDAO.getUserByUsername("racer"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new User("2", "racer", "password", "USER")));
+        when(userDAO.replaceUser(any(User.class), any(User.class))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> userService.updateUser(user));
+        verify(userDAO, times(1)).replaceUser(any(User.class), any(User.class));
+    }
+
+    @Test
+    void createUser_ConcurrentRegistrationWins_ThrowsException() {
+        // Arrange
+        User winner = new User("2", "racer", "password", "USER");
+        when(userDAO.getUserByUsername("racer")).thenReturn(Optional.empty());
+        when(userDAO.createUser(any(User.class))).thenReturn(winner);
+
+        // Act & Assert
+        assertThrows(UserAlreadyExistsException.class, () -> userService.createUser("racer", "password", "USER"));
     }
 
     @Test
@@ -184,8 +285,8 @@ class UserServiceImplTest {
         // Arrange
         String username = "testuser";
         String password = "password";
-        User expectedUser = new User("1", username, password, "USER");
-        when(userDAO.authenticateUser(username, password)).thenReturn(Optional.of(expectedUser));
+        User expectedUser = new User("1", username, passwordHasher.hash(password), "USER");
+        when(userDAO.getUserByUsername(username)).thenReturn(Optional.of(expectedUser));
 
         // Act
         User result = userService.login(username, password);
@@ -193,22 +294,69 @@ class UserServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals(expectedUser, result);
-        verify(userDAO, times(1)).authenticateUser(username, password);
+        verify(userDAO, never()).updateUser(any(User.class));
     }
 
     @Test
     void login_Failed() {
         // Arrange
         String username = "testuser";
-        String password = "wrongpassword";
-        when(userDAO.authenticateUser(username, password)).thenReturn(Optional.empty());
+        when(userDAO.getUserByUsername(username))
+                .thenReturn(Optional.of(new User("1", username, passwordHasher.hash("password"), "USER")));
+        when(userDAO.getUserByUsername("nobody")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertNull(userService.login(username, "wrongpassword"));
+        assertNull(userService.login("nobody", "password"));
+        assertNull(userService.login(username, null));
+    }
+
+    @Test
+    void login_PlaintextPassword_UpgradedToHash() {
+        // Arrange
+        User legacy = new User("1", "olduser", "password", "USER");
+        when(userDAO.getUserByUsername("olduser")).thenReturn(Optional.of(legacy));
+        when(userDAO.replaceUser(eq(legacy), any(User.class))).thenReturn(true);
 
         // Act
-        User result = userService.login(username, password);
+        User result = userService.login("olduser", "password");
 
         // Assert
-        assertNull(result);
-        verify(userDAO, times(1)).authenticateUser(username, password);
+        assertNotNull(result);
+        assertTrue(passwordHasher.isHash(result.getPassword()));
+        assertTrue(passwordHasher.verify("password", result.getPassword()));
+        verify(userDAO, times(1)).replaceUser(eq(legacy), argThat(user -> user.getId().equals("1") && user.getRole().equals("USER")));
+    }
+
+    @Test
+    void login_RecentlyVerified_SkipsHashing() {
+        // Arrange
+        User user = new User("1", "testuser", passwordHasher.hash("password"), "USER");
+        when(userDAO.getUserByUsername("testuser")).thenReturn(Optional.of(user));
+        userService.login("testuser", "password");
+        userService.shutdown();
+
+        // Act & Assert
+        assertEquals(user, userService.login("testuser", "password"));
+        assertThrows(LoginThrottledException.class, () -> userService.login("testuser", "wrongpassword"));
+    }
+
+    @Test
+    void newPasswords_AreHashedOnVerifierPool_AndThrottledWhenItIsUnavailable() {
+        // Arrange
+        when(userDAO.getUserByUsername(anyString())).thenReturn(Optional.empty());
+        when(userDAO.getUserById("1")).thenReturn(Optional.of(new User("1", "testuser", passwordHasher.hash("old"), "USER")));
+        userService.shutdown();
+
+        // Act & Assert
+        LoginThrottledException ex = assertThrows(LoginThrottledException.class,
+                () -> userService.createUser("newuser", "password123", "USER"));
+        assertEquals(Constants.ERROR_PASSWORD_THROTTLED, ex.getMessage());
+        assertThrows(LoginThrottledException.class, () -> userService.register("newuser", "password123", "USER"));
+        assertThrows(LoginThrottledException.class,
+                () -> userService.updateUser(new User("1", "testuser", "new-password", "USER")));
+        verify(userDAO, never()).createUser(any(User.class));
+        verify(userDAO, never()).replaceUser(any(User.class), any(User.class));
     }
 
     @Test
@@ -226,7 +374,8 @@ class UserServiceImplTest {
         // Assert
         assertNotNull(result.getId());
         assertEquals(username, result.getUsername());
-        assertEquals(password, result.getPassword());
+        assertNotEquals(password, result.getPassword());
+        assertTrue(passwordHasher.verify(password, result.getPassword()));
         assertEquals(role, result.getRole());
         verify(userDAO, times(1)).createUser(any(User.class));
     }
@@ -240,4 +389,65 @@ class UserServiceImplTest {
         // Act & Assert
         assertThrows(UserAlreadyExistsException.class, () -> userService.register(username, "password", "USER"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void applyBatch_ReportsEachOperation() {
+        // Arrange
+        User existing = new User("u1", "taken", "password", "USER");
+        when(userDAO.getUserByUsername("taken")).thenReturn(Optional.of(existing));
+        when(userDAO.getUserByUsername(argThat(name -> !"taken".equals(name)))).thenReturn(Optional.empty());
+        when(userDAO.getUserById("u1")).thenReturn(Optional.of(existing));
+        when(userDAO.createUsers(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(userDAO.deleteUsers(anyList())).thenReturn(Set.of());
+        when(userDAO.updateUsers(anyList())).thenReturn(Set.of("u1"));
+        List<BatchOperation<User>> operations = Arrays.asList(
+                new BatchOperation<>("create", null, new User(null, "alice", "password", "USER")),
+                new BatchOperation<>("CREATE", null, new User(null, "alice", "password", "USER")),
+                new BatchOperation<>("CREATE", null, new User(null, "taken", "password", "USER")),
+                new BatchOperation<>("CREATE", null, new User(null, "bob", "password", "OWNER")),
+                new BatchOperation<>("UPDATE", "u1", new User(null, "taken", "newpassword", "ADMIN")),
+                new BatchOperation<>("UPDATE", "u2", new User(null, "carol", "password", "USER")),
+                new BatchOperation<>("DELETE", "u3", null),
+                new BatchOperation<>("MERGE", "u4", null));
+
+        // Act
+        List<BatchOutcome> outcomes = userService.applyBatch(operations);
+
+        // Assert
+        assertEquals(Arrays.asList("OK", "FAILED", "FAILED", "FAILED", "OK", "NOT_FOUND", "NOT_FOUND", "FAILED"),
+                outcomes.stream().map(BatchOutcome::getStatus).toList());
+        assertNotNull(outcomes.get(0).getId());
+        verify(userDAO, times(1)).createUsers(argThat(users -> users.size() == 1));
+        verify(userDAO, times(1)).updateUsers(argThat(users -> users.size() == 1 && users.get(0).getRole().equals("ADMIN")
+                && passwordHasher.verify("newpassword", users.get(0).getPassword())));
+        verify(userDAO, times(1)).createUsers(argThat(users -> passwordHasher.verify("password", users.get(0).getPassword())));
+        verify(userDAO, never()).createUser(any(User.class));
+    }
+
+    @Test
+    void applyBatch_UpdateWithoutPassword_KeepsStoredHash() {
+        // Arrange
+        String hash = passwordHasher.hash("password");
+        User existing = new User("u1", "alice", hash, "USER");
+        when(userDAO.getUserById("u1")).thenReturn(Optional.of(existing));
+        when(userDAO.getUserByUsername("alice")).thenReturn(Optional.of(existing));
+        when(userDAO.updateUsers(anyList())).thenReturn(Set.of("u1"));
+
+        // Act
+        List<BatchOutcome> outcomes = userService.applyBatch(Collections.singletonList(
+                new BatchOperation<>("UPDATE", "u1", new User(null, "alice", null, "ADMIN"))));
+
+        // Assert
+        assertEquals("OK", outcomes.get(0).getStatus());
+        verify(userDAO, times(1)).updateUsers(argThat(users -> users.get(0).getPassword() == hash
+                && users.get(0).getRole().equals("ADMIN")));
+    }
+
+    @Test
+    void applyBatch_TooLarge_ThrowsException() {
+        // Act & Assert
+        assertThrows(UserException.class, () -> userService.applyBatch(Arrays.asList()));
+        assertThrows(UserException.class, () -> userService.applyBatch(
+                Collections.nCopies(10001, new BatchOperation<>("DELETE", "u1", null))));
+    }
+}
@@ -0,0 +1,50 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.models.SlowTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowTraceBufferTest {
+
+    @Test
+    void testRecentReturnsNewestFirst() {
+        SlowTraceBuffer buffer = new SlowTraceBuffer(4);
+        buffer.add(trace("a"));
+        buffer.add(trace("b"));
+        buffer.add(trace("c"));
+
+        List<SlowTrace> recent = buffer.recent(2);
+
+        assertEquals(2, recent.size());
+        assertEquals("c", recent.get(0).getTraceId());
+        assertEquals("b", recent.get(1).getTraceId());
+    }
+
+    @Test
+    void testOldestTracesAreOverwrittenWhenFull() {
+        SlowTraceBuffer buffer = new SlowTraceBuffer(3);
+        for (String id : new String[]{"a", "b", "c", "d", "e"}) {
+            buffer.add(trace(id));
+        }
+
+        List<SlowTrace> recent = buffer.recent(10);
+
+        assertEquals(List.of("e", "d", "c"), recent.stream().map(SlowTrace::getTraceId).toList());
+    }
+
+    @Test
+    void testEmptyBufferAndInvalidCapacity() {
+        assertTrue(new SlowTraceBuffer(2).recent(5).isEmpty());
+        assertTrue(new SlowTraceBuffer(2).recent(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SlowTraceBuffer(0));
+    }
+
+    private static SlowTrace trace(String id) {
+        SlowTrace trace = new SlowTrace();
+        trace.setTraceId(id);
+        return trace;
+    }
+}
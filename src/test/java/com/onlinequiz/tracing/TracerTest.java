@@ -0,0 +1,150 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.dao.PersistenceEngine;
+import com.onlinequiz.dao.QuizDAO;
+import com.onlinequiz.exception.QuizException;
+import com.onlinequiz.models.Quiz;
+import com.onlinequiz.models.SlowTrace;
+import com.onlinequiz.models.TraceSpan;
+import com.onlinequiz.services.QuizService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TracerTest {
+
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        tracer = new Tracer(1, 0, 256, new SlowTraceBuffer(10));
+    }
+
+    @Test
+    void testSpansAreRecordedPerLayerAndNested() {
+        // Arrange
+        QuizDAO quizDAO = (QuizDAO) tracer.instrument(mock(QuizDAO.class));
+        QuizService target = mock(QuizService.class);
+        when(target.getQuizById("q1")).thenAnswer(invocation -> quizDAO.getQuizById("q1"));
+        QuizService quizService = (QuizService) tracer.instrument(target);
+
+        // Act
+        Tracer.Trace trace = tracer.begin("t1", "GET /api/quizzes/q1");
+        int controller = tracer.enter("controller", "QuizController.getQuizById");
+        quizService.getQuizById("q1");
+        tracer.exit(controller, null);
+        tracer.end(trace, 200);
+
+        // Assert
+        SlowTrace slow = tracer.recentSlowTraces(1).get(0);
+        assertEquals("t1", slow.getTraceId());
+        assertEquals("GET /api/quizzes/q1", slow.getName());
+        assertEquals(200, slow.getStatus());
+        List<TraceSpan> spans = slow.getSpans();
+        assertEquals(3, spans.size());
+        assertSpan(spans.get(0), "controller", "QuizController.getQuizById", 1);
+        assertSpan(spans.get(1), "service", "QuizService.getQuizById", 2);
+        assertSpan(spans.get(2), "dao", "QuizDAO.getQuizById", 3);
+    }
+
+    @Test
+    void testErrorsAreRecordedOnTheSpan() {
+        // Arrange
+        QuizService target = mock(QuizService.class);
+        when(target.getQuizById("q1")).thenThrow(new QuizException("boom"));
+        QuizService quizService = (QuizService) tracer.instrument(target);
+
+        // Act
+        Tracer.Trace trace = tracer.begin("t1", "GET /api/quizzes/q1");
+        assertThrows(QuizException.class, () -> quizService.getQuizById("q1"));
+        tracer.end(trace, 400);
+
+        // Assert
+        assertEquals("QuizException", tracer.recentSlowTraces(1).get(0).getSpans().get(0).getError());
+    }
+
+    @Test
+    void testCallsOutsideATraceAndFastTracesAreNotRecorded() {
+        // Arrange
+        Tracer slowOnly = new Tracer(1, 60_000, 256, new SlowTraceBuffer(10));
+        Quiz quiz = new Quiz();
+        QuizService target = mock(QuizService.class);
+        when(target.getQuizById("q1")).thenReturn(Optional.of(quiz));
+        QuizService quizService = (QuizService) slowOnly.instrument(target);
+
+        // Act
+        Optional<Quiz> untraced = quizService.getQuizById("q1");
+        Tracer.Trace trace = slowOnly.begin("t1", "GET /api/quizzes/q1");
+        quizService.getQuizById("q1");
+        slowOnly.end(trace, 200);
+
+        // Assert
+        assertSame(quiz, untraced.get());
+        assertEquals(-1, slowOnly.enter("service", "QuizService.getQuizById"));
+        assertTrue(slowOnly.recentSlowTraces(10).isEmpty());
+    }
+
+    @Test
+    void testSpansBeyondTheLimitAreCountedAsDropped() {
+        // Arrange
+        Tracer limited = new Tracer(1, 0, 2, new SlowTraceBuffer(10));
+        QuizService quizService = (QuizService) limited.instrument(mock(QuizService.class));
+
+        // Act
+        Tracer.Trace trace = limited.begin("t1", "GET /api/quizzes");
+        for (int i = 0; i < 5; i++) {
+            quizService.getAllQuizzes();
+        }
+        limited.end(trace, 200);
+
+        // Assert
+        SlowTrace slow = limited.recentSlowTraces(1).get(0);
+        assertEquals(2, slow.getSpans().size());
+        assertEquals(3, slow.getDroppedSpans());
+    }
+
+    @Test
+    void testUnsampledRequestsAreNotTraced() {
+        Tracer sampled = new Tracer(Integer.MAX_VALUE, 0, 256, new SlowTraceBuffer(10));
+
+        int traced = 0;
+        for (int i = 0; i < 100; i++) {
+            Tracer.Trace trace = sampled.begin("t" + i, "GET /");
+            traced += trace == null ? 0 : 1;
+            sampled.end(trace, 200);
+        }
+
+        assertTrue(traced <= 1);
+    }
+
+    @Test
+    void testOnlyServicesAndDaosAreInstrumented() {
+        Object plain = new Object();
+        @SuppressWarnings("unchecked")
+        PersistenceEngine<Quiz> persistence = mock(PersistenceEngine.class);
+
+        assertSame(plain, tracer.instrument(plain));
+        assertSame(persistence, tracer.instrument(persistence));
+        assertThrows(IllegalArgumentException.class, () -> new Tracer(0, 0, 1, new SlowTraceBuffer(1)));
+    }
+
+    @Test
+    void testNewTraceIdIsSixteenHexDigits() {
+        String id = Tracer.newTraceId();
+
+        assertTrue(id.matches("[0-9a-f]{16}"), id);
+        assertNotEquals(id, Tracer.newTraceId());
+    }
+
+    private static void assertSpan(TraceSpan span, String layer, String name, int depth) {
+        assertEquals(layer, span.getLayer());
+        assertEquals(name, span.getName());
+        assertEquals(depth, span.getDepth());
+        assertNull(span.getError());
+    }
+}
@@ -0,0 +1,81 @@
+package com.onlinequiz.tracing;
+
+import com.onlinequiz.models.SlowTrace;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingFilterTest {
+
+    private Tracer tracer;
+    private TracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tracer = new Tracer(1, 0, 256, new SlowTraceBuffer(10));
+        filter = new TracingFilter(tracer);
+    }
+
+    @Test
+    void testCallerTraceIdIsPropagatedToMdcAndResponse() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes/q1");
+        request.addHeader(TracingFilter.TRACE_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> logged = new AtomicReference<>();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> {
+            logged.set(MDC.get(Tracer.TRACE_ID));
+            ((MockHttpServletResponse) res).setStatus(404);
+        });
+
+        // Assert
+        assertEquals("abc-123", logged.get());
+        assertEquals("abc-123", response.getHeader(TracingFilter.TRACE_HEADER));
+        assertNull(MDC.get(Tracer.TRACE_ID));
+        SlowTrace trace = tracer.recentSlowTraces(1).get(0);
+        assertEquals("abc-123", trace.getTraceId());
+        assertEquals("GET /api/quizzes/q1", trace.getName());
+        assertEquals(404, trace.getStatus());
+    }
+
+    @Test
+    void testUnusableTraceIdIsReplaced() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader(TracingFilter.TRACE_HEADER, "bad id\r\nX-Injected: 1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, (req, res) -> { });
+
+        // Assert
+        assertTrue(response.getHeader(TracingFilter.TRACE_HEADER).matches("[0-9a-f]{16}"));
+        assertFalse(TracingFilter.isValid("x".repeat(65)));
+        assertFalse(TracingFilter.isValid(""));
+    }
+
+    @Test
+    void testFailedRequestIsRecordedAsServerError() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/attempts");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        assertThrows(ServletException.class, () -> filter.doFilter(request, response, (req, res) -> {
+            throw new ServletException("boom");
+        }));
+
+        // Assert
+        assertEquals(500, tracer.recentSlowTraces(1).get(0).getStatus());
+        assertNull(MDC.get(Tracer.TRACE_ID));
+    }
+}